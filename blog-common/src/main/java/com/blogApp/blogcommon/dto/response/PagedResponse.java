@@ -9,6 +9,8 @@ import java.util.List;
 
 /**
  * PagedResponse trả về kết quả phân trang
+ * - Phân trang theo offset: dùng pageNo, totalElements, totalPages
+ * - Phân trang theo cursor: dùng nextCursor để lấy trang tiếp theo, không đếm tổng (totalElements = totalPages = -1)
  * @param <T> Kiểu dữ liệu của nội dung trong phản hồi
  */
 @Data
@@ -24,4 +26,5 @@ public class PagedResponse<T> {
     private boolean last;
     private boolean first;
     private boolean empty;
-}
\ No newline at end of file
+    private String nextCursor;
+}
@@ -4,5 +4,6 @@ public enum PostStatus {
     DRAFT,
     PUBLISHED,
     ARCHIVED,
-    PRIVATE
+    PRIVATE,
+    SCHEDULED
 }
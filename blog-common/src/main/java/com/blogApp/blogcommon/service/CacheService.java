@@ -2,18 +2,35 @@ package com.blogApp.blogcommon.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service chung để xử lý cache với prefix theo service
+ * - ETag của một giá trị được lưu ở key kèm theo (key + ":etag"), đọc được mà không cần deserialize giá trị;
+ *   xóa giá trị luôn xóa ETag kèm theo trong cùng lệnh DEL
  */
 @Slf4j
 @Service
 public class CacheService {
 
+    private static final String ETAG_SUFFIX = ":etag";
+    private static final int SCAN_BATCH_SIZE = 500;
+
     private final RedisTemplate<String, Object> redisTemplate;
     private final String cachePrefix;
 
@@ -56,6 +73,45 @@ public class CacheService {
         }
     }
 
+    /**
+     * Lưu giá trị kèm ETag với thời gian hết hạn
+     * - Hai lệnh SET có TTL được gửi chung một pipeline (một lượt round-trip)
+     */
+    public void setWithETag(String cacheType, String key, Object value, String etag, long timeout, TimeUnit unit) {
+        String fullKey = createKey(cacheType, key);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    ValueOperations<String, Object> values = (ValueOperations<String, Object>) operations.opsForValue();
+                    values.set(fullKey, value, timeout, unit);
+                    values.set(fullKey + ETAG_SUFFIX, etag, timeout, unit);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Lỗi khi lưu vào cache kèm ETag: key={}, error={}", fullKey, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lấy ETag của giá trị đã cache
+     * @return ETag, hoặc null nếu không có
+     */
+    public String getETag(String cacheType, String key) {
+        Object etag = get(cacheType, key + ETAG_SUFFIX);
+        return etag instanceof String ? (String) etag : null;
+    }
+
+    /**
+     * Lấy giá trị và ETag bằng một lệnh MGET
+     * @return Danh sách [giá trị, ETag], phần tử null nếu không có
+     */
+    public List<Object> getWithETag(String cacheType, String key) {
+        return getAll(cacheType, List.of(key, key + ETAG_SUFFIX));
+    }
+
     /**
      * Lấy giá trị từ cache
      */
@@ -74,6 +130,27 @@ public class CacheService {
         }
     }
 
+    /**
+     * Lấy nhiều giá trị từ cache bằng một lệnh MGET duy nhất
+     * - Kết quả theo đúng thứ tự keys, phần tử null nếu key không có trong cache
+     */
+    public List<Object> getAll(String cacheType, List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> fullKeys = keys.stream()
+                .map(key -> createKey(cacheType, key))
+                .collect(Collectors.toList());
+        log.debug("Lấy {} key từ cache: cacheType={}", fullKeys.size(), cacheType);
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(fullKeys);
+            return values != null ? values : new ArrayList<>(Collections.nCopies(keys.size(), null));
+        } catch (Exception e) {
+            log.error("Lỗi khi lấy nhiều key từ cache: cacheType={}, error={}", cacheType, e.getMessage(), e);
+            return new ArrayList<>(Collections.nCopies(keys.size(), null));
+        }
+    }
+
     /**
      * Xóa giá trị khỏi cache
      */
@@ -81,13 +158,92 @@ public class CacheService {
         String fullKey = createKey(cacheType, key);
         log.debug("Xóa khỏi cache: key={}", fullKey);
         try {
-            return redisTemplate.delete(fullKey);
+            Long deleted = redisTemplate.delete(List.of(fullKey, fullKey + ETAG_SUFFIX));
+            return deleted != null && deleted > 0;
         } catch (Exception e) {
             log.error("Lỗi khi xóa khỏi cache: key={}, error={}", fullKey, e.getMessage(), e);
             return false;
         }
     }
 
+    /**
+     * Xóa nhiều giá trị khỏi cache bằng một lệnh DEL duy nhất
+     */
+    public Long deleteAll(String cacheType, Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        List<String> fullKeys = keys.stream()
+                .map(key -> createKey(cacheType, key))
+                .flatMap(fullKey -> Stream.of(fullKey, fullKey + ETAG_SUFFIX))
+                .collect(Collectors.toList());
+        log.debug("Xóa {} key khỏi cache: cacheType={}", keys.size(), cacheType);
+        try {
+            return redisTemplate.delete(fullKeys);
+        } catch (Exception e) {
+            log.error("Lỗi khi xóa nhiều key khỏi cache: cacheType={}, error={}", cacheType, e.getMessage(), e);
+            return 0L;
+        }
+    }
+
+    /**
+     * Xóa key của nhiều loại cache bằng một lệnh DEL duy nhất
+     * @param keysByCacheType Map loại cache -> danh sách key
+     */
+    public Long deleteAll(Map<String, ? extends Collection<String>> keysByCacheType) {
+        List<String> fullKeys = new ArrayList<>();
+        keysByCacheType.forEach((cacheType, keys) -> keys.forEach(key -> {
+            String fullKey = createKey(cacheType, key);
+            fullKeys.add(fullKey);
+            fullKeys.add(fullKey + ETAG_SUFFIX);
+        }));
+        if (fullKeys.isEmpty()) {
+            return 0L;
+        }
+        log.debug("Xóa {} key khỏi cache thuộc {} loại cache", fullKeys.size() / 2, keysByCacheType.size());
+        try {
+            return redisTemplate.delete(fullKeys);
+        } catch (Exception e) {
+            log.error("Lỗi khi xóa nhiều key khỏi cache: error={}", e.getMessage(), e);
+            return 0L;
+        }
+    }
+
+    /**
+     * Xóa mọi key của một loại cache (kể cả ETag kèm theo)
+     * - Dùng khi không liệt kê được các key bị ảnh hưởng (ví dụ trang danh sách theo bộ lọc)
+     * - Duyệt bằng SCAN thay vì KEYS để không chặn Redis, xóa theo lô bằng UNLINK
+     * @return Số key đã xóa
+     */
+    public long deleteByType(String cacheType) {
+        String pattern = createKey(cacheType, "*");
+        long deleted = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(
+                ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build())) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                }
+            }
+            deleted += unlink(batch);
+        } catch (Exception e) {
+            log.error("Lỗi khi xóa loại cache: cacheType={}, error={}", cacheType, e.getMessage(), e);
+        }
+        log.debug("Đã xóa {} key của loại cache {}", deleted, cacheType);
+        return deleted;
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long unlinked = redisTemplate.unlink(keys);
+        return unlinked == null ? 0 : unlinked;
+    }
+
     /**
      * Kiểm tra key có tồn tại không
      */
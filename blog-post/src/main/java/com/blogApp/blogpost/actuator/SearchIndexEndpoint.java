@@ -0,0 +1,54 @@
+package com.blogApp.blogpost.actuator;
+
+import com.blogApp.blogpost.dto.response.ReindexProgressDTO;
+import com.blogApp.blogpost.util.SearchIndexUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Actuator endpoint quản lý chỉ mục tìm kiếm
+ * - GET /actuator/searchindex: xem tiến độ (số bài viết đã đánh chỉ mục, tốc độ, thời gian còn lại)
+ * - POST /actuator/searchindex: bắt đầu xây dựng lại chỉ mục trên nền,
+ *   tham số updatedSince (ISO-8601) để chỉ đánh lại bài viết cập nhật từ thời điểm đó
+ * - 409 kèm tiến độ hiện tại nếu đang có một lần xây dựng lại chạy, 400 nếu updatedSince sai định dạng
+ */
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final SearchIndexUtils searchIndexUtils;
+
+    @ReadOperation
+    public ReindexProgressDTO progress() {
+        return searchIndexUtils.getProgress();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<ReindexProgressDTO> rebuild(@Nullable String updatedSince) {
+        LocalDateTime since;
+        try {
+            since = updatedSince == null || updatedSince.isBlank() ? null : LocalDateTime.parse(updatedSince);
+        } catch (DateTimeParseException e) {
+            return new WebEndpointResponse<>(ReindexProgressDTO.builder()
+                    .state("REJECTED")
+                    .error("updatedSince không đúng định dạng ISO-8601 (yyyy-MM-ddTHH:mm:ss): " + updatedSince)
+                    .build(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        if (!searchIndexUtils.startRebuild(since)) {
+            // Đang có một lần xây dựng lại chạy, trả về tiến độ của lần đó
+            return new WebEndpointResponse<>(searchIndexUtils.getProgress(), HttpStatus.CONFLICT.value());
+        }
+        return new WebEndpointResponse<>(searchIndexUtils.getProgress());
+    }
+}
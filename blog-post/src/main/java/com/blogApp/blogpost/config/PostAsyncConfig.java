@@ -0,0 +1,162 @@
+package com.blogApp.blogpost.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Cấu hình các thread pool riêng của Post Service
+ * - postRenderExecutor: render markdown sang HTML sau khi lưu bài viết
+ * - postRelatedExecutor: một thread duy nhất cập nhật chỉ mục bài viết liên quan (cập nhật tuần tự)
+ * - postRevisionExecutor: một thread duy nhất ghi lịch sử phiên bản (phiên bản của một bài viết được ghi theo thứ tự)
+ * - postSiteExecutor: một thread duy nhất cập nhật mục sitemap khi bài viết thay đổi
+ * - postSuggestExecutor: một thread duy nhất cập nhật chỉ mục gợi ý tìm kiếm khi bài viết/tag/danh mục thay đổi
+ * - postDetailExecutor: chạy song song các truy vấn độc lập khi dựng trang chi tiết bài viết
+ * - postStreamingExecutor: ghi response dạng luồng (StreamingResponseBody) như export bài viết
+ * - Hàng đợi có giới hạn; render và lịch sử phiên bản khi đầy thì chạy trên thread gọi (không để bài viết
+ *   mang HTML cũ, không mất phiên bản), các hàng đợi còn lại khi đầy thì bỏ qua tác vụ
+ *   (chỉ mục liên quan, sitemap, gợi ý được dựng lại định kỳ)
+ */
+@Slf4j
+@Configuration
+public class PostAsyncConfig {
+
+    private static final ThreadPoolExecutor.CallerRunsPolicy CALLER_RUNS = new ThreadPoolExecutor.CallerRunsPolicy();
+
+    @Value("${blog.post.render.pool-size:2}")
+    private int renderPoolSize;
+
+    @Value("${blog.post.render.max-pool-size:4}")
+    private int renderMaxPoolSize;
+
+    @Value("${blog.post.render.queue-capacity:200}")
+    private int renderQueueCapacity;
+
+    @Value("${blog.post.related.queue-capacity:1000}")
+    private int relatedQueueCapacity;
+
+    @Value("${blog.post.revisions.queue-capacity:1000}")
+    private int revisionQueueCapacity;
+
+    @Value("${blog.post.site.queue-capacity:1000}")
+    private int siteQueueCapacity;
+
+    @Value("${blog.post.suggest.queue-capacity:1000}")
+    private int suggestQueueCapacity;
+
+    @Value("${blog.post.detail.pool-size:8}")
+    private int detailPoolSize;
+
+    @Value("${blog.post.detail.queue-capacity:200}")
+    private int detailQueueCapacity;
+
+    @Value("${blog.post.export.pool-size:2}")
+    private int streamingPoolSize;
+
+    @Value("${blog.post.export.queue-capacity:4}")
+    private int streamingQueueCapacity;
+
+    @Bean(name = "postRenderExecutor")
+    public Executor postRenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderPoolSize);
+        executor.setMaxPoolSize(renderMaxPoolSize);
+        executor.setQueueCapacity(renderQueueCapacity);
+        executor.setThreadNamePrefix("PostRender-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("Hàng đợi render đã đầy ({} tác vụ), render trên thread gọi", pool.getQueue().size());
+            CALLER_RUNS.rejectedExecution(task, pool);
+        });
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "postRelatedExecutor")
+    public Executor postRelatedExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(relatedQueueCapacity);
+        executor.setThreadNamePrefix("PostRelated-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Hàng đợi cập nhật bài viết liên quan đã đầy ({} tác vụ), bỏ qua tác vụ", pool.getQueue().size()));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "postRevisionExecutor")
+    public Executor postRevisionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(revisionQueueCapacity);
+        executor.setThreadNamePrefix("PostRevision-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("Hàng đợi ghi lịch sử phiên bản đã đầy ({} tác vụ), ghi trên thread gọi", pool.getQueue().size());
+            CALLER_RUNS.rejectedExecution(task, pool);
+        });
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "postSiteExecutor")
+    public Executor postSiteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(siteQueueCapacity);
+        executor.setThreadNamePrefix("PostSite-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Hàng đợi cập nhật sitemap đã đầy ({} tác vụ), bỏ qua tác vụ", pool.getQueue().size()));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "postSuggestExecutor")
+    public Executor postSuggestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(suggestQueueCapacity);
+        executor.setThreadNamePrefix("PostSuggest-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Hàng đợi cập nhật chỉ mục gợi ý đã đầy ({} tác vụ), bỏ qua tác vụ", pool.getQueue().size()));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Request đang chờ kết quả nên không bỏ tác vụ: khi hàng đợi đầy, thread gọi tự chạy truy vấn (tuần tự)
+     */
+    @Bean(name = "postDetailExecutor")
+    public Executor postDetailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(detailPoolSize);
+        executor.setMaxPoolSize(detailPoolSize);
+        executor.setQueueCapacity(detailQueueCapacity);
+        executor.setThreadNamePrefix("PostDetail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Mỗi response dạng luồng giữ một thread (và một kết nối database) cho tới khi ghi xong,
+     * nên số thread được giới hạn; khi đầy, request mới bị từ chối thay vì xếp hàng vô hạn
+     */
+    @Bean(name = "postStreamingExecutor")
+    public ThreadPoolTaskExecutor postStreamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamingPoolSize);
+        executor.setMaxPoolSize(streamingPoolSize);
+        executor.setQueueCapacity(streamingQueueCapacity);
+        executor.setThreadNamePrefix("PostStreaming-");
+        executor.initialize();
+        return executor;
+    }
+}
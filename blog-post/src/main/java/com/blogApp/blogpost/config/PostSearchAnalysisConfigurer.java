@@ -0,0 +1,20 @@
+package com.blogApp.blogpost.config;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Cấu hình phân tích của chỉ mục Lucene (khai báo qua hibernate.search.backend.analysis.configurer)
+ * - lowercase: normalizer cho các trường keyword so khớp không phân biệt hoa thường, giống collation của
+ *   cột trong MySQL (tên tag)
+ */
+public class PostSearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    public static final String LOWERCASE_NORMALIZER = "lowercase";
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context.normalizer(LOWERCASE_NORMALIZER).custom()
+                .tokenFilter("lowercase");
+    }
+}
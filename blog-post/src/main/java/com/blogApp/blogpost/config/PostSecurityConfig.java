@@ -56,6 +56,7 @@ public class PostSecurityConfig {
                         // Cho phép truy cập công khai vào các API đọc bài viết
                         .requestMatchers(HttpMethod.GET, "/posts/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/posts/*/view").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/posts/filter").permitAll()
                         .requestMatchers(HttpMethod.POST, "/posts").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/posts/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/posts/**").authenticated()
@@ -75,6 +76,7 @@ public class PostSecurityConfig {
 
                         // API quản lý yêu cầu xác thực
                         .requestMatchers("/posts/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/searchindex", "/actuator/searchindex/**").hasRole("ADMIN")
                         .requestMatchers("/posts/update/**").authenticated()
                         .requestMatchers("/comments/create/**", "/comments/update/**", "/comments/delete/**").authenticated()
                         .anyRequest().authenticated());
@@ -1,7 +1,10 @@
 package com.blogApp.blogpost.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,6 +15,25 @@ public class PostWebMvcConfig implements WebMvcConfigurer {
     @Value("${server.servlet.context-path}")
     private String contextPath;
 
+    @Value("${blog.post.export.timeout-ms:3600000}")
+    private long streamingTimeoutMs;
+
+    private final AsyncTaskExecutor streamingExecutor;
+
+    public PostWebMvcConfig(@Qualifier("postStreamingExecutor") AsyncTaskExecutor streamingExecutor) {
+        this.streamingExecutor = streamingExecutor;
+    }
+
+    /**
+     * Response dạng luồng (StreamingResponseBody) chạy trên postStreamingExecutor,
+     * timeout đủ dài cho export toàn bộ bài viết
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(streamingTimeoutMs);
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler(contextPath + "/swagger-ui/**")
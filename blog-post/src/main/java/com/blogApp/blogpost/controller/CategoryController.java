@@ -1,8 +1,10 @@
 package com.blogApp.blogpost.controller;
 
+import com.blogApp.blogcommon.dto.UserPrincipal;
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogpost.dto.CategoryDTO;
 import com.blogApp.blogpost.service.interfaces.CategoryService;
+import com.blogApp.blogpost.util.HttpCacheUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,7 +19,9 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +39,7 @@ import java.util.UUID;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final HttpCacheUtils httpCacheUtils;
 
     /**
      * Tạo danh mục mới
@@ -83,12 +88,22 @@ public class CategoryController {
             description = "Lấy danh mục thành công",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = CategoryDTO.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Danh mục không thay đổi so với ETag của client"),
         @ApiResponse(
             responseCode = "404", 
             description = "Không tìm thấy danh mục")
     })
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable UUID id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+    public ResponseEntity<CategoryDTO> getCategoryById(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            ServletWebRequest request) {
+        return httpCacheUtils.conditionalGet(
+                () -> categoryService.getCategoryETag(id),
+                () -> categoryService.getVersionedCategoryById(id),
+                userPrincipal == null,
+                request);
     }
 
     /**
@@ -106,12 +121,22 @@ public class CategoryController {
             description = "Lấy danh mục thành công",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = CategoryDTO.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Danh mục không thay đổi so với ETag của client"),
         @ApiResponse(
             responseCode = "404", 
             description = "Không tìm thấy danh mục")
     })
-    public ResponseEntity<CategoryDTO> getCategoryBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(categoryService.getCategoryBySlug(slug));
+    public ResponseEntity<CategoryDTO> getCategoryBySlug(
+            @PathVariable String slug,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            ServletWebRequest request) {
+        return httpCacheUtils.conditionalGet(
+                () -> categoryService.getCategoryETagBySlug(slug),
+                () -> categoryService.getVersionedCategoryBySlug(slug),
+                userPrincipal == null,
+                request);
     }
 
     /**
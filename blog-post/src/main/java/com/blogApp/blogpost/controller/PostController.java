@@ -3,13 +3,36 @@ package com.blogApp.blogpost.controller;
 import com.blogApp.blogcommon.dto.UserPrincipal;
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogcommon.exception.BadRequestException;
+import com.blogApp.blogpost.dto.filter.PostFilterRequest;
 import com.blogApp.blogpost.dto.request.PostCreateRequest;
+import com.blogApp.blogpost.dto.request.PostScheduleRequest;
+import com.blogApp.blogpost.dto.request.PostStatusBatchRequest;
 import com.blogApp.blogpost.dto.request.PostUpdateRequest;
+import com.blogApp.blogpost.dto.response.DuplicateCandidateDTO;
+import com.blogApp.blogpost.dto.response.DuplicateReportDTO;
+import com.blogApp.blogpost.dto.response.PostDetailDTO;
+import com.blogApp.blogpost.dto.response.PostImportResultDTO;
+import com.blogApp.blogpost.dto.response.PostRevisionDTO;
+import com.blogApp.blogpost.dto.response.PostScheduleDTO;
+import com.blogApp.blogpost.dto.response.PostStatusBatchResultDTO;
 import com.blogApp.blogpost.dto.response.PostSummaryDTO;
+import com.blogApp.blogpost.dto.response.SuggestResponseDTO;
+import com.blogApp.blogpost.exception.UnauthorizedPostActionException;
+import com.blogApp.blogpost.model.PostExportFormat;
+import com.blogApp.blogpost.model.TrendingWindow;
+import com.blogApp.blogpost.service.interfaces.DuplicatePostService;
+import com.blogApp.blogpost.service.interfaces.PostDetailService;
+import com.blogApp.blogpost.service.interfaces.PostExportService;
+import com.blogApp.blogpost.service.interfaces.PostImportService;
+import com.blogApp.blogpost.service.interfaces.PostRevisionService;
 import com.blogApp.blogpost.service.interfaces.PostService;
+import com.blogApp.blogpost.service.interfaces.SuggestService;
+import com.blogApp.blogpost.util.HttpCacheUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -17,19 +40,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Controller xử lý các yêu cầu liên quan đến bài viết
  * - Cung cấp các API CRUD cho bài viết
- * - Hỗ trợ phân trang và sắp xếp
+ * - Hỗ trợ phân trang và sắp xếp (theo offset hoặc theo cursor)
  * - Tích hợp với caching để tối ưu hiệu suất
  */
 @RestController
@@ -39,6 +73,13 @@ import java.util.UUID;
 public class PostController {
 
     private final PostService postService;
+    private final PostImportService postImportService;
+    private final PostExportService postExportService;
+    private final PostRevisionService postRevisionService;
+    private final PostDetailService postDetailService;
+    private final SuggestService suggestService;
+    private final DuplicatePostService duplicatePostService;
+    private final HttpCacheUtils httpCacheUtils;
 
     /**
      * Tạo bài viết mới
@@ -71,6 +112,91 @@ public class PostController {
         return ResponseEntity.ok(postService.createPost(request, userPrincipal.getId().toString()));
     }
 
+    /**
+     * Import bài viết hàng loạt từ NDJSON (chỉ admin)
+     * - Body được đọc dần theo từng dòng, không nạp toàn bộ vào bộ nhớ
+     * @param request HTTP request chứa body NDJSON
+     * @param userPrincipal Admin thực hiện import
+     * @return Kết quả import: số lượng, tốc độ và lỗi theo dòng
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Import bài viết hàng loạt", 
+            description = "Import bài viết từ NDJSON (mỗi dòng một bài viết), ghi theo chunk bằng JDBC batch",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Import hoàn tất (có thể kèm lỗi theo dòng)",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = PostImportResultDTO.class))),
+        @ApiResponse(
+            responseCode = "401", 
+            description = "Chưa đăng nhập"),
+        @ApiResponse(
+            responseCode = "403", 
+            description = "Không có quyền admin")
+    })
+    public ResponseEntity<PostImportResultDTO> importPosts(
+            HttpServletRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        return ResponseEntity.ok(postImportService.importPosts(request.getInputStream(), userPrincipal));
+    }
+
+    /**
+     * Export bài viết theo luồng (chỉ admin)
+     * - Dữ liệu được ghi dần ra response, bộ nhớ dùng không phụ thuộc số bài viết
+     * @param format Định dạng NDJSON (import lại được) hoặc CSV
+     * @param status Chỉ export bài viết có trạng thái này
+     * @param createdFrom Chỉ export bài viết tạo từ thời điểm này
+     * @param createdTo Chỉ export bài viết tạo trước thời điểm này
+     * @return File export dạng luồng
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Export bài viết",
+            description = "Export bài viết dạng NDJSON hoặc CSV theo luồng, lọc theo trạng thái và khoảng thời gian tạo",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Export thành công",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "text/csv")
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Khoảng thời gian không hợp lệ"),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Chưa đăng nhập"),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền admin")
+    })
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @Parameter(description = "Định dạng: NDJSON, CSV") @RequestParam(defaultValue = "NDJSON") PostExportFormat format,
+            @Parameter(description = "Trạng thái bài viết") @RequestParam(required = false) PostStatus status,
+            @Parameter(description = "Tạo từ thời điểm (ISO-8601)") @RequestParam(required = false)
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Tạo trước thời điểm (ISO-8601)") @RequestParam(required = false)
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new BadRequestException("createdFrom phải trước createdTo");
+        }
+
+        String filename = "posts-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + "." + format.getExtension();
+        StreamingResponseBody body = output -> postExportService.exportPosts(format, status, createdFrom, createdTo, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     /**
      * Lấy bài viết theo ID
      * @param id ID của bài viết
@@ -86,12 +212,22 @@ public class PostController {
             description = "Lấy bài viết thành công",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = PostSummaryDTO.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Bài viết không thay đổi so với ETag của client"),
         @ApiResponse(
             responseCode = "404", 
             description = "Không tìm thấy bài viết")
     })
-    public ResponseEntity<PostSummaryDTO> getPostById(@PathVariable UUID id) {
-        return ResponseEntity.ok(postService.getPostById(id));
+    public ResponseEntity<PostSummaryDTO> getPostById(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            ServletWebRequest request) {
+        return httpCacheUtils.conditionalGet(
+                () -> postService.getPostETag(id),
+                () -> postService.getVersionedPostById(id),
+                userPrincipal == null,
+                request);
     }
 
     /**
@@ -109,12 +245,45 @@ public class PostController {
             description = "Lấy bài viết thành công",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = PostSummaryDTO.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Bài viết không thay đổi so với ETag của client"),
         @ApiResponse(
             responseCode = "404", 
             description = "Không tìm thấy bài viết")
     })
-    public ResponseEntity<PostSummaryDTO> getPostBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(postService.getPostBySlug(slug));
+    public ResponseEntity<PostSummaryDTO> getPostBySlug(
+            @PathVariable String slug,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            ServletWebRequest request) {
+        return httpCacheUtils.conditionalGet(
+                () -> postService.getPostETagBySlug(slug),
+                () -> postService.getVersionedPostBySlug(slug),
+                userPrincipal == null,
+                request);
+    }
+
+    /**
+     * Lấy chi tiết bài viết theo slug kèm danh mục, tag và trang đầu của cây bình luận đã duyệt
+     * @param slug Slug của bài viết
+     * @return PostDetailDTO chứa nội dung và bình luận
+     */
+    @GetMapping("/slug/{slug}/full")
+    @Operation(
+            summary = "Lấy chi tiết bài viết theo slug",
+            description = "Trả về nội dung, danh mục, tag và trang đầu của cây bình luận đã duyệt trong một lần gọi")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lấy chi tiết bài viết thành công",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = PostDetailDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Không tìm thấy bài viết")
+    })
+    public ResponseEntity<PostDetailDTO> getPostDetailBySlug(@PathVariable String slug) {
+        return ResponseEntity.ok(postDetailService.getPostDetailBySlug(slug));
     }
 
     /**
@@ -195,6 +364,7 @@ public class PostController {
      * @param pageSize Kích thước trang
      * @param sortBy Sắp xếp theo trường nào
      * @param sortDir Hướng sắp xếp
+     * @param cursor Cursor của trang trước (nếu có thì dùng phân trang keyset)
      * @return PagedResponse chứa danh sách bài viết
      */
     @GetMapping
@@ -212,7 +382,11 @@ public class PostController {
             @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
             @Parameter(description = "Kích thước trang") @RequestParam(defaultValue = "10") int pageSize,
             @Parameter(description = "Sắp xếp theo trường") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Cursor cho phân trang keyset (rỗng để lấy trang đầu, bỏ qua pageNo)") @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(postService.getAllPostsAfter(cursor, pageSize, sortBy, sortDir));
+        }
         return ResponseEntity.ok(postService.getAllPosts(pageNo, pageSize, sortBy, sortDir));
     }
 
@@ -223,6 +397,7 @@ public class PostController {
      * @param pageSize Kích thước trang
      * @param sortBy Sắp xếp theo trường nào
      * @param sortDir Hướng sắp xếp
+     * @param cursor Cursor của trang trước (nếu có thì dùng phân trang keyset)
      * @return PagedResponse chứa danh sách bài viết
      */
     @GetMapping("/author/{authorId}")
@@ -241,7 +416,11 @@ public class PostController {
             @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
             @Parameter(description = "Kích thước trang") @RequestParam(defaultValue = "10") int pageSize,
             @Parameter(description = "Sắp xếp theo trường") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Cursor cho phân trang keyset (rỗng để lấy trang đầu, bỏ qua pageNo)") @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(postService.getPostsByAuthorAfter(authorId, cursor, pageSize, sortBy, sortDir));
+        }
         return ResponseEntity.ok(postService.getPostsByAuthor(authorId, pageNo, pageSize, sortBy, sortDir));
     }
 
@@ -252,6 +431,7 @@ public class PostController {
      * @param pageSize Kích thước trang
      * @param sortBy Sắp xếp theo trường nào
      * @param sortDir Hướng sắp xếp
+     * @param cursor Cursor của trang trước (nếu có thì dùng phân trang keyset)
      * @return PagedResponse chứa danh sách bài viết
      */
     @GetMapping("/tag/{tagId}")
@@ -270,10 +450,138 @@ public class PostController {
             @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
             @Parameter(description = "Kích thước trang") @RequestParam(defaultValue = "10") int pageSize,
             @Parameter(description = "Sắp xếp theo trường") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Cursor cho phân trang keyset (rỗng để lấy trang đầu, bỏ qua pageNo)") @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(postService.getPostsByTagAfter(tagId, cursor, pageSize, sortBy, sortDir));
+        }
         return ResponseEntity.ok(postService.getPostsByTag(tagId, pageNo, pageSize, sortBy, sortDir));
     }
 
+    /**
+     * Lấy danh sách bài viết đã xuất bản của danh mục
+     * @param categoryId ID của danh mục
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @param sortBy Sắp xếp theo trường nào
+     * @param sortDir Hướng sắp xếp
+     * @param cursor Cursor của trang trước (nếu có thì dùng phân trang keyset)
+     * @return PagedResponse chứa danh sách bài viết
+     */
+    @GetMapping("/category/{categoryId}")
+    @Operation(
+            summary = "Lấy danh sách bài viết theo danh mục", 
+            description = "Trả về danh sách bài viết đã xuất bản thuộc một danh mục cụ thể")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lấy danh sách bài viết thành công",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = PagedResponse.class)))
+    })
+    public ResponseEntity<PagedResponse<PostSummaryDTO>> getPostsByCategory(
+            @PathVariable UUID categoryId,
+            @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
+            @Parameter(description = "Kích thước trang") @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Sắp xếp theo trường") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Cursor cho phân trang keyset (rỗng để lấy trang đầu, bỏ qua pageNo)") @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(postService.getPostsByCategoryAfter(categoryId, cursor, pageSize, sortBy, sortDir));
+        }
+        return ResponseEntity.ok(postService.getPostsByCategory(categoryId, pageNo, pageSize, sortBy, sortDir));
+    }
+
+    /**
+     * Lấy danh sách bài viết theo trạng thái (chỉ admin)
+     * @param status Trạng thái bài viết
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @param sortBy Sắp xếp theo trường nào
+     * @param sortDir Hướng sắp xếp
+     * @param cursor Cursor của trang trước (nếu có thì dùng phân trang keyset)
+     * @return PagedResponse chứa danh sách bài viết
+     */
+    @GetMapping("/admin/status/{status}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Lấy danh sách bài viết theo trạng thái", 
+            description = "Trả về danh sách bài viết theo trạng thái (DRAFT, PUBLISHED, ARCHIVED)",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lấy danh sách bài viết thành công",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = PagedResponse.class))),
+        @ApiResponse(
+            responseCode = "403", 
+            description = "Không có quyền thực hiện")
+    })
+    public ResponseEntity<PagedResponse<PostSummaryDTO>> getPostsByStatus(
+            @PathVariable PostStatus status,
+            @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
+            @Parameter(description = "Kích thước trang") @RequestParam(defaultValue = "10") int pageSize,
+            @Parameter(description = "Sắp xếp theo trường") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Hướng sắp xếp: asc hoặc desc") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Cursor cho phân trang keyset (rỗng để lấy trang đầu, bỏ qua pageNo)") @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(postService.getPostsByStatusAfter(status, cursor, pageSize, sortBy, sortDir));
+        }
+        return ResponseEntity.ok(postService.getPostsByStatus(status, pageNo, pageSize, sortBy, sortDir));
+    }
+
+    /**
+     * Lấy các bài viết bị đánh dấu gần trùng nội dung (chỉ admin)
+     * @param limit Số bài viết tối đa
+     * @return Danh sách bài viết bị đánh dấu gần đây nhất, kèm các bài viết mà nó trùng
+     */
+    @GetMapping("/admin/duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Lấy bài viết gần trùng nội dung",
+            description = "Trả về các bài viết bị đánh dấu gần trùng (so khớp SimHash) khi lưu, mới nhất trước",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lấy danh sách thành công",
+            content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = DuplicateReportDTO.class)))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền thực hiện")
+    })
+    public ResponseEntity<List<DuplicateReportDTO>> getFlaggedDuplicates(
+            @Parameter(description = "Số bài viết tối đa") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(duplicatePostService.getFlaggedPosts(limit));
+    }
+
+    /**
+     * Lấy các bài viết gần trùng nội dung với một bài viết (chỉ admin)
+     * @param id ID của bài viết
+     * @return Danh sách bài viết gần trùng theo khoảng cách tăng dần
+     */
+    @GetMapping("/admin/duplicates/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Lấy bài viết gần trùng với một bài viết",
+            description = "Trả về các bài viết có dấu vân tay SimHash gần với bài viết đã cho",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lấy danh sách thành công",
+            content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = DuplicateCandidateDTO.class)))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền thực hiện")
+    })
+    public ResponseEntity<List<DuplicateCandidateDTO>> getDuplicates(@PathVariable UUID id) {
+        return ResponseEntity.ok(duplicatePostService.getDuplicates(id));
+    }
+
     /**
      * Tìm kiếm bài viết
      * @param keyword Từ khóa tìm kiếm
@@ -299,6 +607,209 @@ public class PostController {
         return ResponseEntity.ok(postService.searchPosts(keyword, pageNo, pageSize));
     }
 
+    /**
+     * Gợi ý tìm kiếm khi người dùng đang gõ
+     * @param q Chuỗi đang gõ (có dấu hoặc không dấu)
+     * @param limit Số gợi ý tối đa cho mỗi loại
+     * @return Bài viết, tag và danh mục có một từ bắt đầu bằng chuỗi đã gõ
+     */
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Gợi ý tìm kiếm",
+            description = "Gợi ý bài viết, tag và danh mục theo tiền tố từ chỉ mục trong bộ nhớ, không phân biệt dấu")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lấy gợi ý thành công",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = SuggestResponseDTO.class)))
+    })
+    public ResponseEntity<SuggestResponseDTO> suggest(
+            @Parameter(description = "Chuỗi đang gõ") @RequestParam String q,
+            @Parameter(description = "Số gợi ý tối đa cho mỗi loại") @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(suggestService.suggest(q, limit));
+    }
+
+    /**
+     * Lấy bài viết đã xuất bản mới nhất
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @return PagedResponse chứa danh sách bài viết
+     */
+    @GetMapping("/latest")
+    @Operation(
+            summary = "Lấy bài viết mới nhất", 
+            description = "Lấy bài viết đã xuất bản theo thời điểm xuất bản giảm dần (trang chủ)")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lấy bài viết mới nhất thành công",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = PagedResponse.class)))
+    })
+    public ResponseEntity<PagedResponse<PostSummaryDTO>> getLatestPosts(
+            @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
+            @Parameter(description = "Kích thước trang") @RequestParam(defaultValue = "10") int pageSize) {
+        return ResponseEntity.ok(postService.getLatestPosts(pageNo, pageSize));
+    }
+
+    /**
+     * Lấy bài viết liên quan
+     * @param id ID của bài viết
+     * @param limit Số bài viết tối đa
+     * @return Danh sách bài viết theo độ liên quan giảm dần
+     */
+    @GetMapping("/{id}/related")
+    @Operation(
+            summary = "Lấy bài viết liên quan", 
+            description = "Lấy bài viết đã xuất bản có nhiều tag và danh mục chung nhất với bài viết (độ tương đồng Jaccard)")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lấy bài viết liên quan thành công",
+            content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = PostSummaryDTO.class))))
+    })
+    public ResponseEntity<List<PostSummaryDTO>> getRelatedPosts(
+            @PathVariable UUID id,
+            @Parameter(description = "Số bài viết tối đa") @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(postService.getRelatedPosts(id, limit));
+    }
+
+    /**
+     * Lấy lịch sử phiên bản của bài viết
+     * @param id ID của bài viết
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @param userPrincipal Thông tin người dùng đã xác thực
+     * @return Danh sách phiên bản, mới nhất trước (không gồm nội dung)
+     */
+    @GetMapping("/{id}/revisions")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Lấy lịch sử phiên bản của bài viết",
+            description = "Liệt kê các phiên bản nội dung của bài viết (chỉ tác giả hoặc admin)",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lấy lịch sử phiên bản thành công",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = PagedResponse.class))),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Chưa đăng nhập"),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem lịch sử"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Không tìm thấy bài viết")
+    })
+    public ResponseEntity<PagedResponse<PostRevisionDTO>> getPostRevisions(
+            @PathVariable UUID id,
+            @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int pageNo,
+            @Parameter(description = "Số lượng phiên bản trên mỗi trang") @RequestParam(defaultValue = "20") int pageSize,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(postRevisionService.getRevisions(
+                id, pageNo, pageSize, userPrincipal.getId().toString(), isAdmin(userPrincipal)));
+    }
+
+    /**
+     * Lấy nội dung một phiên bản của bài viết
+     * @param id ID của bài viết
+     * @param revisionNumber Số thứ tự phiên bản
+     * @param userPrincipal Thông tin người dùng đã xác thực
+     * @return Phiên bản kèm nội dung markdown
+     */
+    @GetMapping("/{id}/revisions/{revisionNumber}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Lấy một phiên bản của bài viết",
+            description = "Trả về nội dung markdown của bài viết tại phiên bản chỉ định (chỉ tác giả hoặc admin)",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lấy phiên bản thành công",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = PostRevisionDTO.class))),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Chưa đăng nhập"),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem lịch sử"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Không tìm thấy bài viết hoặc phiên bản")
+    })
+    public ResponseEntity<PostRevisionDTO> getPostRevision(
+            @PathVariable UUID id,
+            @PathVariable int revisionNumber,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(postRevisionService.getRevision(
+                id, revisionNumber, userPrincipal.getId().toString(), isAdmin(userPrincipal)));
+    }
+
+    /**
+     * Lấy bài viết xu hướng
+     * @param window Cửa sổ xu hướng
+     * @param limit Số bài viết tối đa
+     * @return Danh sách bài viết theo điểm xu hướng giảm dần
+     */
+    @GetMapping("/trending")
+    @Operation(
+            summary = "Lấy bài viết xu hướng", 
+            description = "Lấy bài viết đã xuất bản có điểm xu hướng cao nhất, điểm từ lượt xem và bình luận suy giảm theo thời gian")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lấy bài viết xu hướng thành công",
+            content = @Content(mediaType = "application/json", 
+                array = @ArraySchema(schema = @Schema(implementation = PostSummaryDTO.class))))
+    })
+    public ResponseEntity<List<PostSummaryDTO>> getTrendingPosts(
+            @Parameter(description = "Cửa sổ xu hướng: DAY, WEEK, MONTH") @RequestParam(defaultValue = "DAY") TrendingWindow window,
+            @Parameter(description = "Số bài viết tối đa") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(postService.getTrendingPosts(window, limit));
+    }
+
+    /**
+     * Lọc bài viết theo nhiều tiêu chí trong một lần gọi
+     * - Bài viết chưa xuất bản chỉ được lọc bởi admin hoặc tác giả của chính các bài viết đó
+     * @param filter Bộ lọc: keyword, danh mục, tag, tác giả, trạng thái, khoảng thời gian xuất bản
+     * @param userPrincipal Thông tin người dùng (có thể null nếu chưa đăng nhập)
+     * @return PagedResponse chứa danh sách bài viết
+     */
+    @PostMapping("/filter")
+    @Operation(
+            summary = "Lọc bài viết", 
+            description = "Lọc bài viết theo từ khóa, danh mục, tag, tác giả, trạng thái và khoảng thời gian xuất bản")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lọc bài viết thành công",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = PagedResponse.class))),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Dữ liệu không hợp lệ"),
+        @ApiResponse(
+            responseCode = "401", 
+            description = "Không có quyền xem bài viết chưa xuất bản")
+    })
+    public ResponseEntity<PagedResponse<PostSummaryDTO>> filterPosts(
+            @Valid @RequestBody PostFilterRequest filter,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        boolean onlyPublished = filter.getStatuses() == null || filter.getStatuses().isEmpty()
+                || filter.getStatuses().stream().allMatch(status -> status == PostStatus.PUBLISHED);
+        if (!onlyPublished && !canViewUnpublished(filter.getAuthorId(), userPrincipal)) {
+            throw UnauthorizedPostActionException.cannotViewUnpublished();
+        }
+        return ResponseEntity.ok(postService.filterPosts(filter));
+    }
+
     /**
      * Cập nhật trạng thái bài viết
      * @param id ID của bài viết
@@ -335,6 +846,80 @@ public class PostController {
         return ResponseEntity.ok(postService.updatePostStatus(id, status, userPrincipal.getId().toString()));
     }
 
+    /**
+     * Hẹn giờ xuất bản/gỡ bài viết
+     * @param id ID của bài viết
+     * @param request Các mốc hẹn giờ, để trống để hủy
+     * @param userPrincipal Thông tin người dùng đã xác thực
+     * @return PostScheduleDTO chứa lịch hiện tại của bài viết
+     */
+    @PutMapping("/{id}/schedule")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Hẹn giờ xuất bản/gỡ bài viết",
+            description = "Đặt thời điểm tự động xuất bản (bài viết chuyển sang SCHEDULED) và/hoặc tự động gỡ (chuyển sang ARCHIVED). "
+                    + "Trường để trống sẽ hủy hẹn giờ tương ứng",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Hẹn giờ thành công",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = PostScheduleDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Thời điểm không hợp lệ"),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Chưa đăng nhập"),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền thực hiện"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Không tìm thấy bài viết")
+    })
+    public ResponseEntity<PostScheduleDTO> schedulePost(
+            @PathVariable UUID id,
+            @Valid @RequestBody PostScheduleRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(postService.schedulePost(
+                id, request, userPrincipal.getId().toString(), isAdmin(userPrincipal)));
+    }
+
+    /**
+     * Cập nhật trạng thái nhiều bài viết cùng lúc
+     * @param request Danh sách id bài viết và trạng thái mới
+     * @param userPrincipal Thông tin người dùng đã xác thực
+     * @return PostStatusBatchResultDTO chứa số bài viết đã cập nhật và các id bị bỏ qua
+     */
+    @PutMapping("/status:batch")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Cập nhật trạng thái hàng loạt",
+            description = "Thay đổi trạng thái của nhiều bài viết trong một request. Admin đổi được mọi bài viết, "
+                    + "người dùng khác chỉ đổi được bài viết của mình; các id không tồn tại hoặc không có quyền được trả về riêng",
+            security = { @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cập nhật trạng thái thành công",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = PostStatusBatchResultDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dữ liệu không hợp lệ"),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Chưa đăng nhập")
+    })
+    public ResponseEntity<PostStatusBatchResultDTO> updatePostStatusBatch(
+            @Valid @RequestBody PostStatusBatchRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(postService.updatePostStatusBatch(
+                request, userPrincipal.getId().toString(), isAdmin(userPrincipal)));
+    }
+
     /**
      * Tăng lượt xem bài viết
      * @param id ID của bài viết
@@ -357,4 +942,19 @@ public class PostController {
     public ResponseEntity<PostSummaryDTO> incrementViewCount(@PathVariable UUID id) {
         return ResponseEntity.ok(postService.incrementViewCount(id));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Admin được xem mọi bài viết, người dùng khác chỉ được xem bài viết chưa xuất bản của chính mình
+     */
+    private boolean canViewUnpublished(String authorId, UserPrincipal userPrincipal) {
+        if (userPrincipal == null) {
+            return false;
+        }
+        return isAdmin(userPrincipal) || userPrincipal.getId().toString().equals(authorId);
+    }
+
+    private boolean isAdmin(UserPrincipal userPrincipal) {
+        return userPrincipal.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,147 @@
+package com.blogApp.blogpost.controller;
+
+import com.blogApp.blogcommon.exception.ResourceNotFoundException;
+import com.blogApp.blogpost.dto.response.SiteDocument;
+import com.blogApp.blogpost.service.interfaces.SitemapService;
+import com.blogApp.blogpost.util.GzipUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Controller phục vụ sitemap và RSS/Atom đã render sẵn
+ * - Kiểm tra If-None-Match/If-Modified-Since bằng metadata trước khi đọc nội dung, trả về 304 nếu không đổi
+ * - Nội dung lưu dạng gzip, gửi nguyên với Content-Encoding: gzip khi client hỗ trợ (theo q-value của Accept-Encoding)
+ * - Bản gzip và bản giải nén là hai biểu diễn khác nhau nên có ETag khác nhau (hậu tố -gz), kèm Vary: Accept-Encoding
+ *   cả ở response 304
+ */
+@RestController
+@RequestMapping("/posts")
+@RequiredArgsConstructor
+@Tag(name = "Sitemap", description = "API sitemap và RSS/Atom")
+public class SitemapController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final SitemapService sitemapService;
+
+    /**
+     * Lấy sitemap index
+     */
+    @GetMapping("/sitemap.xml")
+    @Operation(summary = "Sitemap index", description = "Danh sách các shard sitemap")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lấy sitemap thành công"),
+        @ApiResponse(responseCode = "304", description = "Sitemap không thay đổi"),
+        @ApiResponse(responseCode = "404", description = "Sitemap chưa được dựng")
+    })
+    public ResponseEntity<byte[]> getSitemapIndex(ServletWebRequest request) {
+        return serve(SiteDocument.SITEMAP_INDEX, XML, true, request);
+    }
+
+    /**
+     * Lấy một shard sitemap (file .xml.gz)
+     * @param shard Số thứ tự shard
+     */
+    @GetMapping("/sitemap-{shard:\\d+}.xml.gz")
+    @Operation(summary = "Shard sitemap", description = "Một phần sitemap đã nén gzip")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lấy shard thành công"),
+        @ApiResponse(responseCode = "304", description = "Shard không thay đổi"),
+        @ApiResponse(responseCode = "404", description = "Không tìm thấy shard")
+    })
+    public ResponseEntity<byte[]> getSitemapShard(@PathVariable int shard, ServletWebRequest request) {
+        return serve(SiteDocument.sitemapShard(shard), GZIP, false, request);
+    }
+
+    /**
+     * Lấy RSS 2.0 các bài viết mới xuất bản
+     */
+    @GetMapping("/feed.rss")
+    @Operation(summary = "RSS feed", description = "RSS 2.0 các bài viết mới xuất bản")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lấy feed thành công"),
+        @ApiResponse(responseCode = "304", description = "Feed không thay đổi")
+    })
+    public ResponseEntity<byte[]> getRssFeed(ServletWebRequest request) {
+        return serve(SiteDocument.RSS_FEED, RSS, true, request);
+    }
+
+    /**
+     * Lấy Atom feed các bài viết mới xuất bản
+     */
+    @GetMapping("/feed.atom")
+    @Operation(summary = "Atom feed", description = "Atom các bài viết mới xuất bản")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lấy feed thành công"),
+        @ApiResponse(responseCode = "304", description = "Feed không thay đổi")
+    })
+    public ResponseEntity<byte[]> getAtomFeed(ServletWebRequest request) {
+        return serve(SiteDocument.ATOM_FEED, ATOM, true, request);
+    }
+
+    /**
+     * @param encodable true nếu nội dung là XML có thể gửi kèm Content-Encoding: gzip,
+     *                  false nếu bản thân file là .gz
+     */
+    private ResponseEntity<byte[]> serve(String name, MediaType contentType, boolean encodable, ServletWebRequest request) {
+        SiteDocument metadata = sitemapService.getDocument(name, false);
+        if (metadata == null) {
+            throw new ResourceNotFoundException("SiteDocument", "name", name);
+        }
+        boolean gzipEncoded = encodable && GzipUtils.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encodable) {
+            // Đặt trước để response 304 cũng có Vary
+            HttpServletResponse servletResponse = request.getResponse();
+            if (servletResponse != null) {
+                servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+        if (request.checkNotModified(etag(metadata, gzipEncoded), metadata.getLastModified())) {
+            return null;
+        }
+
+        SiteDocument document = sitemapService.getDocument(name, true);
+        if (document == null) {
+            throw new ResourceNotFoundException("SiteDocument", "name", name);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .eTag(etag(document, gzipEncoded))
+                .lastModified(document.getLastModified())
+                .cacheControl(CacheControl.noCache().cachePublic());
+        if (!encodable) {
+            return response.body(document.getBody());
+        }
+        if (gzipEncoded) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.getBody());
+        }
+        return response.body(GzipUtils.gunzip(document.getBody()));
+    }
+
+    /**
+     * ETag theo biểu diễn: bản gửi kèm Content-Encoding: gzip có hậu tố -gz
+     */
+    private String etag(SiteDocument document, boolean gzipEncoded) {
+        return quote(gzipEncoded ? document.getEtag() + "-gz" : document.getEtag());
+    }
+
+    private String quote(String etag) {
+        return "\"" + etag + "\"";
+    }
+}
@@ -1,8 +1,10 @@
 package com.blogApp.blogpost.controller;
 
+import com.blogApp.blogcommon.dto.UserPrincipal;
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.dto.TagDTO;
 import com.blogApp.blogpost.service.interfaces.TagService;
+import com.blogApp.blogpost.util.HttpCacheUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,7 +19,9 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +39,7 @@ import java.util.UUID;
 public class TagController {
 
     private final TagService tagService;
+    private final HttpCacheUtils httpCacheUtils;
 
     /**
      * Tạo tag mới
@@ -83,12 +88,22 @@ public class TagController {
             description = "Lấy thẻ thành công",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = TagDTO.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Thẻ không thay đổi so với ETag của client"),
         @ApiResponse(
             responseCode = "404", 
             description = "Không tìm thấy thẻ")
     })
-    public ResponseEntity<TagDTO> getTagById(@PathVariable UUID id) {
-        return ResponseEntity.ok(tagService.getTagById(id));
+    public ResponseEntity<TagDTO> getTagById(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            ServletWebRequest request) {
+        return httpCacheUtils.conditionalGet(
+                () -> tagService.getTagETag(id),
+                () -> tagService.getVersionedTagById(id),
+                userPrincipal == null,
+                request);
     }
 
     /**
@@ -106,12 +121,22 @@ public class TagController {
             description = "Lấy thẻ thành công",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = TagDTO.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Thẻ không thay đổi so với ETag của client"),
         @ApiResponse(
             responseCode = "404", 
             description = "Không tìm thấy thẻ")
     })
-    public ResponseEntity<TagDTO> getTagBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(tagService.getTagBySlug(slug));
+    public ResponseEntity<TagDTO> getTagBySlug(
+            @PathVariable String slug,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            ServletWebRequest request) {
+        return httpCacheUtils.conditionalGet(
+                () -> tagService.getTagETagBySlug(slug),
+                () -> tagService.getVersionedTagBySlug(slug),
+                userPrincipal == null,
+                request);
     }
 
     /**
@@ -0,0 +1,57 @@
+package com.blogApp.blogpost.dto.request;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DTO cho một dòng NDJSON khi import bài viết hàng loạt
+ * - Giống PostCreateRequest, có thêm thông tin tác giả và thời gian của bài viết gốc
+ * - authorId/authorName bỏ trống thì dùng admin đang import
+ * - slug bỏ trống thì tạo từ tiêu đề, trùng thì được thêm hậu tố
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImportLine {
+
+    @NotBlank(message = "Tiêu đề không được trống")
+    @Size(min = 3, max = 255, message = "Tiêu đề phải có từ 3 đến 255 ký tự")
+    private String title;
+
+    @Size(max = 255, message = "Slug không được quá 255 ký tự")
+    private String slug;
+
+    @NotBlank(message = "Nội dung không được trống")
+    private String content;
+
+    private String summary;
+
+    @NotNull(message = "Trạng thái không được trống")
+    private PostStatus status;
+
+    @Builder.Default
+    private boolean commentEnabled = true;
+
+    private String authorId;
+
+    private String authorName;
+
+    private Set<UUID> categoryIds;
+
+    private Set<String> tags;
+
+    private LocalDateTime publishedAt;
+
+    private LocalDateTime createdAt;
+}
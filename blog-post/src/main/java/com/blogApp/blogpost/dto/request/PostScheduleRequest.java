@@ -0,0 +1,30 @@
+package com.blogApp.blogpost.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO dùng cho yêu cầu hẹn giờ xuất bản/gỡ bài viết
+ * - Trường để trống nghĩa là hủy hẹn giờ tương ứng
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Yêu cầu hẹn giờ xuất bản/gỡ bài viết")
+public class PostScheduleRequest {
+
+    @Future(message = "Thời điểm xuất bản phải ở tương lai")
+    @Schema(description = "Thời điểm tự động xuất bản (bài viết chuyển sang SCHEDULED)", example = "2030-01-01T08:00:00")
+    private LocalDateTime publishAt;
+
+    @Future(message = "Thời điểm gỡ bài viết phải ở tương lai")
+    @Schema(description = "Thời điểm tự động gỡ bài viết (chuyển sang ARCHIVED)", example = "2030-02-01T08:00:00")
+    private LocalDateTime unpublishAt;
+}
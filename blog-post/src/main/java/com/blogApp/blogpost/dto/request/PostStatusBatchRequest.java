@@ -0,0 +1,34 @@
+package com.blogApp.blogpost.dto.request;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DTO dùng cho yêu cầu đổi trạng thái nhiều bài viết cùng lúc
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Yêu cầu đổi trạng thái nhiều bài viết")
+public class PostStatusBatchRequest {
+
+    @NotEmpty(message = "Danh sách bài viết không được trống")
+    @Size(max = 10000, message = "Tối đa 10000 bài viết mỗi yêu cầu")
+    @Schema(description = "ID các bài viết", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Set<UUID> ids;
+
+    @NotNull(message = "Trạng thái không được trống")
+    @Schema(description = "Trạng thái mới: DRAFT, PUBLISHED, ARCHIVED", example = "ARCHIVED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private PostStatus status;
+}
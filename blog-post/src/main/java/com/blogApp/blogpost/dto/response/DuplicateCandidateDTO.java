@@ -0,0 +1,35 @@
+package com.blogApp.blogpost.dto.response;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Bài viết có nội dung gần trùng với một bài viết khác
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bài viết gần trùng nội dung")
+public class DuplicateCandidateDTO {
+    @Schema(description = "ID của bài viết", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID postId;
+
+    @Schema(description = "Slug của bài viết", example = "huong-dan-su-dung-spring-boot")
+    private String slug;
+
+    @Schema(description = "ID của tác giả", example = "123e4567-e89b-12d3-a456-426614174001")
+    private String authorId;
+
+    @Schema(description = "Trạng thái của bài viết", example = "PUBLISHED")
+    private PostStatus status;
+
+    @Schema(description = "Khoảng cách Hamming giữa hai dấu vân tay SimHash (0 = gần như giống hệt)", example = "2")
+    private int distance;
+}
@@ -0,0 +1,40 @@
+package com.blogApp.blogpost.dto.response;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bài viết bị đánh dấu gần trùng khi lưu, cùng các bài viết mà nó trùng, dùng cho kiểm duyệt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bài viết bị đánh dấu gần trùng nội dung")
+public class DuplicateReportDTO {
+    @Schema(description = "ID của bài viết", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID postId;
+
+    @Schema(description = "Slug của bài viết", example = "huong-dan-su-dung-spring-boot")
+    private String slug;
+
+    @Schema(description = "ID của tác giả", example = "123e4567-e89b-12d3-a456-426614174001")
+    private String authorId;
+
+    @Schema(description = "Trạng thái của bài viết", example = "DRAFT")
+    private PostStatus status;
+
+    @Schema(description = "Thời điểm bị đánh dấu")
+    private LocalDateTime flaggedAt;
+
+    @Schema(description = "Các bài viết gần trùng, sắp theo khoảng cách tăng dần")
+    private List<DuplicateCandidateDTO> duplicates;
+}
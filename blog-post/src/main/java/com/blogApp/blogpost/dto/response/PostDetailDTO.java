@@ -10,6 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -42,6 +43,21 @@ public class PostDetailDTO {
     @Schema(description = "Nội dung bài viết (hỗ trợ Markdown)", example = "# Giới thiệu\nSpring Boot là...")
     private String content;
     
+    @Schema(description = "Nội dung bài viết đã render sang HTML và làm sạch")
+    private String contentHtml;
+    
+    @Schema(description = "Mục lục theo các tiêu đề trong contentHtml")
+    private List<TocEntry> tableOfContents;
+    
+    @Schema(description = "Số từ của nội dung", example = "1200")
+    private Integer wordCount;
+    
+    @Schema(description = "Thời gian đọc ước tính (phút)", example = "6")
+    private Integer readingTimeMinutes;
+    
+    @Schema(description = "Đoạn trích đầu nội dung (text thuần)")
+    private String excerpt;
+    
     @Schema(description = "ID của tác giả", example = "123e4567-e89b-12d3-a456-426614174001")
     private String authorId;
     
@@ -74,4 +90,10 @@ public class PostDetailDTO {
     
     @Schema(description = "Danh sách các bình luận của bài viết")
     private Set<CommentDTO> comments;
+
+    @Schema(description = "Tổng số bình luận đã duyệt của bài viết", example = "42")
+    private Integer commentCount;
+
+    @Schema(description = "Còn trang bình luận gốc tiếp theo hay không (lấy qua API bình luận)", example = "true")
+    private boolean hasMoreComments;
 }
@@ -0,0 +1,38 @@
+package com.blogApp.blogpost.dto.response;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DTO cho một bài viết khi export
+ * - Cùng tên trường với PostImportLine để file NDJSON import lại được, có thêm id, lượt xem và updatedAt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostExportLine {
+
+    private UUID id;
+    private String title;
+    private String slug;
+    private String summary;
+    private String content;
+    private PostStatus status;
+    private boolean commentEnabled;
+    private String authorId;
+    private String authorName;
+    private Integer viewCount;
+    private Set<UUID> categoryIds;
+    private Set<String> tags;
+    private LocalDateTime publishedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
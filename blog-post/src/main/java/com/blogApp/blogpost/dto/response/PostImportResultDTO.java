@@ -0,0 +1,43 @@
+package com.blogApp.blogpost.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO trả về kết quả import bài viết hàng loạt
+ * - Thống kê số dòng, số bài viết đã import và tốc độ import
+ * - Lỗi theo từng dòng (số dòng tính từ 1), chỉ giữ tối đa số lỗi cấu hình
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImportResultDTO {
+
+    private long totalLines;
+    private long imported;
+    private long failed;
+    private long chunks;
+    private long elapsedMs;
+    private double postsPerSecond;
+    private boolean errorsTruncated;
+
+    @Builder.Default
+    private List<LineError> errors = new ArrayList<>();
+
+    /**
+     * Lỗi của một dòng NDJSON
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
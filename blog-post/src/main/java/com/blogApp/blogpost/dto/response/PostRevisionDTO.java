@@ -0,0 +1,43 @@
+package com.blogApp.blogpost.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO chứa thông tin một phiên bản của bài viết
+ * - content chỉ có khi lấy một phiên bản cụ thể, để trống trong danh sách
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Một phiên bản nội dung của bài viết")
+public class PostRevisionDTO {
+
+    @Schema(description = "ID của bài viết")
+    private UUID postId;
+
+    @Schema(description = "Số thứ tự phiên bản, bắt đầu từ 1", example = "3")
+    private int revisionNumber;
+
+    @Schema(description = "Tiêu đề bài viết tại phiên bản này")
+    private String title;
+
+    @Schema(description = "ID người chỉnh sửa")
+    private String editorId;
+
+    @Schema(description = "Độ dài nội dung (ký tự)", example = "5230")
+    private int contentLength;
+
+    @Schema(description = "Nội dung markdown của phiên bản")
+    private String content;
+
+    @Schema(description = "Thời điểm tạo phiên bản")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.blogApp.blogpost.dto.response;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO trả về lịch xuất bản/gỡ hiện tại của bài viết
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lịch xuất bản/gỡ của bài viết")
+public class PostScheduleDTO {
+
+    @Schema(description = "ID của bài viết")
+    private UUID postId;
+
+    @Schema(description = "Trạng thái hiện tại của bài viết", example = "SCHEDULED")
+    private PostStatus status;
+
+    @Schema(description = "Thời điểm tự động xuất bản")
+    private LocalDateTime publishAt;
+
+    @Schema(description = "Thời điểm tự động gỡ bài viết")
+    private LocalDateTime unpublishAt;
+}
@@ -0,0 +1,33 @@
+package com.blogApp.blogpost.dto.response;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO trả về kết quả đổi trạng thái hàng loạt
+ * - notFound: id không tồn tại
+ * - forbidden: bài viết của tác giả khác (người dùng không phải admin)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatusBatchResultDTO {
+
+    private PostStatus status;
+    private int requested;
+    private int updated;
+
+    @Builder.Default
+    private List<UUID> notFound = new ArrayList<>();
+
+    @Builder.Default
+    private List<UUID> forbidden = new ArrayList<>();
+}
@@ -9,12 +9,15 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 /**
  * DTO chứa thông tin tóm tắt của bài viết, dùng cho hiển thị danh sách
- * - Không bao gồm nội dung đầy đủ
+ * - Không bao gồm nội dung markdown đầy đủ
+ * - contentHtml và tableOfContents chỉ có khi lấy một bài viết (theo id/slug), để trống trong danh sách
+ * - wordCount, readingTimeMinutes và excerpt được tính sẵn khi render nên có cả trong danh sách
  * - Chỉ chứa thông tin cơ bản và tóm tắt
  * - Có thông tin về danh mục và tag
  * - Bao gồm số lượng bình luận thay vì danh sách đầy đủ
@@ -48,6 +51,21 @@ public class PostSummaryDTO {
     @NotNull(message = "Status is required")
     private PostStatus status;
     
+    @Schema(description = "Nội dung bài viết đã render sang HTML và làm sạch")
+    private String contentHtml;
+    
+    @Schema(description = "Mục lục theo các tiêu đề trong contentHtml")
+    private List<TocEntry> tableOfContents;
+    
+    @Schema(description = "Số từ của nội dung", example = "1200")
+    private Integer wordCount;
+    
+    @Schema(description = "Thời gian đọc ước tính (phút)", example = "6")
+    private Integer readingTimeMinutes;
+    
+    @Schema(description = "Đoạn trích đầu nội dung (text thuần)")
+    private String excerpt;
+    
     @Schema(description = "URL ảnh đại diện của bài viết", example = "https://example.com/images/spring-boot.jpg")
     private String featuredImage;
     
@@ -71,4 +89,26 @@ public class PostSummaryDTO {
     
     @Schema(description = "Danh sách các thẻ của bài viết")
     private Set<TagDTO> tags;
+
+    /**
+     * Constructor cho truy vấn projection (cb.construct) chỉ gồm các cột tóm tắt của bảng posts
+     */
+    public PostSummaryDTO(UUID id, String title, String slug, String summary, String authorId, String authorName,
+                          PostStatus status, Integer viewCount, Integer wordCount, Integer readingTimeMinutes,
+                          String excerpt, LocalDateTime publishedAt, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.summary = summary;
+        this.authorId = authorId;
+        this.authorName = authorName;
+        this.status = status;
+        this.viewCount = viewCount;
+        this.wordCount = wordCount;
+        this.readingTimeMinutes = readingTimeMinutes;
+        this.excerpt = excerpt;
+        this.publishedAt = publishedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
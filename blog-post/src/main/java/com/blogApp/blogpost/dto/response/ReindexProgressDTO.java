@@ -0,0 +1,33 @@
+package com.blogApp.blogpost.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO trả về tiến độ xây dựng lại chỉ mục tìm kiếm
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexProgressDTO {
+
+    /**
+     * Trạng thái: IDLE, RUNNING, COMPLETED, FAILED
+     */
+    private String state;
+    private LocalDateTime updatedSince;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long totalCount;
+    private long entitiesLoaded;
+    private long documentsAdded;
+    private double percent;
+    private double documentsPerSecond;
+    private Long etaSeconds;
+    private String error;
+}
@@ -0,0 +1,30 @@
+package com.blogApp.blogpost.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Tài liệu sitemap/RSS/Atom đã render sẵn
+ * - body là nội dung XML đã nén gzip (null khi chỉ lấy metadata để kiểm tra 304)
+ * - etag là hash của nội dung chưa nén, lastModified tính theo epoch ms
+ */
+@Getter
+@AllArgsConstructor
+public class SiteDocument {
+
+    public static final String SITEMAP_INDEX = "sitemap.xml";
+    public static final String RSS_FEED = "feed.rss";
+    public static final String ATOM_FEED = "feed.atom";
+
+    private final String name;
+    private final String etag;
+    private final long lastModified;
+    private final byte[] body;
+
+    /**
+     * Tên tài liệu của shard sitemap thứ shard
+     */
+    public static String sitemapShard(int shard) {
+        return "sitemap-" + shard + ".xml.gz";
+    }
+}
@@ -0,0 +1,29 @@
+package com.blogApp.blogpost.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Kết quả gợi ý tìm kiếm, tách theo loại
+ * - Mỗi danh sách được sắp theo độ phổ biến (lượt xem với bài viết, số bài viết với tag/danh mục)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Kết quả gợi ý tìm kiếm")
+public class SuggestResponseDTO {
+    @Schema(description = "Bài viết đã xuất bản có tiêu đề khớp")
+    private List<SuggestionDTO> posts;
+
+    @Schema(description = "Tag có tên khớp")
+    private List<SuggestionDTO> tags;
+
+    @Schema(description = "Danh mục có tên khớp")
+    private List<SuggestionDTO> categories;
+}
@@ -0,0 +1,28 @@
+package com.blogApp.blogpost.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Một gợi ý tìm kiếm (bài viết, tag hoặc danh mục)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Gợi ý tìm kiếm")
+public class SuggestionDTO {
+    @Schema(description = "ID của bài viết/tag/danh mục", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Tiêu đề bài viết hoặc tên tag/danh mục", example = "Hướng dẫn sử dụng Spring Boot")
+    private String text;
+
+    @Schema(description = "Slug dùng cho URL", example = "huong-dan-su-dung-spring-boot")
+    private String slug;
+}
@@ -0,0 +1,26 @@
+package com.blogApp.blogpost.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một mục trong mục lục của bài viết, ứng với một tiêu đề (h1-h6) trong HTML đã render
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mục trong mục lục của bài viết")
+public class TocEntry {
+    @Schema(description = "Cấp tiêu đề (1-6)", example = "2")
+    private int level;
+
+    @Schema(description = "id của thẻ tiêu đề trong contentHtml, dùng làm anchor", example = "cai-dat")
+    private String anchor;
+
+    @Schema(description = "Nội dung tiêu đề", example = "Cài đặt")
+    private String text;
+}
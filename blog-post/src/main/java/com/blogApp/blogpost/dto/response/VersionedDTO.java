@@ -0,0 +1,17 @@
+package com.blogApp.blogpost.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DTO kèm ETag của phiên bản đang cache, dùng cho GET có điều kiện
+ * - etag có thể null nếu bản cache được tạo trước khi có ETag
+ * @param <T> Kiểu DTO
+ */
+@Getter
+@AllArgsConstructor
+public class VersionedDTO<T> {
+
+    private final T body;
+    private final String etag;
+}
@@ -0,0 +1,23 @@
+package com.blogApp.blogpost.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Sự kiện nội bộ khi nội dung markdown của bài viết thay đổi
+ * - Được phát trong transaction tạo/cập nhật bài viết
+ * - Listener xử lý sau khi commit để render lại HTML và ghi phiên bản mới vào lịch sử
+ */
+@Getter
+@AllArgsConstructor
+public class PostContentChangedEvent {
+
+    private final UUID postId;
+    private final String slug;
+    private final String content;
+    private final String contentHash;
+    private final String title;
+    private final String editorId;
+}
@@ -0,0 +1,18 @@
+package com.blogApp.blogpost.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Sự kiện nội bộ khi trạng thái xuất bản của bài viết thay đổi (tạo, cập nhật, đổi trạng thái, xóa)
+ * - Listener xử lý sau khi commit, đọc lại trạng thái đã commit để thêm hoặc bỏ bài viết khỏi feed
+ */
+@Getter
+@AllArgsConstructor
+public class PostFeedChangedEvent {
+
+    private final Collection<UUID> postIds;
+}
@@ -0,0 +1,23 @@
+package com.blogApp.blogpost.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sự kiện nội bộ khi tag, danh mục hoặc trạng thái xuất bản của bài viết thay đổi
+ * - Được phát khi tạo/cập nhật/xóa bài viết hoặc đổi trạng thái
+ * - Listener xử lý sau khi commit để cập nhật chỉ mục bài viết liên quan
+ * - published = false khi bài viết bị xóa hoặc không còn xuất bản (bỏ khỏi chỉ mục)
+ */
+@Getter
+@AllArgsConstructor
+public class PostRelationsChangedEvent {
+
+    private final UUID postId;
+    private final boolean published;
+    private final Set<UUID> tagIds;
+    private final Set<UUID> categoryIds;
+}
@@ -0,0 +1,21 @@
+package com.blogApp.blogpost.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Sự kiện nội bộ khi lịch xuất bản/gỡ của bài viết thay đổi
+ * - Listener xử lý sau khi commit để đặt lại hẹn giờ trong timing wheel
+ * - publishAt/unpublishAt = null nghĩa là hủy hẹn giờ tương ứng
+ */
+@Getter
+@AllArgsConstructor
+public class PostScheduleChangedEvent {
+
+    private final UUID postId;
+    private final LocalDateTime publishAt;
+    private final LocalDateTime unpublishAt;
+}
@@ -0,0 +1,27 @@
+package com.blogApp.blogpost.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Sự kiện nội bộ khi tag hoặc danh mục được tạo, đổi tên hoặc bị xóa
+ * - Listener xử lý sau khi commit để cập nhật chỉ mục gợi ý tìm kiếm
+ * - deleted = true khi tag/danh mục bị xóa (bỏ khỏi chỉ mục)
+ */
+@Getter
+@AllArgsConstructor
+public class TaxonomyChangedEvent {
+
+    public enum Kind {
+        TAG,
+        CATEGORY
+    }
+
+    private final Kind kind;
+    private final UUID id;
+    private final String name;
+    private final String slug;
+    private final boolean deleted;
+}
@@ -19,6 +19,14 @@ public class UnauthorizedPostActionException extends UnauthorizedException {
         return new UnauthorizedPostActionException("Bạn không có quyền xóa bài viết này vì không phải tác giả hoặc admin");
     }
     
+    public static UnauthorizedPostActionException cannotViewUnpublished() {
+        return new UnauthorizedPostActionException("Bạn chỉ được xem bài viết chưa xuất bản của chính mình");
+    }
+
+    public static UnauthorizedPostActionException cannotViewRevisions() {
+        return new UnauthorizedPostActionException("Chỉ tác giả hoặc admin được xem lịch sử chỉnh sửa của bài viết");
+    }
+
     public static UnauthorizedPostActionException cannotUpdateStatus() {
         return new UnauthorizedPostActionException("Bạn không có quyền thay đổi trạng thái bài viết này vì không phải tác giả hoặc admin");
     }
@@ -31,7 +31,7 @@ public interface PostMapper {
 
     /**
      * Chuyển từ request sang entity khi tạo mới
-     * Bỏ qua các trường tự sinh
+     * Bỏ qua các trường tự sinh, kết quả render (PostRenderService) và lịch xuất bản (PostSchedulerService)
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "slug", ignore = true)
@@ -42,11 +42,24 @@ public interface PostMapper {
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "tags", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "authorId", ignore = true)
+    @Mapping(target = "authorName", ignore = true)
+    @Mapping(target = "isPublished", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "contentHtml", ignore = true)
+    @Mapping(target = "renderedHash", ignore = true)
+    @Mapping(target = "wordCount", ignore = true)
+    @Mapping(target = "readingTimeMinutes", ignore = true)
+    @Mapping(target = "excerpt", ignore = true)
+    @Mapping(target = "tableOfContents", ignore = true)
+    @Mapping(target = "simHash", ignore = true)
+    @Mapping(target = "scheduledPublishAt", ignore = true)
+    @Mapping(target = "scheduledUnpublishAt", ignore = true)
     Post toEntity(PostCreateRequest request);
 
     /**
      * Cập nhật entity từ request
-     * Bỏ qua các trường không được phép cập nhật
+     * Bỏ qua các trường không được phép cập nhật, kết quả render và lịch xuất bản
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "slug", ignore = true)
@@ -58,14 +71,32 @@ public interface PostMapper {
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "tags", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "viewCount", ignore = true)
+    @Mapping(target = "published", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "contentHtml", ignore = true)
+    @Mapping(target = "renderedHash", ignore = true)
+    @Mapping(target = "wordCount", ignore = true)
+    @Mapping(target = "readingTimeMinutes", ignore = true)
+    @Mapping(target = "excerpt", ignore = true)
+    @Mapping(target = "tableOfContents", ignore = true)
+    @Mapping(target = "simHash", ignore = true)
+    @Mapping(target = "scheduledPublishAt", ignore = true)
+    @Mapping(target = "scheduledUnpublishAt", ignore = true)
     void updateEntityFromDto(PostUpdateRequest request, @MappingTarget Post post);
 
     /**
      * Chuyển sang DTO chi tiết
      * Map categories và tags thành các DTO tương ứng
+     * Mục lục được giải mã bằng PostContentProcessor.parseTableOfContents
+     * Cây bình luận và số bình luận do PostDetailServiceImpl dựng
      */
     @Mapping(target = "categories", expression = "java(mapCategoriesToSummaries(post.getCategories()))")
     @Mapping(target = "tags", expression = "java(mapTagsToDto(post.getTags()))")
+    @Mapping(target = "tableOfContents", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "hasMoreComments", ignore = true)
     PostDetailDTO toDetailDto(Post post);
 
     /**
@@ -3,10 +3,15 @@ package com.blogApp.blogpost.model;
 import com.blogApp.blogcommon.enums.PostStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.search.engine.backend.types.Sortable;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -17,10 +22,12 @@ import java.util.UUID;
  * Entity đại diện cho một bài viết trong blog
  * - Sử dụng UUID làm khóa chính
  * - Có các trường cơ bản: tiêu đề, nội dung, slug, tác giả
- * - Hỗ trợ tìm kiếm full-text với Hibernate Search
- * - Có các mối quan hệ nhiều-nhiều với Category và Tag
+ * - Hỗ trợ tìm kiếm full-text với Hibernate Search (status, tác giả, thời gian, id danh mục và tên tag
+ *   cũng được đánh chỉ mục để lọc ngay trong chỉ mục)
+ * - Có các mối quan hệ nhiều-nhiều với Category và Tag (tải theo lô khi duyệt nhiều bài viết)
  * - Có mối quan hệ một-nhiều với Comment
  * - Tự động quản lý thời gian tạo/cập nhật
+ * - Có thể hẹn giờ xuất bản/gỡ bài viết (scheduledPublishAt/scheduledUnpublishAt)
  */
 @Entity
 @Table(name = "posts")
@@ -51,12 +58,57 @@ public class Post {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
+    /**
+     * Hash SHA-256 của content hiện tại
+     */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * HTML đã render và làm sạch từ content, chỉ hợp lệ khi renderedHash == contentHash
+     */
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String contentHtml;
+
+    /**
+     * Hash của content đã dùng để render contentHtml
+     */
+    @Column(length = 64)
+    private String renderedHash;
+
+    /**
+     * Số từ, thời gian đọc (phút), đoạn trích và mục lục tính cùng lần render contentHtml,
+     * chỉ hợp lệ cùng với contentHtml
+     */
+    @Column
+    private Integer wordCount;
+
+    @Column
+    private Integer readingTimeMinutes;
+
+    @Column(columnDefinition = "TEXT")
+    private String excerpt;
+
+    /**
+     * Mục lục dạng mã hóa, mỗi dòng "cấp\tanchor\ttiêu đề" (xem PostContentProcessor.parseTableOfContents)
+     */
+    @Column(columnDefinition = "TEXT")
+    private String tableOfContents;
+
+    /**
+     * Dấu vân tay SimHash 64 bit của nội dung, dùng để phát hiện bài viết gần trùng
+     */
+    @Column
+    private Long simHash;
+
+    @KeywordField
     @Column(nullable = false)
     private String authorId;
 
     @Column(nullable = false)
     private String authorName;
 
+    @KeywordField
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     @Builder.Default
@@ -69,9 +121,23 @@ public class Post {
     @Builder.Default
     private Integer viewCount = 0;
 
+    @GenericField(sortable = Sortable.YES)
     @Column
     private LocalDateTime publishedAt;
 
+    /**
+     * Thời điểm tự động xuất bản, chỉ có hiệu lực khi status = SCHEDULED
+     */
+    @Column
+    private LocalDateTime scheduledPublishAt;
+
+    /**
+     * Thời điểm tự động gỡ bài viết (chuyển sang ARCHIVED), chỉ có hiệu lực khi bài viết đang/sẽ được xuất bản
+     */
+    @Column
+    private LocalDateTime scheduledUnpublishAt;
+
+    @GenericField(sortable = Sortable.YES)
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -80,6 +146,8 @@ public class Post {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @IndexedEmbedded(includePaths = "id")
+    @BatchSize(size = 50)
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "post_categories",
@@ -88,6 +156,8 @@ public class Post {
     )
     private Set<Category> categories = new HashSet<>();
 
+    @IndexedEmbedded(includePaths = "name_keyword")
+    @BatchSize(size = 50)
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "post_tags",
@@ -131,4 +201,13 @@ public class Post {
         comments.remove(comment);
         comment.setPost(null);
     }
+
+    /**
+     * Kiểm tra HTML (và các trường render cùng nó) đã lưu có khớp với content hiện tại không
+     * - Bài viết render trước khi có wordCount/simHash được coi là chưa render
+     */
+    public boolean isRenderedContentFresh() {
+        return contentHtml != null && wordCount != null && simHash != null
+                && contentHash != null && contentHash.equals(renderedHash);
+    }
 }
\ No newline at end of file
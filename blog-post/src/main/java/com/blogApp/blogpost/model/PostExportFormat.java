@@ -0,0 +1,27 @@
+package com.blogApp.blogpost.model;
+
+/**
+ * Enum định nghĩa các định dạng export bài viết
+ * - NDJSON: mỗi dòng một bài viết dạng JSON, import lại được qua POST /posts/import
+ * - CSV: một dòng tiêu đề, mỗi dòng một bài viết; tag và id danh mục nối bằng '|'
+ */
+public enum PostExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    PostExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
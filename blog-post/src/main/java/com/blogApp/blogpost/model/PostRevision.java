@@ -0,0 +1,60 @@
+package com.blogApp.blogpost.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity lưu một phiên bản nội dung của bài viết
+ * - snapshot = true: data là toàn bộ markdown của phiên bản
+ * - snapshot = false: data là delta theo dòng so với phiên bản liền trước (xem RevisionDelta)
+ * - Phiên bản bất kỳ được dựng lại từ snapshot gần nhất phía trước cộng các delta sau đó
+ */
+@Entity
+@Table(name = "post_revisions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_revisions_post_number", columnNames = {"post_id", "revision_number"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class PostRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "post_id", nullable = false)
+    private UUID postId;
+
+    @Column(name = "revision_number", nullable = false)
+    private int revisionNumber;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Column(columnDefinition = "MEDIUMTEXT", nullable = false)
+    private String data;
+
+    /**
+     * Hash SHA-256 của nội dung đầy đủ, dùng để kiểm tra khi dựng lại
+     */
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private int contentLength;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column
+    private String editorId;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
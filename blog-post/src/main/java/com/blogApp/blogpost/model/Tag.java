@@ -1,11 +1,13 @@
 package com.blogApp.blogpost.model;
 
+import com.blogApp.blogpost.config.PostSearchAnalysisConfigurer;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -34,6 +36,7 @@ public class Tag {
     private UUID id;
 
     @FullTextField
+    @KeywordField(name = "name_keyword", normalizer = PostSearchAnalysisConfigurer.LOWERCASE_NORMALIZER)
     @Column(nullable = false, unique = true)
     private String name;
 
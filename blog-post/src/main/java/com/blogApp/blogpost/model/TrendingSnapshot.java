@@ -0,0 +1,39 @@
+package com.blogApp.blogpost.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity lưu snapshot điểm xu hướng của bài viết
+ * - Điểm đã được quy về thời điểm takenAt, khi khôi phục chỉ cần suy giảm thêm phần thời gian đã trôi qua
+ * - Mỗi cửa sổ chỉ giữ snapshot mới nhất
+ */
+@Entity
+@Table(name = "trending_snapshots", indexes = @Index(name = "idx_trending_snapshots_window", columnList = "time_window"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class TrendingSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "time_window", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private TrendingWindow window;
+
+    @Column(nullable = false)
+    private UUID postId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,34 @@
+package com.blogApp.blogpost.model;
+
+import java.time.Duration;
+
+/**
+ * Enum định nghĩa các cửa sổ xu hướng của bài viết
+ * - Mỗi cửa sổ là một hệ số suy giảm riêng: điểm của một sự kiện giảm một nửa sau mỗi half-life
+ * - DAY: Xu hướng trong ngày (half-life 6 giờ)
+ * - WEEK: Xu hướng trong tuần (half-life 36 giờ)
+ * - MONTH: Xu hướng trong tháng (half-life 7 ngày)
+ */
+public enum TrendingWindow {
+    DAY(Duration.ofHours(6)),
+    WEEK(Duration.ofHours(36)),
+    MONTH(Duration.ofDays(7));
+
+    private final Duration halfLife;
+
+    TrendingWindow(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    /**
+     * Hệ số nhân cho khoảng thời gian elapsedMillis: 2^(elapsed / halfLife)
+     * - elapsed âm cho hệ số suy giảm (< 1)
+     */
+    public double growthFactor(long elapsedMillis) {
+        return Math.pow(2, (double) elapsedMillis / halfLife.toMillis());
+    }
+}
@@ -1,6 +1,9 @@
 package com.blogApp.blogpost.repository;
 
+import com.blogApp.blogcommon.enums.PostStatus;
 import com.blogApp.blogpost.model.Category;
+import com.blogApp.blogpost.repository.projection.PostCategorySummary;
+import com.blogApp.blogpost.repository.projection.SuggestTermView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +26,8 @@ import java.util.UUID;
  * - Tìm danh mục con @List<Category> findByParentId(@Param("parentId") UUID parentId);
  * - Tìm danh mục phổ biến @Page<Category> findPopularCategories(Pageable pageable);
  * - Đếm số bài viết đã được đăng trong danh mục @long countPublishedPosts(@Param("categoryId") UUID categoryId);
+ * - Lấy danh mục của nhiều bài viết trong một truy vấn @List<PostCategorySummary> findSummariesByPostIds(@Param("postIds") Collection<UUID> postIds);
+ * - Lấy danh mục kèm số bài viết theo status (cả danh mục chưa có bài viết) @List<SuggestTermView> findSuggestTerms(@Param("status") PostStatus status);
  */
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
@@ -40,4 +46,11 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     @Query("SELECT COUNT(p) FROM Category c JOIN c.posts p WHERE c.id = :categoryId AND p.status = 'PUBLISHED'")
     long countPublishedPosts(@Param("categoryId") UUID categoryId);
+
+    @Query("SELECT p.id AS postId, c.id AS id, c.name AS name, c.slug AS slug FROM Post p JOIN p.categories c WHERE p.id IN :postIds")
+    List<PostCategorySummary> findSummariesByPostIds(@Param("postIds") Collection<UUID> postIds);
+
+    @Query("SELECT c.id AS id, c.name AS name, c.slug AS slug, COUNT(p.id) AS postCount " +
+            "FROM Category c LEFT JOIN c.posts p ON p.status = :status GROUP BY c.id, c.name, c.slug")
+    List<SuggestTermView> findSuggestTerms(@Param("status") PostStatus status);
 }
@@ -2,6 +2,8 @@ package com.blogApp.blogpost.repository;
 
 import com.blogApp.blogpost.model.Comment;
 import com.blogApp.blogpost.model.CommentStatus;
+import com.blogApp.blogpost.repository.projection.CommentNode;
+import com.blogApp.blogpost.repository.projection.PostCommentCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +25,9 @@ import java.util.UUID;
  * - Tìm kiếm bình luận theo status @Page<Comment> findByStatus(CommentStatus status, Pageable pageable);
  * - Tìm kiếm bình luận mới nhất theo postId và status @Page<Comment> findLatestCommentsByPostId(@Param("postId") UUID postId, @Param("status") CommentStatus status, Pageable pageable);
  * - Đếm số bình luận theo postId và status @long countCommentsByPostIdAndStatus(@Param("postId") UUID postId, @Param("status") CommentStatus status);
+ * - Đếm số bình luận theo nhiều postId trong một truy vấn @List<PostCommentCount> countCommentsByPostIdsAndStatus(@Param("postIds") Collection<UUID> postIds, @Param("status") CommentStatus status);
+ * - Lấy một trang bình luận gốc của bài viết dạng projection @Page<CommentNode> findRootNodesByPostIdAndStatus(@Param("postId") UUID postId, @Param("status") CommentStatus status, Pageable pageable);
+ * - Lấy mọi bình luận trả lời (mọi cấp) của bài viết dạng projection @List<CommentNode> findReplyNodesByPostIdAndStatus(@Param("postId") UUID postId, @Param("status") CommentStatus status, Pageable pageable);
  */
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
@@ -43,4 +49,22 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
 
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.status = :status")
     long countCommentsByPostIdAndStatus(@Param("postId") UUID postId, @Param("status") CommentStatus status);
-}
\ No newline at end of file
+
+    @Query("SELECT c.post.id AS postId, COUNT(c) AS commentCount FROM Comment c " +
+            "WHERE c.post.id IN :postIds AND c.status = :status GROUP BY c.post.id")
+    List<PostCommentCount> countCommentsByPostIdsAndStatus(@Param("postIds") Collection<UUID> postIds,
+                                                           @Param("status") CommentStatus status);
+
+    @Query(value = "SELECT c.id AS id, c.parent.id AS parentId, c.authorId AS authorId, c.authorName AS authorName, " +
+            "c.content AS content, c.createdAt AS createdAt, c.updatedAt AS updatedAt FROM Comment c " +
+            "WHERE c.post.id = :postId AND c.parent IS NULL AND c.status = :status ORDER BY c.createdAt ASC, c.id ASC",
+            countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.parent IS NULL AND c.status = :status")
+    Page<CommentNode> findRootNodesByPostIdAndStatus(@Param("postId") UUID postId, @Param("status") CommentStatus status,
+                                                     Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.parent.id AS parentId, c.authorId AS authorId, c.authorName AS authorName, " +
+            "c.content AS content, c.createdAt AS createdAt, c.updatedAt AS updatedAt FROM Comment c " +
+            "WHERE c.post.id = :postId AND c.parent IS NOT NULL AND c.status = :status ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentNode> findReplyNodesByPostIdAndStatus(@Param("postId") UUID postId, @Param("status") CommentStatus status,
+                                                      Pageable pageable);
+}
@@ -2,29 +2,75 @@ package com.blogApp.blogpost.repository;
 
 import com.blogApp.blogcommon.enums.PostStatus;
 import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.repository.projection.PostFeatureLink;
+import com.blogApp.blogpost.repository.projection.PostFeedEntry;
+import com.blogApp.blogpost.repository.projection.PostFingerprint;
+import com.blogApp.blogpost.repository.projection.PostScheduleEntry;
+import com.blogApp.blogpost.repository.projection.PostSitemapEntry;
+import com.blogApp.blogpost.repository.projection.PostSlugView;
+import com.blogApp.blogpost.repository.projection.PostStatusView;
+import com.blogApp.blogpost.repository.projection.PostSuggestEntry;
+import com.blogApp.blogpost.repository.projection.PostSyndicationEntry;
+import com.blogApp.blogpost.repository.projection.PostViewCountView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository cho Post
  * - Tạo các phương thức để thực hiện các thao tác với Post
  * - Sử dụng JPA Repository để tương tác với database
+ * - Hỗ trợ truy vấn theo Specification (xem PostSpecifications) cho phân trang keyset
+ * - Truy vấn danh sách dạng tóm tắt không tải content qua PostSummaryRepository
  * - Tìm kiếm bài viết theo slug @Optional<Post> findBySlug(String slug);
  * - Tìm kiếm bài viết theo status @Page<Post> findByStatus(PostStatus status, Pageable pageable);
  * - Tìm kiếm bài viết theo authorId @Page<Post> findByAuthorId(String authorId, Pageable pageable);
  * - Tìm kiếm bài viết theo categoryId và status @Page<Post> findByCategoryIdAndStatus(@Param("categoryId") UUID categoryId, @Param("status") PostStatus status, Pageable pageable);
  * - Tìm kiếm bài viết theo tagId và status @Page<Post> findByTagIdAndStatus(@Param("tagId") UUID tagId, @Param("status") PostStatus status, Pageable pageable);
+ * - Cộng dồn lượt xem cho nhiều bài viết @int incrementViewCounts(@Param("ids") Collection<UUID> ids, @Param("delta") int delta);
+ * - Lấy id và slug theo danh sách id @List<PostSlugView> findSlugsByIdIn(Collection<UUID> ids);
+ * - Lấy id, slug và lượt xem theo danh sách id @List<PostViewCountView> findViewCountsByIdIn(@Param("ids") Collection<UUID> ids);
+ * - Lấy id và thời điểm xuất bản của các bài viết theo status @List<PostFeedEntry> findFeedEntriesByStatus(@Param("status") PostStatus status);
+ * - Lấy các cặp (bài viết, tag) của bài viết theo status @List<PostFeatureLink> findTagLinksByStatus(@Param("status") PostStatus status);
+ * - Lấy các cặp (bài viết, danh mục) của bài viết theo status @List<PostFeatureLink> findCategoryLinksByStatus(@Param("status") PostStatus status);
+ * - Lấy id và thời điểm xuất bản theo danh sách id và status @List<PostFeedEntry> findFeedEntriesByIdInAndStatus(@Param("ids") Collection<UUID> ids, @Param("status") PostStatus status);
+ * - Lấy các cặp (bài viết, tag) theo danh sách id @List<PostFeatureLink> findTagLinksByPostIdIn(@Param("ids") Collection<UUID> ids);
+ * - Lấy các cặp (bài viết, danh mục) theo danh sách id @List<PostFeatureLink> findCategoryLinksByPostIdIn(@Param("ids") Collection<UUID> ids);
+ * - Lấy id, slug, tác giả và trạng thái theo danh sách id @List<PostStatusView> findStatusViewsByIdIn(@Param("ids") Collection<UUID> ids);
+ * - Đổi trạng thái nhiều bài viết trong một câu UPDATE @int updateStatusByIdIn(@Param("ids") Collection<UUID> ids, @Param("status") PostStatus status, @Param("now") LocalDateTime now);
+ * - Xuất bản nhiều bài viết, giữ publishedAt đã có @int publishByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+ * - Lấy các bài viết đang có hẹn giờ xuất bản/gỡ @List<PostScheduleEntry> findScheduleEntries();
+ * - Lấy id các bài viết SCHEDULED đã đến giờ xuất bản @List<UUID> findIdsDueForPublish(@Param("now") LocalDateTime now, Pageable pageable);
+ * - Lấy id các bài viết PUBLISHED đã đến giờ gỡ @List<UUID> findIdsDueForUnpublish(@Param("now") LocalDateTime now, Pageable pageable);
+ * - Đọc bài viết theo luồng để export (cursor phía server) @Stream<Post> streamForExport(@Param("status") PostStatus status, @Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo);
+ * - Đếm bài viết theo status @long countByStatus(PostStatus status);
+ * - Đọc mục sitemap của mọi bài viết đã xuất bản theo luồng @Stream<PostSitemapEntry> streamSitemapEntries();
+ * - Lấy mục sitemap của một bài viết nếu đã xuất bản @Optional<PostSitemapEntry> findSitemapEntryById(@Param("id") UUID id);
+ * - Lấy các bài viết mới xuất bản cho RSS/Atom @List<PostSyndicationEntry> findSyndicationEntries(Pageable pageable);
+ * - Lấy tiêu đề, slug và lượt xem của bài viết theo status @List<PostSuggestEntry> findSuggestEntriesByStatus(@Param("status") PostStatus status);
+ * - Lấy tiêu đề, slug và lượt xem của một bài viết nếu đã xuất bản @Optional<PostSuggestEntry> findSuggestEntryById(@Param("id") UUID id);
+ * - Lưu HTML đã render cùng số từ, thời gian đọc, đoạn trích và mục lục nếu content chưa thay đổi @int updateRenderedContent(@Param("id") UUID id, @Param("contentHash") String contentHash, @Param("html") String html, @Param("wordCount") int wordCount, @Param("readingTimeMinutes") int readingTimeMinutes, @Param("excerpt") String excerpt, @Param("tableOfContents") String tableOfContents, @Param("simHash") long simHash);
+ * - Lấy dấu vân tay SimHash của các bài viết đủ dài, cũ trước @List<PostFingerprint> findFingerprints(@Param("minWords") int minWords);
+ * - Lấy id các bài viết chưa render hoặc render đã cũ, theo thứ tự id @List<UUID> findIdsWithStaleRender(@Param("after") UUID after, Pageable pageable);
  */
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {
+public interface PostRepository extends JpaRepository<Post, UUID>, JpaSpecificationExecutor<Post>, PostSummaryRepository {
 
     Optional<Post> findBySlug(String slug);
 
@@ -38,9 +84,6 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
     @Query("SELECT p FROM Post p JOIN p.tags t WHERE t.id = :tagId AND p.status = :status")
     Page<Post> findByTagIdAndStatus(@Param("tagId") UUID tagId, @Param("status") PostStatus status, Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword% OR p.summary LIKE %:keyword%")
-    Page<Post> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
-
     @Query("SELECT p FROM Post p WHERE p.status = :status ORDER BY p.publishedAt DESC")
     Page<Post> findLatestPosts(@Param("status") PostStatus status, Pageable pageable);
 
@@ -48,4 +91,141 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
     Page<Post> findPopularPosts(@Param("status") PostStatus status, Pageable pageable);
 
     boolean existsBySlug(String slug);
+
+    @Query("SELECT p.id AS id, p.slug AS slug FROM Post p WHERE p.id IN :ids")
+    List<PostSlugView> findSlugsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id AS id, p.slug AS slug, p.viewCount AS viewCount FROM Post p WHERE p.id IN :ids")
+    List<PostViewCountView> findViewCountsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id AS id, p.publishedAt AS publishedAt FROM Post p WHERE p.status = :status AND p.publishedAt IS NOT NULL")
+    List<PostFeedEntry> findFeedEntriesByStatus(@Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS postId, t.id AS featureId FROM Post p JOIN p.tags t WHERE p.status = :status")
+    List<PostFeatureLink> findTagLinksByStatus(@Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS postId, c.id AS featureId FROM Post p JOIN p.categories c WHERE p.status = :status")
+    List<PostFeatureLink> findCategoryLinksByStatus(@Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS id, p.publishedAt AS publishedAt FROM Post p " +
+            "WHERE p.id IN :ids AND p.status = :status AND p.publishedAt IS NOT NULL")
+    List<PostFeedEntry> findFeedEntriesByIdInAndStatus(@Param("ids") Collection<UUID> ids,
+                                                       @Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS postId, t.id AS featureId FROM Post p JOIN p.tags t WHERE p.id IN :ids")
+    List<PostFeatureLink> findTagLinksByPostIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id AS postId, c.id AS featureId FROM Post p JOIN p.categories c WHERE p.id IN :ids")
+    List<PostFeatureLink> findCategoryLinksByPostIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id AS id, p.slug AS slug, p.authorId AS authorId, p.status AS status FROM Post p WHERE p.id IN :ids")
+    List<PostStatusView> findStatusViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id AS id, p.scheduledPublishAt AS scheduledPublishAt, p.scheduledUnpublishAt AS scheduledUnpublishAt FROM Post p " +
+            "WHERE (p.status = com.blogApp.blogcommon.enums.PostStatus.SCHEDULED AND p.scheduledPublishAt IS NOT NULL) " +
+            "OR (p.status IN (com.blogApp.blogcommon.enums.PostStatus.SCHEDULED, com.blogApp.blogcommon.enums.PostStatus.PUBLISHED) " +
+            "AND p.scheduledUnpublishAt IS NOT NULL)")
+    List<PostScheduleEntry> findScheduleEntries();
+
+    @Query("SELECT p.id FROM Post p WHERE p.status = com.blogApp.blogcommon.enums.PostStatus.SCHEDULED " +
+            "AND p.scheduledPublishAt <= :now ORDER BY p.scheduledPublishAt")
+    List<UUID> findIdsDueForPublish(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.status = com.blogApp.blogcommon.enums.PostStatus.PUBLISHED " +
+            "AND p.scheduledUnpublishAt <= :now ORDER BY p.scheduledUnpublishAt")
+    List<UUID> findIdsDueForUnpublish(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Đọc bài viết theo luồng để export
+     * - Fetch size cố định để driver đọc theo cursor phía server (cần useCursorFetch=true với MySQL),
+     *   nơi gọi phải đóng Stream và detach entity đã đọc
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p WHERE (:status IS NULL OR p.status = :status) " +
+            "AND (:createdFrom IS NULL OR p.createdAt >= :createdFrom) " +
+            "AND (:createdTo IS NULL OR p.createdAt < :createdTo) ORDER BY p.createdAt, p.id")
+    Stream<Post> streamForExport(@Param("status") PostStatus status, @Param("createdFrom") LocalDateTime createdFrom,
+                                 @Param("createdTo") LocalDateTime createdTo);
+
+    long countByStatus(PostStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.slug AS slug, p.updatedAt AS updatedAt FROM Post p " +
+            "WHERE p.status = com.blogApp.blogcommon.enums.PostStatus.PUBLISHED")
+    Stream<PostSitemapEntry> streamSitemapEntries();
+
+    @Query("SELECT p.id AS id, p.slug AS slug, p.updatedAt AS updatedAt FROM Post p " +
+            "WHERE p.id = :id AND p.status = com.blogApp.blogcommon.enums.PostStatus.PUBLISHED")
+    Optional<PostSitemapEntry> findSitemapEntryById(@Param("id") UUID id);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.summary AS summary, p.authorName AS authorName, " +
+            "p.publishedAt AS publishedAt, p.updatedAt AS updatedAt FROM Post p " +
+            "WHERE p.status = com.blogApp.blogcommon.enums.PostStatus.PUBLISHED ORDER BY p.publishedAt DESC")
+    List<PostSyndicationEntry> findSyndicationEntries(Pageable pageable);
+
+    /**
+     * Đổi trạng thái nhiều bài viết, không tải entity
+     * - Bài viết không còn xuất bản nên mọi hẹn giờ còn lại bị hủy
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.status = :status, p.scheduledPublishAt = NULL, p.scheduledUnpublishAt = NULL, " +
+            "p.updatedAt = :now WHERE p.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<UUID> ids, @Param("status") PostStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * Xuất bản nhiều bài viết, publishedAt chỉ được gán cho bài viết chưa từng xuất bản
+     * - Hẹn giờ xuất bản (nếu có) được xóa, hẹn giờ gỡ được giữ nguyên
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.status = com.blogApp.blogcommon.enums.PostStatus.PUBLISHED, " +
+            "p.publishedAt = COALESCE(p.publishedAt, :now), p.scheduledPublishAt = NULL, p.updatedAt = :now " +
+            "WHERE p.id IN :ids")
+    int publishByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Cộng thêm delta lượt xem cho các bài viết, không đọc entity và không đổi updatedAt
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.viewCount = COALESCE(p.viewCount, 0) + :delta WHERE p.id IN :ids")
+    int incrementViewCounts(@Param("ids") Collection<UUID> ids, @Param("delta") int delta);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.viewCount AS viewCount FROM Post p WHERE p.status = :status")
+    List<PostSuggestEntry> findSuggestEntriesByStatus(@Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.viewCount AS viewCount FROM Post p " +
+            "WHERE p.id = :id AND p.status = com.blogApp.blogcommon.enums.PostStatus.PUBLISHED")
+    Optional<PostSuggestEntry> findSuggestEntryById(@Param("id") UUID id);
+
+    /**
+     * Ghi HTML đã render cùng các trường suy ra, chỉ khi content vẫn ứng với contentHash
+     * (bài viết cũ chưa có hash sẽ được gán hash luôn)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.contentHtml = :html, p.renderedHash = :contentHash, p.contentHash = :contentHash, " +
+            "p.wordCount = :wordCount, p.readingTimeMinutes = :readingTimeMinutes, p.excerpt = :excerpt, " +
+            "p.tableOfContents = :tableOfContents, p.simHash = :simHash " +
+            "WHERE p.id = :id AND (p.contentHash = :contentHash OR p.contentHash IS NULL)")
+    int updateRenderedContent(@Param("id") UUID id, @Param("contentHash") String contentHash, @Param("html") String html,
+                              @Param("wordCount") int wordCount, @Param("readingTimeMinutes") int readingTimeMinutes,
+                              @Param("excerpt") String excerpt, @Param("tableOfContents") String tableOfContents,
+                              @Param("simHash") long simHash);
+
+    @Query("SELECT p.id AS id, p.simHash AS simHash FROM Post p WHERE p.simHash IS NOT NULL AND p.wordCount >= :minWords ORDER BY p.createdAt, p.id")
+    List<PostFingerprint> findFingerprints(@Param("minWords") int minWords);
+
+    /**
+     * Lấy id các bài viết cần render lại: chưa có hash, HTML không khớp content hoặc render trước khi có wordCount/simHash
+     * (phân trang theo id, after = null cho trang đầu)
+     */
+    @Query("SELECT p.id FROM Post p WHERE (:after IS NULL OR p.id > :after) " +
+            "AND (p.contentHash IS NULL OR p.renderedHash IS NULL OR p.renderedHash <> p.contentHash OR p.wordCount IS NULL OR p.simHash IS NULL) " +
+            "ORDER BY p.id")
+    List<UUID> findIdsWithStaleRender(@Param("after") UUID after, Pageable pageable);
 }
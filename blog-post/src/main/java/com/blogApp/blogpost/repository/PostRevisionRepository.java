@@ -0,0 +1,44 @@
+package com.blogApp.blogpost.repository;
+
+import com.blogApp.blogpost.model.PostRevision;
+import com.blogApp.blogpost.repository.projection.PostRevisionSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository cho PostRevision
+ * - Lấy phiên bản mới nhất của bài viết @Optional<PostRevision> findTopByPostIdOrderByRevisionNumberDesc(UUID postId);
+ * - Lấy danh sách phiên bản (không gồm dữ liệu) @Page<PostRevisionSummary> findByPostIdOrderByRevisionNumberDesc(UUID postId, Pageable pageable);
+ * - Lấy thông tin một phiên bản (không gồm dữ liệu) @Optional<PostRevisionSummary> findByPostIdAndRevisionNumber(UUID postId, int revisionNumber);
+ * - Lấy số phiên bản của snapshot gần nhất không sau revision @Integer findLatestSnapshotNumber(@Param("postId") UUID postId, @Param("revision") int revision);
+ * - Lấy các phiên bản trong một khoảng, theo thứ tự tăng dần @List<PostRevision> findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(UUID postId, int from, int to);
+ * - Xóa mọi phiên bản của bài viết @int deleteByPostId(@Param("postId") UUID postId);
+ */
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, UUID> {
+
+    Optional<PostRevision> findTopByPostIdOrderByRevisionNumberDesc(UUID postId);
+
+    Page<PostRevisionSummary> findByPostIdOrderByRevisionNumberDesc(UUID postId, Pageable pageable);
+
+    Optional<PostRevisionSummary> findByPostIdAndRevisionNumber(UUID postId, int revisionNumber);
+
+    @Query("SELECT MAX(r.revisionNumber) FROM PostRevision r " +
+            "WHERE r.postId = :postId AND r.snapshot = true AND r.revisionNumber <= :revision")
+    Integer findLatestSnapshotNumber(@Param("postId") UUID postId, @Param("revision") int revision);
+
+    List<PostRevision> findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(UUID postId, int from, int to);
+
+    @Modifying
+    @Query("DELETE FROM PostRevision r WHERE r.postId = :postId")
+    int deleteByPostId(@Param("postId") UUID postId);
+}
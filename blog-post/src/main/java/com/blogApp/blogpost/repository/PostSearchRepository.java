@@ -0,0 +1,116 @@
+package com.blogApp.blogpost.repository;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.filter.PostFilterRequest;
+import com.blogApp.blogpost.model.Post;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Repository tìm kiếm bài viết trên chỉ mục Lucene (Hibernate Search)
+ * - Xếp hạng theo độ liên quan với trọng số: title > summary > content
+ * - Lọc trạng thái ngay trong chỉ mục, không quét bảng posts
+ * - Lọc nhiều tiêu chí (tác giả, danh mục, tag, khoảng thời gian) trong cùng một truy vấn chỉ mục
+ * - Chỉ trả về id theo thứ tự xếp hạng, việc tải entity do service thực hiện theo lô
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchRepository {
+
+    private static final float TITLE_BOOST = 3f;
+    private static final float SUMMARY_BOOST = 2f;
+
+    /**
+     * Các trường có thể sắp xếp trong chỉ mục, trường khác sẽ sắp xếp theo độ liên quan
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "publishedAt");
+
+    private final EntityManager entityManager;
+
+    /**
+     * Tìm id các bài viết theo từ khóa và trạng thái
+     * @param keyword Từ khóa tìm kiếm
+     * @param status Trạng thái bài viết
+     * @param pageable Thông tin phân trang
+     * @return Page chứa id bài viết theo thứ tự độ liên quan giảm dần
+     */
+    @Transactional(readOnly = true)
+    public Page<UUID> searchIds(String keyword, PostStatus status, Pageable pageable) {
+        SearchResult<UUID> result = Search.session(entityManager)
+                .search(Post.class)
+                .select(f -> f.id(UUID.class))
+                .where(f -> f.bool()
+                        .must(f.match()
+                                .field("title").boost(TITLE_BOOST)
+                                .field("summary").boost(SUMMARY_BOOST)
+                                .field("content")
+                                .matching(keyword))
+                        .filter(f.match().field("status").matching(status)))
+                .fetch(Math.toIntExact(pageable.getOffset()), pageable.getPageSize());
+
+        log.debug("Tìm thấy {} bài viết cho từ khóa '{}' trong chỉ mục", result.total().hitCount(), keyword);
+        return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+    }
+
+    /**
+     * Tìm id các bài viết khớp với bộ lọc, mọi tiêu chí đều được áp dụng trong chỉ mục
+     * @param filter Bộ lọc đã chuẩn hóa (keyword không rỗng, statuses không rỗng)
+     * @param pageable Thông tin phân trang và sắp xếp
+     * @return Page chứa id bài viết
+     */
+    @Transactional(readOnly = true)
+    public Page<UUID> filterIds(PostFilterRequest filter, Pageable pageable) {
+        SearchResult<UUID> result = Search.session(entityManager)
+                .search(Post.class)
+                .select(f -> f.id(UUID.class))
+                .where((f, root) -> {
+                    root.add(f.match()
+                            .field("title").boost(TITLE_BOOST)
+                            .field("summary").boost(SUMMARY_BOOST)
+                            .field("content")
+                            .matching(filter.getKeyword()));
+                    root.add(f.terms().field("status").matchingAny(filter.getStatuses()));
+                    if (filter.getAuthorId() != null) {
+                        root.add(f.match().field("authorId").matching(filter.getAuthorId()));
+                    }
+                    if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+                        root.add(f.terms().field("categories.id").matchingAny(filter.getCategoryIds()));
+                    }
+                    if (filter.getTags() != null && !filter.getTags().isEmpty()) {
+                        root.add(f.terms().field("tags.name_keyword").matchingAny(filter.getTags()));
+                    }
+                    if (filter.getFromDate() != null && filter.getToDate() != null) {
+                        root.add(f.range().field("publishedAt").between(filter.getFromDate(), filter.getToDate()));
+                    } else if (filter.getFromDate() != null) {
+                        root.add(f.range().field("publishedAt").atLeast(filter.getFromDate()));
+                    } else if (filter.getToDate() != null) {
+                        root.add(f.range().field("publishedAt").atMost(filter.getToDate()));
+                    }
+                })
+                .sort(f -> {
+                    Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+                    if (order == null || !SORTABLE_FIELDS.contains(order.getProperty())) {
+                        return f.score();
+                    }
+                    return order.isAscending()
+                            ? f.field(order.getProperty()).asc()
+                            : f.field(order.getProperty()).desc();
+                })
+                .fetch(Math.toIntExact(pageable.getOffset()), pageable.getPageSize());
+
+        return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+    }
+}
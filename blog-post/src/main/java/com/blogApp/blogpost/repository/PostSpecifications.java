@@ -0,0 +1,117 @@
+package com.blogApp.blogpost.repository;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.util.PostCursor;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Các Specification dùng để truy vấn Post
+ * - Điều kiện lọc theo trạng thái, tác giả, danh mục, tag, khoảng thời gian xuất bản
+ * - Điều kiện seek cho phân trang keyset: (sortField, id) đứng sau cursor theo hướng sắp xếp
+ */
+public final class PostSpecifications {
+
+    private PostSpecifications() {
+    }
+
+    public static Specification<Post> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Post> hasStatus(PostStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Post> hasStatusIn(Collection<PostStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Post> hasAuthor(String authorId) {
+        return (root, query, cb) -> cb.equal(root.get("authorId"), authorId);
+    }
+
+    public static Specification<Post> inCategory(UUID categoryId) {
+        return (root, query, cb) -> cb.equal(root.join("categories").get("id"), categoryId);
+    }
+
+    public static Specification<Post> hasTag(UUID tagId) {
+        return (root, query, cb) -> cb.equal(root.join("tags").get("id"), tagId);
+    }
+
+    /**
+     * Bài viết thuộc ít nhất một trong các danh mục (dùng EXISTS để không nhân bản dòng)
+     */
+    public static Specification<Post> inAnyCategory(Collection<UUID> categoryIds) {
+        return (root, query, cb) -> {
+            Subquery<UUID> subquery = query.subquery(UUID.class);
+            Root<Post> post = subquery.from(Post.class);
+            subquery.select(post.get("id"))
+                    .where(cb.equal(post.get("id"), root.get("id")),
+                            post.join("categories").get("id").in(categoryIds));
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * Bài viết có ít nhất một trong các tag (so khớp theo tên)
+     */
+    public static Specification<Post> hasAnyTagName(Collection<String> tagNames) {
+        return (root, query, cb) -> {
+            Subquery<UUID> subquery = query.subquery(UUID.class);
+            Root<Post> post = subquery.from(Post.class);
+            subquery.select(post.get("id"))
+                    .where(cb.equal(post.get("id"), root.get("id")),
+                            post.join("tags").get("name").in(tagNames));
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * publishedAt nằm trong khoảng [from, to], bỏ qua cận nào bằng null
+     */
+    public static Specification<Post> publishedBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> publishedAt = root.get("publishedAt");
+            if (from != null && to != null) {
+                return cb.between(publishedAt, from, to);
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(publishedAt, from)
+                    : cb.lessThanOrEqualTo(publishedAt, to);
+        };
+    }
+
+    /**
+     * Bỏ qua bài viết chưa có giá trị ở trường sắp xếp (ví dụ bài nháp chưa có publishedAt)
+     */
+    public static Specification<Post> hasSortValue(String sortBy) {
+        return (root, query, cb) -> cb.isNotNull(root.get(sortBy));
+    }
+
+    /**
+     * Điều kiện seek: với DESC lấy (field < value) OR (field = value AND id < cursorId), với ASC thì ngược lại
+     */
+    public static Specification<Post> after(PostCursor cursor) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> field = root.get(cursor.getSortBy());
+            Path<UUID> id = root.get("id");
+            if (cursor.getDirection() == Sort.Direction.ASC) {
+                return cb.or(
+                        cb.greaterThan(field, cursor.getValue()),
+                        cb.and(cb.equal(field, cursor.getValue()), cb.greaterThan(id, cursor.getId())));
+            }
+            return cb.or(
+                    cb.lessThan(field, cursor.getValue()),
+                    cb.and(cb.equal(field, cursor.getValue()), cb.lessThan(id, cursor.getId())));
+        };
+    }
+}
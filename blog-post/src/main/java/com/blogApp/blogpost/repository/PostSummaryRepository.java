@@ -0,0 +1,24 @@
+package com.blogApp.blogpost.repository;
+
+import com.blogApp.blogpost.dto.response.PostSummaryDTO;
+import com.blogApp.blogpost.model.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Fragment repository cho truy vấn danh sách bài viết dạng tóm tắt
+ * - Chỉ SELECT các cột tóm tắt và dựng thẳng PostSummaryDTO, không tải cột content
+ * - Không có categories, tags, commentCount: service bổ sung theo lô cho cả trang
+ * - Tìm bài viết tóm tắt theo Specification và phân trang @Page<PostSummaryDTO> findSummaries(Specification<Post> spec, Pageable pageable);
+ * - Tìm tối đa limit bài viết tóm tắt theo Specification, không đếm tổng @List<PostSummaryDTO> findSummaries(Specification<Post> spec, Sort sort, int limit);
+ */
+public interface PostSummaryRepository {
+
+    Page<PostSummaryDTO> findSummaries(Specification<Post> spec, Pageable pageable);
+
+    List<PostSummaryDTO> findSummaries(Specification<Post> spec, Sort sort, int limit);
+}
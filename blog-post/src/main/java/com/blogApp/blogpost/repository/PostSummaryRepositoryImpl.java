@@ -0,0 +1,92 @@
+package com.blogApp.blogpost.repository;
+
+import com.blogApp.blogpost.dto.response.PostSummaryDTO;
+import com.blogApp.blogpost.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Triển khai PostSummaryRepository bằng Criteria API
+ * - Dùng cb.construct để Hibernate chỉ SELECT các cột cần cho PostSummaryDTO
+ * - Truy vấn COUNT chỉ chạy khi không suy ra được tổng từ trang hiện tại
+ */
+@RequiredArgsConstructor
+public class PostSummaryRepositoryImpl implements PostSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<PostSummaryDTO> findSummaries(Specification<Post> spec, Pageable pageable) {
+        TypedQuery<PostSummaryDTO> query = createSummaryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<PostSummaryDTO> findSummaries(Specification<Post> spec, Sort sort, int limit) {
+        return createSummaryQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<PostSummaryDTO> createSummaryQuery(Specification<Post> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostSummaryDTO> query = cb.createQuery(PostSummaryDTO.class);
+        Root<Post> root = query.from(Post.class);
+
+        query.select(cb.construct(PostSummaryDTO.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("slug"),
+                root.get("summary"),
+                root.get("authorId"),
+                root.get("authorName"),
+                root.get("status"),
+                root.get("viewCount"),
+                root.get("wordCount"),
+                root.get("readingTimeMinutes"),
+                root.get("excerpt"),
+                root.get("publishedAt"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Post> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,12 +1,19 @@
 package com.blogApp.blogpost.repository;
 
+import com.blogApp.blogcommon.enums.PostStatus;
 import com.blogApp.blogpost.model.Tag;
+import com.blogApp.blogpost.repository.projection.PostTagSummary;
+import com.blogApp.blogpost.repository.projection.SuggestTermView;
+import com.blogApp.blogpost.repository.projection.TagNameView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,9 +23,14 @@ import java.util.UUID;
  * - Sử dụng JPA Repository để tương tác với database
  * - Tìm kiếm tag theo name @Optional<Tag> findByName(String name);
  * - Tìm kiếm tag theo slug @Optional<Tag> findBySlug(String slug);
+ * - Tìm kiếm nhiều tag theo name @List<Tag> findByNameIn(Collection<String> names);
+ * - Lấy id và name của tất cả tag @List<TagNameView> findAllNames();
+ * - Lấy id và name của các tag theo danh sách id @List<TagNameView> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
  * - Kiểm tra sự tồn tại của name @boolean existsByName(String name);
  * - Kiểm tra sự tồn tại của slug @boolean existsBySlug(String slug);
  * - Tìm kiếm tag phổ biến @Page<Tag> findPopularTags(Pageable pageable);
+ * - Lấy tag của nhiều bài viết trong một truy vấn @List<PostTagSummary> findSummariesByPostIds(@Param("postIds") Collection<UUID> postIds);
+ * - Lấy tag kèm số bài viết theo status (cả tag chưa có bài viết) @List<SuggestTermView> findSuggestTerms(@Param("status") PostStatus status);
  */
 @Repository
 public interface TagRepository extends JpaRepository<Tag, UUID> {
@@ -27,10 +39,25 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
 
     Optional<Tag> findBySlug(String slug);
 
+    List<Tag> findByNameIn(Collection<String> names);
+
+    @Query("SELECT t.id AS id, t.name AS name FROM Tag t")
+    List<TagNameView> findAllNames();
+
+    @Query("SELECT t.id AS id, t.name AS name FROM Tag t WHERE t.id IN :ids")
+    List<TagNameView> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
+
     boolean existsByName(String name);
 
     boolean existsBySlug(String slug);
 
     @Query("SELECT t FROM Tag t JOIN t.posts p WHERE p.status = 'PUBLISHED' GROUP BY t.id ORDER BY COUNT(p.id) DESC")
     Page<Tag> findPopularTags(Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT p.id AS postId, t.id AS id, t.name AS name, t.slug AS slug FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<PostTagSummary> findSummariesByPostIds(@Param("postIds") Collection<UUID> postIds);
+
+    @Query("SELECT t.id AS id, t.name AS name, t.slug AS slug, COUNT(p.id) AS postCount " +
+            "FROM Tag t LEFT JOIN t.posts p ON p.status = :status GROUP BY t.id, t.name, t.slug")
+    List<SuggestTermView> findSuggestTerms(@Param("status") PostStatus status);
+}
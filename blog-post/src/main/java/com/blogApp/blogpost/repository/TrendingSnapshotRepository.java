@@ -0,0 +1,27 @@
+package com.blogApp.blogpost.repository;
+
+import com.blogApp.blogpost.model.TrendingSnapshot;
+import com.blogApp.blogpost.model.TrendingWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository cho TrendingSnapshot
+ * - Lấy snapshot điểm xu hướng của một cửa sổ @List<TrendingSnapshot> findByWindow(TrendingWindow window);
+ * - Xóa snapshot cũ của một cửa sổ trong một câu DELETE @int deleteByWindow(@Param("window") TrendingWindow window);
+ */
+@Repository
+public interface TrendingSnapshotRepository extends JpaRepository<TrendingSnapshot, UUID> {
+
+    List<TrendingSnapshot> findByWindow(TrendingWindow window);
+
+    @Modifying
+    @Query("DELETE FROM TrendingSnapshot s WHERE s.window = :window")
+    int deleteByWindow(@Param("window") TrendingWindow window);
+}
@@ -0,0 +1,24 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection một bình luận kèm id bình luận cha, dùng để dựng cây bình luận trong bộ nhớ
+ */
+public interface CommentNode {
+
+    UUID getId();
+
+    UUID getParentId();
+
+    String getAuthorId();
+
+    String getAuthorName();
+
+    String getContent();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
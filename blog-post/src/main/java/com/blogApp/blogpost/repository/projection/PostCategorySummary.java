@@ -0,0 +1,17 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection danh mục của một bài viết, dùng để tải danh mục cho cả trang bài viết trong một truy vấn
+ */
+public interface PostCategorySummary {
+
+    UUID getPostId();
+
+    UUID getId();
+
+    String getName();
+
+    String getSlug();
+}
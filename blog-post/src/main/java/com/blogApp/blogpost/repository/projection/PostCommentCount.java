@@ -0,0 +1,14 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection cho kết quả đếm bình luận theo từng bài viết
+ * - Dùng cho truy vấn GROUP BY khi tải số bình luận của cả một trang bài viết
+ */
+public interface PostCommentCount {
+
+    UUID getPostId();
+
+    long getCommentCount();
+}
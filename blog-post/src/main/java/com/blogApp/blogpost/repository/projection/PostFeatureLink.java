@@ -0,0 +1,14 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection một cặp (bài viết, tag) hoặc (bài viết, danh mục) đọc trực tiếp từ bảng nối
+ * - Dùng để dựng chỉ mục bài viết liên quan mà không tải entity
+ */
+public interface PostFeatureLink {
+
+    UUID getPostId();
+
+    UUID getFeatureId();
+}
@@ -0,0 +1,15 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection gồm id và thời điểm xuất bản của bài viết
+ * - Dùng để dựng lại feed bài viết mới nhất trong Redis mà không tải cả entity
+ */
+public interface PostFeedEntry {
+
+    UUID getId();
+
+    LocalDateTime getPublishedAt();
+}
@@ -0,0 +1,13 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection gồm id và dấu vân tay SimHash của bài viết, dùng để dựng chỉ mục bài viết gần trùng
+ */
+public interface PostFingerprint {
+
+    UUID getId();
+
+    Long getSimHash();
+}
@@ -0,0 +1,21 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection thông tin một phiên bản bài viết, không gồm dữ liệu nội dung/delta
+ */
+public interface PostRevisionSummary {
+
+    int getRevisionNumber();
+
+    String getTitle();
+
+    String getEditorId();
+
+    int getContentLength();
+
+    boolean isSnapshot();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,17 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection gồm id và các mốc hẹn giờ của bài viết
+ * - Dùng để nạp timing wheel khi khởi động mà không tải entity
+ */
+public interface PostScheduleEntry {
+
+    UUID getId();
+
+    LocalDateTime getScheduledPublishAt();
+
+    LocalDateTime getScheduledUnpublishAt();
+}
@@ -0,0 +1,16 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection gồm id, slug và thời điểm cập nhật của bài viết, dùng để dựng sitemap
+ */
+public interface PostSitemapEntry {
+
+    UUID getId();
+
+    String getSlug();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,14 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection chỉ gồm id và slug của bài viết
+ * - Dùng khi cần tạo cache key cho nhiều bài viết mà không tải cả entity
+ */
+public interface PostSlugView {
+
+    UUID getId();
+
+    String getSlug();
+}
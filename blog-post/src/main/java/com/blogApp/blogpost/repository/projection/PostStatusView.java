@@ -0,0 +1,20 @@
+package com.blogApp.blogpost.repository.projection;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+
+import java.util.UUID;
+
+/**
+ * Projection gồm id, slug, tác giả và trạng thái của bài viết
+ * - Dùng khi đổi trạng thái hàng loạt: kiểm tra quyền và tạo cache key mà không tải entity
+ */
+public interface PostStatusView {
+
+    UUID getId();
+
+    String getSlug();
+
+    String getAuthorId();
+
+    PostStatus getStatus();
+}
@@ -0,0 +1,17 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection gồm id, tiêu đề, slug và lượt xem của bài viết, dùng để dựng chỉ mục gợi ý tìm kiếm
+ */
+public interface PostSuggestEntry {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    Integer getViewCount();
+}
@@ -0,0 +1,24 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection các cột cần cho một mục RSS/Atom, không gồm nội dung bài viết
+ */
+public interface PostSyndicationEntry {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    String getSummary();
+
+    String getAuthorName();
+
+    LocalDateTime getPublishedAt();
+
+    LocalDateTime getUpdatedAt();
+}
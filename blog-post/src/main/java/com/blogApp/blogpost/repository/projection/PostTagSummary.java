@@ -0,0 +1,17 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection tag của một bài viết, dùng để tải tag cho cả trang bài viết trong một truy vấn
+ */
+public interface PostTagSummary {
+
+    UUID getPostId();
+
+    UUID getId();
+
+    String getName();
+
+    String getSlug();
+}
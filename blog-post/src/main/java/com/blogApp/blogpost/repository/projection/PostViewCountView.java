@@ -0,0 +1,16 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection gồm id, slug và lượt xem đã ghi của bài viết
+ * - Dùng sau khi ghi dồn lượt xem: tạo cache key cần xóa và lấy lượt xem mới trong cùng một truy vấn
+ */
+public interface PostViewCountView {
+
+    UUID getId();
+
+    String getSlug();
+
+    Integer getViewCount();
+}
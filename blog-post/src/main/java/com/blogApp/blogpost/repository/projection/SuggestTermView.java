@@ -0,0 +1,17 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection tag/danh mục kèm số bài viết đã xuất bản, dùng để dựng chỉ mục gợi ý tìm kiếm
+ */
+public interface SuggestTermView {
+
+    UUID getId();
+
+    String getName();
+
+    String getSlug();
+
+    Long getPostCount();
+}
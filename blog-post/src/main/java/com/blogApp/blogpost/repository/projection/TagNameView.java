@@ -0,0 +1,13 @@
+package com.blogApp.blogpost.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection chỉ gồm id và tên của tag, dùng để dựng từ điển tên tag -> id
+ */
+public interface TagNameView {
+
+    UUID getId();
+
+    String getName();
+}
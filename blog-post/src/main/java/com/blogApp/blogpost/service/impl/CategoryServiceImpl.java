@@ -3,15 +3,20 @@ package com.blogApp.blogpost.service.impl;
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.service.CacheService;
 import com.blogApp.blogpost.dto.CategoryDTO;
+import com.blogApp.blogpost.dto.response.VersionedDTO;
+import com.blogApp.blogpost.event.TaxonomyChangedEvent;
 import com.blogApp.blogpost.exception.CategoryNotFoundException;
 import com.blogApp.blogpost.mapper.CategoryMapper;
 import com.blogApp.blogpost.model.Category;
 import com.blogApp.blogpost.repository.CategoryRepository;
 import com.blogApp.blogpost.service.interfaces.CategoryService;
+import com.blogApp.blogpost.util.ETagUtils;
+import com.blogApp.blogpost.util.SlugAllocator;
 import com.blogApp.blogpost.util.SlugUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,7 +37,10 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final CacheService cacheService;
+    private final ETagUtils eTagUtils;
     private final SlugUtils slugUtils;
+    private final SlugAllocator slugAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.service.name:post}")
     private String serviceName;
@@ -49,7 +58,6 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         log.info("Bắt đầu tạo danh mục mới: {}", categoryDTO.getName());
 
@@ -60,25 +68,21 @@ public class CategoryServiceImpl implements CategoryService {
                 .parentId(categoryDTO.getParentId())
                 .build();
 
-        // Tạo slug từ tên
-        String slug = slugUtils.createSlug(request.getName());
-        int counter = 1;
-        while (categoryRepository.existsBySlug(slug)) {
-            slug = slugUtils.createSlug(request.getName()) + "-" + counter++;
-        }
-
-        // Tạo category mới
-        Category category = categoryMapper.toEntity(request);
-        category.setSlug(slug);
-
-        // Nếu có parent, kiểm tra tồn tại
-        if (request.getParentId() != null) {
-            Category parent = categoryRepository.findById(request.getParentId())
-                    .orElseThrow(() -> new CategoryNotFoundException(request.getParentId()));
-            category.setParent(parent);
-        }
+        // Slug được cấp bằng một truy vấn, chạy lại transaction nếu trùng slug khi lưu
+        CategoryDTO savedCategory = slugAllocator.persistWithUniqueSlug(Category.class, request.getName(), slug -> {
+            // Tạo category mới
+            Category category = categoryMapper.toEntity(request);
+            category.setSlug(slug);
+
+            // Nếu có parent, kiểm tra tồn tại
+            if (request.getParentId() != null) {
+                Category parent = categoryRepository.findById(request.getParentId())
+                        .orElseThrow(() -> new CategoryNotFoundException(request.getParentId()));
+                category.setParent(parent);
+            }
 
-        Category savedCategory = categoryRepository.save(category);
+            return categoryMapper.toDto(categoryRepository.saveAndFlush(category));
+        });
         log.info("Đã tạo thành công danh mục với id {}", savedCategory.getId());
 
         // Xóa cache liên quan
@@ -88,59 +92,74 @@ public class CategoryServiceImpl implements CategoryService {
             cacheService.delete(CACHE_TYPE, "parent:" + request.getParentId());
         }
 
-        return categoryMapper.toDto(savedCategory);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Kind.CATEGORY,
+                savedCategory.getId(), savedCategory.getName(), savedCategory.getSlug(), false));
+        return savedCategory;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CategoryDTO getCategoryById(UUID id) {
-        log.debug("Lấy thông tin danh mục {}", id);
+        return getVersionedCategoryById(id).getBody();
+    }
 
-        // Thử lấy từ cache trước
-        String cacheKey = "id:" + id;
-        Object cachedCategory = cacheService.get(CACHE_TYPE, cacheKey);
-        if (cachedCategory != null) {
-            log.debug("Lấy danh mục {} từ cache", id);
-            return (CategoryDTO) cachedCategory;
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CategoryDTO getCategoryBySlug(String slug) {
+        return getVersionedCategoryBySlug(slug).getBody();
+    }
 
-        Category category = categoryRepository.findById(id)
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDTO<CategoryDTO> getVersionedCategoryById(UUID id) {
+        log.debug("Lấy thông tin danh mục {}", id);
+        return loadCategory("id:" + id, () -> categoryRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Không tìm thấy danh mục với id {}", id);
                     return new CategoryNotFoundException(id);
-                });
-
-        CategoryDTO categoryDTO = categoryMapper.toDto(category);
+                }));
+    }
 
-        // Lưu vào cache
-        cacheService.set(CACHE_TYPE, cacheKey, categoryDTO, cacheTtl / 1000, TimeUnit.SECONDS);
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDTO<CategoryDTO> getVersionedCategoryBySlug(String slug) {
+        log.debug("Lấy thông tin danh mục theo slug: {}", slug);
+        return loadCategory("slug:" + slug, () -> categoryRepository.findBySlug(slug)
+                .orElseThrow(() -> {
+                    log.error("Không tìm thấy danh mục với slug {}", slug);
+                    return new CategoryNotFoundException(slug);
+                }));
+    }
 
-        return categoryDTO;
+    @Override
+    public String getCategoryETag(UUID id) {
+        return cacheService.getETag(CACHE_TYPE, "id:" + id);
     }
 
     @Override
-    public CategoryDTO getCategoryBySlug(String slug) {
-        log.debug("Lấy thông tin danh mục theo slug: {}", slug);
+    public String getCategoryETagBySlug(String slug) {
+        return cacheService.getETag(CACHE_TYPE, "slug:" + slug);
+    }
 
+    /**
+     * Đọc danh mục và ETag từ cache bằng một lệnh MGET, nếu không có thì tải từ database rồi cache cả hai
+     */
+    private VersionedDTO<CategoryDTO> loadCategory(String cacheKey, Supplier<Category> loader) {
         // Thử lấy từ cache trước
-        String cacheKey = "slug:" + slug;
-        Object cachedCategory = cacheService.get(CACHE_TYPE, cacheKey);
-        if (cachedCategory != null) {
-            log.debug("Lấy danh mục với slug {} từ cache", slug);
-            return (CategoryDTO) cachedCategory;
+        List<Object> cached = cacheService.getWithETag(CACHE_TYPE, cacheKey);
+        if (cached.get(0) instanceof CategoryDTO cachedCategory) {
+            log.debug("Lấy danh mục {} từ cache", cacheKey);
+            return new VersionedDTO<>(cachedCategory, cached.get(1) instanceof String ? (String) cached.get(1) : null);
         }
 
-        Category category = categoryRepository.findBySlug(slug)
-                .orElseThrow(() -> {
-                    log.error("Không tìm thấy danh mục với slug {}", slug);
-                    return new CategoryNotFoundException(slug);
-                });
-
+        Category category = loader.get();
         CategoryDTO categoryDTO = categoryMapper.toDto(category);
+        String etag = eTagUtils.generate(category.getUpdatedAt(), categoryDTO);
 
         // Lưu vào cache
-        cacheService.set(CACHE_TYPE, cacheKey, categoryDTO, cacheTtl / 1000, TimeUnit.SECONDS);
+        cacheService.setWithETag(CACHE_TYPE, cacheKey, categoryDTO, etag, cacheTtl / 1000, TimeUnit.SECONDS);
 
-        return categoryDTO;
+        return new VersionedDTO<>(categoryDTO, etag);
     }
 
     @Override
@@ -167,12 +186,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Cập nhật slug nếu tên thay đổi
         if (!category.getName().equals(request.getName())) {
-            String newSlug = slugUtils.createSlug(request.getName());
-            int counter = 1;
-            while (categoryRepository.existsBySlug(newSlug)) {
-                newSlug = slugUtils.createSlug(request.getName()) + "-" + counter++;
-            }
-            category.setSlug(newSlug);
+            category.setSlug(slugAllocator.nextFreeSlug(Category.class, slugUtils.createSlug(request.getName())));
         }
 
         // Cập nhật parent nếu có
@@ -196,6 +210,8 @@ public class CategoryServiceImpl implements CategoryService {
             cacheService.delete(CACHE_TYPE, "parent:" + category.getParent().getId());
         }
 
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Kind.CATEGORY,
+                id, updatedCategory.getName(), updatedCategory.getSlug(), false));
         return categoryMapper.toDto(updatedCategory);
     }
 
@@ -220,10 +236,13 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Kind.CATEGORY,
+                id, category.getName(), category.getSlug(), true));
         log.info("Đã xóa thành công danh mục {}", id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories() {
         log.debug("Lấy tất cả danh mục");
 
@@ -246,6 +265,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getRootCategories() {
         log.debug("Lấy danh sách danh mục gốc");
 
@@ -268,6 +288,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getSubCategories(UUID parentId) {
         log.debug("Lấy danh sách danh mục con của danh mục {}", parentId);
 
@@ -291,6 +312,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<CategoryDTO> getPopularCategories(int pageNo, int pageSize) {
         log.debug("Lấy danh sách danh mục phổ biến - trang {}, kích thước {}", pageNo, pageSize);
 
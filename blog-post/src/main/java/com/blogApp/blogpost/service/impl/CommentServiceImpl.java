@@ -16,6 +16,7 @@ import com.blogApp.blogpost.model.Post;
 import com.blogApp.blogpost.repository.CommentRepository;
 import com.blogApp.blogpost.repository.PostRepository;
 import com.blogApp.blogpost.service.interfaces.CommentService;
+import com.blogApp.blogpost.service.interfaces.TrendingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -50,6 +51,7 @@ public class CommentServiceImpl implements CommentService {
     private final CommentMapper commentMapper;
     private final AuthServiceClient authServiceClient;
     private final CacheService cacheService;
+    private final TrendingService trendingService;
 
     @Value("${app.service.name:post}")
     private String serviceName;
@@ -61,6 +63,8 @@ public class CommentServiceImpl implements CommentService {
     private Long cacheTtl;
 
     private static final String CACHE_TYPE = "comments";
+    private static final String POST_SUMMARY_CACHE_TYPE = "postSummaries";
+    private static final String POST_DETAIL_CACHE_TYPE = "postDetails";
 
     private String getCacheKey(String key) {
         return String.format("%s:%s:%s:%s", cachePrefix, serviceName, CACHE_TYPE, key);
@@ -140,6 +144,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CommentDTO getCommentById(UUID id) {
         log.debug("Lấy thông tin bình luận {}", id);
         
@@ -188,6 +193,7 @@ public class CommentServiceImpl implements CommentService {
         // Xóa cache liên quan
         String cacheKey = "id:" + id;
         cacheService.delete(CACHE_TYPE, cacheKey);
+        cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + comment.getPost().getSlug());
         
         return commentMapper.toDto(commentRepository.save(comment));
     }
@@ -212,11 +218,13 @@ public class CommentServiceImpl implements CommentService {
         // Xóa cache liên quan
         String cacheKey = "id:" + id;
         cacheService.delete(CACHE_TYPE, cacheKey);
+        cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + comment.getPost().getSlug());
         
         commentRepository.delete(comment);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<CommentDTO> getCommentsByPost(UUID postId, int pageNo, int pageSize) {
         return getCommentsByPost(postId, pageNo, pageSize, false);
     }
@@ -229,6 +237,7 @@ public class CommentServiceImpl implements CommentService {
      * @param includeAllStatuses true để bao gồm tất cả trạng thái, false để chỉ lấy APPROVED
      * @return PagedResponse<CommentDTO> chứa danh sách bình luận
      */
+    @Transactional(readOnly = true)
     public PagedResponse<CommentDTO> getCommentsByPost(UUID postId, int pageNo, int pageSize, boolean includeAllStatuses) {
         log.debug("Lấy danh sách bình luận của bài viết {} - trang {}, kích thước {}, includeAllStatuses: {}", 
                  postId, pageNo, pageSize, includeAllStatuses);
@@ -294,6 +303,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<CommentDTO> getCommentsByAuthor(String authorId, int pageNo, int pageSize) {
         return getCommentsByAuthor(authorId, pageNo, pageSize, false);
     }
@@ -307,6 +317,7 @@ public class CommentServiceImpl implements CommentService {
      * @return PagedResponse<CommentDTO> chứa danh sách bình luận
      */
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<CommentDTO> getCommentsByAuthor(String authorId, int pageNo, int pageSize, boolean includeAllStatuses) {
         log.debug("Lấy danh sách bình luận của tác giả {} - trang {}, kích thước {}, includeAllStatuses: {}", 
                  authorId, pageNo, pageSize, includeAllStatuses);
@@ -356,6 +367,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<CommentDTO> getCommentsByStatus(CommentStatus status, int pageNo, int pageSize) {
         log.debug("Lấy danh sách bình luận theo trạng thái {} - trang {}, kích thước {}", 
                  status, pageNo, pageSize);
@@ -414,6 +426,17 @@ public class CommentServiceImpl implements CommentService {
         
         // Xóa cache liên quan đến bài viết
         UUID postId = comment.getPost().getId();
+
+        // Bình luận vừa được duyệt được tính vào điểm xu hướng của bài viết
+        if (status == CommentStatus.APPROVED && oldStatus != CommentStatus.APPROVED) {
+            trendingService.recordComment(postId);
+        }
+
+        // Số bình luận đã duyệt (và cây bình luận trong trang chi tiết) của bài viết thay đổi
+        if (status == CommentStatus.APPROVED || oldStatus == CommentStatus.APPROVED) {
+            cacheService.delete(POST_SUMMARY_CACHE_TYPE, "id:" + postId);
+            cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + comment.getPost().getSlug());
+        }
         
         // Xóa cache của danh sách bình luận theo bài viết
         for (int i = 0; i < 5; i++) { // Giả sử xóa cache cho 5 trang đầu tiên
@@ -0,0 +1,325 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogpost.dto.response.DuplicateCandidateDTO;
+import com.blogApp.blogpost.dto.response.DuplicateReportDTO;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.projection.PostFingerprint;
+import com.blogApp.blogpost.repository.projection.PostStatusView;
+import com.blogApp.blogpost.service.interfaces.DuplicatePostService;
+import com.blogApp.blogpost.util.SimHashIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service phát hiện bài viết gần trùng nội dung bằng SimHash
+ * - Dấu vân tay được tính trong lần render (PostContentProcessor) và lưu ở Post.simHash
+ * - Chỉ mục LSH (SimHashIndex) giữ trong bộ nhớ, dựng khi khởi động và định kỳ bằng một truy vấn projection,
+ *   cập nhật từng bài viết sau mỗi lần render (kể cả render khi đọc và backfill)
+ * - Bài viết gần trùng được đánh dấu vào Redis sorted set post_id -> thời điểm đánh dấu để admin kiểm duyệt;
+ *   lần dựng lại cũng đánh dấu các cặp gần trùng tìm thấy (bài viết mới hơn của mỗi cặp, không ghi đè
+ *   thời điểm đã đánh dấu), danh sách trùng được tính lại khi đọc nên luôn phản ánh chỉ mục hiện tại
+ * - Dựng lại không giữ khóa của chỉ mục: thay đổi đến trong lúc dựng được ghi lại và áp vào chỉ mục mới
+ *   ngay trước khi thay thế
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicatePostServiceImpl implements DuplicatePostService {
+
+    private final PostRepository postRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Chỉ một lần dựng lại chạy tại một thời điểm (khởi động và định kỳ có thể chồng nhau)
+     */
+    private final Object rebuildLock = new Object();
+
+    @Value("${blog.post.cache.prefix:blog}")
+    private String cachePrefix;
+
+    @Value("${blog.post.duplicates.bands:4}")
+    private int bands;
+
+    @Value("${blog.post.duplicates.max-distance:3}")
+    private int maxDistance;
+
+    @Value("${blog.post.duplicates.min-words:50}")
+    private int minWords;
+
+    @Value("${blog.post.duplicates.max-flagged:1000}")
+    private int maxFlagged;
+
+    private volatile SimHashIndex index;
+
+    /**
+     * Thay đổi đến trong lúc dựng lại: id -> dấu vân tay mới, null nếu bỏ khỏi chỉ mục
+     * (null khi không có lần dựng lại nào đang chạy; truy cập trong khối synchronized)
+     */
+    private Map<UUID, Long> changesDuringRebuild;
+
+    @Override
+    public void onRendered(UUID postId, long simHash, int wordCount) {
+        Map<UUID, Integer> matches;
+        synchronized (this) {
+            Long fingerprint = wordCount < minWords ? null : simHash;
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(postId, fingerprint);
+            }
+            if (index == null) {
+                // Chỉ mục chưa được dựng, lần dựng đầu tiên sẽ đọc dấu vân tay mới nhất từ database
+                return;
+            }
+            if (fingerprint == null) {
+                // Bài viết quá ngắn cho ra dấu vân tay không đáng tin cậy
+                index.remove(postId);
+                return;
+            }
+            matches = index.near(simHash, postId);
+            index.put(postId, simHash);
+        }
+
+        if (!matches.isEmpty()) {
+            log.warn("Bài viết {} gần trùng với {} bài viết khác: {}", postId, matches.size(), matches.keySet());
+            flag(postId);
+        }
+    }
+
+    @Override
+    @Async("postRenderExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostRelationsChangedEvent event) {
+        // Sự kiện không phân biệt gỡ xuất bản với xóa: bài viết chưa xuất bản vẫn được so khớp
+        if (event.isPublished() || postRepository.existsById(event.getPostId())) {
+            return;
+        }
+        synchronized (this) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(event.getPostId(), null);
+            }
+            if (index != null) {
+                index.remove(event.getPostId());
+            }
+        }
+        unflag(List.of(event.getPostId()));
+    }
+
+    @Override
+    public List<DuplicateCandidateDTO> getDuplicates(UUID postId) {
+        Map<UUID, Integer> matches = findMatches(postId);
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toCandidates(matches, loadViews(matches.keySet()));
+    }
+
+    @Override
+    public List<DuplicateReportDTO> getFlaggedPosts(int limit) {
+        int size = Math.max(1, Math.min(limit, maxFlagged));
+        Set<ZSetOperations.TypedTuple<String>> tuples;
+        try {
+            tuples = redisTemplate.opsForZSet().reverseRangeWithScores(flaggedKey(), 0, size - 1);
+        } catch (DataAccessException e) {
+            log.error("Không thể đọc danh sách bài viết gần trùng: {}", e.getMessage(), e);
+            return Collections.emptyList();
+        }
+        if (tuples == null || tuples.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<UUID, Double> flaggedAt = new LinkedHashMap<>();
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            flaggedAt.put(UUID.fromString(tuple.getValue()), tuple.getScore());
+        }
+
+        // Tính bài viết trùng của mọi bài viết bị đánh dấu trước, rồi tải tất cả bằng một truy vấn IN
+        Map<UUID, Map<UUID, Integer>> matchesByPost = new HashMap<>();
+        Set<UUID> ids = new HashSet<>(flaggedAt.keySet());
+        for (UUID postId : flaggedAt.keySet()) {
+            Map<UUID, Integer> matches = findMatches(postId);
+            matchesByPost.put(postId, matches);
+            ids.addAll(matches.keySet());
+        }
+        Map<UUID, PostStatusView> views = loadViews(ids);
+
+        List<UUID> missing = new ArrayList<>();
+        List<DuplicateReportDTO> reports = new ArrayList<>();
+        for (Map.Entry<UUID, Double> entry : flaggedAt.entrySet()) {
+            PostStatusView view = views.get(entry.getKey());
+            if (view == null) {
+                missing.add(entry.getKey());
+                continue;
+            }
+            reports.add(DuplicateReportDTO.builder()
+                    .postId(view.getId())
+                    .slug(view.getSlug())
+                    .authorId(view.getAuthorId())
+                    .status(view.getStatus())
+                    .flaggedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getValue().longValue()), ZoneOffset.UTC))
+                    .duplicates(toCandidates(matchesByPost.get(entry.getKey()), views))
+                    .build());
+        }
+        // Bài viết đã bị xóa trên replica khác: dọn khỏi danh sách khi đọc
+        unflag(missing);
+        return reports;
+    }
+
+    /**
+     * Dựng chỉ mục lần đầu sau khi ứng dụng khởi động, không chặn quá trình khởi động
+     */
+    @Async("postRenderExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.duplicates.rebuild-interval-ms:3600000}",
+            initialDelayString = "${blog.post.duplicates.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                changesDuringRebuild = new HashMap<>();
+            }
+
+            // Đọc và dựng không giữ khóa của chỉ mục, render vẫn cập nhật chỉ mục cũ trong lúc này.
+            // Bài viết được thêm theo thứ tự tạo nên bài viết mới hơn của mỗi cặp gần trùng bị đánh dấu
+            SimHashIndex rebuilt = new SimHashIndex(bands, maxDistance);
+            List<UUID> duplicates = new ArrayList<>();
+            try {
+                for (PostFingerprint fingerprint : postRepository.findFingerprints(minWords)) {
+                    if (!rebuilt.near(fingerprint.getSimHash(), fingerprint.getId()).isEmpty()) {
+                        duplicates.add(fingerprint.getId());
+                    }
+                    rebuilt.put(fingerprint.getId(), fingerprint.getSimHash());
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                changesDuringRebuild.forEach((postId, fingerprint) -> {
+                    if (fingerprint == null) {
+                        rebuilt.remove(postId);
+                    } else {
+                        rebuilt.put(postId, fingerprint);
+                    }
+                });
+                changesDuringRebuild = null;
+                index = rebuilt;
+            }
+
+            flagIfAbsent(duplicates);
+            log.info("Đã dựng chỉ mục SimHash cho {} bài viết ({} bài viết gần trùng) trong {} ms",
+                    rebuilt.size(), duplicates.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Tìm bài viết gần trùng với một bài viết trong chỉ mục hiện tại
+     * @return id -> khoảng cách, rỗng nếu bài viết không có trong chỉ mục
+     */
+    private synchronized Map<UUID, Integer> findMatches(UUID postId) {
+        Long fingerprint = index == null ? null : index.get(postId);
+        if (fingerprint == null) {
+            return Collections.emptyMap();
+        }
+        return index.near(fingerprint, postId);
+    }
+
+    private Map<UUID, PostStatusView> loadViews(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return postRepository.findStatusViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostStatusView::getId, Function.identity()));
+    }
+
+    private List<DuplicateCandidateDTO> toCandidates(Map<UUID, Integer> matches, Map<UUID, PostStatusView> views) {
+        return matches.entrySet().stream()
+                .filter(match -> views.containsKey(match.getKey()))
+                .map(match -> toCandidate(views.get(match.getKey()), match.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private void flag(UUID postId) {
+        try {
+            redisTemplate.opsForZSet().add(flaggedKey(), postId.toString(), System.currentTimeMillis());
+            trimFlagged();
+        } catch (DataAccessException e) {
+            log.error("Không thể đánh dấu bài viết {} gần trùng: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Đánh dấu nhiều bài viết bằng ZADD NX: bài viết đã được đánh dấu giữ nguyên thời điểm cũ
+     */
+    private void flagIfAbsent(List<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        double now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> tuples = postIds.stream()
+                .map(postId -> ZSetOperations.TypedTuple.of(postId.toString(), now))
+                .collect(Collectors.toSet());
+        try {
+            redisTemplate.opsForZSet().addIfAbsent(flaggedKey(), tuples);
+            trimFlagged();
+        } catch (DataAccessException e) {
+            log.error("Không thể đánh dấu {} bài viết gần trùng: {}", postIds.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Chỉ giữ maxFlagged bài viết được đánh dấu gần nhất
+     */
+    private void trimFlagged() {
+        redisTemplate.opsForZSet().removeRange(flaggedKey(), 0, -(maxFlagged + 1L));
+    }
+
+    private void unflag(List<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(flaggedKey(), postIds.stream().map(UUID::toString).toArray());
+        } catch (DataAccessException e) {
+            log.error("Không thể bỏ đánh dấu bài viết gần trùng: {}", e.getMessage(), e);
+        }
+    }
+
+    private DuplicateCandidateDTO toCandidate(PostStatusView view, int distance) {
+        return DuplicateCandidateDTO.builder()
+                .postId(view.getId())
+                .slug(view.getSlug())
+                .authorId(view.getAuthorId())
+                .status(view.getStatus())
+                .distance(distance)
+                .build();
+    }
+
+    private String flaggedKey() {
+        return cachePrefix + "duplicates:flagged";
+    }
+}
@@ -0,0 +1,226 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.dto.CategorySummaryDTO;
+import com.blogApp.blogcommon.dto.TagDTO;
+import com.blogApp.blogcommon.exception.ResourceNotFoundException;
+import com.blogApp.blogcommon.service.CacheService;
+import com.blogApp.blogpost.dto.response.CommentDTO;
+import com.blogApp.blogpost.dto.response.PostDetailDTO;
+import com.blogApp.blogpost.exception.BlogPostServiceException;
+import com.blogApp.blogpost.model.CommentStatus;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.repository.CategoryRepository;
+import com.blogApp.blogpost.repository.CommentRepository;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.repository.projection.CommentNode;
+import com.blogApp.blogpost.repository.projection.PostCategorySummary;
+import com.blogApp.blogpost.repository.projection.PostTagSummary;
+import com.blogApp.blogpost.service.interfaces.PostDetailService;
+import com.blogApp.blogpost.service.interfaces.PostRenderService;
+import com.blogApp.blogpost.service.interfaces.ViewCountService;
+import com.blogApp.blogpost.util.PostContentProcessor;
+import com.blogApp.blogpost.util.RenderedContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service dựng trang chi tiết bài viết
+ * - Truy vấn 1: bài viết theo slug
+ * - Sau đó chạy song song trên postDetailExecutor: tag, danh mục, trang đầu bình luận gốc (kèm đếm),
+ *   mọi bình luận trả lời đã duyệt của bài viết (một truy vấn, tối đa max-replies) và tổng số bình luận đã duyệt
+ * - Số truy vấn cố định, không phụ thuộc độ sâu của cây bình luận
+ * - Cây bình luận được dựng trong bộ nhớ từ parentId, chỉ giữ các trả lời thuộc trang bình luận gốc
+ * - Không chạy trong transaction (open-in-view tắt): thread request không giữ kết nối trong lúc chờ các truy vấn
+ * - Kết quả cache theo slug (loại cache postDetails); PostServiceImpl, CommentServiceImpl, PostRenderServiceImpl
+ *   và ViewCountServiceImpl xóa cache khi bài viết hoặc bình luận thay đổi
+ */
+@Service
+@Slf4j
+public class PostDetailServiceImpl implements PostDetailService {
+
+    private static final String POST_DETAIL_CACHE_TYPE = "postDetails";
+
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final CommentRepository commentRepository;
+    private final PostRenderService postRenderService;
+    private final PostContentProcessor contentProcessor;
+    private final ViewCountService viewCountService;
+    private final CacheService cacheService;
+    private final Executor postDetailExecutor;
+
+    @Value("${blog.post.detail.comment-page-size:20}")
+    private int commentPageSize;
+
+    @Value("${blog.post.detail.max-replies:1000}")
+    private int maxReplies;
+
+    @Value("${spring.cache.redis.time-to-live:3600000}")
+    private Long cacheTtl;
+
+    public PostDetailServiceImpl(PostRepository postRepository, TagRepository tagRepository,
+                                 CategoryRepository categoryRepository, CommentRepository commentRepository,
+                                 PostRenderService postRenderService, PostContentProcessor contentProcessor,
+                                 ViewCountService viewCountService, CacheService cacheService, @Qualifier("postDetailExecutor") Executor postDetailExecutor) {
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.commentRepository = commentRepository;
+        this.postRenderService = postRenderService;
+        this.contentProcessor = contentProcessor;
+        this.viewCountService = viewCountService;
+        this.cacheService = cacheService;
+        this.postDetailExecutor = postDetailExecutor;
+    }
+
+    @Override
+    public PostDetailDTO getPostDetailBySlug(String slug) {
+        String cacheKey = "slug:" + slug;
+        Object cachedDetail = cacheService.get(POST_DETAIL_CACHE_TYPE, cacheKey);
+        if (cachedDetail instanceof PostDetailDTO detail) {
+            log.debug("Lấy chi tiết bài viết với slug {} từ cache", slug);
+            return applyPendingViews(detail);
+        }
+
+        Post post = postRepository.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "slug", slug));
+        UUID postId = post.getId();
+        List<UUID> postIds = List.of(postId);
+
+        CompletableFuture<List<PostTagSummary>> tags = supply(() -> tagRepository.findSummariesByPostIds(postIds));
+        CompletableFuture<List<PostCategorySummary>> categories = supply(() -> categoryRepository.findSummariesByPostIds(postIds));
+        CompletableFuture<Page<CommentNode>> roots = supply(() -> commentRepository.findRootNodesByPostIdAndStatus(
+                postId, CommentStatus.APPROVED, PageRequest.of(0, commentPageSize)));
+        CompletableFuture<List<CommentNode>> replies = supply(() -> commentRepository.findReplyNodesByPostIdAndStatus(
+                postId, CommentStatus.APPROVED, PageRequest.of(0, maxReplies)));
+        CompletableFuture<Long> commentCount = supply(() -> commentRepository.countCommentsByPostIdAndStatus(
+                postId, CommentStatus.APPROVED));
+        // Render (nếu HTML chưa có) chạy trên thread hiện tại trong lúc chờ các truy vấn
+        RenderedContent rendered = postRenderService.resolveContent(post);
+
+        PostDetailDTO detail;
+        try {
+            CompletableFuture.allOf(tags, categories, roots, replies, commentCount).join();
+            detail = PostDetailDTO.builder()
+                    .id(postId)
+                    .title(post.getTitle())
+                    .slug(post.getSlug())
+                    .summary(post.getSummary())
+                    .content(post.getContent())
+                    .contentHtml(rendered.getHtml())
+                    .wordCount(rendered.getWordCount())
+                    .readingTimeMinutes(rendered.getReadingTimeMinutes())
+                    .excerpt(rendered.getExcerpt())
+                    .tableOfContents(contentProcessor.parseTableOfContents(rendered.getTableOfContents()))
+                    .authorId(post.getAuthorId())
+                    .authorName(post.getAuthorName())
+                    .status(post.getStatus())
+                    .commentEnabled(post.isCommentEnabled())
+                    .viewCount(post.getViewCount())
+                    .publishedAt(post.getPublishedAt())
+                    .createdAt(post.getCreatedAt())
+                    .updatedAt(post.getUpdatedAt())
+                    .tags(tags.join().stream()
+                            .map(tag -> new TagDTO(tag.getId(), tag.getName(), tag.getSlug()))
+                            .collect(Collectors.toCollection(LinkedHashSet::new)))
+                    .categories(categories.join().stream()
+                            .map(category -> new CategorySummaryDTO(category.getId(), category.getName(), category.getSlug()))
+                            .collect(Collectors.toCollection(LinkedHashSet::new)))
+                    .comments(buildCommentTree(postId, roots.join().getContent(), replies.join()))
+                    .commentCount(Math.toIntExact(commentCount.join()))
+                    .hasMoreComments(roots.join().hasNext())
+                    .build();
+        } catch (CompletionException e) {
+            log.error("Lỗi khi dựng chi tiết bài viết {}: {}", slug, e.getCause().getMessage(), e.getCause());
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BlogPostServiceException("Không thể lấy chi tiết bài viết " + slug);
+        }
+
+        cacheService.set(POST_DETAIL_CACHE_TYPE, cacheKey, detail, cacheTtl / 1000, TimeUnit.SECONDS);
+        return applyPendingViews(detail);
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, postDetailExecutor);
+    }
+
+    /**
+     * Gắn các bình luận trả lời vào bình luận cha theo thứ tự thời gian
+     * - Duyệt từ các bình luận gốc của trang; trả lời thuộc bình luận gốc ở trang khác bị bỏ qua
+     */
+    private Set<CommentDTO> buildCommentTree(UUID postId, List<CommentNode> roots, List<CommentNode> replies) {
+        Map<UUID, List<CommentNode>> childrenByParent = new HashMap<>();
+        for (CommentNode reply : replies) {
+            childrenByParent.computeIfAbsent(reply.getParentId(), key -> new ArrayList<>()).add(reply);
+        }
+
+        Set<CommentDTO> tree = new LinkedHashSet<>();
+        Deque<CommentDTO> pending = new ArrayDeque<>();
+        for (CommentNode root : roots) {
+            CommentDTO dto = toDto(postId, root);
+            tree.add(dto);
+            pending.add(dto);
+        }
+
+        int attached = 0;
+        while (!pending.isEmpty()) {
+            CommentDTO parent = pending.poll();
+            for (CommentNode reply : childrenByParent.getOrDefault(parent.getId(), List.of())) {
+                CommentDTO dto = toDto(postId, reply);
+                parent.getReplies().add(dto);
+                pending.add(dto);
+                attached++;
+            }
+        }
+        if (replies.size() >= maxReplies) {
+            log.debug("Bài viết {} có hơn {} bình luận trả lời, cây bình luận bị cắt bớt", postId, maxReplies);
+        }
+        log.debug("Dựng cây bình luận bài viết {}: {} bình luận gốc, {} trả lời", postId, roots.size(), attached);
+        return tree;
+    }
+
+    private CommentDTO toDto(UUID postId, CommentNode node) {
+        return CommentDTO.builder()
+                .id(node.getId())
+                .postId(postId)
+                .userId(parseUserId(node.getAuthorId()))
+                .userName(node.getAuthorName())
+                .content(node.getContent())
+                .parentId(node.getParentId())
+                .createdAt(node.getCreatedAt())
+                .updatedAt(node.getUpdatedAt())
+                .replies(new LinkedHashSet<>())
+                .build();
+    }
+
+    private UUID parseUserId(String authorId) {
+        try {
+            return authorId == null ? null : UUID.fromString(authorId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private PostDetailDTO applyPendingViews(PostDetailDTO detail) {
+        long pending = viewCountService.getPendingViews(detail.getId());
+        int base = detail.getViewCount() == null ? 0 : detail.getViewCount();
+        detail.setViewCount(Math.toIntExact(base + pending));
+        return detail;
+    }
+}
@@ -0,0 +1,177 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.response.PostExportLine;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.model.PostExportFormat;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.repository.projection.PostFeatureLink;
+import com.blogApp.blogpost.repository.projection.PostTagSummary;
+import com.blogApp.blogpost.service.interfaces.PostExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service export bài viết theo luồng
+ * - Đọc Stream<Post> từ PostRepository (cursor phía server, fetch size cố định), detach từng entity
+ *   ngay sau khi chuyển sang PostExportLine để persistence context không phình ra
+ * - Tag và danh mục được tải theo chunk bằng hai truy vấn IN, không chạm vào collection lazy
+ * - Mỗi chunk được ghi và flush ngay ra output nên heap chỉ giữ tối đa một chunk
+ */
+@Service
+@Slf4j
+public class PostExportServiceImpl implements PostExportService {
+
+    private static final String CSV_HEADER = "id,title,slug,status,authorId,authorName,commentEnabled,viewCount,"
+            + "publishedAt,createdAt,updatedAt,categoryIds,tags,summary,content";
+    private static final String CSV_LIST_SEPARATOR = "|";
+
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog.post.export.chunk-size:500}")
+    private int chunkSize;
+
+    public PostExportServiceImpl(PostRepository postRepository, TagRepository tagRepository, EntityManager entityManager,
+                                 @Qualifier("httpObjectMapper") ObjectMapper objectMapper) {
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPosts(PostExportFormat format, PostStatus status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                            OutputStream output) throws IOException {
+        log.info("Bắt đầu export bài viết: format={}, status={}, createdFrom={}, createdTo={}",
+                format, status, createdFrom, createdTo);
+        long startedAt = System.currentTimeMillis();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == PostExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        List<PostExportLine> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Post> posts = postRepository.streamForExport(status, createdFrom, createdTo)) {
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                chunk.add(toLine(post));
+                entityManager.detach(post);
+
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, format, writer);
+                    exported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, format, writer);
+            exported += chunk.size();
+        }
+        writer.flush();
+
+        log.info("Đã export {} bài viết trong {} ms", exported, System.currentTimeMillis() - startedAt);
+        return exported;
+    }
+
+    /**
+     * Gắn tag và danh mục cho cả chunk rồi ghi ra output
+     */
+    private void writeChunk(List<PostExportLine> chunk, PostExportFormat format, Writer writer) throws IOException {
+        List<UUID> ids = chunk.stream().map(PostExportLine::getId).collect(Collectors.toList());
+        Map<UUID, Set<String>> tagsByPost = tagRepository.findSummariesByPostIds(ids).stream()
+                .collect(Collectors.groupingBy(PostTagSummary::getPostId,
+                        Collectors.mapping(PostTagSummary::getName, Collectors.toCollection(TreeSet::new))));
+        Map<UUID, Set<UUID>> categoriesByPost = postRepository.findCategoryLinksByPostIdIn(ids).stream()
+                .collect(Collectors.groupingBy(PostFeatureLink::getPostId,
+                        Collectors.mapping(PostFeatureLink::getFeatureId, Collectors.toCollection(TreeSet::new))));
+
+        for (PostExportLine line : chunk) {
+            line.setTags(tagsByPost.getOrDefault(line.getId(), Collections.emptySet()));
+            line.setCategoryIds(categoriesByPost.getOrDefault(line.getId(), Collections.emptySet()));
+            if (format == PostExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(line));
+            } else {
+                writeCsvRow(line, writer);
+            }
+            writer.write('\n');
+        }
+        // Đẩy chunk tới client ngay, không để dữ liệu dồn lại trong buffer
+        writer.flush();
+    }
+
+    private void writeCsvRow(PostExportLine line, Writer writer) throws IOException {
+        List<Object> values = Arrays.asList(
+                line.getId(), line.getTitle(), line.getSlug(), line.getStatus(), line.getAuthorId(), line.getAuthorName(),
+                line.isCommentEnabled(), line.getViewCount(), line.getPublishedAt(), line.getCreatedAt(), line.getUpdatedAt(),
+                line.getCategoryIds().stream().map(UUID::toString).collect(Collectors.joining(CSV_LIST_SEPARATOR)),
+                String.join(CSV_LIST_SEPARATOR, line.getTags()),
+                line.getSummary(), line.getContent());
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+    }
+
+    /**
+     * Escape theo RFC 4180: bọc trong dấu nháy kép nếu có dấu phẩy, nháy kép hoặc xuống dòng
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Chỉ đọc các cột của bảng posts, tag và danh mục được gắn theo chunk
+     */
+    private PostExportLine toLine(Post post) {
+        return PostExportLine.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .slug(post.getSlug())
+                .summary(post.getSummary())
+                .content(post.getContent())
+                .status(post.getStatus())
+                .commentEnabled(post.isCommentEnabled())
+                .authorId(post.getAuthorId())
+                .authorName(post.getAuthorName())
+                .viewCount(post.getViewCount())
+                .publishedAt(post.getPublishedAt())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+}
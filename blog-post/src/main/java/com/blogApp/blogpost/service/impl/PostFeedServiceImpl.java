@@ -0,0 +1,224 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.event.PostFeedChangedEvent;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.projection.PostFeedEntry;
+import com.blogApp.blogpost.service.interfaces.PostFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service giữ feed bài viết mới xuất bản trong Redis
+ * - Sorted set post_id -> publishedAt, đọc một trang bằng ZREVRANGE và tổng số bằng ZCARD
+ * - PostServiceImpl phát PostFeedChangedEvent khi xuất bản, bỏ xuất bản hoặc xóa bài viết; feed chỉ được cập nhật
+ *   sau khi commit, theo trạng thái đã commit trong database
+ * - Feed được dựng lại từ database khi chưa có (Redis mới, bị flush) và định kỳ để sửa lệch
+ * - Khi dựng lại, chỉ ghi phần chênh lệch (ZADD/ZREM) vào feed đang dùng; bài viết thay đổi trong lúc dựng lại
+ *   được bỏ qua vì lần ghi của chúng đã mới hơn ảnh chụp database của lần dựng lại
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostFeedServiceImpl implements PostFeedService {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostRepository postRepository;
+
+    /** Khóa giữa các lần ghi feed và bước ghi chênh lệch của lần dựng lại */
+    private final Object writeLock = new Object();
+    /** Bài viết được ghi vào feed trong lúc dựng lại, null khi không dựng lại */
+    private volatile Set<String> changedDuringRebuild;
+
+    @Value("${blog.post.cache.prefix:blog}")
+    private String cachePrefix;
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedChanged(PostFeedChangedEvent event) {
+        if (event.getPostIds().isEmpty()) {
+            return;
+        }
+        List<PostFeedEntry> published;
+        try {
+            published = postRepository.findFeedEntriesByIdInAndStatus(event.getPostIds(), PostStatus.PUBLISHED);
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi đọc trạng thái {} bài viết để cập nhật feed: {}", event.getPostIds().size(), e.getMessage(), e);
+            return;
+        }
+        Set<UUID> removed = new HashSet<>(event.getPostIds());
+        published.forEach(entry -> removed.remove(entry.getId()));
+        publishAll(published);
+        removeAll(removed);
+    }
+
+    @Override
+    public void publish(UUID postId, LocalDateTime publishedAt) {
+        if (publishedAt == null) {
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                recordChange(postId.toString());
+                redisTemplate.opsForZSet().add(feedKey(), postId.toString(), toScore(publishedAt));
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi thêm bài viết {} vào feed: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void remove(UUID postId) {
+        try {
+            synchronized (writeLock) {
+                recordChange(postId.toString());
+                redisTemplate.opsForZSet().remove(feedKey(), postId.toString());
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi xóa bài viết {} khỏi feed: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void publishAll(Collection<PostFeedEntry> entries) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = entries.stream()
+                .filter(entry -> entry.getPublishedAt() != null)
+                .map(entry -> ZSetOperations.TypedTuple.of(entry.getId().toString(), toScore(entry.getPublishedAt())))
+                .collect(Collectors.toSet());
+        if (tuples.isEmpty()) {
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                tuples.forEach(tuple -> recordChange(tuple.getValue()));
+                redisTemplate.opsForZSet().add(feedKey(), tuples);
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi thêm {} bài viết vào feed: {}", tuples.size(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                String[] members = postIds.stream().map(UUID::toString).toArray(String[]::new);
+                Arrays.stream(members).forEach(this::recordChange);
+                redisTemplate.opsForZSet().remove(feedKey(), (Object[]) members);
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi xóa {} bài viết khỏi feed: {}", postIds.size(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Page<UUID> getPage(int pageNo, int pageSize) {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(readyKey()))) {
+            rebuild();
+        }
+
+        long start = (long) pageNo * pageSize;
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(feedKey(), start, start + pageSize - 1);
+        Long total = redisTemplate.opsForZSet().zCard(feedKey());
+
+        List<UUID> ids = members == null ? Collections.emptyList() : members.stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toList());
+        return new PageImpl<>(ids, PageRequest.of(pageNo, pageSize), total == null ? 0 : total);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.feed.rebuild-interval-ms:21600000}",
+            initialDelayString = "${blog.post.feed.rebuild-interval-ms:21600000}")
+    public synchronized void rebuild() {
+        // Bắt đầu ghi nhận thay đổi trước khi đọc database: mọi lần ghi feed chưa được ghi nhận đều đã commit trước ảnh chụp
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        try {
+            Map<String, Double> expected = new HashMap<>();
+            for (PostFeedEntry entry : postRepository.findFeedEntriesByStatus(PostStatus.PUBLISHED)) {
+                expected.put(entry.getId().toString(), toScore(entry.getPublishedAt()));
+            }
+
+            Map<String, Double> current = new HashMap<>();
+            try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisTemplate.opsForZSet()
+                    .scan(feedKey(), ScanOptions.scanOptions().count(REBUILD_CHUNK_SIZE).build())) {
+                cursor.forEachRemaining(tuple -> current.put(tuple.getValue(), tuple.getScore()));
+            }
+
+            int added;
+            int removed;
+            synchronized (writeLock) {
+                Set<String> changed = changedDuringRebuild;
+                List<ZSetOperations.TypedTuple<String>> toAdd = expected.entrySet().stream()
+                        .filter(entry -> !entry.getValue().equals(current.get(entry.getKey())))
+                        .filter(entry -> !changed.contains(entry.getKey()))
+                        .map(entry -> ZSetOperations.TypedTuple.of(entry.getKey(), entry.getValue()))
+                        .collect(Collectors.toList());
+                List<String> toRemove = current.keySet().stream()
+                        .filter(member -> !expected.containsKey(member))
+                        .filter(member -> !changed.contains(member))
+                        .collect(Collectors.toList());
+
+                for (int from = 0; from < toAdd.size(); from += REBUILD_CHUNK_SIZE) {
+                    redisTemplate.opsForZSet().add(feedKey(),
+                            new HashSet<>(toAdd.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, toAdd.size()))));
+                }
+                for (int from = 0; from < toRemove.size(); from += REBUILD_CHUNK_SIZE) {
+                    redisTemplate.opsForZSet().remove(feedKey(),
+                            toRemove.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, toRemove.size())).toArray());
+                }
+                added = toAdd.size();
+                removed = toRemove.size();
+            }
+            redisTemplate.opsForValue().set(readyKey(), "1");
+            log.info("Đã dựng lại feed bài viết với {} bài viết ({} thêm/cập nhật, {} bỏ)", expected.size(), added, removed);
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi dựng lại feed bài viết: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            changedDuringRebuild = null;
+        }
+    }
+
+    private void recordChange(String member) {
+        Set<String> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(member);
+        }
+    }
+
+    private double toScore(LocalDateTime publishedAt) {
+        return publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private String feedKey() {
+        return cachePrefix + "feed:published";
+    }
+
+    private String readyKey() {
+        return feedKey() + ":ready";
+    }
+}
@@ -0,0 +1,396 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.dto.UserPrincipal;
+import com.blogApp.blogcommon.service.CacheService;
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.request.PostImportLine;
+import com.blogApp.blogpost.dto.response.PostImportResultDTO;
+import com.blogApp.blogpost.exception.BlogPostServiceException;
+import com.blogApp.blogpost.model.Category;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.repository.CategoryRepository;
+import com.blogApp.blogpost.service.interfaces.PostFeedService;
+import com.blogApp.blogpost.service.interfaces.PostImportService;
+import com.blogApp.blogpost.service.interfaces.PostRenderService;
+import com.blogApp.blogpost.service.interfaces.RelatedPostService;
+import com.blogApp.blogpost.service.interfaces.SitemapService;
+import com.blogApp.blogpost.service.interfaces.TagResolver;
+import com.blogApp.blogpost.util.PostContentProcessor;
+import com.blogApp.blogpost.util.SearchIndexUtils;
+import com.blogApp.blogpost.util.SlugAllocator;
+import com.blogApp.blogpost.util.SlugUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service import bài viết hàng loạt từ NDJSON
+ * - Đọc từng dòng bằng BufferedReader, chỉ giữ một chunk trong bộ nhớ
+ * - Mỗi chunk: một truy vấn kiểm tra danh mục, một lượt resolve tag (TagResolver), một truy vấn cấp slug cho cả chunk
+ *   (SlugAllocator), sau đó insert posts, post_tags, post_categories bằng JdbcTemplate.batchUpdate trong một transaction
+ * - Chunk lỗi khi ghi được ghi lại từng dòng để tách dòng lỗi khỏi dòng hợp lệ
+ * - Ghi bằng JDBC nên không kích hoạt đánh chỉ mục của Hibernate Search cho từng bài viết; sau khi import xong mới
+ *   xóa cache trang danh sách/tìm kiếm, đánh chỉ mục lại (hoặc xếp hàng nếu đang có lần chạy khác) các bài viết
+ *   có updatedAt từ lúc bắt đầu, render nội dung bài viết mới, dựng lại feed, sitemap và chỉ mục bài viết liên quan
+ * - Không gọi auth service: tác giả lấy từ dòng NDJSON hoặc admin đang import
+ */
+@Service
+@Slf4j
+public class PostImportServiceImpl implements PostImportService {
+
+    private static final String POST_LIST_CACHE_TYPE = "postLists";
+
+    private static final String INSERT_POST_SQL = "INSERT INTO posts (id, title, slug, summary, content, content_hash, " +
+            "author_id, author_name, status, comment_enabled, view_count, published_at, created_at, updated_at, is_published) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+    private static final String INSERT_POST_TAG_SQL = "INSERT INTO post_tags (post_id, tag_id) VALUES (?, ?)";
+    private static final String INSERT_POST_CATEGORY_SQL = "INSERT INTO post_categories (post_id, category_id) VALUES (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final TagResolver tagResolver;
+    private final SlugAllocator slugAllocator;
+    private final SlugUtils slugUtils;
+    private final PostContentProcessor contentProcessor;
+    private final SearchIndexUtils searchIndexUtils;
+    private final PostFeedService postFeedService;
+    private final RelatedPostService relatedPostService;
+    private final SitemapService sitemapService;
+    private final PostRenderService postRenderService;
+    private final CacheService cacheService;
+
+    @Value("${blog.post.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${blog.post.import.batch-size:100}")
+    private int batchSize;
+
+    @Value("${blog.post.import.max-errors:1000}")
+    private int maxErrors;
+
+    public PostImportServiceImpl(@Qualifier("httpObjectMapper") ObjectMapper objectMapper, Validator validator, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager, CategoryRepository categoryRepository,
+                                 TagResolver tagResolver, SlugAllocator slugAllocator, SlugUtils slugUtils,
+                                 PostContentProcessor contentProcessor, SearchIndexUtils searchIndexUtils,
+                                 PostFeedService postFeedService, RelatedPostService relatedPostService,
+                                 SitemapService sitemapService, PostRenderService postRenderService,
+                                 CacheService cacheService) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryRepository = categoryRepository;
+        this.tagResolver = tagResolver;
+        this.slugAllocator = slugAllocator;
+        this.slugUtils = slugUtils;
+        this.contentProcessor = contentProcessor;
+        this.searchIndexUtils = searchIndexUtils;
+        this.postFeedService = postFeedService;
+        this.relatedPostService = relatedPostService;
+        this.sitemapService = sitemapService;
+        this.postRenderService = postRenderService;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public PostImportResultDTO importPosts(InputStream input, UserPrincipal importer) {
+        // DATETIME trong MySQL có thể làm tròn tới giây, mốc đánh chỉ mục lại phải không muộn hơn updatedAt đã ghi
+        LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long startNanos = System.nanoTime();
+        PostImportResultDTO result = new PostImportResultDTO();
+        log.info("Bắt đầu import bài viết bởi admin {} (chunkSize={}, batchSize={})", importer.getUsername(), chunkSize, batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<ImportItem> chunk = new ArrayList<>(chunkSize);
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotalLines(result.getTotalLines() + 1);
+
+                ImportItem item = parseLine(lineNo, line, result);
+                if (item != null) {
+                    chunk.add(item);
+                }
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, importer, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, importer, result);
+            }
+        } catch (IOException e) {
+            log.error("Lỗi khi đọc dữ liệu import: {}", e.getMessage(), e);
+            throw new BlogPostServiceException("Lỗi khi đọc dữ liệu import: " + e.getMessage());
+        } finally {
+            if (result.getImported() > 0) {
+                refreshAfterImport(startedAt);
+            }
+        }
+
+        result.setElapsedMs((System.nanoTime() - startNanos) / 1_000_000);
+        result.setPostsPerSecond(result.getElapsedMs() == 0
+                ? result.getImported()
+                : result.getImported() * 1000.0 / result.getElapsedMs());
+        log.info("Hoàn thành import: {} dòng, {} bài viết, {} lỗi trong {} ms ({} bài viết/giây)",
+                result.getTotalLines(), result.getImported(), result.getFailed(), result.getElapsedMs(),
+                String.format("%.1f", result.getPostsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Đọc và kiểm tra một dòng NDJSON
+     * @return null nếu dòng không hợp lệ (lỗi đã được ghi vào kết quả)
+     */
+    private ImportItem parseLine(long lineNo, String line, PostImportResultDTO result) {
+        PostImportLine request;
+        try {
+            request = objectMapper.readValue(line, PostImportLine.class);
+        } catch (JsonProcessingException e) {
+            recordError(result, lineNo, "JSON không hợp lệ: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<PostImportLine>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            recordError(result, lineNo, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        // Dòng import không có thời điểm xuất bản nên không thể hẹn giờ
+        if (request.getStatus() == PostStatus.SCHEDULED) {
+            recordError(result, lineNo, "Dùng API hẹn giờ để chuyển bài viết sang SCHEDULED");
+            return null;
+        }
+        return new ImportItem(lineNo, request);
+    }
+
+    /**
+     * Import một chunk: tra danh mục và tag theo lô, cấp slug, insert bằng JDBC batch trong một transaction
+     */
+    private void importChunk(List<ImportItem> chunk, UserPrincipal importer, PostImportResultDTO result) {
+        result.setChunks(result.getChunks() + 1);
+
+        // Một truy vấn cho mọi danh mục được tham chiếu trong chunk
+        Set<UUID> wantedCategoryIds = chunk.stream()
+                .map(item -> item.getRequest().getCategoryIds())
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+        Set<UUID> existingCategoryIds = wantedCategoryIds.isEmpty()
+                ? Collections.emptySet()
+                : categoryRepository.findAllById(wantedCategoryIds).stream()
+                        .map(Category::getId)
+                        .collect(Collectors.toSet());
+
+        // Một lượt resolve cho mọi tag trong chunk (tag còn thiếu được tạo theo lô)
+        Map<String, UUID> tagIds = tagResolver.resolveIds(chunk.stream()
+                .map(item -> item.getRequest().getTags())
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+
+        List<ImportItem> accepted = new ArrayList<>(chunk.size());
+        for (ImportItem item : chunk) {
+            Set<UUID> categoryIds = item.getRequest().getCategoryIds() == null
+                    ? Collections.emptySet()
+                    : item.getRequest().getCategoryIds();
+            Optional<UUID> unknownCategory = categoryIds.stream()
+                    .filter(id -> !existingCategoryIds.contains(id))
+                    .findFirst();
+            if (unknownCategory.isPresent()) {
+                recordError(result, item.getLineNo(), "Không tìm thấy danh mục với id " + unknownCategory.get());
+            } else {
+                accepted.add(item);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // Một truy vấn cấp slug cho mọi bài viết trong chunk
+        List<String> slugs = slugAllocator.nextFreeSlugs(Post.class, accepted.stream()
+                .map(ImportItem::getRequest)
+                .map(request -> slugUtils.createSlug(request.getSlug() != null && !request.getSlug().isBlank()
+                        ? request.getSlug()
+                        : request.getTitle()))
+                .collect(Collectors.toList()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PostRow> rows = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            ImportItem item = accepted.get(i);
+            PostImportLine request = item.getRequest();
+            Set<UUID> categoryIds = request.getCategoryIds() == null ? Collections.emptySet() : request.getCategoryIds();
+            Set<UUID> postTagIds = request.getTags() == null ? Collections.emptySet() : request.getTags().stream()
+                    .filter(Objects::nonNull)
+                    .map(name -> tagIds.get(name.trim()))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            rows.add(new PostRow(item.getLineNo(), UUID.randomUUID(), slugs.get(i), request,
+                    request.getAuthorId() != null ? request.getAuthorId() : importer.getId().toString(),
+                    request.getAuthorName() != null ? request.getAuthorName() : importer.getUsername(),
+                    publishedAt(request, now), request.getCreatedAt() != null ? request.getCreatedAt() : now, now,
+                    postTagIds, categoryIds));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(rows));
+            result.setImported(result.getImported() + rows.size());
+            log.debug("Đã import chunk {} với {} bài viết", result.getChunks(), rows.size());
+        } catch (DataAccessException e) {
+            // Ghi lại từng dòng để chỉ các dòng lỗi bị bỏ qua
+            log.warn("Lỗi khi ghi chunk {}, ghi lại từng dòng: {}", result.getChunks(), e.getMostSpecificCause().getMessage());
+            for (PostRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(List.of(row)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    recordError(result, row.getLineNo(), "Lỗi khi lưu bài viết: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void insertRows(List<PostRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_POST_SQL, rows, batchSize, (ps, row) -> {
+            PostImportLine request = row.getRequest();
+            ps.setBytes(1, uuidBytes(row.getId()));
+            ps.setString(2, request.getTitle());
+            ps.setString(3, row.getSlug());
+            ps.setString(4, request.getSummary());
+            ps.setString(5, request.getContent());
+            ps.setString(6, contentProcessor.hashContent(request.getContent()));
+            ps.setString(7, row.getAuthorId());
+            ps.setString(8, row.getAuthorName());
+            ps.setString(9, request.getStatus().name());
+            ps.setBoolean(10, request.isCommentEnabled());
+            ps.setTimestamp(11, row.getPublishedAt() != null ? Timestamp.valueOf(row.getPublishedAt()) : null);
+            ps.setTimestamp(12, Timestamp.valueOf(row.getCreatedAt()));
+            ps.setTimestamp(13, Timestamp.valueOf(row.getUpdatedAt()));
+            ps.setBoolean(14, false);
+        });
+
+        List<UUID[]> postTags = new ArrayList<>();
+        List<UUID[]> postCategories = new ArrayList<>();
+        for (PostRow row : rows) {
+            row.getTagIds().forEach(tagId -> postTags.add(new UUID[]{row.getId(), tagId}));
+            row.getCategoryIds().forEach(categoryId -> postCategories.add(new UUID[]{row.getId(), categoryId}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_POST_TAG_SQL, postTags, batchSize, (ps, pair) -> {
+            ps.setBytes(1, uuidBytes(pair[0]));
+            ps.setBytes(2, uuidBytes(pair[1]));
+        });
+        jdbcTemplate.batchUpdate(INSERT_POST_CATEGORY_SQL, postCategories, batchSize, (ps, pair) -> {
+            ps.setBytes(1, uuidBytes(pair[0]));
+            ps.setBytes(2, uuidBytes(pair[1]));
+        });
+    }
+
+    /**
+     * Đánh chỉ mục và làm mới các cấu trúc đọc một lần sau khi import
+     * - Trang danh sách và kết quả tìm kiếm được cache theo bộ lọc nên xóa cả loại cache
+     * - Bài viết mới chưa có HTML/số từ/đoạn trích: backfill render chạy nền trên postRenderExecutor
+     */
+    private void refreshAfterImport(LocalDateTime startedAt) {
+        cacheService.deleteByType(POST_LIST_CACHE_TYPE);
+        searchIndexUtils.requestRebuild(startedAt);
+        postRenderService.renderStalePosts();
+        try {
+            postFeedService.rebuild();
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi dựng lại feed sau import: {}", e.getMessage(), e);
+        }
+        relatedPostService.rebuild();
+        try {
+            sitemapService.rebuild();
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi dựng lại sitemap sau import: {}", e.getMessage(), e);
+        }
+    }
+
+    private LocalDateTime publishedAt(PostImportLine request, LocalDateTime now) {
+        if (request.getStatus() != PostStatus.PUBLISHED) {
+            return request.getPublishedAt();
+        }
+        return request.getPublishedAt() != null ? request.getPublishedAt() : now;
+    }
+
+    private void recordError(PostImportResultDTO result, long lineNo, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new PostImportResultDTO.LineError(lineNo, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * UUID được Hibernate lưu dạng BINARY(16) trên MySQL (8 byte cao trước)
+     */
+    private byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ImportItem {
+        private final long lineNo;
+        private final PostImportLine request;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PostRow {
+        private final long lineNo;
+        private final UUID id;
+        private final String slug;
+        private final PostImportLine request;
+        private final String authorId;
+        private final String authorName;
+        private final LocalDateTime publishedAt;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final Set<UUID> tagIds;
+        private final Set<UUID> categoryIds;
+    }
+}
@@ -0,0 +1,159 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.service.CacheService;
+import com.blogApp.blogpost.event.PostContentChangedEvent;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.service.interfaces.DuplicatePostService;
+import com.blogApp.blogpost.service.interfaces.PostRenderService;
+import com.blogApp.blogpost.util.PostContentProcessor;
+import com.blogApp.blogpost.util.RenderedContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Service render nội dung bài viết
+ * - Chạy trên thread pool riêng (postRenderExecutor) sau khi commit; khi hàng đợi đầy thì chạy trên thread gọi
+ * - Kết quả được ghi trong transaction riêng (REQUIRES_NEW) để ghi được cả khi thread gọi đang ở transaction
+ *   chỉ đọc hoặc ở pha AFTER_COMMIT của transaction khác
+ * - Một lần render cho ra HTML cùng số từ, thời gian đọc, đoạn trích, mục lục và dấu vân tay SimHash,
+ *   ghi chung một câu UPDATE; sau khi lưu, dấu vân tay được so với các bài viết khác (DuplicatePostService)
+ * - Chỉ ghi kết quả nếu content chưa bị thay đổi tiếp (so khớp contentHash)
+ * - Khi khởi động, render lại các bài viết cũ chưa có kết quả render hợp lệ
+ */
+@Service
+@Slf4j
+public class PostRenderServiceImpl implements PostRenderService {
+
+    private static final String POST_CACHE_TYPE = "posts";
+    private static final String POST_DETAIL_CACHE_TYPE = "postDetails";
+    private static final String POST_SUMMARY_CACHE_TYPE = "postSummaries";
+
+    private final PostRepository postRepository;
+    private final PostContentProcessor contentProcessor;
+    private final CacheService cacheService;
+    private final DuplicatePostService duplicatePostService;
+
+    private final Executor postRenderExecutor;
+    private final TransactionTemplate newTransaction;
+
+    @Value("${blog.post.render.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    public PostRenderServiceImpl(PostRepository postRepository,
+                                 PostContentProcessor contentProcessor,
+                                 CacheService cacheService,
+                                 DuplicatePostService duplicatePostService,
+                                 @Qualifier("postRenderExecutor") Executor postRenderExecutor,
+                                 PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.contentProcessor = contentProcessor;
+        this.cacheService = cacheService;
+        this.duplicatePostService = duplicatePostService;
+        this.postRenderExecutor = postRenderExecutor;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Async("postRenderExecutor")
+    @TransactionalEventListener
+    public void onContentChanged(PostContentChangedEvent event) {
+        log.debug("Render nội dung bài viết {} (hash {})", event.getPostId(), event.getContentHash());
+
+        RenderedContent rendered = contentProcessor.render(event.getContent());
+        if (!saveRendered(event.getPostId(), event.getContentHash(), rendered)) {
+            log.debug("Nội dung bài viết {} đã thay đổi trong lúc render, bỏ qua kết quả", event.getPostId());
+            return;
+        }
+
+        evictPostCache(event.getPostId(), event.getSlug());
+        duplicatePostService.onRendered(event.getPostId(), rendered.getSimHash(), rendered.getWordCount());
+        log.debug("Đã lưu HTML cho bài viết {} ({} từ)", event.getPostId(), rendered.getWordCount());
+    }
+
+    @Override
+    public RenderedContent resolveContent(Post post) {
+        if (post.isRenderedContentFresh()) {
+            return new RenderedContent(post.getContentHtml(), post.getWordCount(), post.getReadingTimeMinutes(),
+                    post.getExcerpt(), post.getTableOfContents(), post.getSimHash());
+        }
+
+        log.debug("HTML của bài viết {} chưa sẵn sàng, render trực tiếp", post.getId());
+        String contentHash = post.getContentHash() != null
+                ? post.getContentHash()
+                : contentProcessor.hashContent(post.getContent());
+        RenderedContent rendered = contentProcessor.render(post.getContent());
+
+        postRenderExecutor.execute(() -> {
+            try {
+                if (saveRendered(post.getId(), contentHash, rendered)) {
+                    duplicatePostService.onRendered(post.getId(), rendered.getSimHash(), rendered.getWordCount());
+                }
+            } catch (Exception e) {
+                log.warn("Không thể lưu HTML cho bài viết {}: {}", post.getId(), e.getMessage());
+            }
+        });
+        return rendered;
+    }
+
+    @Override
+    @Async("postRenderExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderStalePosts() {
+        int rendered = 0;
+        UUID after = null;
+        try {
+            List<UUID> ids;
+            while (!(ids = postRepository.findIdsWithStaleRender(after, PageRequest.of(0, backfillBatchSize))).isEmpty()) {
+                for (Post post : postRepository.findAllById(ids)) {
+                    String contentHash = post.getContentHash() != null
+                            ? post.getContentHash()
+                            : contentProcessor.hashContent(post.getContent());
+                    RenderedContent content = contentProcessor.render(post.getContent());
+                    if (saveRendered(post.getId(), contentHash, content)) {
+                        evictPostCache(post.getId(), post.getSlug());
+                        duplicatePostService.onRendered(post.getId(), content.getSimHash(), content.getWordCount());
+                        rendered++;
+                    }
+                }
+                after = ids.get(ids.size() - 1);
+            }
+        } catch (DataAccessException e) {
+            log.error("Không thể render lại bài viết cũ: {}", e.getMessage(), e);
+        }
+
+        if (rendered > 0) {
+            log.info("Đã render lại {} bài viết chưa có kết quả render hợp lệ", rendered);
+        }
+    }
+
+    private boolean saveRendered(UUID postId, String contentHash, RenderedContent rendered) {
+        Integer updated = newTransaction.execute(status -> postRepository.updateRenderedContent(postId, contentHash,
+                rendered.getHtml(), rendered.getWordCount(), rendered.getReadingTimeMinutes(),
+                rendered.getExcerpt(), rendered.getTableOfContents(), rendered.getSimHash()));
+        return updated != null && updated > 0;
+    }
+
+    private void evictPostCache(UUID postId, String slug) {
+        cacheService.delete(POST_CACHE_TYPE, "id:" + postId);
+        cacheService.delete(POST_CACHE_TYPE, "slug:" + slug);
+        cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + slug);
+        cacheService.delete(POST_SUMMARY_CACHE_TYPE, "id:" + postId);
+    }
+}
@@ -0,0 +1,246 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.dto.response.PagedResponse;
+import com.blogApp.blogcommon.exception.ResourceNotFoundException;
+import com.blogApp.blogcommon.service.CacheService;
+import com.blogApp.blogpost.dto.response.PostRevisionDTO;
+import com.blogApp.blogpost.event.PostContentChangedEvent;
+import com.blogApp.blogpost.exception.BlogPostServiceException;
+import com.blogApp.blogpost.exception.UnauthorizedPostActionException;
+import com.blogApp.blogpost.model.PostRevision;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.PostRevisionRepository;
+import com.blogApp.blogpost.repository.projection.PostRevisionSummary;
+import com.blogApp.blogpost.repository.projection.PostStatusView;
+import com.blogApp.blogpost.service.interfaces.PostRevisionService;
+import com.blogApp.blogpost.util.PostContentProcessor;
+import com.blogApp.blogpost.util.RevisionDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Service lưu lịch sử phiên bản bài viết
+ * - Phiên bản đầu tiên và mỗi snapshot-interval phiên bản lưu toàn bộ nội dung, các phiên bản khác lưu delta
+ *   theo dòng so với phiên bản liền trước
+ * - Delta quá lớn (khác biệt vượt max-diff-edits dòng hoặc dài hơn nửa nội dung) thì lưu snapshot thay thế
+ * - Dựng lại phiên bản n: snapshot gần nhất phía trước + tối đa snapshot-interval - 1 delta (một truy vấn),
+ *   kết quả được cache vì phiên bản không bao giờ thay đổi
+ * - Ghi trên một thread duy nhất (postRevisionExecutor) sau khi commit nên số phiên bản tăng tuần tự
+ * - Lịch sử không được mất: nếu replica khác vừa ghi cùng số phiên bản thì đọc lại phiên bản mới nhất
+ *   và ghi với số kế tiếp (bỏ qua nếu nội dung đã trùng)
+ */
+@Service
+@Slf4j
+public class PostRevisionServiceImpl implements PostRevisionService {
+
+    private static final String REVISION_CACHE_TYPE = "postRevisions";
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final PostRevisionRepository revisionRepository;
+    private final PostRepository postRepository;
+    private final PostContentProcessor contentProcessor;
+    private final CacheService cacheService;
+    private final TransactionTemplate newTransaction;
+
+    @Value("${blog.post.revisions.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Value("${blog.post.revisions.max-diff-edits:500}")
+    private int maxDiffEdits;
+
+    @Value("${blog.post.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${spring.cache.redis.time-to-live:3600000}")
+    private Long cacheTtl;
+
+    public PostRevisionServiceImpl(PostRevisionRepository revisionRepository, PostRepository postRepository,
+                                   PostContentProcessor contentProcessor, CacheService cacheService,
+                                   PlatformTransactionManager transactionManager) {
+        this.revisionRepository = revisionRepository;
+        this.postRepository = postRepository;
+        this.contentProcessor = contentProcessor;
+        this.cacheService = cacheService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Async("postRevisionExecutor")
+    @TransactionalEventListener
+    public void onContentChanged(PostContentChangedEvent event) {
+        UUID postId = event.getPostId();
+        String content = event.getContent() == null ? "" : event.getContent();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Mỗi lần thử một transaction riêng: transaction bị lỗi unique key không dùng lại được
+                newTransaction.executeWithoutResult(status -> writeRevision(event, content));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Replica khác vừa ghi cùng số phiên bản cho bài viết này
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Không thể ghi phiên bản mới của bài viết {} sau {} lần thử: {}",
+                            postId, attempt, e.getMessage(), e);
+                    throw e;
+                }
+                log.info("Số phiên bản của bài viết {} vừa bị replica khác dùng, thử lại lần {}", postId, attempt + 1);
+            }
+        }
+    }
+
+    /**
+     * Ghi phiên bản kế tiếp của phiên bản mới nhất hiện có, bỏ qua nếu nội dung trùng phiên bản đó
+     */
+    private void writeRevision(PostContentChangedEvent event, String content) {
+        UUID postId = event.getPostId();
+        Optional<PostRevision> latest = revisionRepository.findTopByPostIdOrderByRevisionNumberDesc(postId);
+        if (latest.isPresent() && latest.get().getContentHash().equals(event.getContentHash())) {
+            log.debug("Nội dung bài viết {} trùng phiên bản mới nhất, không ghi phiên bản mới", postId);
+            return;
+        }
+
+        int revisionNumber = latest.map(revision -> revision.getRevisionNumber() + 1).orElse(1);
+        String delta = latest.map(revision -> diffFromLatest(postId, revision, content)).orElse(null);
+
+        PostRevision revision = PostRevision.builder()
+                .postId(postId)
+                .revisionNumber(revisionNumber)
+                .snapshot(delta == null)
+                .data(delta == null ? content : delta)
+                .contentHash(event.getContentHash())
+                .contentLength(content.length())
+                .title(event.getTitle())
+                .editorId(event.getEditorId())
+                .build();
+        revisionRepository.saveAndFlush(revision);
+
+        cacheService.set(REVISION_CACHE_TYPE, revisionKey(postId, revisionNumber), content, cacheTtl / 1000, TimeUnit.SECONDS);
+        log.debug("Đã ghi phiên bản {} của bài viết {} ({}, {} ký tự)",
+                revisionNumber, postId, revision.isSnapshot() ? "snapshot" : "delta", revision.getData().length());
+    }
+
+    @Override
+    public PagedResponse<PostRevisionDTO> getRevisions(UUID postId, int pageNo, int pageSize, String userId, boolean isAdmin) {
+        checkAccess(postId, userId, isAdmin);
+
+        Page<PostRevisionSummary> page = revisionRepository.findByPostIdOrderByRevisionNumberDesc(
+                postId, PageRequest.of(pageNo, Math.min(pageSize, maxPageSize)));
+        List<PostRevisionDTO> revisions = page.getContent().stream()
+                .map(summary -> toDto(postId, summary))
+                .collect(Collectors.toList());
+
+        return PagedResponse.<PostRevisionDTO>builder()
+                .content(revisions)
+                .pageNo(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .first(page.isFirst())
+                .empty(page.isEmpty())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostRevisionDTO getRevision(UUID postId, int revisionNumber, String userId, boolean isAdmin) {
+        checkAccess(postId, userId, isAdmin);
+
+        PostRevisionSummary summary = revisionRepository.findByPostIdAndRevisionNumber(postId, revisionNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("PostRevision", "revisionNumber", String.valueOf(revisionNumber)));
+        PostRevisionDTO revision = toDto(postId, summary);
+        revision.setContent(reconstruct(postId, revisionNumber));
+        return revision;
+    }
+
+    /**
+     * Tính delta so với phiên bản mới nhất
+     * @return Delta, hoặc null nếu nên lưu snapshot
+     */
+    private String diffFromLatest(UUID postId, PostRevision latest, String content) {
+        Integer lastSnapshot = revisionRepository.findLatestSnapshotNumber(postId, latest.getRevisionNumber());
+        if (lastSnapshot == null || latest.getRevisionNumber() + 1 - lastSnapshot >= snapshotInterval) {
+            return null;
+        }
+
+        String delta = RevisionDelta.diff(reconstruct(postId, latest.getRevisionNumber()), content, maxDiffEdits);
+        if (delta == null || delta.length() > content.length() / 2) {
+            return null;
+        }
+        return delta;
+    }
+
+    /**
+     * Dựng lại nội dung của phiên bản: đọc cache, nếu không có thì áp dụng các delta lên snapshot gần nhất
+     */
+    private String reconstruct(UUID postId, int revisionNumber) {
+        String cacheKey = revisionKey(postId, revisionNumber);
+        Object cached = cacheService.get(REVISION_CACHE_TYPE, cacheKey);
+        if (cached instanceof String) {
+            return (String) cached;
+        }
+
+        Integer snapshotNumber = revisionRepository.findLatestSnapshotNumber(postId, revisionNumber);
+        if (snapshotNumber == null) {
+            throw new ResourceNotFoundException("PostRevision", "revisionNumber", String.valueOf(revisionNumber));
+        }
+        List<PostRevision> chain = revisionRepository.findByPostIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(
+                postId, snapshotNumber, revisionNumber);
+        if (chain.size() != revisionNumber - snapshotNumber + 1) {
+            throw new BlogPostServiceException("Lịch sử phiên bản của bài viết " + postId + " bị thiếu");
+        }
+
+        String content = chain.get(0).getData();
+        for (PostRevision revision : chain.subList(1, chain.size())) {
+            content = RevisionDelta.apply(content, revision.getData());
+        }
+        if (!contentProcessor.hashContent(content).equals(chain.get(chain.size() - 1).getContentHash())) {
+            log.error("Phiên bản {} của bài viết {} dựng lại không khớp hash", revisionNumber, postId);
+            throw new BlogPostServiceException("Không thể dựng lại phiên bản " + revisionNumber + " của bài viết " + postId);
+        }
+
+        cacheService.set(REVISION_CACHE_TYPE, cacheKey, content, cacheTtl / 1000, TimeUnit.SECONDS);
+        return content;
+    }
+
+    private void checkAccess(UUID postId, String userId, boolean isAdmin) {
+        List<PostStatusView> views = postRepository.findStatusViewsByIdIn(List.of(postId));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("Post", "id", postId.toString());
+        }
+        if (!isAdmin && !views.get(0).getAuthorId().equals(userId)) {
+            throw UnauthorizedPostActionException.cannotViewRevisions();
+        }
+    }
+
+    private PostRevisionDTO toDto(UUID postId, PostRevisionSummary summary) {
+        return PostRevisionDTO.builder()
+                .postId(postId)
+                .revisionNumber(summary.getRevisionNumber())
+                .title(summary.getTitle())
+                .editorId(summary.getEditorId())
+                .contentLength(summary.getContentLength())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
+    private String revisionKey(UUID postId, int revisionNumber) {
+        return postId + ":" + revisionNumber;
+    }
+}
@@ -0,0 +1,252 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.request.PostStatusBatchRequest;
+import com.blogApp.blogpost.dto.response.PostStatusBatchResultDTO;
+import com.blogApp.blogpost.event.PostScheduleChangedEvent;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.projection.PostScheduleEntry;
+import com.blogApp.blogpost.service.interfaces.PostSchedulerService;
+import com.blogApp.blogpost.service.interfaces.PostService;
+import com.blogApp.blogpost.util.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hẹn giờ xuất bản/gỡ bài viết bằng timing wheel phân cấp
+ * - Mỗi replica giữ hẹn giờ trong bộ nhớ: nạp khi khởi động, cập nhật sau mỗi lần đổi lịch,
+ *   nạp lại định kỳ (thưa) để nhận lịch được đặt trên replica khác
+ * - Mỗi tick chỉ đẩy kim của wheel, không truy vấn database; tick chạy trên thread riêng (PostScheduleTick)
+ *   nên không phải chờ các tác vụ @Scheduled chạy lâu (dựng lại chỉ mục, feed, sitemap)
+ * - Khi có hẹn giờ đến hạn: giữ khóa Redis (SET NX PX) rồi đổi trạng thái mọi bài viết đã đến hạn
+ *   bằng đổi trạng thái hàng loạt (cache, feed, bài viết liên quan được cập nhật theo lô,
+ *   chỉ mục tìm kiếm được cập nhật đúng các bài viết vừa đổi)
+ * - Không giữ được khóa thì hẹn giờ lại sau retry-delay-ms, vì lần chạy của replica khác
+ *   có thể đã bắt đầu trước khi bài viết đến hạn
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSchedulerServiceImpl implements PostSchedulerService {
+
+    private static final String SCHEDULER_USER = "scheduler";
+    private static final String PUBLISH_PREFIX = "publish:";
+    private static final String UNPUBLISH_PREFIX = "unpublish:";
+
+    /**
+     * Chỉ xóa khóa nếu vẫn là khóa của replica này
+     */
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final StringRedisTemplate redisTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PostScheduleTick");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${blog.post.cache.prefix:blog}")
+    private String cachePrefix;
+
+    @Value("${blog.post.schedule.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${blog.post.schedule.wheel-size:60}")
+    private int wheelSize;
+
+    @Value("${blog.post.schedule.batch-size:500}")
+    private int batchSize;
+
+    @Value("${blog.post.schedule.lock-ttl-ms:60000}")
+    private long lockTtlMs;
+
+    @Value("${blog.post.schedule.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    private TimingWheel<String> wheel;
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(PostScheduleChangedEvent event) {
+        synchronized (this) {
+            if (wheel == null) {
+                // Wheel chưa được nạp, lần nạp đầu tiên sẽ đọc lịch mới nhất từ database
+                return;
+            }
+            schedule(PUBLISH_PREFIX + event.getPostId(), event.getPublishAt());
+            schedule(UNPUBLISH_PREFIX + event.getPostId(), event.getUnpublishAt());
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blog.post.schedule.reload-interval-ms:600000}",
+            initialDelayString = "${blog.post.schedule.reload-interval-ms:600000}")
+    public void reload() {
+        List<PostScheduleEntry> entries;
+        try {
+            entries = postRepository.findScheduleEntries();
+        } catch (DataAccessException e) {
+            log.error("Không thể nạp lịch hẹn giờ bài viết: {}", e.getMessage(), e);
+            return;
+        }
+
+        synchronized (this) {
+            if (wheel == null) {
+                wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+            } else {
+                wheel.clear();
+            }
+            for (PostScheduleEntry entry : entries) {
+                schedule(PUBLISH_PREFIX + entry.getId(), entry.getScheduledPublishAt());
+                schedule(UNPUBLISH_PREFIX + entry.getId(), entry.getScheduledUnpublishAt());
+            }
+            log.info("Đã nạp {} hẹn giờ cho {} bài viết", wheel.size(), entries.size());
+        }
+        // Lịch đã quá hạn (ví dụ khi service dừng) được xử lý ở tick kế tiếp
+    }
+
+    /**
+     * Bắt đầu đẩy kim trên thread riêng sau khi ứng dụng khởi động
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startTicker() {
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                // Không để một lỗi làm dừng các tick sau
+                log.error("Lỗi khi đẩy kim hẹn giờ bài viết: {}", e.getMessage(), e);
+            }
+        }, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopTicker() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Đẩy kim của wheel, chỉ chạm database khi có hẹn giờ đến hạn
+     */
+    public void tick() {
+        List<String> expired;
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            expired = wheel.advance(System.currentTimeMillis());
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        log.debug("{} hẹn giờ bài viết đến hạn", expired.size());
+        int changed;
+        try {
+            changed = runDue();
+        } catch (RuntimeException e) {
+            log.error("Lỗi khi xuất bản/gỡ bài viết theo lịch: {}", e.getMessage(), e);
+            changed = -1;
+        }
+        if (changed < 0) {
+            retryLater(expired);
+        }
+    }
+
+    @Override
+    public int runDue() {
+        String lockKey = cachePrefix + "schedule:lock";
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(lockKey, instanceId, Duration.ofMillis(lockTtlMs)))) {
+            log.debug("Replica khác đang xử lý bài viết đến hạn");
+            return -1;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            int changed = flipDue(postRepository.findIdsDueForPublish(now, PageRequest.of(0, batchSize)),
+                    PostStatus.PUBLISHED, now);
+            changed += flipDue(postRepository.findIdsDueForUnpublish(now, PageRequest.of(0, batchSize)),
+                    PostStatus.ARCHIVED, now);
+            if (changed > 0) {
+                log.info("Đã đổi trạng thái {} bài viết theo lịch", changed);
+            }
+            return changed;
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), instanceId);
+        }
+    }
+
+    /**
+     * Đổi trạng thái theo từng lô cho tới khi hết bài viết đến hạn
+     * - Câu UPDATE xóa mốc hẹn giờ (hoặc đổi status) nên truy vấn kế tiếp trả về lô mới
+     */
+    private int flipDue(List<UUID> firstBatch, PostStatus status, LocalDateTime now) {
+        int changed = 0;
+        List<UUID> ids = firstBatch;
+        while (!ids.isEmpty()) {
+            PostStatusBatchResultDTO result = postService.updatePostStatusBatch(
+                    new PostStatusBatchRequest(new HashSet<>(ids), status), SCHEDULER_USER, true);
+            changed += result.getUpdated();
+            if (result.getUpdated() == 0 || ids.size() < batchSize) {
+                break;
+            }
+            ids = status == PostStatus.PUBLISHED
+                    ? postRepository.findIdsDueForPublish(now, PageRequest.of(0, batchSize))
+                    : postRepository.findIdsDueForUnpublish(now, PageRequest.of(0, batchSize));
+        }
+        return changed;
+    }
+
+    private synchronized void retryLater(List<String> keys) {
+        long retryAt = System.currentTimeMillis() + retryDelayMs;
+        keys.forEach(key -> wheel.schedule(key, retryAt));
+        log.debug("Hẹn giờ lại {} tác vụ sau {} ms", keys.size(), retryDelayMs);
+    }
+
+    /**
+     * Đặt hoặc hủy hẹn giờ (gọi trong khối synchronized)
+     */
+    private void schedule(String key, LocalDateTime at) {
+        if (at == null) {
+            wheel.cancel(key);
+            return;
+        }
+        long deadline = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.schedule(key, deadline)) {
+            // Đã quá hạn: đặt vào tick hiện tại để lần đẩy kim kế tiếp xử lý
+            wheel.schedule(key, System.currentTimeMillis());
+        }
+    }
+}
@@ -1,43 +1,82 @@
 package com.blogApp.blogpost.service.impl;
 
+import com.blogApp.blogcommon.dto.CategorySummaryDTO;
+import com.blogApp.blogcommon.dto.TagDTO;
 import com.blogApp.blogcommon.dto.UserPrincipal;
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.dto.response.UserSummary;
 import com.blogApp.blogcommon.service.CacheService;
 import com.blogApp.blogpost.client.AuthServiceClient;
+import com.blogApp.blogpost.dto.filter.PostFilterRequest;
 import com.blogApp.blogpost.dto.request.PostCreateRequest;
+import com.blogApp.blogpost.dto.request.PostScheduleRequest;
+import com.blogApp.blogpost.dto.request.PostStatusBatchRequest;
 import com.blogApp.blogpost.dto.request.PostUpdateRequest;
+import com.blogApp.blogpost.dto.response.PostScheduleDTO;
+import com.blogApp.blogpost.dto.response.PostStatusBatchResultDTO;
 import com.blogApp.blogpost.dto.response.PostSummaryDTO;
+import com.blogApp.blogpost.dto.response.VersionedDTO;
 import com.blogApp.blogpost.dto.CategoryDTO;
+import com.blogApp.blogpost.event.PostContentChangedEvent;
+import com.blogApp.blogpost.event.PostFeedChangedEvent;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+import com.blogApp.blogpost.event.PostScheduleChangedEvent;
 import com.blogApp.blogpost.model.Category;
 import com.blogApp.blogpost.model.CommentStatus;
 import com.blogApp.blogpost.model.Post;
-import com.blogApp.blogcommon.enums.PostStatus;
 import com.blogApp.blogpost.model.Tag;
+import com.blogApp.blogpost.model.TrendingWindow;
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogcommon.exception.BadRequestException;
 import com.blogApp.blogcommon.exception.ResourceNotFoundException;
 import com.blogApp.blogpost.mapper.PostMapper;
 import com.blogApp.blogpost.repository.CategoryRepository;
 import com.blogApp.blogpost.repository.CommentRepository;
 import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.PostRevisionRepository;
+import com.blogApp.blogpost.repository.PostSearchRepository;
+import com.blogApp.blogpost.repository.PostSpecifications;
 import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.repository.projection.PostCategorySummary;
+import com.blogApp.blogpost.repository.projection.PostCommentCount;
+import com.blogApp.blogpost.repository.projection.PostFeatureLink;
+import com.blogApp.blogpost.repository.projection.PostStatusView;
+import com.blogApp.blogpost.repository.projection.PostTagSummary;
+import com.blogApp.blogpost.service.interfaces.PostRenderService;
 import com.blogApp.blogpost.service.interfaces.PostService;
+import com.blogApp.blogpost.service.interfaces.TagResolver;
+import com.blogApp.blogpost.service.interfaces.PostFeedService;
+import com.blogApp.blogpost.service.interfaces.RelatedPostService;
+import com.blogApp.blogpost.service.interfaces.TrendingService;
+import com.blogApp.blogpost.service.interfaces.ViewCountService;
+import com.blogApp.blogpost.util.ETagUtils;
+import com.blogApp.blogpost.util.PostContentProcessor;
+import com.blogApp.blogpost.util.PostCursor;
+import com.blogApp.blogpost.util.RenderedContent;
+import com.blogApp.blogpost.util.SearchIndexUtils;
+import com.blogApp.blogpost.util.SlugAllocator;
 import com.blogApp.blogpost.util.SlugUtils;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.Node;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.blogApp.blogcommon.dto.response.UserProfile;
@@ -47,10 +86,11 @@ import com.blogApp.blogpost.exception.UnauthorizedPostActionException;
 /**
  * Service class triển khai các chức năng quản lý bài viết, bao gồm:
  * - Tạo, cập nhật, xóa bài viết
- * - Tìm kiếm bài viết theo nhiều tiêu chí khác nhau
- * - Phân trang kết quả
+ * - Tìm kiếm bài viết theo nhiều tiêu chí khác nhau (full-text qua chỉ mục Lucene)
+ * - Phân trang kết quả (theo offset hoặc theo cursor/keyset)
  * - Quản lý cache
- * - Xử lý markdown sang HTML
+ * - Xử lý markdown sang HTML (render một lần khi nội dung thay đổi)
+ * - Đếm lượt xem theo kiểu write-behind qua ViewCountService
  * - Tích hợp với các service khác như auth service
  */
 @Service
@@ -59,15 +99,26 @@ import com.blogApp.blogpost.exception.UnauthorizedPostActionException;
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
+    private final PostSearchRepository postSearchRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final TagResolver tagResolver;
     private final CommentRepository commentRepository;
+    private final PostRevisionRepository postRevisionRepository;
     private final PostMapper postMapper;
     private final AuthServiceClient authServiceClient;
-    private final Parser markdownParser;
-    private final HtmlRenderer htmlRenderer;
+    private final PostContentProcessor contentProcessor;
+    private final PostRenderService postRenderService;
+    private final ViewCountService viewCountService;
+    private final TrendingService trendingService;
+    private final PostFeedService postFeedService;
+    private final RelatedPostService relatedPostService;
+    private final SearchIndexUtils searchIndexUtils;
+    private final ApplicationEventPublisher eventPublisher;
     private final SlugUtils slugUtils;
+    private final SlugAllocator slugAllocator;
     private final CacheService cacheService;
+    private final ETagUtils eTagUtils;
 
     @Value("${app.service.name:post}")
     private String serviceName;
@@ -78,96 +129,96 @@ public class PostServiceImpl implements PostService {
     @Value("${spring.cache.redis.time-to-live:3600000}")
     private Long cacheTtl;
 
+    @Value("${blog.post.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${blog.post.status-batch.chunk-size:500}")
+    private int statusBatchSize;
+
     private static final String POST_CACHE_TYPE = "posts";
     private static final String POST_LIST_CACHE_TYPE = "postLists";
+    private static final String POST_SUMMARY_CACHE_TYPE = "postSummaries";
+    private static final String POST_DETAIL_CACHE_TYPE = "postDetails";
+    private static final Set<String> FILTER_SORT_FIELDS = Set.of("createdAt", "publishedAt", "viewCount", "title");
 
     /**
      * Tạo bài viết mới với thông tin từ request và user id
      * - Lấy thông tin user từ auth service
-     * - Tạo slug duy nhất từ tiêu đề
+     * - Tạo slug duy nhất từ tiêu đề (SlugAllocator, chạy lại nếu trùng slug khi lưu)
      * - Thêm categories và tags
      * - Lưu bài viết và trả về DTO
      */
     @Override
-    @Transactional
     public PostSummaryDTO createPost(PostCreateRequest createPostRequest, String userId) {
         log.info("Bắt đầu tạo bài viết mới cho user {}", userId);
+        requireManualStatus(createPostRequest.getStatus());
         
         // Lấy thông tin user hiện tại từ token
         UserSummary userInfo = authServiceClient.getCurrentUser()
                 .getData();
 
-        Post post = new Post();
-        post.setTitle(createPostRequest.getTitle());
-        post.setContent(createPostRequest.getContent());
-        post.setSummary(createPostRequest.getSummary());
-        post.setStatus(createPostRequest.getStatus());
-        post.setCommentEnabled(createPostRequest.isCommentEnabled());
-        post.setAuthorId(userInfo.getId().toString());
-        post.setAuthorName(userInfo.getUsername());
-        post.setViewCount(0);
-
-        // Generate slug if not provided
-        String slug = createPostRequest.getTitle();
-        if (slug == null || slug.isEmpty()) {
-            slug = slugUtils.createSlug(createPostRequest.getTitle());
-            log.debug("Đã tạo slug '{}' từ tiêu đề '{}'", slug, createPostRequest.getTitle());
-        }
-
-        // Ensure slug is unique
-        String finalSlug = slug;
-        int counter = 1;
-        while (postRepository.existsBySlug(finalSlug)) {
-            finalSlug = slug + "-" + counter++;
-            log.debug("Slug '{}' đã tồn tại, thử với slug mới '{}'", slug, finalSlug);
-        }
-        post.setSlug(finalSlug);
-
-        // Set publish date if status is PUBLISHED
-        if (post.getStatus() == PostStatus.PUBLISHED) {
-            post.setPublishedAt(LocalDateTime.now());
-        }
+        // Slug được cấp bằng một truy vấn, mỗi lần thử lưu là một transaction riêng (chạy lại nếu trùng slug)
+        PostSummaryDTO postDTO = slugAllocator.persistWithUniqueSlug(Post.class, createPostRequest.getTitle(), slug -> {
+            Post post = new Post();
+            post.setTitle(createPostRequest.getTitle());
+            post.setSlug(slug);
+            post.setContent(createPostRequest.getContent());
+            post.setContentHash(contentProcessor.hashContent(createPostRequest.getContent()));
+            post.setSummary(createPostRequest.getSummary());
+            post.setStatus(createPostRequest.getStatus());
+            post.setCommentEnabled(createPostRequest.isCommentEnabled());
+            post.setAuthorId(userInfo.getId().toString());
+            post.setAuthorName(userInfo.getUsername());
+            post.setViewCount(0);
+
+            // Set publish date if status is PUBLISHED
+            if (post.getStatus() == PostStatus.PUBLISHED) {
+                post.setPublishedAt(LocalDateTime.now());
+            }
 
-        // Add categories
-        if (createPostRequest.getCategoryIds() != null && !createPostRequest.getCategoryIds().isEmpty()) {
-            log.debug("Thêm {} danh mục cho bài viết", createPostRequest.getCategoryIds().size());
-            for (UUID categoryId : createPostRequest.getCategoryIds()) {
-                Category category = categoryRepository.findById(categoryId)
-                        .orElseThrow(() -> {
-                            log.error("Không tìm thấy danh mục với id {}", categoryId);
-                            return new ResourceNotFoundException("Category", "id", categoryId.toString());
-                        });
-                post.addCategory(category);
+            // Add categories
+            if (createPostRequest.getCategoryIds() != null && !createPostRequest.getCategoryIds().isEmpty()) {
+                log.debug("Thêm {} danh mục cho bài viết", createPostRequest.getCategoryIds().size());
+                for (UUID categoryId : createPostRequest.getCategoryIds()) {
+                    Category category = categoryRepository.findById(categoryId)
+                            .orElseThrow(() -> {
+                                log.error("Không tìm thấy danh mục với id {}", categoryId);
+                                return new ResourceNotFoundException("Category", "id", categoryId.toString());
+                            });
+                    post.addCategory(category);
+                }
             }
-        }
 
-        // Add tags
-        if (createPostRequest.getTags() != null && !createPostRequest.getTags().isEmpty()) {
-            log.debug("Thêm {} tag cho bài viết", createPostRequest.getTags().size());
-            for (String tagName : createPostRequest.getTags()) {
-                Tag tag = tagRepository.findByName(tagName)
-                        .orElseGet(() -> {
-                            log.debug("Tạo tag mới '{}'", tagName);
-                            Tag newTag = new Tag();
-                            newTag.setName(tagName);
-                            newTag.setSlug(slugUtils.createSlug(tagName));
-                            return tagRepository.save(newTag);
-                        });
-                post.addTag(tag);
+            // Add tags (một lượt resolve cho cả tập tag, chỉ thêm vào phía sở hữu quan hệ)
+            if (createPostRequest.getTags() != null && !createPostRequest.getTags().isEmpty()) {
+                log.debug("Thêm {} tag cho bài viết", createPostRequest.getTags().size());
+                post.getTags().addAll(tagResolver.resolve(createPostRequest.getTags()));
             }
-        }
 
-        Post savedPost = postRepository.save(post);
-        log.info("Đã tạo thành công bài viết với id {}", savedPost.getId());
+            Post savedPost = postRepository.saveAndFlush(post);
+            publishRelationsChanged(savedPost);
+            if (savedPost.getStatus() == PostStatus.PUBLISHED) {
+                eventPublisher.publishEvent(new PostFeedChangedEvent(List.of(savedPost.getId())));
+            }
+
+            // Render HTML sau khi commit trên thread pool riêng
+            eventPublisher.publishEvent(new PostContentChangedEvent(
+                    savedPost.getId(), savedPost.getSlug(), savedPost.getContent(), savedPost.getContentHash(),
+                    savedPost.getTitle(), userId));
+
+            PostSummaryDTO savedDTO = convertToPostSummaryDTO(postMapper.toSummaryDto(savedPost));
+            savedDTO.setCommentCount(0);
+            return savedDTO;
+        });
+        log.info("Đã tạo thành công bài viết với id {} và slug {}", postDTO.getId(), postDTO.getSlug());
 
         // Xóa cache liên quan
-        cacheService.delete(POST_CACHE_TYPE, "id:" + savedPost.getId());
-        cacheService.delete(POST_CACHE_TYPE, "slug:" + savedPost.getSlug());
+        cacheService.delete(POST_CACHE_TYPE, "id:" + postDTO.getId());
+        cacheService.delete(POST_CACHE_TYPE, "slug:" + postDTO.getSlug());
+        cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + postDTO.getSlug());
         cacheService.delete(POST_LIST_CACHE_TYPE, "author:" + userId);
-        cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + savedPost.getStatus());
+        cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + postDTO.getStatus());
 
-        PostSummaryDTO postDTO = convertToPostSummaryDTO(postMapper.toSummaryDto(savedPost));
-        postDTO.setCommentCount(0);
         return postDTO;
     }
 
@@ -178,47 +229,70 @@ public class PostServiceImpl implements PostService {
      * - Thêm số lượng comment đã duyệt
      */
     @Override
+    @Transactional(readOnly = true)
     public PostSummaryDTO getPostById(UUID id) {
-        // Thử lấy từ cache trước
-        String cacheKey = "id:" + id;
-        Object cachedPost = cacheService.get(POST_CACHE_TYPE, cacheKey);
-        if (cachedPost != null) {
-            log.debug("Lấy bài viết {} từ cache", id);
-            return (PostSummaryDTO) cachedPost;
-        }
+        return getVersionedPostById(id).getBody();
+    }
 
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id.toString()));
+    @Override
+    @Transactional(readOnly = true)
+    public PostSummaryDTO getPostBySlug(String slug) {
+        return getVersionedPostBySlug(slug).getBody();
+    }
 
-        PostSummaryDTO postDTO = convertToPostSummaryDTO(postMapper.toSummaryDto(post));
-        postDTO.setCommentCount(Math.toIntExact(commentRepository.countCommentsByPostIdAndStatus(id, CommentStatus.APPROVED)));
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDTO<PostSummaryDTO> getVersionedPostById(UUID id) {
+        return loadPost("id:" + id, () -> postRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id.toString())));
+    }
 
-        // Lưu vào cache
-        cacheService.set(POST_CACHE_TYPE, cacheKey, postDTO, cacheTtl / 1000, TimeUnit.SECONDS);
-        
-        return postDTO;
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDTO<PostSummaryDTO> getVersionedPostBySlug(String slug) {
+        return loadPost("slug:" + slug, () -> postRepository.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "slug", slug)));
     }
 
     @Override
-    public PostSummaryDTO getPostBySlug(String slug) {
+    public String getPostETag(UUID id) {
+        return cacheService.getETag(POST_CACHE_TYPE, "id:" + id);
+    }
+
+    @Override
+    public String getPostETagBySlug(String slug) {
+        return cacheService.getETag(POST_CACHE_TYPE, "slug:" + slug);
+    }
+
+    /**
+     * Đọc bài viết và ETag từ cache bằng một lệnh MGET, nếu không có thì tải từ database rồi cache cả hai
+     * - ETag tính trên DTO đã cache, không gồm lượt xem (được cộng thêm lượt xem đang chờ khi đọc)
+     */
+    private VersionedDTO<PostSummaryDTO> loadPost(String cacheKey, Supplier<Post> loader) {
         // Thử lấy từ cache trước
-        String cacheKey = "slug:" + slug;
-        Object cachedPost = cacheService.get(POST_CACHE_TYPE, cacheKey);
-        if (cachedPost != null) {
-            log.debug("Lấy bài viết với slug {} từ cache", slug);
-            return (PostSummaryDTO) cachedPost;
+        List<Object> cached = cacheService.getWithETag(POST_CACHE_TYPE, cacheKey);
+        if (cached.get(0) instanceof PostSummaryDTO cachedPost) {
+            log.debug("Lấy bài viết {} từ cache", cacheKey);
+            String etag = cached.get(1) instanceof String ? (String) cached.get(1) : null;
+            return new VersionedDTO<>(applyPendingViews(cachedPost), etag);
         }
 
-        Post post = postRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", "slug", slug));
+        Post post = loader.get();
 
         PostSummaryDTO postDTO = convertToPostSummaryDTO(postMapper.toSummaryDto(post));
         postDTO.setCommentCount(Math.toIntExact(commentRepository.countCommentsByPostIdAndStatus(post.getId(), CommentStatus.APPROVED)));
+        RenderedContent rendered = postRenderService.resolveContent(post);
+        postDTO.setContentHtml(rendered.getHtml());
+        postDTO.setWordCount(rendered.getWordCount());
+        postDTO.setReadingTimeMinutes(rendered.getReadingTimeMinutes());
+        postDTO.setExcerpt(rendered.getExcerpt());
+        postDTO.setTableOfContents(contentProcessor.parseTableOfContents(rendered.getTableOfContents()));
+        String etag = eTagUtils.generate(post.getUpdatedAt(), postDTO, "viewCount");
 
         // Lưu vào cache
-        cacheService.set(POST_CACHE_TYPE, cacheKey, postDTO, cacheTtl / 1000, TimeUnit.SECONDS);
-        
-        return postDTO;
+        cacheService.setWithETag(POST_CACHE_TYPE, cacheKey, postDTO, etag, cacheTtl / 1000, TimeUnit.SECONDS);
+
+        return new VersionedDTO<>(applyPendingViews(postDTO), etag);
     }
 
     /**
@@ -255,8 +329,14 @@ public class PostServiceImpl implements PostService {
             log.info("Tác giả cập nhật bài viết của chính mình");
         }
 
+        String newContentHash = contentProcessor.hashContent(updatePostRequest.getContent());
+        boolean contentChanged = !newContentHash.equals(post.getContentHash());
+        // Slug cũ vẫn là key cache của bài viết cho tới khi bị xóa bên dưới
+        String oldSlug = post.getSlug();
+
         post.setTitle(updatePostRequest.getTitle());
         post.setContent(updatePostRequest.getContent());
+        post.setContentHash(newContentHash);
         post.setSummary(updatePostRequest.getSummary());
         post.setCommentEnabled(updatePostRequest.isCommentEnabled());
 
@@ -270,7 +350,9 @@ public class PostServiceImpl implements PostService {
 
         // Update status
         if (post.getStatus() != updatePostRequest.getStatus()) {
+            requireManualStatus(updatePostRequest.getStatus());
             post.setStatus(updatePostRequest.getStatus());
+            clearStaleSchedule(post);
 
             // Set publishedAt if status changes to PUBLISHED
             if (updatePostRequest.getStatus() == PostStatus.PUBLISHED && post.getPublishedAt() == null) {
@@ -292,26 +374,30 @@ public class PostServiceImpl implements PostService {
         // Update tags if provided
         if (updatePostRequest.getTags() != null) {
             post.getTags().clear();
-            
-            updatePostRequest.getTags().forEach(tagName -> {
-                Tag tag = tagRepository.findByName(tagName)
-                        .orElseGet(() -> {
-                            Tag newTag = new Tag();
-                            newTag.setName(tagName);
-                            newTag.setSlug(slugUtils.createSlug(tagName));
-                            return tagRepository.save(newTag);
-                        });
-                post.getTags().add(tag);
-            });
+            post.getTags().addAll(tagResolver.resolve(updatePostRequest.getTags()));
         }
 
         Post updatedPost = postRepository.save(post);
+        publishRelationsChanged(updatedPost);
+        eventPublisher.publishEvent(new PostFeedChangedEvent(List.of(id)));
+
+        // Chỉ render lại khi nội dung markdown thực sự thay đổi
+        if (contentChanged) {
+            eventPublisher.publishEvent(new PostContentChangedEvent(
+                    updatedPost.getId(), updatedPost.getSlug(), updatedPost.getContent(), newContentHash,
+                    updatedPost.getTitle(), userId));
+        }
         
         // Xóa cache để cập nhật dữ liệu
         cacheService.delete(POST_CACHE_TYPE, "id:" + id);
-        cacheService.delete(POST_CACHE_TYPE, "slug:" + post.getSlug());
+        cacheService.deleteAll(POST_CACHE_TYPE, List.of("slug:" + oldSlug, "slug:" + post.getSlug()));
+        cacheService.deleteAll(POST_DETAIL_CACHE_TYPE, List.of("slug:" + oldSlug, "slug:" + post.getSlug()));
         cacheService.delete(POST_LIST_CACHE_TYPE, "author:" + post.getAuthorId());
         cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + post.getStatus());
+        cacheService.delete(POST_SUMMARY_CACHE_TYPE, "id:" + id);
+        if (updatedPost.getStatus() != PostStatus.PUBLISHED) {
+            trendingService.remove(id);
+        }
         
         log.info("Đã cập nhật thành công bài viết {}", id);
         
@@ -350,10 +436,17 @@ public class PostServiceImpl implements PostService {
         // Xóa cache trước khi xóa bài viết
         cacheService.delete(POST_CACHE_TYPE, "id:" + id);
         cacheService.delete(POST_CACHE_TYPE, "slug:" + post.getSlug());
+        cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + post.getSlug());
         cacheService.delete(POST_LIST_CACHE_TYPE, "author:" + post.getAuthorId());
         cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + post.getStatus());
                 
+        cacheService.delete(POST_SUMMARY_CACHE_TYPE, "id:" + id);
+                
         postRepository.delete(post);
+        postRevisionRepository.deleteByPostId(id);
+        eventPublisher.publishEvent(new PostRelationsChangedEvent(id, false, Set.of(), Set.of()));
+        eventPublisher.publishEvent(new PostFeedChangedEvent(List.of(id)));
+        trendingService.remove(id);
         log.info("Đã xóa thành công bài viết {}", id);
     }
 
@@ -367,7 +460,7 @@ public class PostServiceImpl implements PostService {
         Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
         if (cachedResponse != null) {
             log.debug("Lấy danh sách bài viết từ cache");
-            return (PagedResponse<PostSummaryDTO>) cachedResponse;
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
         }
                  
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
@@ -375,26 +468,35 @@ public class PostServiceImpl implements PostService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<Post> postPage = postRepository.findAll(pageable);
+        Page<PostSummaryDTO> postPage = postRepository.findSummaries(Specification.where(null), pageable);
         
         log.debug("Tìm thấy {} bài viết", postPage.getTotalElements());
         
-        PagedResponse<PostSummaryDTO> response = createPostPageResponse(postPage);
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
         
         // Lưu vào cache
         cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
         
-        return response;
+        return applyPendingViews(response);
     }
 
     @Override
     public PagedResponse<PostSummaryDTO> getPostsByStatus(PostStatus status, int pageNo, int pageSize, String sortBy, String sortDir) {
+        // Trang bài viết mới xuất bản được đọc từ feed trong Redis
+        if (status == PostStatus.PUBLISHED && "publishedAt".equals(sortBy)
+                && sortDir.equalsIgnoreCase(Sort.Direction.DESC.name())) {
+            PagedResponse<PostSummaryDTO> feedResponse = getLatestPostsFromFeed(pageNo, pageSize);
+            if (feedResponse != null) {
+                return feedResponse;
+            }
+        }
+
         // Thử lấy từ cache trước
         String cacheKey = "status:" + status + ":page:" + pageNo + ":size:" + pageSize + ":sort:" + sortBy + ":" + sortDir;
         Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
         if (cachedResponse != null) {
             log.debug("Lấy danh sách bài viết theo trạng thái {} từ cache", status);
-            return (PagedResponse<PostSummaryDTO>) cachedResponse;
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
         }
 
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
@@ -402,14 +504,85 @@ public class PostServiceImpl implements PostService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<Post> postPage = postRepository.findByStatus(status, pageable);
+        Page<PostSummaryDTO> postPage = postRepository.findSummaries(PostSpecifications.hasStatus(status), pageable);
 
-        PagedResponse<PostSummaryDTO> response = createPostPageResponse(postPage);
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
         
         // Lưu vào cache
         cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
         
-        return response;
+        return applyPendingViews(response);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> getLatestPosts(int pageNo, int pageSize) {
+        return getPostsByStatus(PostStatus.PUBLISHED, pageNo, pageSize, "publishedAt", Sort.Direction.DESC.name());
+    }
+
+    /**
+     * Đọc một trang bài viết mới xuất bản từ feed
+     * - Id lấy từ Redis sorted set, bài viết tóm tắt lấy bằng một lệnh MGET
+     * - Chỉ các bài viết chưa có trong cache mới được tải từ database (và được cache lại)
+     * @return null nếu không đọc được feed (khi đó dùng truy vấn database)
+     */
+    private PagedResponse<PostSummaryDTO> getLatestPostsFromFeed(int pageNo, int pageSize) {
+        Page<UUID> idPage;
+        try {
+            idPage = postFeedService.getPage(pageNo, pageSize);
+        } catch (DataAccessException e) {
+            log.warn("Không đọc được feed bài viết, chuyển sang truy vấn database: {}", e.getMessage());
+            return null;
+        }
+
+        PagedResponse<PostSummaryDTO> response = PagedResponse.<PostSummaryDTO>builder()
+                .content(loadCachedSummaries(idPage.getContent()))
+                .pageNo(idPage.getNumber())
+                .size(idPage.getSize())
+                .totalElements(idPage.getTotalElements())
+                .totalPages(idPage.getTotalPages())
+                .last(idPage.isLast())
+                .first(idPage.isFirst())
+                .empty(idPage.isEmpty())
+                .build();
+        return applyPendingViews(response);
+    }
+
+    /**
+     * Lấy bài viết tóm tắt đã xuất bản theo danh sách id, giữ nguyên thứ tự
+     * - Đọc cache bằng một lệnh MGET, phần còn thiếu tải theo lô từ database rồi cache lại từng bài viết
+     */
+    private List<PostSummaryDTO> loadCachedSummaries(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Object> cached = cacheService.getAll(POST_SUMMARY_CACHE_TYPE, ids.stream()
+                .map(id -> "id:" + id)
+                .collect(Collectors.toList()));
+        Map<UUID, PostSummaryDTO> summariesById = new HashMap<>();
+        List<UUID> missingIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object value = cached.get(i);
+            if (value instanceof PostSummaryDTO) {
+                summariesById.put(ids.get(i), (PostSummaryDTO) value);
+            } else {
+                missingIds.add(ids.get(i));
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            log.debug("Tải {} bài viết tóm tắt không có trong cache", missingIds.size());
+            for (PostSummaryDTO summary : fillSummaryDetails(loadSummariesInOrder(missingIds))) {
+                summariesById.put(summary.getId(), summary);
+                cacheService.set(POST_SUMMARY_CACHE_TYPE, "id:" + summary.getId(), summary, cacheTtl / 1000, TimeUnit.SECONDS);
+            }
+        }
+
+        return ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .filter(summary -> summary.getStatus() == PostStatus.PUBLISHED)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -419,7 +592,7 @@ public class PostServiceImpl implements PostService {
         Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
         if (cachedResponse != null) {
             log.debug("Lấy danh sách bài viết của tác giả {} từ cache", authorId);
-            return (PagedResponse<PostSummaryDTO>) cachedResponse;
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
         }
 
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
@@ -427,14 +600,14 @@ public class PostServiceImpl implements PostService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<Post> postPage = postRepository.findByAuthorId(authorId, pageable);
+        Page<PostSummaryDTO> postPage = postRepository.findSummaries(PostSpecifications.hasAuthor(authorId), pageable);
 
-        PagedResponse<PostSummaryDTO> response = createPostPageResponse(postPage);
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
         
         // Lưu vào cache
         cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
         
-        return response;
+        return applyPendingViews(response);
     }
 
     @Override
@@ -444,7 +617,7 @@ public class PostServiceImpl implements PostService {
         Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
         if (cachedResponse != null) {
             log.debug("Lấy danh sách bài viết theo danh mục {} từ cache", categoryId);
-            return (PagedResponse<PostSummaryDTO>) cachedResponse;
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
         }
 
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
@@ -452,14 +625,15 @@ public class PostServiceImpl implements PostService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<Post> postPage = postRepository.findByCategoryIdAndStatus(categoryId, PostStatus.PUBLISHED, pageable);
+        Page<PostSummaryDTO> postPage = postRepository.findSummaries(
+                PostSpecifications.inCategory(categoryId).and(PostSpecifications.hasStatus(PostStatus.PUBLISHED)), pageable);
 
-        PagedResponse<PostSummaryDTO> response = createPostPageResponse(postPage);
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
         
         // Lưu vào cache
         cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
         
-        return response;
+        return applyPendingViews(response);
     }
 
     @Override
@@ -469,7 +643,7 @@ public class PostServiceImpl implements PostService {
         Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
         if (cachedResponse != null) {
             log.debug("Lấy danh sách bài viết theo tag {} từ cache", tagId);
-            return (PagedResponse<PostSummaryDTO>) cachedResponse;
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
         }
 
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
@@ -477,14 +651,223 @@ public class PostServiceImpl implements PostService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<Post> postPage = postRepository.findByTagIdAndStatus(tagId, PostStatus.PUBLISHED, pageable);
+        Page<PostSummaryDTO> postPage = postRepository.findSummaries(
+                PostSpecifications.hasTag(tagId).and(PostSpecifications.hasStatus(PostStatus.PUBLISHED)), pageable);
 
-        PagedResponse<PostSummaryDTO> response = createPostPageResponse(postPage);
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
         
         // Lưu vào cache
         cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
         
-        return response;
+        return applyPendingViews(response);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> getAllPostsAfter(String cursor, int pageSize, String sortBy, String sortDir) {
+        return getPostsAfter("all", Specification.where(null), cursor, pageSize, sortBy, sortDir);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> getPostsByAuthorAfter(String authorId, String cursor, int pageSize, String sortBy, String sortDir) {
+        return getPostsAfter("author:" + authorId, PostSpecifications.hasAuthor(authorId),
+                cursor, pageSize, sortBy, sortDir);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> getPostsByCategoryAfter(UUID categoryId, String cursor, int pageSize, String sortBy, String sortDir) {
+        return getPostsAfter("category:" + categoryId,
+                PostSpecifications.inCategory(categoryId).and(PostSpecifications.hasStatus(PostStatus.PUBLISHED)),
+                cursor, pageSize, sortBy, sortDir);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> getPostsByStatusAfter(PostStatus status, String cursor, int pageSize, String sortBy, String sortDir) {
+        return getPostsAfter("status:" + status, PostSpecifications.hasStatus(status),
+                cursor, pageSize, sortBy, sortDir);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> getPostsByTagAfter(UUID tagId, String cursor, int pageSize, String sortBy, String sortDir) {
+        return getPostsAfter("tag:" + tagId,
+                PostSpecifications.hasTag(tagId).and(PostSpecifications.hasStatus(PostStatus.PUBLISHED)),
+                cursor, pageSize, sortBy, sortDir);
+    }
+
+    /**
+     * Lấy một trang bài viết theo cursor (phân trang keyset)
+     * - Sắp xếp theo (sortBy, id) để thứ tự ổn định khi nhiều bài viết trùng thời gian
+     * - Lấy pageSize + 1 bản ghi để biết còn trang sau hay không, không chạy COUNT(*)
+     * - Chi phí mỗi trang không phụ thuộc vào độ sâu như offset
+     */
+    private PagedResponse<PostSummaryDTO> getPostsAfter(String cacheKeyPrefix, Specification<Post> filter,
+                                                        String cursor, int pageSize, String sortBy, String sortDir) {
+        if (!PostCursor.SORT_FIELDS.contains(sortBy)) {
+            throw new BadRequestException("Phân trang theo cursor chỉ hỗ trợ sắp xếp theo " + PostCursor.SORT_FIELDS);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        int limit = Math.max(1, pageSize);
+        boolean firstPage = cursor == null || cursor.isBlank();
+
+        // Thử lấy từ cache trước
+        String cacheKey = cacheKeyPrefix + ":after:" + (firstPage ? "" : cursor) + ":size:" + limit + ":sort:" + sortBy + ":" + direction;
+        Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
+        if (cachedResponse != null) {
+            log.debug("Lấy danh sách bài viết theo cursor từ cache: {}", cacheKey);
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
+        }
+
+        Specification<Post> spec = filter.and(PostSpecifications.hasSortValue(sortBy));
+        if (!firstPage) {
+            PostCursor after = PostCursor.decode(cursor);
+            if (!after.getSortBy().equals(sortBy) || after.getDirection() != direction) {
+                throw new BadRequestException("Cursor không khớp với tiêu chí sắp xếp");
+            }
+            spec = spec.and(PostSpecifications.after(after));
+        }
+
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+        List<PostSummaryDTO> posts = postRepository.findSummaries(spec, sort, limit + 1);
+
+        boolean hasMore = posts.size() > limit;
+        if (hasMore) {
+            posts = posts.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            PostSummaryDTO lastPost = posts.get(posts.size() - 1);
+            LocalDateTime lastValue = "publishedAt".equals(sortBy) ? lastPost.getPublishedAt() : lastPost.getCreatedAt();
+            nextCursor = new PostCursor(sortBy, direction, lastValue, lastPost.getId()).encode();
+        }
+
+        PagedResponse<PostSummaryDTO> response = PagedResponse.<PostSummaryDTO>builder()
+                .content(fillSummaryDetails(posts))
+                .pageNo(0)
+                .size(limit)
+                .totalElements(-1)
+                .totalPages(-1)
+                .last(!hasMore)
+                .first(firstPage)
+                .empty(posts.isEmpty())
+                .nextCursor(nextCursor)
+                .build();
+
+        // Lưu vào cache
+        cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
+
+        return applyPendingViews(response);
+    }
+
+    @Override
+    public PagedResponse<PostSummaryDTO> filterPosts(PostFilterRequest filter) {
+        PostFilterRequest normalized = normalizeFilter(filter);
+
+        // Thử lấy từ cache trước, key được tạo từ bộ lọc đã chuẩn hóa
+        String cacheKey = "filter:" + DigestUtils.md5DigestAsHex(
+                filterCacheSource(normalized).getBytes(StandardCharsets.UTF_8));
+        Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
+        if (cachedResponse != null) {
+            log.debug("Lấy kết quả lọc bài viết từ cache");
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
+        }
+
+        Sort sort = normalized.getSortDir().equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.by(normalized.getSortBy()).ascending()
+                : Sort.by(normalized.getSortBy()).descending();
+        Pageable pageable = PageRequest.of(normalized.getPage(), normalized.getSize(), sort);
+
+        Page<PostSummaryDTO> postPage;
+        if (normalized.getKeyword() != null) {
+            // Có từ khóa: toàn bộ tiêu chí chạy trên chỉ mục, sau đó tải bài viết theo lô
+            Page<UUID> idPage = postSearchRepository.filterIds(normalized, pageable);
+            postPage = new PageImpl<>(loadSummariesInOrder(idPage.getContent(), normalized.getStatuses()),
+                    pageable, idPage.getTotalElements());
+        } else {
+            postPage = postRepository.findSummaries(toSpecification(normalized), pageable);
+        }
+
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
+
+        // Lưu vào cache
+        cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
+
+        return applyPendingViews(response);
+    }
+
+    /**
+     * Chuẩn hóa bộ lọc để hai bộ lọc tương đương cho cùng một cache key và cùng một truy vấn
+     * - Bỏ khoảng trắng thừa, bỏ giá trị rỗng, sắp xếp các tập hợp
+     * - Tên tag chuyển về chữ thường: SQL và chỉ mục (name_keyword) đều so khớp không phân biệt hoa thường
+     * - statuses rỗng được hiểu là chỉ bài viết đã xuất bản
+     * - Trường sắp xếp không hợp lệ được thay bằng createdAt (hoặc độ liên quan khi có keyword)
+     */
+    private PostFilterRequest normalizeFilter(PostFilterRequest filter) {
+        String keyword = filter.getKeyword() == null || filter.getKeyword().isBlank()
+                ? null
+                : filter.getKeyword().trim().replaceAll("\\s+", " ");
+        Set<String> tags = filter.getTags() == null ? null : filter.getTags().stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<PostStatus> statuses = filter.getStatuses() == null || filter.getStatuses().isEmpty()
+                ? EnumSet.of(PostStatus.PUBLISHED)
+                : EnumSet.copyOf(filter.getStatuses());
+        String sortBy = FILTER_SORT_FIELDS.contains(filter.getSortBy())
+                ? filter.getSortBy()
+                : (keyword != null ? "score" : "createdAt");
+
+        PostFilterRequest normalized = PostFilterRequest.builder()
+                .keyword(keyword)
+                .categoryIds(filter.getCategoryIds() == null || filter.getCategoryIds().isEmpty()
+                        ? null : new TreeSet<>(filter.getCategoryIds()))
+                .tags(tags == null || tags.isEmpty() ? null : tags)
+                .authorId(filter.getAuthorId() == null || filter.getAuthorId().isBlank() ? null : filter.getAuthorId().trim())
+                .statuses(statuses)
+                .fromDate(filter.getFromDate())
+                .toDate(filter.getToDate())
+                .build();
+        normalized.setPage(filter.getPage());
+        normalized.setSize(filter.getSize());
+        normalized.setSortBy(sortBy);
+        normalized.setSortDir(Sort.Direction.ASC.name().equalsIgnoreCase(filter.getSortDir()) ? "asc" : "desc");
+        return normalized;
+    }
+
+    private String filterCacheSource(PostFilterRequest filter) {
+        return String.join("|",
+                String.valueOf(filter.getKeyword()),
+                String.valueOf(filter.getCategoryIds()),
+                String.valueOf(filter.getTags()),
+                String.valueOf(filter.getAuthorId()),
+                String.valueOf(filter.getStatuses()),
+                String.valueOf(filter.getFromDate()),
+                String.valueOf(filter.getToDate()),
+                String.valueOf(filter.getPage()),
+                String.valueOf(filter.getSize()),
+                filter.getSortBy(),
+                filter.getSortDir());
+    }
+
+    /**
+     * Chuyển bộ lọc (không có keyword) thành một Specification duy nhất
+     */
+    private Specification<Post> toSpecification(PostFilterRequest filter) {
+        Specification<Post> spec = PostSpecifications.hasStatusIn(filter.getStatuses());
+        if (filter.getAuthorId() != null) {
+            spec = spec.and(PostSpecifications.hasAuthor(filter.getAuthorId()));
+        }
+        if (filter.getCategoryIds() != null) {
+            spec = spec.and(PostSpecifications.inAnyCategory(filter.getCategoryIds()));
+        }
+        if (filter.getTags() != null) {
+            spec = spec.and(PostSpecifications.hasAnyTagName(filter.getTags()));
+        }
+        if (filter.getFromDate() != null || filter.getToDate() != null) {
+            spec = spec.and(PostSpecifications.publishedBetween(filter.getFromDate(), filter.getToDate()));
+        }
+        return spec;
     }
 
     @Override
@@ -494,25 +877,58 @@ public class PostServiceImpl implements PostService {
         Object cachedResponse = cacheService.get(POST_LIST_CACHE_TYPE, cacheKey);
         if (cachedResponse != null) {
             log.debug("Lấy kết quả tìm kiếm bài viết với từ khóa '{}' từ cache", keyword);
-            return (PagedResponse<PostSummaryDTO>) cachedResponse;
+            return applyPendingViews((PagedResponse<PostSummaryDTO>) cachedResponse);
         }
 
+        // Tìm id trên chỉ mục Lucene (đã xếp hạng, chỉ bài viết đã xuất bản), sau đó tải bài viết theo lô
         Pageable pageable = PageRequest.of(pageNo, pageSize);
-        Page<Post> postPage = postRepository.searchByKeyword(keyword, pageable);
+        Page<UUID> idPage = postSearchRepository.searchIds(keyword, PostStatus.PUBLISHED, pageable);
+        Page<PostSummaryDTO> postPage = new PageImpl<>(
+                loadSummariesInOrder(idPage.getContent(), EnumSet.of(PostStatus.PUBLISHED)), pageable, idPage.getTotalElements());
 
-        PagedResponse<PostSummaryDTO> response = createPostPageResponse(postPage);
+        PagedResponse<PostSummaryDTO> response = createSummaryPageResponse(postPage);
         
         // Lưu vào cache
         cacheService.set(POST_LIST_CACHE_TYPE, cacheKey, response, cacheTtl / 1000, TimeUnit.SECONDS);
         
-        return response;
+        return applyPendingViews(response);
+    }
+
+    /**
+     * Lấy bài viết liên quan
+     * - Id lấy từ chỉ mục trong bộ nhớ, bài viết tóm tắt lấy bằng một lệnh MGET như feed
+     */
+    @Override
+    public List<PostSummaryDTO> getRelatedPosts(UUID id, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        List<PostSummaryDTO> related = loadCachedSummaries(relatedPostService.getRelatedPostIds(id, size));
+        related.forEach(this::applyPendingViews);
+        return related;
+    }
+
+    /**
+     * Lấy bài viết xu hướng
+     * - Top-K id đọc từ Redis sorted set, sau đó tải bài viết tóm tắt theo lô và giữ nguyên thứ tự
+     * - Bỏ qua bài viết không còn xuất bản (bảng xu hướng có thể chậm hơn database một chút)
+     */
+    @Override
+    public List<PostSummaryDTO> getTrendingPosts(TrendingWindow window, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        List<UUID> ids = trendingService.getTopPostIds(window, size);
+        List<PostSummaryDTO> summaries = loadSummariesInOrder(ids).stream()
+                .filter(summary -> summary.getStatus() == PostStatus.PUBLISHED)
+                .collect(Collectors.toList());
+        List<PostSummaryDTO> trending = fillSummaryDetails(summaries);
+        trending.forEach(this::applyPendingViews);
+        return trending;
     }
 
     @Override
     @Transactional
     public PostSummaryDTO updatePostStatus(UUID id, PostStatus status, String userId) {
         log.info("Bắt đầu cập nhật trạng thái bài viết {} sang {} bởi người dùng {}", id, status, userId);
-        
+        requireManualStatus(status);
+
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Không tìm thấy bài viết với id {}", id);
@@ -536,6 +952,7 @@ public class PostServiceImpl implements PostService {
         }
 
         post.setStatus(status);
+        clearStaleSchedule(post);
 
         // Set publishedAt if status changes to PUBLISHED
         if (status == PostStatus.PUBLISHED && post.getPublishedAt() == null) {
@@ -543,12 +960,19 @@ public class PostServiceImpl implements PostService {
         }
 
         Post updatedPost = postRepository.save(post);
+        publishRelationsChanged(updatedPost);
+        eventPublisher.publishEvent(new PostFeedChangedEvent(List.of(id)));
 
         // Xóa cache liên quan
         cacheService.delete(POST_CACHE_TYPE, "id:" + id);
         cacheService.delete(POST_CACHE_TYPE, "slug:" + post.getSlug());
+        cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + post.getSlug());
         cacheService.delete(POST_LIST_CACHE_TYPE, "author:" + post.getAuthorId());
         cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + status);
+        cacheService.delete(POST_SUMMARY_CACHE_TYPE, "id:" + id);
+        if (status != PostStatus.PUBLISHED) {
+            trendingService.remove(id);
+        }
         
         log.info("Đã cập nhật thành công trạng thái bài viết {} sang {}", id, status);
         
@@ -557,69 +981,357 @@ public class PostServiceImpl implements PostService {
         return postDTO;
     }
 
+    /**
+     * Hẹn giờ xuất bản/gỡ bài viết
+     * - Chỉ lưu mốc thời gian; timing wheel được cập nhật sau khi commit qua PostScheduleChangedEvent
+     * - Bài viết SCHEDULED chưa công khai nên không cần cập nhật feed và bài viết liên quan
+     */
     @Override
     @Transactional
-    public PostSummaryDTO incrementViewCount(UUID id) {
-        log.debug("Tăng lượt xem cho bài viết {}", id);
-        
+    public PostScheduleDTO schedulePost(UUID id, PostScheduleRequest request, String userId, boolean isAdmin) {
+        log.info("Bắt đầu hẹn giờ bài viết {} bởi người dùng {}: publishAt={}, unpublishAt={}",
+                id, userId, request.getPublishAt(), request.getUnpublishAt());
+
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Không tìm thấy bài viết với id {}", id);
                     return new ResourceNotFoundException("Post", "id", id.toString());
                 });
 
-        post.setViewCount(post.getViewCount() + 1);
+        if (!isAdmin && !post.getAuthorId().equals(userId)) {
+            log.error("Người dùng {} không có quyền hẹn giờ bài viết {}", userId, id);
+            throw UnauthorizedPostActionException.cannotUpdateStatus();
+        }
+
+        LocalDateTime publishAt = request.getPublishAt();
+        LocalDateTime unpublishAt = request.getUnpublishAt();
+        if (publishAt != null && unpublishAt != null && !unpublishAt.isAfter(publishAt)) {
+            throw new BadRequestException("Thời điểm gỡ bài viết phải sau thời điểm xuất bản");
+        }
+
+        PostStatus oldStatus = post.getStatus();
+        if (publishAt != null) {
+            if (oldStatus == PostStatus.PUBLISHED) {
+                throw new BadRequestException("Bài viết đã được xuất bản, chỉ có thể hẹn giờ gỡ");
+            }
+            post.setStatus(PostStatus.SCHEDULED);
+        } else if (oldStatus == PostStatus.SCHEDULED) {
+            post.setStatus(PostStatus.DRAFT);
+        }
+        if (unpublishAt != null && post.getStatus() != PostStatus.PUBLISHED && post.getStatus() != PostStatus.SCHEDULED) {
+            throw new BadRequestException("Chỉ có thể hẹn giờ gỡ bài viết đã hoặc sắp xuất bản");
+        }
+        post.setScheduledPublishAt(publishAt);
+        post.setScheduledUnpublishAt(unpublishAt);
+
         Post updatedPost = postRepository.save(post);
-        log.debug("Đã tăng lượt xem bài viết {} lên {}", id, updatedPost.getViewCount());
+        eventPublisher.publishEvent(new PostScheduleChangedEvent(id, publishAt, unpublishAt));
+
+        if (oldStatus != updatedPost.getStatus()) {
+            cacheService.delete(POST_CACHE_TYPE, "id:" + id);
+            cacheService.delete(POST_CACHE_TYPE, "slug:" + post.getSlug());
+            cacheService.delete(POST_DETAIL_CACHE_TYPE, "slug:" + post.getSlug());
+            cacheService.delete(POST_LIST_CACHE_TYPE, "author:" + post.getAuthorId());
+            cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + oldStatus);
+            cacheService.delete(POST_LIST_CACHE_TYPE, "status:" + updatedPost.getStatus());
+            cacheService.delete(POST_SUMMARY_CACHE_TYPE, "id:" + id);
+        }
 
-        // Xóa cache liên quan
-        cacheService.delete(POST_CACHE_TYPE, "id:" + id);
-        cacheService.delete(POST_CACHE_TYPE, "slug:" + post.getSlug());
+        log.info("Đã hẹn giờ bài viết {}: status={}, publishAt={}, unpublishAt={}",
+                id, updatedPost.getStatus(), publishAt, unpublishAt);
+        return PostScheduleDTO.builder()
+                .postId(id)
+                .status(updatedPost.getStatus())
+                .publishAt(publishAt)
+                .unpublishAt(unpublishAt)
+                .build();
+    }
 
-        PostSummaryDTO postDTO = convertToPostSummaryDTO(postMapper.toSummaryDto(updatedPost));
-        postDTO.setCommentCount(Math.toIntExact(commentRepository.countCommentsByPostIdAndStatus(id, CommentStatus.APPROVED)));
-        return postDTO;
+    /**
+     * Đổi trạng thái hàng loạt
+     * - Mỗi chunk: một SELECT projection để kiểm tra tồn tại/quyền, một câu UPDATE (commit riêng)
+     * - publishedAt được gán bằng COALESCE trong SQL khi xuất bản
+     * - Sau cùng: xóa cache bằng một lệnh DEL, cập nhật feed/xu hướng/bài viết liên quan theo lô
+     *   và đánh chỉ mục lại các bài viết vừa đổi
+     */
+    @Override
+    public PostStatusBatchResultDTO updatePostStatusBatch(PostStatusBatchRequest request, String userId, boolean isAdmin) {
+        PostStatus status = request.getStatus();
+        requireManualStatus(status);
+        List<UUID> ids = new ArrayList<>(request.getIds());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        log.info("Bắt đầu đổi trạng thái {} bài viết sang {} bởi người dùng {}", ids.size(), status, userId);
+
+        PostStatusBatchResultDTO result = PostStatusBatchResultDTO.builder()
+                .status(status)
+                .requested(ids.size())
+                .build();
+        List<PostStatusView> changed = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += statusBatchSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + statusBatchSize, ids.size()));
+            List<PostStatusView> views = postRepository.findStatusViewsByIdIn(chunk);
+
+            Set<UUID> found = views.stream().map(PostStatusView::getId).collect(Collectors.toSet());
+            chunk.stream().filter(id -> !found.contains(id)).forEach(result.getNotFound()::add);
+
+            List<PostStatusView> allowed = new ArrayList<>();
+            for (PostStatusView view : views) {
+                if (isAdmin || view.getAuthorId().equals(userId)) {
+                    allowed.add(view);
+                } else {
+                    result.getForbidden().add(view.getId());
+                }
+            }
+            if (allowed.isEmpty()) {
+                continue;
+            }
+
+            List<UUID> allowedIds = allowed.stream().map(PostStatusView::getId).collect(Collectors.toList());
+            int updated = status == PostStatus.PUBLISHED
+                    ? postRepository.publishByIdIn(allowedIds, now)
+                    : postRepository.updateStatusByIdIn(allowedIds, status, now);
+            result.setUpdated(result.getUpdated() + updated);
+            changed.addAll(allowed);
+        }
+
+        if (!changed.isEmpty()) {
+            afterStatusBatch(changed, status, now);
+        }
+        log.info("Đã đổi trạng thái {} bài viết sang {} ({} không tồn tại, {} không có quyền)",
+                result.getUpdated(), status, result.getNotFound().size(), result.getForbidden().size());
+        return result;
     }
 
     /**
-     * Tạo đối tượng PagedResponse từ Page<Post>
-     * - Chuyển đổi posts sang DTOs
-     * - Thêm số lượng comment cho mỗi bài viết
-     * - Chuyển đổi markdown sang HTML nếu cần
-     * - Đóng gói kết quả với thông tin phân trang
+     * Đồng bộ cache và các cấu trúc đọc sau khi đổi trạng thái hàng loạt
      */
-    private PagedResponse<PostSummaryDTO> createPostPageResponse(Page<Post> postPage) {
-        log.debug("Bắt đầu chuyển đổi {} bài viết sang DTO", postPage.getNumberOfElements());
-        
-        List<Post> posts = postPage.getContent();
-        List<PostSummaryDTO> postDTOs = posts.stream().map(post -> {
-            PostSummaryDTO dto = convertToPostSummaryDTO(postMapper.toSummaryDto(post));
-            dto.setCommentCount(Math.toIntExact(commentRepository.countCommentsByPostIdAndStatus(post.getId(), CommentStatus.APPROVED)));
-
-            // Convert markdown to HTML if needed
-            if (post.getContent() != null) {
-                log.trace("Chuyển đổi markdown sang HTML cho bài viết {}", post.getId());
-                Node document = markdownParser.parse(post.getContent());
-                String html = htmlRenderer.render(document);
+    private void afterStatusBatch(List<PostStatusView> changed, PostStatus status, LocalDateTime changedAt) {
+        List<UUID> ids = changed.stream().map(PostStatusView::getId).collect(Collectors.toList());
+
+        // Một lệnh DEL cho mọi key bị ảnh hưởng
+        Map<String, Set<String>> keys = new HashMap<>();
+        keys.put(POST_LIST_CACHE_TYPE, new HashSet<>(Set.of("status:" + status)));
+        for (PostStatusView view : changed) {
+            keys.computeIfAbsent(POST_CACHE_TYPE, type -> new HashSet<>()).add("id:" + view.getId());
+            keys.get(POST_CACHE_TYPE).add("slug:" + view.getSlug());
+            keys.computeIfAbsent(POST_DETAIL_CACHE_TYPE, type -> new HashSet<>()).add("slug:" + view.getSlug());
+            keys.computeIfAbsent(POST_SUMMARY_CACHE_TYPE, type -> new HashSet<>()).add("id:" + view.getId());
+            keys.get(POST_LIST_CACHE_TYPE).add("author:" + view.getAuthorId());
+            keys.get(POST_LIST_CACHE_TYPE).add("status:" + view.getStatus());
+        }
+        cacheService.deleteAll(keys);
+
+        for (int from = 0; from < ids.size(); from += statusBatchSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + statusBatchSize, ids.size()));
+            eventPublisher.publishEvent(new PostFeedChangedEvent(new ArrayList<>(chunk)));
+            if (status == PostStatus.PUBLISHED) {
+                Map<UUID, Set<UUID>> tagsByPost = postRepository.findTagLinksByPostIdIn(chunk).stream()
+                        .collect(Collectors.groupingBy(PostFeatureLink::getPostId,
+                                Collectors.mapping(PostFeatureLink::getFeatureId, Collectors.toSet())));
+                Map<UUID, Set<UUID>> categoriesByPost = postRepository.findCategoryLinksByPostIdIn(chunk).stream()
+                        .collect(Collectors.groupingBy(PostFeatureLink::getPostId,
+                                Collectors.mapping(PostFeatureLink::getFeatureId, Collectors.toSet())));
+                chunk.forEach(id -> eventPublisher.publishEvent(new PostRelationsChangedEvent(id, true,
+                        tagsByPost.getOrDefault(id, Set.of()), categoriesByPost.getOrDefault(id, Set.of()))));
+            } else {
+                trendingService.removeAll(chunk);
+                chunk.forEach(id -> eventPublisher.publishEvent(new PostRelationsChangedEvent(id, false, Set.of(), Set.of())));
             }
+        }
+
+        // UPDATE bằng JPQL không đi qua Hibernate Search, đánh chỉ mục lại đúng các bài viết vừa đổi
+        try {
+            searchIndexUtils.reindex(ids);
+        } catch (RuntimeException e) {
+            log.error("Không thể đánh chỉ mục lại {} bài viết vừa đổi trạng thái, xếp hàng xây dựng lại chỉ mục (updatedSince={}): {}",
+                    ids.size(), changedAt, e.getMessage(), e);
+            searchIndexUtils.requestRebuild(changedAt);
+        }
+    }
 
-            return dto;
-        }).collect(Collectors.toList());
+    /**
+     * Tăng lượt xem cho bài viết
+     * - Chỉ ghi nhận lượt xem trong bộ nhớ, ViewCountService sẽ ghi dồn xuống database theo lô
+     * - Không xóa cache bài viết cho từng lượt xem
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PostSummaryDTO incrementViewCount(UUID id) {
+        log.debug("Tăng lượt xem cho bài viết {}", id);
 
-        log.debug("Đã chuyển đổi thành công {} bài viết sang DTO", postDTOs.size());
-        
+        // Đảm bảo bài viết tồn tại trước khi ghi nhận lượt xem
+        PostSummaryDTO postDTO = getPostById(id);
+        viewCountService.recordView(id);
+        if (postDTO.getStatus() == PostStatus.PUBLISHED) {
+            trendingService.recordView(id);
+        }
+        postDTO.setViewCount(postDTO.getViewCount() + 1);
+        return postDTO;
+    }
+
+    /**
+     * Cộng lượt xem chưa được ghi xuống database vào DTO trả về
+     * - Giá trị trong cache chỉ chứa view_count đã ghi, phần chênh lệch được cộng khi đọc
+     */
+    private PostSummaryDTO applyPendingViews(PostSummaryDTO postDTO) {
+        long pending = viewCountService.getPendingViews(postDTO.getId());
+        if (pending > 0) {
+            int base = postDTO.getViewCount() == null ? 0 : postDTO.getViewCount();
+            postDTO.setViewCount(Math.toIntExact(base + pending));
+        } else if (postDTO.getViewCount() == null) {
+            postDTO.setViewCount(0);
+        }
+        return postDTO;
+    }
+
+    /**
+     * Như applyPendingViews cho một trang danh sách
+     * - Trang danh sách không bị xóa cache khi ghi lượt xem, nên view_count trong cache được nâng lên
+     *   lượt xem đã ghi gần nhất (một lệnh HMGET cho cả trang) trước khi cộng lượt xem chờ ghi
+     */
+    private PagedResponse<PostSummaryDTO> applyPendingViews(PagedResponse<PostSummaryDTO> response) {
+        if (response.getContent() == null || response.getContent().isEmpty()) {
+            return response;
+        }
+
+        Map<UUID, Long> flushedViews = viewCountService.getFlushedViews(response.getContent().stream()
+                .map(PostSummaryDTO::getId)
+                .collect(Collectors.toList()));
+        response.getContent().forEach(summary -> {
+            Long flushed = flushedViews.get(summary.getId());
+            if (flushed != null && (summary.getViewCount() == null || flushed > summary.getViewCount())) {
+                summary.setViewCount(Math.toIntExact(flushed));
+            }
+            applyPendingViews(summary);
+        });
+        return response;
+    }
+
+    /**
+     * Tạo đối tượng PagedResponse từ trang PostSummaryDTO đã được projection
+     * - Bổ sung danh mục, tag và số comment cho cả trang bằng các truy vấn IN (...)
+     * - Không render markdown: HTML được render một lần khi lưu và chỉ trả về ở trang chi tiết
+     * - Đóng gói kết quả với thông tin phân trang
+     */
+    private PagedResponse<PostSummaryDTO> createSummaryPageResponse(Page<PostSummaryDTO> summaryPage) {
         return PagedResponse.<PostSummaryDTO>builder()
-                .content(postDTOs)
-                .pageNo(postPage.getNumber())
-                .size(postPage.getSize())
-                .totalElements(postPage.getTotalElements())
-                .totalPages(Math.toIntExact(postPage.getTotalPages()))
-                .last(postPage.isLast())
-                .first(postPage.isFirst())
-                .empty(postPage.isEmpty())
+                .content(fillSummaryDetails(summaryPage.getContent()))
+                .pageNo(summaryPage.getNumber())
+                .size(summaryPage.getSize())
+                .totalElements(summaryPage.getTotalElements())
+                .totalPages(Math.toIntExact(summaryPage.getTotalPages()))
+                .last(summaryPage.isLast())
+                .first(summaryPage.isFirst())
+                .empty(summaryPage.isEmpty())
                 .build();
     }
 
+    /**
+     * Bổ sung danh mục, tag và số comment đã duyệt cho danh sách bài viết tóm tắt
+     * - Mỗi loại dữ liệu một truy vấn cho cả danh sách, không phụ thuộc số bài viết
+     */
+    private List<PostSummaryDTO> fillSummaryDetails(List<PostSummaryDTO> summaries) {
+        if (summaries.isEmpty()) {
+            return new ArrayList<>(summaries);
+        }
+
+        List<UUID> postIds = summaries.stream()
+                .map(PostSummaryDTO::getId)
+                .collect(Collectors.toList());
+        Map<UUID, Long> commentCounts = loadApprovedCommentCounts(postIds);
+        Map<UUID, Set<CategorySummaryDTO>> categoriesByPost = categoryRepository.findSummariesByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(PostCategorySummary::getPostId,
+                        Collectors.mapping(category -> new CategorySummaryDTO(category.getId(), category.getName(), category.getSlug()),
+                                Collectors.toSet())));
+        Map<UUID, Set<TagDTO>> tagsByPost = tagRepository.findSummariesByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(PostTagSummary::getPostId,
+                        Collectors.mapping(tag -> new TagDTO(tag.getId(), tag.getName(), tag.getSlug()),
+                                Collectors.toSet())));
+
+        summaries.forEach(summary -> {
+            summary.setCategories(categoriesByPost.getOrDefault(summary.getId(), new HashSet<>()));
+            summary.setTags(tagsByPost.getOrDefault(summary.getId(), new HashSet<>()));
+            summary.setCommentCount(Math.toIntExact(commentCounts.getOrDefault(summary.getId(), 0L)));
+        });
+        return new ArrayList<>(summaries);
+    }
+
+    /**
+     * Tải bài viết tóm tắt theo danh sách id trong một truy vấn và giữ nguyên thứ tự của danh sách id
+     * - Bỏ qua id không còn tồn tại (chỉ mục có thể chậm hơn database một chút)
+     */
+    private List<PostSummaryDTO> loadSummariesInOrder(List<UUID> ids) {
+        return loadSummariesInOrder(ids, null);
+    }
+
+    /**
+     * Như loadSummariesInOrder nhưng chỉ giữ bài viết có trạng thái thuộc statuses
+     * - Dùng cho id lấy từ chỉ mục Lucene: trạng thái trong chỉ mục có thể chậm hơn database,
+     *   điều kiện trạng thái được kiểm tra lại ngay trong truy vấn tải bài viết
+     * @param statuses Trạng thái được giữ lại, null để không lọc
+     */
+    private List<PostSummaryDTO> loadSummariesInOrder(List<UUID> ids, Set<PostStatus> statuses) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Specification<Post> spec = PostSpecifications.idIn(ids);
+        if (statuses != null) {
+            spec = spec.and(PostSpecifications.hasStatusIn(statuses));
+        }
+        Map<UUID, PostSummaryDTO> summariesById = postRepository
+                .findSummaries(spec, Sort.unsorted(), ids.size()).stream()
+                .collect(Collectors.toMap(PostSummaryDTO::getId, summary -> summary));
+        return ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lấy số lượng comment đã duyệt cho nhiều bài viết trong một truy vấn
+     * - Bài viết không có comment sẽ không xuất hiện trong kết quả
+     */
+    private Map<UUID, Long> loadApprovedCommentCounts(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return commentRepository.countCommentsByPostIdsAndStatus(postIds, CommentStatus.APPROVED).stream()
+                .collect(Collectors.toMap(PostCommentCount::getPostId, PostCommentCount::getCommentCount));
+    }
+
+    /**
+     * SCHEDULED chỉ được đặt qua API hẹn giờ (cần kèm thời điểm xuất bản)
+     */
+    private void requireManualStatus(PostStatus status) {
+        if (status == PostStatus.SCHEDULED) {
+            throw new BadRequestException("Dùng API hẹn giờ để chuyển bài viết sang SCHEDULED");
+        }
+    }
+
+    /**
+     * Bỏ các mốc hẹn giờ không còn ý nghĩa sau khi đổi trạng thái thủ công
+     * - Hẹn giờ cũ còn trong timing wheel sẽ không có tác dụng vì lần chạy đọc lại trạng thái từ database
+     */
+    private void clearStaleSchedule(Post post) {
+        post.setScheduledPublishAt(null);
+        if (post.getStatus() != PostStatus.PUBLISHED) {
+            post.setScheduledUnpublishAt(null);
+        }
+    }
+
+    /**
+     * Phát sự kiện để cập nhật chỉ mục bài viết liên quan theo tag, danh mục và trạng thái hiện tại
+     */
+    private void publishRelationsChanged(Post post) {
+        eventPublisher.publishEvent(new PostRelationsChangedEvent(
+                post.getId(),
+                post.getStatus() == PostStatus.PUBLISHED,
+                post.getTags().stream().map(Tag::getId).collect(Collectors.toSet()),
+                post.getCategories().stream().map(Category::getId).collect(Collectors.toSet())));
+    }
+
     /**
      * Chuyển đổi từ PostSummaryDto sang PostSummaryDTO
      * - Copy các trường cơ bản
@@ -0,0 +1,114 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.projection.PostFeatureLink;
+import com.blogApp.blogpost.service.interfaces.RelatedPostService;
+import com.blogApp.blogpost.util.RelatedPostIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service gợi ý bài viết liên quan từ chỉ mục tag/danh mục dựng sẵn trong bộ nhớ
+ * - Dựng toàn bộ chỉ mục khi khởi động và định kỳ từ hai truy vấn trên bảng nối post_tags, post_categories
+ * - Khi bài viết thay đổi, chỉ tính lại hàng của bài viết đó và các hàng bị ảnh hưởng (trên postRelatedExecutor)
+ * - Người đọc chỉ đọc map id -> danh sách liên quan đã công bố, không chạm vào chỉ mục đang cập nhật
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RelatedPostServiceImpl implements RelatedPostService {
+
+    private final PostRepository postRepository;
+
+    @Value("${blog.post.related.top-k:10}")
+    private int topK;
+
+    @Value("${blog.post.related.max-feature-posts:2000}")
+    private int maxFeaturePosts;
+
+    private RelatedPostIndex index;
+    private volatile Map<UUID, List<UUID>> relatedByPost = new ConcurrentHashMap<>();
+
+    @Override
+    public List<UUID> getRelatedPostIds(UUID postId, int limit) {
+        List<UUID> related = relatedByPost.getOrDefault(postId, Collections.emptyList());
+        return related.size() <= limit ? related : related.subList(0, limit);
+    }
+
+    @Override
+    @Async("postRelatedExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRelationsChanged(PostRelationsChangedEvent event) {
+        if (index == null) {
+            // Chỉ mục chưa được dựng, lần dựng đầu tiên sẽ đọc trạng thái mới nhất từ database
+            return;
+        }
+
+        Set<UUID> changed = event.isPublished()
+                ? index.update(event.getPostId(), event.getTagIds(), event.getCategoryIds())
+                : index.remove(event.getPostId());
+        if (!event.isPublished()) {
+            relatedByPost.remove(event.getPostId());
+        }
+        changed.forEach(postId -> relatedByPost.put(postId, List.copyOf(index.related(postId))));
+        log.debug("Đã cập nhật bài viết liên quan cho {} bài viết sau thay đổi của bài viết {}", changed.size(), event.getPostId());
+    }
+
+    /**
+     * Dựng chỉ mục lần đầu sau khi ứng dụng khởi động, không chặn quá trình khởi động
+     */
+    @Async("postRelatedExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.related.rebuild-interval-ms:3600000}",
+            initialDelayString = "${blog.post.related.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        Map<UUID, List<UUID>> tagsByPost = groupByPost(postRepository.findTagLinksByStatus(PostStatus.PUBLISHED));
+        Map<UUID, List<UUID>> categoriesByPost = groupByPost(postRepository.findCategoryLinksByStatus(PostStatus.PUBLISHED));
+        Set<UUID> postIds = new HashSet<>(tagsByPost.keySet());
+        postIds.addAll(categoriesByPost.keySet());
+
+        RelatedPostIndex fresh = new RelatedPostIndex(topK, maxFeaturePosts);
+        for (UUID postId : postIds) {
+            fresh.load(postId,
+                    tagsByPost.getOrDefault(postId, Collections.emptyList()),
+                    categoriesByPost.getOrDefault(postId, Collections.emptyList()));
+        }
+        fresh.computeAllRows();
+
+        Map<UUID, List<UUID>> published = new ConcurrentHashMap<>();
+        for (UUID postId : postIds) {
+            published.put(postId, List.copyOf(fresh.related(postId)));
+        }
+        index = fresh;
+        relatedByPost = published;
+        log.info("Đã dựng chỉ mục bài viết liên quan cho {} bài viết trong {} ms",
+                postIds.size(), System.currentTimeMillis() - start);
+    }
+
+    private Map<UUID, List<UUID>> groupByPost(List<PostFeatureLink> links) {
+        Map<UUID, List<UUID>> featuresByPost = new HashMap<>();
+        for (PostFeatureLink link : links) {
+            featuresByPost.computeIfAbsent(link.getPostId(), key -> new ArrayList<>()).add(link.getFeatureId());
+        }
+        return featuresByPost;
+    }
+}
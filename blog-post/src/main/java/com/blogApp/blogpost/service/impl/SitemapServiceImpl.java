@@ -0,0 +1,495 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.response.SiteDocument;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.projection.PostSitemapEntry;
+import com.blogApp.blogpost.repository.projection.PostSyndicationEntry;
+import com.blogApp.blogpost.service.interfaces.SitemapService;
+import com.blogApp.blogpost.util.GzipUtils;
+import com.blogApp.blogpost.util.PostContentProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Service giữ sitemap và RSS/Atom render sẵn trong Redis
+ * - Mục sitemap (slug, updatedAt) của mỗi bài viết đã xuất bản nằm trong hash của shard floorMod(hash(id), số shard)
+ * - Sự kiện thay đổi bài viết chỉ HSET/HDEL một mục và đánh dấu shard đó (cùng feed) là bẩn
+ * - Định kỳ flush-interval-ms: render lại các shard bẩn, sitemap index và feed; tài liệu được lưu dạng gzip kèm
+ *   etag/lastModified, nội dung không đổi thì giữ nguyên lastModified để client nhận 304
+ * - Dựng lại toàn bộ khi chưa có và định kỳ (giữ khóa Redis), số shard được tính lại để mỗi shard
+ *   đầy khoảng 70% sitemap-shard-size
+ * - Sự kiện xảy ra trong lúc dựng lại có thể rơi vào shard cũ, lệch được sửa ở lần dựng lại kế tiếp
+ */
+@Service
+@Slf4j
+public class SitemapServiceImpl implements SitemapService {
+
+    private static final String FEED_MEMBER = "feed";
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final int MAX_FLUSH_MEMBERS = 10000;
+    private static final double SHARD_FILL_RATIO = 0.7;
+
+    private static final byte[] ETAG_FIELD = "etag".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LAST_MODIFIED_FIELD = "lastModified".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_FIELD = "body".getBytes(StandardCharsets.UTF_8);
+
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    /**
+     * Chỉ xóa khóa nếu vẫn là khóa của replica này
+     */
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final PostRepository postRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final PostContentProcessor contentProcessor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${blog.post.cache.prefix:blog}")
+    private String cachePrefix;
+
+    @Value("${blog.post.site.base-url:http://localhost:3000}")
+    private String baseUrl;
+
+    @Value("${blog.post.site.post-path:/posts/}")
+    private String postPath;
+
+    @Value("${blog.post.site.public-url:http://localhost:8082/api/posts}")
+    private String publicUrl;
+
+    @Value("${blog.post.site.title:Blog}")
+    private String siteTitle;
+
+    @Value("${blog.post.site.description:Bài viết mới nhất}")
+    private String siteDescription;
+
+    @Value("${blog.post.site.feed-size:50}")
+    private int feedSize;
+
+    @Value("${blog.post.site.sitemap-shard-size:10000}")
+    private int shardSize;
+
+    @Value("${blog.post.site.lock-ttl-ms:600000}")
+    private long lockTtlMs;
+
+    public SitemapServiceImpl(PostRepository postRepository, StringRedisTemplate redisTemplate,
+                              PostContentProcessor contentProcessor, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.redisTemplate = redisTemplate;
+        this.contentProcessor = contentProcessor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Async("postSiteExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostRelationsChangedEvent event) {
+        try {
+            Integer shardCount = readShardCount();
+            if (shardCount == null) {
+                // Chưa dựng sitemap, lần dựng đầu tiên sẽ đọc trạng thái mới nhất từ database
+                return;
+            }
+            String postId = event.getPostId().toString();
+            int shard = shardOf(event.getPostId(), shardCount);
+            Optional<PostSitemapEntry> entry = event.isPublished()
+                    ? postRepository.findSitemapEntryById(event.getPostId())
+                    : Optional.empty();
+            if (entry.isPresent()) {
+                redisTemplate.opsForHash().put(shardKey(shard), postId, entryValue(entry.get()));
+                redisTemplate.opsForSet().add(dirtyKey(), String.valueOf(shard), FEED_MEMBER);
+            } else if (redisTemplate.opsForHash().delete(shardKey(shard), postId) > 0) {
+                redisTemplate.opsForSet().add(dirtyKey(), String.valueOf(shard), FEED_MEMBER);
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi cập nhật sitemap cho bài viết {}: {}", event.getPostId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SiteDocument getDocument(String name, boolean withBody) {
+        byte[] key = raw(docKey(name));
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> withBody
+                ? connection.hashCommands().hMGet(key, ETAG_FIELD, LAST_MODIFIED_FIELD, BODY_FIELD)
+                : connection.hashCommands().hMGet(key, ETAG_FIELD, LAST_MODIFIED_FIELD));
+        if (values == null || values.get(0) == null || values.get(1) == null || (withBody && values.get(2) == null)) {
+            return null;
+        }
+        return new SiteDocument(name,
+                new String(values.get(0), StandardCharsets.UTF_8),
+                Long.parseLong(new String(values.get(1), StandardCharsets.UTF_8)),
+                withBody ? values.get(2) : null);
+    }
+
+    /**
+     * Render lại các shard và feed bị đánh dấu bẩn
+     */
+    @Scheduled(fixedDelayString = "${blog.post.site.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<String> dirty;
+        try {
+            dirty = redisTemplate.opsForSet().pop(dirtyKey(), MAX_FLUSH_MEMBERS);
+        } catch (DataAccessException e) {
+            log.error("Không thể đọc danh sách shard sitemap cần render: {}", e.getMessage(), e);
+            return;
+        }
+        if (dirty == null || dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer shardCount = readShardCount();
+            if (shardCount == null) {
+                return;
+            }
+            boolean feedDirty = false;
+            int rendered = 0;
+            for (String member : dirty) {
+                if (FEED_MEMBER.equals(member)) {
+                    feedDirty = true;
+                } else if (Integer.parseInt(member) < shardCount) {
+                    renderShard(Integer.parseInt(member));
+                    rendered++;
+                }
+            }
+            if (rendered > 0) {
+                renderIndex(shardCount);
+            }
+            if (feedDirty) {
+                renderFeeds();
+            }
+            log.debug("Đã render lại {} shard sitemap{}", rendered, feedDirty ? " và RSS/Atom" : "");
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi render sitemap/feed, sẽ thử lại: {}", e.getMessage(), e);
+            redisTemplate.opsForSet().add(dirtyKey(), dirty.toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Dựng sitemap khi khởi động nếu Redis chưa có (Redis mới hoặc bị flush)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (readShardCount() == null) {
+                rebuild();
+            }
+        } catch (DataAccessException e) {
+            log.error("Không thể dựng sitemap khi khởi động: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.site.rebuild-interval-ms:86400000}",
+            initialDelayString = "${blog.post.site.rebuild-interval-ms:86400000}")
+    public synchronized void rebuild() {
+        String lockKey = cachePrefix + "sitemap:lock";
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(lockKey, instanceId, Duration.ofMillis(lockTtlMs)))) {
+            log.info("Replica khác đang dựng lại sitemap");
+            return;
+        }
+
+        try {
+            long total = postRepository.countByStatus(PostStatus.PUBLISHED);
+            int shardCount = (int) Math.max(1, Math.ceil(total / (shardSize * SHARD_FILL_RATIO)));
+            Integer previousCount = readShardCount();
+
+            for (int shard = 0; shard < shardCount; shard++) {
+                redisTemplate.delete(rebuildKey(shard));
+            }
+            long written = readOnlyTransaction.execute(status -> writeEntries(shardCount));
+
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(rebuildKey(shard)))) {
+                    redisTemplate.rename(rebuildKey(shard), shardKey(shard));
+                } else {
+                    redisTemplate.delete(shardKey(shard));
+                }
+            }
+            for (int shard = shardCount; previousCount != null && shard < previousCount; shard++) {
+                redisTemplate.delete(List.of(shardKey(shard), docKey(SiteDocument.sitemapShard(shard))));
+            }
+            redisTemplate.opsForValue().set(shardCountKey(), String.valueOf(shardCount));
+
+            for (int shard = 0; shard < shardCount; shard++) {
+                renderShard(shard);
+            }
+            renderIndex(shardCount);
+            renderFeeds();
+            log.info("Đã dựng lại sitemap với {} bài viết trong {} shard", written, shardCount);
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi dựng lại sitemap: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), instanceId);
+        }
+    }
+
+    /**
+     * Đọc mục sitemap theo luồng và ghi vào hash tạm của từng shard theo lô (pipeline)
+     */
+    private long writeEntries(int shardCount) {
+        Map<Integer, Map<byte[], byte[]>> buffer = new HashMap<>();
+        long written = 0;
+        int buffered = 0;
+        try (Stream<PostSitemapEntry> entries = postRepository.streamSitemapEntries()) {
+            for (Iterator<PostSitemapEntry> it = entries.iterator(); it.hasNext(); ) {
+                PostSitemapEntry entry = it.next();
+                buffer.computeIfAbsent(shardOf(entry.getId(), shardCount), shard -> new HashMap<>())
+                        .put(raw(entry.getId().toString()), raw(entryValue(entry)));
+                written++;
+                if (++buffered >= REBUILD_CHUNK_SIZE) {
+                    writeBuffer(buffer);
+                    buffered = 0;
+                }
+            }
+        }
+        writeBuffer(buffer);
+        return written;
+    }
+
+    private void writeBuffer(Map<Integer, Map<byte[], byte[]>> buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            buffer.forEach((shard, fields) -> connection.hashCommands().hMSet(raw(rebuildKey(shard)), fields));
+            return null;
+        });
+        buffer.clear();
+    }
+
+    private void renderShard(int shard) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(shardKey(shard));
+        List<String[]> urls = new ArrayList<>(entries.size());
+        entries.values().forEach(value -> urls.add(value.toString().split("\t", 2)));
+        // Sắp xếp cố định để nội dung (và etag) chỉ đổi khi mục thay đổi
+        urls.sort(Comparator.<String[], Long>comparing(url -> Long.parseLong(url[1])).reversed()
+                .thenComparing(url -> url[0]));
+
+        StringBuilder xml = new StringBuilder(128 + urls.size() * 160)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (String[] url : urls) {
+            xml.append("<url><loc>").append(escapeXml(postUrl(url[0]))).append("</loc><lastmod>")
+                    .append(Instant.ofEpochMilli(Long.parseLong(url[1])).truncatedTo(ChronoUnit.SECONDS))
+                    .append("</lastmod></url>\n");
+        }
+        xml.append("</urlset>\n");
+        storeDocument(SiteDocument.sitemapShard(shard), xml.toString());
+    }
+
+    private void renderIndex(int shardCount) {
+        StringBuilder xml = new StringBuilder(128 + shardCount * 160)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (int shard = 0; shard < shardCount; shard++) {
+            SiteDocument document = getDocument(SiteDocument.sitemapShard(shard), false);
+            if (document == null) {
+                continue;
+            }
+            xml.append("<sitemap><loc>").append(escapeXml(publicUrl + "/" + document.getName()))
+                    .append("</loc><lastmod>")
+                    .append(Instant.ofEpochMilli(document.getLastModified()).truncatedTo(ChronoUnit.SECONDS))
+                    .append("</lastmod></sitemap>\n");
+        }
+        xml.append("</sitemapindex>\n");
+        storeDocument(SiteDocument.SITEMAP_INDEX, xml.toString());
+    }
+
+    private void renderFeeds() {
+        List<PostSyndicationEntry> posts = postRepository.findSyndicationEntries(PageRequest.of(0, feedSize));
+        Instant updated = posts.stream()
+                .map(post -> toInstant(post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getPublishedAt()))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH)
+                .truncatedTo(ChronoUnit.SECONDS);
+
+        StringBuilder rss = new StringBuilder(1024 + posts.size() * 512)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\" ")
+                .append("xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><channel>\n")
+                .append("<title>").append(escapeXml(siteTitle)).append("</title>\n")
+                .append("<link>").append(escapeXml(baseUrl)).append("</link>\n")
+                .append("<description>").append(escapeXml(siteDescription)).append("</description>\n")
+                .append("<atom:link href=\"").append(escapeXml(publicUrl + "/" + SiteDocument.RSS_FEED))
+                .append("\" rel=\"self\" type=\"application/rss+xml\"/>\n")
+                .append("<lastBuildDate>").append(RFC_1123.format(updated)).append("</lastBuildDate>\n");
+        for (PostSyndicationEntry post : posts) {
+            rss.append("<item><title>").append(escapeXml(post.getTitle())).append("</title>")
+                    .append("<link>").append(escapeXml(postUrl(post.getSlug()))).append("</link>")
+                    .append("<guid isPermaLink=\"false\">").append(post.getId()).append("</guid>");
+            Instant publishedAt = toInstant(post.getPublishedAt());
+            if (publishedAt != null) {
+                rss.append("<pubDate>").append(RFC_1123.format(publishedAt)).append("</pubDate>");
+            }
+            if (post.getAuthorName() != null) {
+                rss.append("<dc:creator>").append(escapeXml(post.getAuthorName())).append("</dc:creator>");
+            }
+            if (post.getSummary() != null) {
+                rss.append("<description>").append(escapeXml(post.getSummary())).append("</description>");
+            }
+            rss.append("</item>\n");
+        }
+        rss.append("</channel></rss>\n");
+        storeDocument(SiteDocument.RSS_FEED, rss.toString());
+
+        StringBuilder atom = new StringBuilder(1024 + posts.size() * 640)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<feed xmlns=\"http://www.w3.org/2005/Atom\">\n")
+                .append("<id>").append(escapeXml(publicUrl + "/" + SiteDocument.ATOM_FEED)).append("</id>\n")
+                .append("<title>").append(escapeXml(siteTitle)).append("</title>\n")
+                .append("<subtitle>").append(escapeXml(siteDescription)).append("</subtitle>\n")
+                .append("<updated>").append(updated).append("</updated>\n")
+                .append("<link rel=\"self\" href=\"").append(escapeXml(publicUrl + "/" + SiteDocument.ATOM_FEED)).append("\"/>\n")
+                .append("<link href=\"").append(escapeXml(baseUrl)).append("\"/>\n");
+        for (PostSyndicationEntry post : posts) {
+            Instant publishedAt = toInstant(post.getPublishedAt());
+            Instant postUpdated = toInstant(post.getUpdatedAt());
+            Instant entryUpdated = postUpdated != null ? postUpdated : publishedAt != null ? publishedAt : updated;
+            atom.append("<entry><id>urn:uuid:").append(post.getId()).append("</id>")
+                    .append("<title>").append(escapeXml(post.getTitle())).append("</title>")
+                    .append("<link href=\"").append(escapeXml(postUrl(post.getSlug()))).append("\"/>")
+                    .append("<updated>").append(entryUpdated.truncatedTo(ChronoUnit.SECONDS)).append("</updated>");
+            if (publishedAt != null) {
+                atom.append("<published>").append(publishedAt.truncatedTo(ChronoUnit.SECONDS)).append("</published>");
+            }
+            atom.append("<author><name>")
+                    .append(escapeXml(post.getAuthorName() != null ? post.getAuthorName() : siteTitle))
+                    .append("</name></author>");
+            if (post.getSummary() != null) {
+                atom.append("<summary>").append(escapeXml(post.getSummary())).append("</summary>");
+            }
+            atom.append("</entry>\n");
+        }
+        atom.append("</feed>\n");
+        storeDocument(SiteDocument.ATOM_FEED, atom.toString());
+    }
+
+    /**
+     * Lưu tài liệu đã nén gzip, bỏ qua nếu etag không đổi để giữ nguyên lastModified
+     */
+    private void storeDocument(String name, String xml) {
+        String etag = contentProcessor.hashContent(xml).substring(0, 32);
+        SiteDocument current = getDocument(name, false);
+        if (current != null && current.getEtag().equals(etag)) {
+            return;
+        }
+
+        Map<byte[], byte[]> fields = new HashMap<>();
+        fields.put(ETAG_FIELD, raw(etag));
+        fields.put(LAST_MODIFIED_FIELD, raw(String.valueOf(System.currentTimeMillis() / 1000 * 1000)));
+        fields.put(BODY_FIELD, GzipUtils.gzip(xml));
+        byte[] key = raw(docKey(name));
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(key, fields);
+            return null;
+        });
+    }
+
+    private Integer readShardCount() {
+        String value = redisTemplate.opsForValue().get(shardCountKey());
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private int shardOf(UUID postId, int shardCount) {
+        return Math.floorMod(postId.hashCode(), shardCount);
+    }
+
+    private String entryValue(PostSitemapEntry entry) {
+        Instant updatedAt = toInstant(entry.getUpdatedAt());
+        return entry.getSlug() + "\t" + (updatedAt == null ? 0 : updatedAt.toEpochMilli());
+    }
+
+    private String postUrl(String slug) {
+        return baseUrl + postPath + slug;
+    }
+
+    private Instant toInstant(LocalDateTime time) {
+        return time == null ? null : time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Escape ký tự đặc biệt XML và bỏ ký tự điều khiển không hợp lệ trong XML 1.0
+     */
+    private static String escapeXml(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&apos;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String shardKey(int shard) {
+        return cachePrefix + "sitemap:shard:" + shard;
+    }
+
+    private String rebuildKey(int shard) {
+        return cachePrefix + "sitemap:rebuild:" + shard;
+    }
+
+    private String shardCountKey() {
+        return cachePrefix + "sitemap:shards";
+    }
+
+    private String dirtyKey() {
+        return cachePrefix + "sitemap:dirty";
+    }
+
+    private String docKey(String name) {
+        return cachePrefix + "site:doc:" + name;
+    }
+}
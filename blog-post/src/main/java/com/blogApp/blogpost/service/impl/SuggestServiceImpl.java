@@ -0,0 +1,171 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.response.SuggestResponseDTO;
+import com.blogApp.blogpost.dto.response.SuggestionDTO;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+import com.blogApp.blogpost.event.TaxonomyChangedEvent;
+import com.blogApp.blogpost.repository.CategoryRepository;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.repository.projection.PostSuggestEntry;
+import com.blogApp.blogpost.repository.projection.SuggestTermView;
+import com.blogApp.blogpost.service.interfaces.SuggestService;
+import com.blogApp.blogpost.util.SlugUtils;
+import com.blogApp.blogpost.util.SuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Service gợi ý tìm kiếm từ chỉ mục tiền tố trong bộ nhớ (SuggestIndex)
+ * - Ba chỉ mục riêng cho bài viết (xếp theo lượt xem), tag và danh mục (xếp theo số bài viết đã xuất bản)
+ * - Dựng toàn bộ khi khởi động và định kỳ bằng ba truy vấn projection
+ * - Khi bài viết/tag/danh mục thay đổi chỉ cập nhật mục đó (trên postSuggestExecutor); độ phổ biến
+ *   của tag/danh mục và lượt xem được làm mới ở lần dựng lại định kỳ
+ * - Người đọc chỉ chuẩn hóa chuỗi và đi theo tiền tố trong chỉ mục đã công bố, không truy cập database
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestServiceImpl implements SuggestService {
+
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final SlugUtils slugUtils;
+
+    @Value("${blog.post.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${blog.post.suggest.max-key-length:32}")
+    private int maxKeyLength;
+
+    @Value("${blog.post.suggest.max-words:8}")
+    private int maxWords;
+
+    private volatile Indexes indexes;
+
+    @Override
+    public SuggestResponseDTO suggest(String query, int limit) {
+        Indexes current = indexes;
+        String folded = slugUtils.fold(query);
+        int size = Math.min(limit, topK);
+        return SuggestResponseDTO.builder()
+                .posts(current == null ? Collections.emptyList() : current.posts.suggest(folded, size))
+                .tags(current == null ? Collections.emptyList() : current.tags.suggest(folded, size))
+                .categories(current == null ? Collections.emptyList() : current.categories.suggest(folded, size))
+                .build();
+    }
+
+    @Override
+    @Async("postSuggestExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPostChanged(PostRelationsChangedEvent event) {
+        if (indexes == null) {
+            // Chỉ mục chưa được dựng, lần dựng đầu tiên sẽ đọc trạng thái mới nhất từ database
+            return;
+        }
+
+        SuggestIndex posts = indexes.posts;
+        if (!event.isPublished()) {
+            posts.remove(event.getPostId());
+            return;
+        }
+        postRepository.findSuggestEntryById(event.getPostId()).ifPresentOrElse(
+                entry -> putPost(posts, entry),
+                () -> posts.remove(event.getPostId()));
+    }
+
+    @Override
+    @Async("postSuggestExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        if (indexes == null) {
+            return;
+        }
+
+        SuggestIndex index = event.getKind() == TaxonomyChangedEvent.Kind.TAG ? indexes.tags : indexes.categories;
+        if (event.isDeleted()) {
+            index.remove(event.getId());
+        } else {
+            // Giữ độ phổ biến đã có nếu chỉ đổi tên, tag/danh mục mới bắt đầu từ 0
+            index.put(new SuggestionDTO(event.getId(), event.getName(), event.getSlug()),
+                    slugUtils.fold(event.getName()), index.weightOf(event.getId()));
+        }
+    }
+
+    /**
+     * Dựng chỉ mục lần đầu sau khi ứng dụng khởi động, không chặn quá trình khởi động
+     */
+    @Async("postSuggestExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.suggest.rebuild-interval-ms:3600000}",
+            initialDelayString = "${blog.post.suggest.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        SuggestIndex posts = newIndex();
+        for (PostSuggestEntry entry : postRepository.findSuggestEntriesByStatus(PostStatus.PUBLISHED)) {
+            posts.load(new SuggestionDTO(entry.getId(), entry.getTitle(), entry.getSlug()),
+                    slugUtils.fold(entry.getTitle()), entry.getViewCount() == null ? 0 : entry.getViewCount());
+        }
+        posts.computeAll();
+
+        SuggestIndex tags = loadTerms(tagRepository.findSuggestTerms(PostStatus.PUBLISHED));
+        SuggestIndex categories = loadTerms(categoryRepository.findSuggestTerms(PostStatus.PUBLISHED));
+
+        indexes = new Indexes(posts, tags, categories);
+        log.info("Đã dựng chỉ mục gợi ý cho {} bài viết, {} tag, {} danh mục trong {} ms",
+                posts.size(), tags.size(), categories.size(), System.currentTimeMillis() - start);
+    }
+
+    private SuggestIndex loadTerms(List<SuggestTermView> terms) {
+        SuggestIndex index = newIndex();
+        for (SuggestTermView term : terms) {
+            index.load(new SuggestionDTO(term.getId(), term.getName(), term.getSlug()),
+                    slugUtils.fold(term.getName()), term.getPostCount() == null ? 0 : term.getPostCount());
+        }
+        index.computeAll();
+        return index;
+    }
+
+    private void putPost(SuggestIndex posts, PostSuggestEntry entry) {
+        posts.put(new SuggestionDTO(entry.getId(), entry.getTitle(), entry.getSlug()),
+                slugUtils.fold(entry.getTitle()), entry.getViewCount() == null ? 0 : entry.getViewCount());
+    }
+
+    private SuggestIndex newIndex() {
+        return new SuggestIndex(topK, maxKeyLength, maxWords);
+    }
+
+    /**
+     * Ba chỉ mục được công bố cùng lúc khi dựng lại
+     */
+    private static final class Indexes {
+
+        private final SuggestIndex posts;
+        private final SuggestIndex tags;
+        private final SuggestIndex categories;
+
+        private Indexes(SuggestIndex posts, SuggestIndex tags, SuggestIndex categories) {
+            this.posts = posts;
+            this.tags = tags;
+            this.categories = categories;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogpost.event.TaxonomyChangedEvent;
+import com.blogApp.blogpost.model.Tag;
+import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.repository.projection.TagNameView;
+import com.blogApp.blogpost.service.interfaces.TagResolver;
+import com.blogApp.blogpost.util.SlugAllocator;
+import com.blogApp.blogpost.util.SlugUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service chuyển tên tag thành Tag với chi phí tối đa một lượt truy vấn
+ * - Từ điển tên -> id trong bộ nhớ, được nạp lại định kỳ và khi tag bị đổi tên/xóa
+ * - Khóa từ điển là tên đã chuyển về chữ thường: cột name dùng collation không phân biệt hoa thường nên
+ *   "Java" và "java" là cùng một tag
+ * - Tên có trong từ điển: một truy vấn nhẹ theo id để loại id đã bị xóa (từ điển cũ, tag bị xóa ở instance khác);
+ *   khi có id không còn tồn tại, từ điển được nạp lại và tên đó được tra lại như tên chưa có
+ * - Tên chưa có: một truy vấn WHERE name IN (...), tag còn thiếu được insert theo lô
+ *   trong transaction riêng (REQUIRES_NEW)
+ * - Khi hai tác giả cùng tạo một tag, insert bị lỗi unique sẽ được xử lý bằng cách đọc lại tag đã có
+ */
+@Service
+@Slf4j
+public class TagResolverImpl implements TagResolver {
+
+    private final TagRepository tagRepository;
+    private final SlugUtils slugUtils;
+    private final SlugAllocator slugAllocator;
+    private final TransactionTemplate newTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, UUID> tagIdsByName = new ConcurrentHashMap<>();
+
+    public TagResolverImpl(TagRepository tagRepository, SlugUtils slugUtils, SlugAllocator slugAllocator,
+                           PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.tagRepository = tagRepository;
+        this.slugUtils = slugUtils;
+        this.slugAllocator = slugAllocator;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Set<Tag> resolve(Collection<String> names) {
+        return resolveIds(names).values().stream()
+                .map(tagRepository::getReferenceById)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Map<String, UUID> resolveIds(Collection<String> names) {
+        // Khóa đã gộp hoa thường -> các cách viết của cùng một tag trong đầu vào
+        Map<String, List<String>> spellings = new LinkedHashMap<>();
+        names.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> spellings.computeIfAbsent(key(name), k -> new ArrayList<>()).add(name));
+        Map<String, UUID> ids = new HashMap<>();
+        if (spellings.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, UUID> idsByKey = new HashMap<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String key : spellings.keySet()) {
+            UUID id = tagIdsByName.get(key);
+            if (id != null) {
+                idsByKey.put(key, id);
+            } else {
+                unknown.add(key);
+            }
+        }
+        dropStale(idsByKey, unknown);
+
+        if (!unknown.isEmpty()) {
+            // Một truy vấn IN cho tất cả tên chưa có trong từ điển
+            List<String> wanted = unknown.stream().map(key -> spellings.get(key).get(0)).collect(Collectors.toList());
+            for (Tag tag : tagRepository.findByNameIn(wanted)) {
+                remember(tag);
+                idsByKey.put(key(tag.getName()), tag.getId());
+                unknown.remove(key(tag.getName()));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            idsByKey.putAll(createMissing(unknown.stream()
+                    .map(key -> spellings.get(key).get(0))
+                    .collect(Collectors.toCollection(LinkedHashSet::new))));
+        }
+
+        spellings.forEach((key, variants) -> {
+            UUID id = idsByKey.get(key);
+            if (id != null) {
+                variants.forEach(name -> ids.put(name, id));
+            }
+        });
+        return ids;
+    }
+
+    @Override
+    public void evict(String name) {
+        if (name != null) {
+            tagIdsByName.remove(key(name));
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.tags.dictionary-refresh-ms:300000}")
+    public void refresh() {
+        List<TagNameView> views = tagRepository.findAllNames();
+        Map<String, UUID> fresh = views.stream()
+                .collect(Collectors.toMap(view -> key(view.getName()), TagNameView::getId, (first, second) -> first));
+        tagIdsByName.keySet().retainAll(fresh.keySet());
+        tagIdsByName.putAll(fresh);
+        log.debug("Đã nạp lại từ điển tag: {} tag", fresh.size());
+    }
+
+    /**
+     * Bỏ các id lấy từ từ điển nhưng không còn trong database, chuyển tên của chúng sang nhóm chưa biết
+     * - getReferenceById trên id đã bị xóa chỉ lỗi khi flush, nên phải loại trước khi trả về
+     */
+    private void dropStale(Map<String, UUID> idsByKey, Set<String> unknown) {
+        if (idsByKey.isEmpty()) {
+            return;
+        }
+        Set<UUID> existing = tagRepository.findNamesByIdIn(idsByKey.values()).stream()
+                .map(TagNameView::getId)
+                .collect(Collectors.toSet());
+        List<String> stale = idsByKey.entrySet().stream()
+                .filter(entry -> !existing.contains(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (stale.isEmpty()) {
+            return;
+        }
+        log.info("Từ điển tag có {} id không còn tồn tại, nạp lại từ điển", stale.size());
+        stale.forEach(key -> {
+            idsByKey.remove(key);
+            tagIdsByName.remove(key);
+            unknown.add(key);
+        });
+        refresh();
+    }
+
+    /**
+     * Tạo các tag còn thiếu theo lô trong transaction riêng
+     * - Lỗi unique (tác giả khác vừa tạo cùng tag, hoặc trùng slug) thì đọc lại và tạo từng tag còn thiếu
+     * @return tên (đã gộp hoa thường) -> id của các tag đã tạo hoặc đã tồn tại
+     */
+    private Map<String, UUID> createMissing(Set<String> names) {
+        try {
+            List<Tag> created = newTransaction.execute(status -> {
+                Set<String> usedSlugs = new HashSet<>();
+                List<Tag> newTags = names.stream()
+                        .map(name -> Tag.builder()
+                                .name(name)
+                                .slug(uniqueSlug(name, usedSlugs))
+                                .posts(new HashSet<>())
+                                .build())
+                        .collect(Collectors.toList());
+                return tagRepository.saveAll(newTags);
+            });
+            log.debug("Đã tạo {} tag mới", created.size());
+            created.forEach(this::remember);
+            created.forEach(this::announce);
+            return created.stream().collect(Collectors.toMap(tag -> key(tag.getName()), Tag::getId));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Xung đột khi tạo tag theo lô, tạo lại từng tag: {}", e.getMostSpecificCause().getMessage());
+            return names.stream().collect(Collectors.toMap(this::key, this::createOne));
+        }
+    }
+
+    /**
+     * Tạo một tag nếu chưa có, dùng khi tạo theo lô bị xung đột
+     */
+    private UUID createOne(String name) {
+        Optional<Tag> existing = newTransaction.execute(status -> tagRepository.findByName(name));
+        if (existing != null && existing.isPresent()) {
+            remember(existing.get());
+            return existing.get().getId();
+        }
+
+        try {
+            Tag tag = newTransaction.execute(status -> {
+                return tagRepository.save(Tag.builder()
+                        .name(name)
+                        .slug(slugAllocator.nextFreeSlug(Tag.class, slugUtils.createSlug(name)))
+                        .posts(new HashSet<>())
+                        .build());
+            });
+            remember(tag);
+            announce(tag);
+            return tag.getId();
+        } catch (DataIntegrityViolationException e) {
+            // Tác giả khác vừa tạo cùng tên tag
+            Tag tag = newTransaction.execute(status -> tagRepository.findByName(name))
+                    .orElseThrow(() -> e);
+            remember(tag);
+            return tag.getId();
+        }
+    }
+
+    /**
+     * Cấp slug chưa dùng trong DB lẫn trong lô đang tạo
+     */
+    private String uniqueSlug(String name, Set<String> usedSlugs) {
+        String slug = slugAllocator.nextFreeSlug(Tag.class, slugUtils.createSlug(name), usedSlugs);
+        usedSlugs.add(slug);
+        return slug;
+    }
+
+    private void remember(Tag tag) {
+        tagIdsByName.put(key(tag.getName()), tag.getId());
+    }
+
+    private String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Báo tag mới được tạo để thêm vào chỉ mục gợi ý
+     */
+    private void announce(Tag tag) {
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(
+                TaxonomyChangedEvent.Kind.TAG, tag.getId(), tag.getName(), tag.getSlug(), false));
+    }
+}
@@ -4,14 +4,20 @@ import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.service.CacheService;
 import com.blogApp.blogcommon.dto.TagDTO;
 import com.blogApp.blogpost.dto.request.TagCreateRequest;
+import com.blogApp.blogpost.dto.response.VersionedDTO;
+import com.blogApp.blogpost.event.TaxonomyChangedEvent;
 import com.blogApp.blogpost.mapper.TagMapper;
 import com.blogApp.blogpost.model.Tag;
 import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.service.interfaces.TagResolver;
 import com.blogApp.blogpost.service.interfaces.TagService;
+import com.blogApp.blogpost.util.ETagUtils;
+import com.blogApp.blogpost.util.SlugAllocator;
 import com.blogApp.blogpost.util.SlugUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,7 +38,11 @@ public class TagServiceImpl implements TagService {
     private final TagRepository tagRepository;
     private final TagMapper tagMapper;
     private final CacheService cacheService;
+    private final ETagUtils eTagUtils;
     private final SlugUtils slugUtils;
+    private final SlugAllocator slugAllocator;
+    private final TagResolver tagResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.service.name:post}")
     private String serviceName;
@@ -49,7 +60,6 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
-    @Transactional
     public TagDTO createTag(TagDTO tagDTO) {
         log.info("Bắt đầu tạo tag mới: {}", tagDTO.getName());
 
@@ -58,77 +68,83 @@ public class TagServiceImpl implements TagService {
                 .name(tagDTO.getName())
                 .build();
 
-        // Tạo slug từ tên
-        String slug = slugUtils.createSlug(request.getName());
-        int counter = 1;
-        while (tagRepository.existsBySlug(slug)) {
-            slug = slugUtils.createSlug(request.getName()) + "-" + counter++;
-        }
-
-        // Tạo tag mới
-        Tag tag = tagMapper.toEntity(request);
-        tag.setSlug(slug);
-
-        Tag savedTag = tagRepository.save(tag);
+        // Slug được cấp bằng một truy vấn, chạy lại transaction nếu trùng slug khi lưu
+        TagDTO savedTag = slugAllocator.persistWithUniqueSlug(Tag.class, request.getName(), slug -> {
+            // Tạo tag mới
+            Tag tag = tagMapper.toEntity(request);
+            tag.setSlug(slug);
+            return tagMapper.toDto(tagRepository.saveAndFlush(tag));
+        });
         log.info("Đã tạo thành công tag với id {}", savedTag.getId());
 
         // Xóa cache liên quan
         cacheService.delete(CACHE_TYPE, "all");
         cacheService.delete(CACHE_TYPE, "popular");
 
-        return tagMapper.toDto(savedTag);
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(
+                TaxonomyChangedEvent.Kind.TAG, savedTag.getId(), savedTag.getName(), savedTag.getSlug(), false));
+        return savedTag;
     }
 
     @Override
     public TagDTO getTagById(UUID id) {
-        log.debug("Lấy thông tin tag {}", id);
+        return getVersionedTagById(id).getBody();
+    }
 
-        // Thử lấy từ cache trước
-        String cacheKey = "id:" + id;
-        Object cachedTag = cacheService.get(CACHE_TYPE, cacheKey);
-        if (cachedTag != null) {
-            log.debug("Lấy tag {} từ cache", id);
-            return (TagDTO) cachedTag;
-        }
+    @Override
+    public TagDTO getTagBySlug(String slug) {
+        return getVersionedTagBySlug(slug).getBody();
+    }
 
-        Tag tag = tagRepository.findById(id)
+    @Override
+    public VersionedDTO<TagDTO> getVersionedTagById(UUID id) {
+        log.debug("Lấy thông tin tag {}", id);
+        return loadTag("id:" + id, () -> tagRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Không tìm thấy tag với id {}", id);
                     return new IllegalStateException("Tag không tồn tại: " + id);
-                });
-
-        TagDTO tagDTO = tagMapper.toDto(tag);
+                }));
+    }
 
-        // Lưu vào cache
-        cacheService.set(CACHE_TYPE, cacheKey, tagDTO, cacheTtl / 1000, TimeUnit.SECONDS);
+    @Override
+    public VersionedDTO<TagDTO> getVersionedTagBySlug(String slug) {
+        log.debug("Lấy thông tin tag theo slug: {}", slug);
+        return loadTag("slug:" + slug, () -> tagRepository.findBySlug(slug)
+                .orElseThrow(() -> {
+                    log.error("Không tìm thấy tag với slug {}", slug);
+                    return new IllegalStateException("Tag không tồn tại: " + slug);
+                }));
+    }
 
-        return tagDTO;
+    @Override
+    public String getTagETag(UUID id) {
+        return cacheService.getETag(CACHE_TYPE, "id:" + id);
     }
 
     @Override
-    public TagDTO getTagBySlug(String slug) {
-        log.debug("Lấy thông tin tag theo slug: {}", slug);
+    public String getTagETagBySlug(String slug) {
+        return cacheService.getETag(CACHE_TYPE, "slug:" + slug);
+    }
 
+    /**
+     * Đọc tag và ETag từ cache bằng một lệnh MGET, nếu không có thì tải từ database rồi cache cả hai
+     */
+    private VersionedDTO<TagDTO> loadTag(String cacheKey, Supplier<Tag> loader) {
         // Thử lấy từ cache trước
-        String cacheKey = "slug:" + slug;
-        Object cachedTag = cacheService.get(CACHE_TYPE, cacheKey);
-        if (cachedTag != null) {
-            log.debug("Lấy tag với slug {} từ cache", slug);
-            return (TagDTO) cachedTag;
+        List<Object> cached = cacheService.getWithETag(CACHE_TYPE, cacheKey);
+        if (cached.get(0) instanceof TagDTO cachedTag) {
+            log.debug("Lấy tag {} từ cache", cacheKey);
+            return new VersionedDTO<>(cachedTag, cached.get(1) instanceof String ? (String) cached.get(1) : null);
         }
 
-        Tag tag = tagRepository.findBySlug(slug)
-                .orElseThrow(() -> {
-                    log.error("Không tìm thấy tag với slug {}", slug);
-                    return new IllegalStateException("Tag không tồn tại: " + slug);
-                });
-
+        Tag tag = loader.get();
         TagDTO tagDTO = tagMapper.toDto(tag);
+        String etag = eTagUtils.generate(tag.getUpdatedAt(), tagDTO);
 
         // Lưu vào cache
-        cacheService.set(CACHE_TYPE, cacheKey, tagDTO, cacheTtl / 1000, TimeUnit.SECONDS);
+        cacheService.setWithETag(CACHE_TYPE, cacheKey, tagDTO, etag, cacheTtl / 1000, TimeUnit.SECONDS);
 
-        return tagDTO;
+        return new VersionedDTO<>(tagDTO, etag);
     }
 
     @Override
@@ -147,17 +163,13 @@ public class TagServiceImpl implements TagService {
                 .name(tagDTO.getName())
                 .build();
 
-        // Cập nhật tên
+        // Cập nhật tên, tên cũ không còn trỏ tới tag này
+        tagResolver.evict(tag.getName());
         tag.setName(request.getName());
 
         // Cập nhật slug nếu tên thay đổi
         if (!tag.getName().equals(request.getName())) {
-            String newSlug = slugUtils.createSlug(request.getName());
-            int counter = 1;
-            while (tagRepository.existsBySlug(newSlug)) {
-                newSlug = slugUtils.createSlug(request.getName()) + "-" + counter++;
-            }
-            tag.setSlug(newSlug);
+            tag.setSlug(slugAllocator.nextFreeSlug(Tag.class, slugUtils.createSlug(request.getName())));
         }
 
         Tag updatedTag = tagRepository.save(tag);
@@ -169,6 +181,8 @@ public class TagServiceImpl implements TagService {
         cacheService.delete(CACHE_TYPE, "all");
         cacheService.delete(CACHE_TYPE, "popular");
 
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(
+                TaxonomyChangedEvent.Kind.TAG, id, updatedTag.getName(), updatedTag.getSlug(), false));
         return tagMapper.toDto(updatedTag);
     }
 
@@ -190,6 +204,9 @@ public class TagServiceImpl implements TagService {
         cacheService.delete(CACHE_TYPE, "popular");
 
         tagRepository.delete(tag);
+        tagResolver.evict(tag.getName());
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(
+                TaxonomyChangedEvent.Kind.TAG, id, tag.getName(), tag.getSlug(), true));
         log.info("Đã xóa thành công tag {}", id);
     }
 
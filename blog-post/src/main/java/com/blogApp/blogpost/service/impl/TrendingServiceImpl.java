@@ -0,0 +1,380 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogpost.model.TrendingSnapshot;
+import com.blogApp.blogpost.model.TrendingWindow;
+import com.blogApp.blogpost.repository.TrendingSnapshotRepository;
+import com.blogApp.blogpost.service.interfaces.TrendingService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Service xếp hạng bài viết xu hướng theo forward decay
+ * - Mỗi cửa sổ (DAY, WEEK, MONTH) là một Redis sorted set post_id -> điểm
+ * - Sự kiện tại thời điểm t được cộng weight * 2^((t - landmark) / halfLife), nên điểm cũ không cần
+ *   cập nhật lại mà vẫn suy giảm tương đối so với sự kiện mới
+ * - Định kỳ rebase: nhân cả set với 2^(-(now - landmark) / halfLife) bằng ZUNIONSTORE và dời landmark về now
+ *   để điểm không tràn số, đồng thời bỏ các bài viết có điểm quá nhỏ
+ * - Lượt xem và bình luận được gom trong bộ nhớ và ghi vào Redis theo lô
+ * - Hệ số của flush và rebase được tính trong Lua script từ landmark đang có trong Redis, nên không replica nào
+ *   dùng landmark cũ sau khi replica khác đã rebase
+ * - Định kỳ lưu top bài viết của mỗi cửa sổ xuống database, khôi phục khi khởi động nếu Redis không còn set
+ * - Rebase và snapshot chỉ chạy trên một replica tại một thời điểm (khóa Redis SET NX PX)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingServiceImpl implements TrendingService {
+
+    /**
+     * Chỉ xóa khóa nếu vẫn là khóa của replica này
+     */
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /**
+     * Cộng điểm vào mọi cửa sổ theo landmark hiện tại của từng cửa sổ (khởi tạo bằng now nếu chưa có)
+     * - KEYS: từng cặp set điểm, landmark; ARGV: now, half-life (ms) của từng cửa sổ, rồi từng cặp post_id, weight
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "local windows = #KEYS / 2 " +
+            "for w = 1, windows do " +
+            "local landmark = KEYS[2 * w] " +
+            "redis.call('set', landmark, ARGV[1], 'NX') " +
+            "local factor = 2 ^ ((now - tonumber(redis.call('get', landmark))) / tonumber(ARGV[1 + w])) " +
+            "for i = 2 + windows, #ARGV, 2 do " +
+            "redis.call('zincrby', KEYS[2 * w - 1], tonumber(ARGV[i + 1]) * factor, ARGV[i]) end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * Suy giảm set theo đúng landmark bị thay thế rồi dời landmark về now, bỏ các bài viết có điểm quá nhỏ
+     * - KEYS: set điểm, landmark; ARGV: now, half-life (ms), điểm tối thiểu
+     * - Trả về hệ số suy giảm đã dùng (1 nếu landmark chưa có hoặc không cũ hơn now)
+     */
+    private static final RedisScript<String> REBASE_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "local landmark = tonumber(redis.call('get', KEYS[2]) or ARGV[1]) " +
+            "if landmark >= now then redis.call('set', KEYS[2], tostring(landmark)) return '1' end " +
+            "local decay = 2 ^ ((landmark - now) / tonumber(ARGV[2])) " +
+            "redis.call('zunionstore', KEYS[1], 1, KEYS[1], 'WEIGHTS', decay) " +
+            "redis.call('zremrangebyscore', KEYS[1], '-inf', ARGV[3]) " +
+            "redis.call('set', KEYS[2], ARGV[1]) " +
+            "return tostring(decay)",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TrendingSnapshotRepository snapshotRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<UUID, DoubleAdder> pendingScores = new ConcurrentHashMap<>();
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${blog.post.cache.prefix:blog}")
+    private String cachePrefix;
+
+    @Value("${blog.post.trending.view-weight:1.0}")
+    private double viewWeight;
+
+    @Value("${blog.post.trending.comment-weight:5.0}")
+    private double commentWeight;
+
+    @Value("${blog.post.trending.min-score:0.01}")
+    private double minScore;
+
+    @Value("${blog.post.trending.snapshot-size:1000}")
+    private int snapshotSize;
+
+    @Value("${blog.post.trending.lock-ttl-ms:60000}")
+    private long lockTtlMs;
+
+    @Override
+    public void recordView(UUID postId) {
+        record(postId, viewWeight);
+    }
+
+    @Override
+    public void recordComment(UUID postId) {
+        record(postId, commentWeight);
+    }
+
+    @Override
+    public void remove(UUID postId) {
+        pendingScores.remove(postId);
+        try {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                redisTemplate.opsForZSet().remove(scoreKey(window), postId.toString());
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi xóa bài viết {} khỏi bảng xu hướng: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        postIds.forEach(pendingScores::remove);
+        Object[] members = postIds.stream().map(UUID::toString).toArray();
+        try {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                redisTemplate.opsForZSet().remove(scoreKey(window), members);
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi xóa {} bài viết khỏi bảng xu hướng: {}", postIds.size(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<UUID> getTopPostIds(TrendingWindow window, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        try {
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(scoreKey(window), 0, limit - 1);
+            if (members == null) {
+                return Collections.emptyList();
+            }
+            return members.stream()
+                    .map(UUID::fromString)
+                    .collect(Collectors.toList());
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi đọc bảng xu hướng {}: {}", window, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.trending.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        Map<UUID, Double> weights = drainPending();
+        if (weights.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(now));
+        for (TrendingWindow window : TrendingWindow.values()) {
+            keys.add(scoreKey(window));
+            keys.add(landmarkKey(window));
+            args.add(String.valueOf(window.getHalfLife().toMillis()));
+        }
+        weights.forEach((postId, weight) -> {
+            args.add(postId.toString());
+            args.add(String.valueOf(weight));
+        });
+
+        try {
+            // Một script cho mọi cửa sổ: hệ số được tính nguyên tử với landmark hiện tại
+            redisTemplate.execute(INCREMENT_SCRIPT, keys, args.toArray());
+            log.debug("Đã cộng điểm xu hướng cho {} bài viết", weights.size());
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi ghi điểm xu hướng cho {} bài viết, sẽ thử lại ở lần sau: {}", weights.size(), e.getMessage(), e);
+            weights.forEach(this::record);
+        }
+    }
+
+    /**
+     * Dời landmark về thời điểm hiện tại và bỏ các bài viết đã hết xu hướng
+     * - Hệ số suy giảm được tính trong script từ landmark bị thay thế, nên set không bị suy giảm hai lần
+     */
+    @Scheduled(fixedDelayString = "${blog.post.trending.rebase-interval-ms:3600000}")
+    public void rebase() {
+        runLocked("rebase", () -> {
+            String now = String.valueOf(System.currentTimeMillis());
+            for (TrendingWindow window : TrendingWindow.values()) {
+                try {
+                    String decay = redisTemplate.execute(REBASE_SCRIPT, List.of(scoreKey(window), landmarkKey(window)),
+                            now, String.valueOf(window.getHalfLife().toMillis()), String.valueOf(minScore));
+                    log.debug("Đã rebase bảng xu hướng {} với hệ số {}", window, decay);
+                } catch (DataAccessException e) {
+                    log.error("Lỗi khi rebase bảng xu hướng {}: {}", window, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Lưu top bài viết của mỗi cửa sổ xuống database, điểm được quy về thời điểm chụp
+     */
+    @Scheduled(fixedDelayString = "${blog.post.trending.snapshot-interval-ms:600000}",
+            initialDelayString = "${blog.post.trending.snapshot-interval-ms:600000}")
+    public void snapshot() {
+        // Transaction commit trước khi nhả khóa để hai replica không ghi đè snapshot của nhau
+        runLocked("snapshot", () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> saveSnapshots()));
+    }
+
+    private void saveSnapshots() {
+        long now = System.currentTimeMillis();
+        LocalDateTime takenAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneOffset.UTC);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            Set<ZSetOperations.TypedTuple<String>> top;
+            double decay;
+            try {
+                decay = window.growthFactor(getLandmark(window, now) - now);
+                top = redisTemplate.opsForZSet().reverseRangeWithScores(scoreKey(window), 0, snapshotSize - 1);
+            } catch (DataAccessException e) {
+                log.error("Lỗi khi đọc bảng xu hướng {} để lưu snapshot: {}", window, e.getMessage(), e);
+                continue;
+            }
+            if (top == null || top.isEmpty()) {
+                continue;
+            }
+
+            List<TrendingSnapshot> snapshots = top.stream()
+                    .filter(tuple -> tuple.getValue() != null && tuple.getScore() != null)
+                    .map(tuple -> TrendingSnapshot.builder()
+                            .window(window)
+                            .postId(UUID.fromString(tuple.getValue()))
+                            .score(tuple.getScore() * decay)
+                            .takenAt(takenAt)
+                            .build())
+                    .collect(Collectors.toList());
+            snapshotRepository.deleteByWindow(window);
+            snapshotRepository.saveAll(snapshots);
+            log.debug("Đã lưu snapshot {} bài viết cho bảng xu hướng {}", snapshots.size(), window);
+        }
+    }
+
+    /**
+     * Khôi phục bảng xu hướng từ snapshot khi Redis không còn dữ liệu (Redis mới, bị flush, ...)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            try {
+                String key = scoreKey(window);
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                    continue;
+                }
+
+                List<TrendingSnapshot> snapshots = snapshotRepository.findByWindow(window);
+                if (snapshots.isEmpty()) {
+                    continue;
+                }
+
+                // Landmark mới là now, điểm snapshot được suy giảm thêm theo thời gian từ lúc chụp
+                Set<ZSetOperations.TypedTuple<String>> tuples = snapshots.stream()
+                        .map(snapshot -> ZSetOperations.TypedTuple.of(snapshot.getPostId().toString(),
+                                snapshot.getScore() * window.growthFactor(
+                                        snapshot.getTakenAt().toInstant(ZoneOffset.UTC).toEpochMilli() - now)))
+                        .collect(Collectors.toSet());
+                redisTemplate.opsForValue().set(landmarkKey(window), String.valueOf(now));
+                redisTemplate.opsForZSet().add(key, tuples);
+                log.info("Đã khôi phục {} bài viết cho bảng xu hướng {} từ snapshot", tuples.size(), window);
+            } catch (DataAccessException e) {
+                log.error("Lỗi khi khôi phục bảng xu hướng {}: {}", window, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Ghi nốt các điểm còn trong bộ nhớ trước khi service dừng
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Chạy tác vụ định kỳ trên đúng một replica, bỏ qua nếu replica khác đang giữ khóa
+     */
+    private void runLocked(String task, Runnable action) {
+        String lockKey = cachePrefix + "trending:lock";
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, instanceId, Duration.ofMillis(lockTtlMs)))) {
+                log.debug("Replica khác đang chạy {} bảng xu hướng", task);
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.error("Lỗi khi lấy khóa để chạy {} bảng xu hướng: {}", task, e.getMessage(), e);
+            return;
+        }
+
+        try {
+            action.run();
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), instanceId);
+        }
+    }
+
+    private void record(UUID postId, double weight) {
+        pendingScores.computeIfAbsent(postId, key -> new DoubleAdder()).add(weight);
+    }
+
+    /**
+     * Lấy và reset điểm đang chờ của từng bài viết, bỏ entry không còn điểm
+     */
+    private Map<UUID, Double> drainPending() {
+        Map<UUID, Double> weights = new HashMap<>();
+        for (Map.Entry<UUID, DoubleAdder> entry : pendingScores.entrySet()) {
+            double weight = entry.getValue().sumThenReset();
+            if (weight == 0) {
+                // Không có sự kiện mới: bỏ entry, nếu vừa có sự kiện chen vào thì trả lại
+                if (pendingScores.remove(entry.getKey(), entry.getValue())) {
+                    double late = entry.getValue().sum();
+                    if (late > 0) {
+                        record(entry.getKey(), late);
+                    }
+                }
+                continue;
+            }
+            weights.put(entry.getKey(), weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Đọc landmark (epoch millis) của cửa sổ, khởi tạo bằng now nếu chưa có
+     */
+    private long getLandmark(TrendingWindow window, long now) {
+        String key = landmarkKey(window);
+        String value = redisTemplate.opsForValue().get(key);
+        if (value == null) {
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(now));
+            value = redisTemplate.opsForValue().get(key);
+        }
+        return value == null ? now : Long.parseLong(value);
+    }
+
+    private String scoreKey(TrendingWindow window) {
+        return cachePrefix + "trending:" + window.name().toLowerCase(Locale.ENGLISH);
+    }
+
+    private String landmarkKey(TrendingWindow window) {
+        return scoreKey(window) + ":landmark";
+    }
+}
@@ -0,0 +1,209 @@
+package com.blogApp.blogpost.service.impl;
+
+import com.blogApp.blogcommon.service.CacheService;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.projection.PostViewCountView;
+import com.blogApp.blogpost.service.interfaces.ViewCountService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Service đếm lượt xem theo kiểu write-behind
+ * - Mỗi lượt xem chỉ cộng vào LongAdder của bài viết trong bộ nhớ, không chạm database hay cache
+ * - Định kỳ gom các delta và ghi xuống bằng UPDATE ... SET view_count = view_count + ? theo lô
+ * - Các bài viết có cùng delta được gộp chung một câu UPDATE ... WHERE id IN (...)
+ * - Delta đang ghi vẫn được tính vào lượt xem chờ ghi cho tới khi UPDATE xong và cache đã được xóa,
+ *   nên lượt xem trả về không bị giảm trong lúc flush; nếu ghi thất bại, delta được trả lại để lần sau ghi tiếp
+ * - Sau mỗi lần flush chỉ xóa cache của các bài viết vừa được ghi (không xóa theo từng lượt xem)
+ * - Trang danh sách không bị xóa cache theo bài viết: lượt xem vừa ghi được lưu vào Redis hash
+ *   (post_id -> view_count) để cộng vào trang đã cache khi đọc
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountServiceImpl implements ViewCountService {
+
+    private static final String POST_CACHE_TYPE = "posts";
+    private static final String POST_DETAIL_CACHE_TYPE = "postDetails";
+    private static final String POST_SUMMARY_CACHE_TYPE = "postSummaries";
+
+    private final PostRepository postRepository;
+    private final CacheService cacheService;
+    private final StringRedisTemplate redisTemplate;
+
+    private final ConcurrentHashMap<UUID, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    /**
+     * Delta đã lấy ra khỏi pendingViews nhưng chưa ghi xong (chỉ thread flush ghi)
+     */
+    private final ConcurrentHashMap<UUID, Long> inFlightViews = new ConcurrentHashMap<>();
+
+    @Value("${blog.post.views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${blog.post.cache.prefix:blog}")
+    private String cachePrefix;
+
+    @Value("${spring.cache.redis.time-to-live:3600000}")
+    private long cacheTtl;
+
+    @Override
+    public void recordView(UUID postId) {
+        pendingViews.computeIfAbsent(postId, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public long getPendingViews(UUID postId) {
+        LongAdder adder = pendingViews.get(postId);
+        Long inFlight = inFlightViews.get(postId);
+        return (adder == null ? 0L : adder.sum()) + (inFlight == null ? 0L : inFlight);
+    }
+
+    @Override
+    public Map<UUID, Long> getFlushedViews(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object> fields = postIds.stream().map(UUID::toString).collect(Collectors.toList());
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForHash().multiGet(flushedKey(), fields);
+        } catch (DataAccessException e) {
+            log.warn("Không thể đọc lượt xem đã ghi từ Redis: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, Long> flushed = new HashMap<>();
+        Iterator<UUID> ids = postIds.iterator();
+        for (Object value : values) {
+            UUID postId = ids.next();
+            if (value != null) {
+                flushed.put(postId, Long.parseLong(value.toString()));
+            }
+        }
+        return flushed;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.post.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+
+        // Chuyển delta của từng bài viết sang inFlightViews (trước khi trừ khỏi pendingViews để lượt xem
+        // đọc được không bị hụt) và gom các bài viết có cùng delta
+        Map<Integer, List<UUID>> postIdsByDelta = new HashMap<>();
+        for (Map.Entry<UUID, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta == 0) {
+                // Không có lượt xem mới: bỏ entry, nếu vừa có lượt xem chen vào thì trả lại
+                if (pendingViews.remove(entry.getKey(), entry.getValue())) {
+                    long late = entry.getValue().sum();
+                    if (late > 0) {
+                        pendingViews.computeIfAbsent(entry.getKey(), key -> new LongAdder()).add(late);
+                    }
+                }
+                continue;
+            }
+            inFlightViews.put(entry.getKey(), delta);
+            entry.getValue().add(-delta);
+            postIdsByDelta.computeIfAbsent(Math.toIntExact(delta), key -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        if (postIdsByDelta.isEmpty()) {
+            return;
+        }
+
+        List<UUID> flushedIds = new ArrayList<>();
+        postIdsByDelta.forEach((delta, postIds) -> {
+            for (int from = 0; from < postIds.size(); from += flushBatchSize) {
+                List<UUID> chunk = postIds.subList(from, Math.min(from + flushBatchSize, postIds.size()));
+                try {
+                    postRepository.incrementViewCounts(chunk, delta);
+                    flushedIds.addAll(chunk);
+                } catch (Exception e) {
+                    log.error("Lỗi khi ghi lượt xem cho {} bài viết, sẽ thử lại ở lần sau: {}", chunk.size(), e.getMessage(), e);
+                    // Trả delta về pendingViews trước khi bỏ khỏi inFlightViews
+                    chunk.forEach(postId -> {
+                        pendingViews.computeIfAbsent(postId, key -> new LongAdder()).add(delta);
+                        inFlightViews.remove(postId);
+                    });
+                }
+            }
+        });
+
+        try {
+            publishAndEvict(flushedIds);
+        } catch (Exception e) {
+            log.error("Lỗi khi cập nhật cache sau khi ghi lượt xem: {}", e.getMessage(), e);
+        } finally {
+            // Lượt xem đã nằm trong database (và trong cache/Redis hash nếu bước trên thành công)
+            flushedIds.forEach(inFlightViews::remove);
+        }
+        log.debug("Đã ghi lượt xem cho {} bài viết", flushedIds.size());
+    }
+
+    /**
+     * Ghi nốt các lượt xem còn trong bộ nhớ trước khi service dừng
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Sau khi ghi lượt xem: lưu lượt xem mới vào Redis hash cho trang danh sách đã cache,
+     * rồi xóa cache bài viết, trang chi tiết và tóm tắt của các bài viết vừa được ghi
+     * - Lượt xem mới và slug (để tạo cache key) lấy chung một truy vấn cho mỗi lô
+     */
+    private void publishAndEvict(List<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> detailKeys = new ArrayList<>();
+        Map<String, String> viewCounts = new HashMap<>();
+        for (int from = 0; from < postIds.size(); from += flushBatchSize) {
+            List<UUID> chunk = postIds.subList(from, Math.min(from + flushBatchSize, postIds.size()));
+            for (PostViewCountView view : postRepository.findViewCountsByIdIn(chunk)) {
+                keys.add("id:" + view.getId());
+                keys.add("slug:" + view.getSlug());
+                detailKeys.add("slug:" + view.getSlug());
+                viewCounts.put(view.getId().toString(), String.valueOf(view.getViewCount() == null ? 0 : view.getViewCount()));
+            }
+        }
+
+        if (!viewCounts.isEmpty()) {
+            try {
+                redisTemplate.opsForHash().putAll(flushedKey(), viewCounts);
+                // Trang danh sách cache lâu nhất cacheTtl, hash chỉ cần sống lâu hơn các trang đó
+                redisTemplate.expire(flushedKey(), Duration.ofMillis(cacheTtl * 2));
+            } catch (DataAccessException e) {
+                log.warn("Không thể lưu lượt xem đã ghi vào Redis: {}", e.getMessage());
+            }
+        }
+        cacheService.deleteAll(Map.of(POST_CACHE_TYPE, keys, POST_DETAIL_CACHE_TYPE, detailKeys));
+        cacheService.deleteAll(POST_SUMMARY_CACHE_TYPE, postIds.stream()
+                .map(postId -> "id:" + postId)
+                .collect(Collectors.toList()));
+    }
+
+    private String flushedKey() {
+        return cachePrefix + "views:flushed";
+    }
+}
@@ -2,6 +2,7 @@ package com.blogApp.blogpost.service.interfaces;
 
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogpost.dto.CategoryDTO;
+import com.blogApp.blogpost.dto.response.VersionedDTO;
 
 import java.util.List;
 import java.util.UUID;
@@ -34,6 +35,34 @@ public interface CategoryService {
      */
     CategoryDTO getCategoryBySlug(String slug);
 
+    /**
+     * Lấy danh mục theo ID kèm ETag của phiên bản đang cache
+     * @param id ID của danh mục
+     * @return CategoryDTO và ETag
+     */
+    VersionedDTO<CategoryDTO> getVersionedCategoryById(UUID id);
+
+    /**
+     * Lấy danh mục theo slug kèm ETag của phiên bản đang cache
+     * @param slug Slug của danh mục
+     * @return CategoryDTO và ETag
+     */
+    VersionedDTO<CategoryDTO> getVersionedCategoryBySlug(String slug);
+
+    /**
+     * Lấy ETag đã cache của danh mục mà không đọc nội dung
+     * @param id ID của danh mục
+     * @return ETag, hoặc null nếu chưa được cache
+     */
+    String getCategoryETag(UUID id);
+
+    /**
+     * Lấy ETag đã cache của danh mục theo slug mà không đọc nội dung
+     * @param slug Slug của danh mục
+     * @return ETag, hoặc null nếu chưa được cache
+     */
+    String getCategoryETagBySlug(String slug);
+
     /**
      * Cập nhật thông tin danh mục
      * @param id ID của danh mục cần cập nhật
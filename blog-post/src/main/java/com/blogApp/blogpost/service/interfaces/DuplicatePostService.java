@@ -0,0 +1,51 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.dto.response.DuplicateCandidateDTO;
+import com.blogApp.blogpost.dto.response.DuplicateReportDTO;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface cho DuplicatePostService
+ * - Giữ trong bộ nhớ chỉ mục LSH trên dấu vân tay SimHash của mọi bài viết đủ dài
+ * - Mỗi lần nội dung được render, tìm bài viết gần trùng bằng vài lần tra bảng băm (không quét bảng posts)
+ *   và đánh dấu bài viết để kiểm duyệt nếu có
+ * - Chỉ mục được dựng lại định kỳ và cập nhật từng phần khi bài viết được render hoặc bị xóa
+ */
+public interface DuplicatePostService {
+
+    /**
+     * Cập nhật dấu vân tay của bài viết vừa được render và đánh dấu nếu gần trùng bài viết khác
+     * @param postId ID của bài viết
+     * @param simHash Dấu vân tay mới
+     * @param wordCount Số từ (bài viết quá ngắn không được so khớp)
+     */
+    void onRendered(UUID postId, long simHash, int wordCount);
+
+    /**
+     * Bỏ bài viết khỏi chỉ mục khi bị xóa (chạy sau khi commit)
+     * @param event Sự kiện thay đổi bài viết
+     */
+    void onPostChanged(PostRelationsChangedEvent event);
+
+    /**
+     * Lấy các bài viết gần trùng với một bài viết
+     * @param postId ID của bài viết
+     * @return Danh sách theo khoảng cách tăng dần (rỗng nếu bài viết không có trong chỉ mục)
+     */
+    List<DuplicateCandidateDTO> getDuplicates(UUID postId);
+
+    /**
+     * Lấy các bài viết bị đánh dấu gần đây nhất
+     * @param limit Số bài viết tối đa
+     * @return Danh sách theo thời điểm đánh dấu giảm dần
+     */
+    List<DuplicateReportDTO> getFlaggedPosts(int limit);
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ database
+     */
+    void rebuild();
+}
@@ -0,0 +1,19 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.dto.response.PostDetailDTO;
+
+/**
+ * Interface cho PostDetailService
+ * - Dựng trang chi tiết bài viết: nội dung, danh mục, tag và trang đầu của cây bình luận đã duyệt
+ * - Số truy vấn cố định, các truy vấn độc lập chạy song song
+ * - Cache cả trang như một đơn vị, bị xóa khi bài viết hoặc bình luận của nó thay đổi
+ */
+public interface PostDetailService {
+
+    /**
+     * Lấy chi tiết bài viết theo slug
+     * @param slug Slug của bài viết
+     * @return PostDetailDTO gồm nội dung, danh mục, tag và trang đầu của cây bình luận
+     */
+    PostDetailDTO getPostDetailBySlug(String slug);
+}
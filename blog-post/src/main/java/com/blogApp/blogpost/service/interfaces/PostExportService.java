@@ -0,0 +1,28 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.model.PostExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Interface cho PostExportService
+ * - Export bài viết theo luồng: đọc từ database bằng cursor, ghi ngay ra output theo từng chunk
+ * - Bộ nhớ dùng không phụ thuộc số bài viết được export
+ */
+public interface PostExportService {
+
+    /**
+     * Export bài viết ra output
+     * @param format Định dạng NDJSON hoặc CSV
+     * @param status Chỉ export bài viết có trạng thái này (null = mọi trạng thái)
+     * @param createdFrom Chỉ export bài viết tạo từ thời điểm này (null = không giới hạn)
+     * @param createdTo Chỉ export bài viết tạo trước thời điểm này (null = không giới hạn)
+     * @param output Stream đích, không bị đóng sau khi export
+     * @return Số bài viết đã export
+     */
+    long exportPosts(PostExportFormat format, PostStatus status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                     OutputStream output) throws IOException;
+}
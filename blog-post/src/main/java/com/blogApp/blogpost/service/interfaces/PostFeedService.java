@@ -0,0 +1,62 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.event.PostFeedChangedEvent;
+import com.blogApp.blogpost.repository.projection.PostFeedEntry;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Interface cho PostFeedService
+ * - Giữ feed bài viết đã xuất bản trong Redis sorted set: post_id -> publishedAt (epoch millis)
+ * - Được cập nhật sau khi commit khi bài viết được xuất bản, bỏ xuất bản hoặc bị xóa
+ * - Đọc một trang feed không cần truy vấn database
+ */
+public interface PostFeedService {
+
+    /**
+     * Thêm hoặc bỏ các bài viết khỏi feed theo trạng thái đã commit
+     * @param event Sự kiện chứa id các bài viết vừa đổi trạng thái xuất bản
+     */
+    void onFeedChanged(PostFeedChangedEvent event);
+
+    /**
+     * Thêm (hoặc cập nhật) bài viết vào feed
+     * @param postId ID của bài viết
+     * @param publishedAt Thời điểm xuất bản
+     */
+    void publish(UUID postId, LocalDateTime publishedAt);
+
+    /**
+     * Bỏ bài viết khỏi feed
+     * @param postId ID của bài viết
+     */
+    void remove(UUID postId);
+
+    /**
+     * Thêm (hoặc cập nhật) nhiều bài viết vào feed bằng một lệnh ZADD
+     * @param entries Id và thời điểm xuất bản của các bài viết
+     */
+    void publishAll(Collection<PostFeedEntry> entries);
+
+    /**
+     * Bỏ nhiều bài viết khỏi feed bằng một lệnh ZREM
+     * @param postIds ID các bài viết
+     */
+    void removeAll(Collection<UUID> postIds);
+
+    /**
+     * Lấy một trang id bài viết, mới xuất bản trước
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @return Trang id bài viết, totalElements là số bài viết trong feed
+     */
+    Page<UUID> getPage(int pageNo, int pageSize);
+
+    /**
+     * Dựng lại feed từ database
+     */
+    void rebuild();
+}
@@ -0,0 +1,23 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogcommon.dto.UserPrincipal;
+import com.blogApp.blogpost.dto.response.PostImportResultDTO;
+
+import java.io.InputStream;
+
+/**
+ * Interface cho PostImportService
+ * - Import bài viết hàng loạt từ luồng NDJSON (mỗi dòng một PostImportLine), đọc từng dòng không giữ cả body
+ * - Ghi theo chunk, mỗi chunk một transaction, insert bằng JDBC batch
+ * - Đánh chỉ mục tìm kiếm và làm mới cache một lần sau khi import xong
+ */
+public interface PostImportService {
+
+    /**
+     * Import bài viết từ luồng NDJSON
+     * @param input Luồng NDJSON (UTF-8)
+     * @param importer Admin thực hiện import (tác giả mặc định)
+     * @return Kết quả import: số lượng, tốc độ và lỗi theo dòng
+     */
+    PostImportResultDTO importPosts(InputStream input, UserPrincipal importer);
+}
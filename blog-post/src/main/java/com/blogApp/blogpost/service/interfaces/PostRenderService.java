@@ -0,0 +1,34 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.event.PostContentChangedEvent;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.util.RenderedContent;
+
+/**
+ * Interface cho PostRenderService
+ * - Render markdown sang HTML một lần cho mỗi lần nội dung thay đổi
+ * - Lưu HTML cùng số từ, thời gian đọc, đoạn trích và mục lục với bài viết, gắn với hash của nội dung
+ */
+public interface PostRenderService {
+
+    /**
+     * Render và lưu HTML sau khi transaction lưu bài viết đã commit
+     * @param event Sự kiện thay đổi nội dung
+     */
+    void onContentChanged(PostContentChangedEvent event);
+
+    /**
+     * Lấy HTML và các trường render cùng nó của bài viết để trả về client
+     * - Dùng kết quả đã lưu nếu còn khớp với content
+     * - Nếu chưa có (bài viết cũ hoặc đang chờ render) thì render ngay và lên lịch lưu lại
+     * @param post Bài viết
+     * @return Kết quả render
+     */
+    RenderedContent resolveContent(Post post);
+
+    /**
+     * Render lại các bài viết chưa có kết quả render hợp lệ (bài viết cũ), để trang danh sách có số từ,
+     * thời gian đọc và đoạn trích mà không cần đọc content
+     */
+    void renderStalePosts();
+}
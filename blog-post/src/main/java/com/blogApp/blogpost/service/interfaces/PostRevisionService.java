@@ -0,0 +1,43 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogcommon.dto.response.PagedResponse;
+import com.blogApp.blogpost.dto.response.PostRevisionDTO;
+import com.blogApp.blogpost.event.PostContentChangedEvent;
+
+import java.util.UUID;
+
+/**
+ * Interface cho PostRevisionService
+ * - Lưu lịch sử nội dung bài viết: snapshot đầy đủ định kỳ, giữa các snapshot chỉ lưu delta
+ * - Phiên bản được ghi bất đồng bộ sau khi commit, không làm chậm tạo/cập nhật bài viết
+ * - Chỉ tác giả hoặc admin được xem lịch sử
+ */
+public interface PostRevisionService {
+
+    /**
+     * Ghi phiên bản mới khi nội dung bài viết thay đổi (chạy sau khi commit)
+     * @param event Sự kiện thay đổi nội dung
+     */
+    void onContentChanged(PostContentChangedEvent event);
+
+    /**
+     * Lấy danh sách phiên bản của bài viết, mới nhất trước
+     * @param postId ID của bài viết
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @param userId ID của người dùng thực hiện
+     * @param isAdmin Người dùng có quyền admin hay không
+     * @return Danh sách phiên bản không gồm nội dung
+     */
+    PagedResponse<PostRevisionDTO> getRevisions(UUID postId, int pageNo, int pageSize, String userId, boolean isAdmin);
+
+    /**
+     * Lấy nội dung đầy đủ của một phiên bản
+     * @param postId ID của bài viết
+     * @param revisionNumber Số thứ tự phiên bản
+     * @param userId ID của người dùng thực hiện
+     * @param isAdmin Người dùng có quyền admin hay không
+     * @return Phiên bản kèm nội dung markdown
+     */
+    PostRevisionDTO getRevision(UUID postId, int revisionNumber, String userId, boolean isAdmin);
+}
@@ -0,0 +1,28 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.event.PostScheduleChangedEvent;
+
+/**
+ * Interface cho PostSchedulerService
+ * - Giữ hẹn giờ xuất bản/gỡ bài viết trong một timing wheel trong bộ nhớ, nạp từ database khi khởi động
+ * - Khi có hẹn giờ đến hạn, đổi trạng thái mọi bài viết đã đến hạn theo lô (chỉ một replica chạy nhờ khóa Redis)
+ */
+public interface PostSchedulerService {
+
+    /**
+     * Đặt lại hẹn giờ khi lịch của bài viết thay đổi (chạy sau khi commit)
+     * @param event Sự kiện thay đổi lịch
+     */
+    void onScheduleChanged(PostScheduleChangedEvent event);
+
+    /**
+     * Nạp lại toàn bộ hẹn giờ từ database
+     */
+    void reload();
+
+    /**
+     * Xuất bản/gỡ mọi bài viết đã đến hạn
+     * @return Số bài viết đã đổi trạng thái, -1 nếu replica khác đang giữ khóa
+     */
+    int runDue();
+}
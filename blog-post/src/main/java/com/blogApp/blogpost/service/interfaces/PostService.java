@@ -2,11 +2,19 @@ package com.blogApp.blogpost.service.interfaces;
 
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.filter.PostFilterRequest;
 import com.blogApp.blogpost.dto.request.PostCreateRequest;
+import com.blogApp.blogpost.dto.request.PostScheduleRequest;
+import com.blogApp.blogpost.dto.request.PostStatusBatchRequest;
 import com.blogApp.blogpost.dto.request.PostUpdateRequest;
+import com.blogApp.blogpost.dto.response.PostScheduleDTO;
+import com.blogApp.blogpost.dto.response.PostStatusBatchResultDTO;
 import com.blogApp.blogpost.dto.response.PostSummaryDTO;
+import com.blogApp.blogpost.dto.response.VersionedDTO;
 import com.blogApp.blogcommon.exception.UnauthorizedException;
+import com.blogApp.blogpost.model.TrendingWindow;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -46,6 +54,34 @@ public interface PostService {
      */
     PostSummaryDTO getPostBySlug(String slug);
 
+    /**
+     * Lấy bài viết theo ID kèm ETag của phiên bản đang cache
+     * @param id ID của bài viết
+     * @return Bài viết và ETag
+     */
+    VersionedDTO<PostSummaryDTO> getVersionedPostById(UUID id);
+
+    /**
+     * Lấy bài viết theo slug kèm ETag của phiên bản đang cache
+     * @param slug slug của bài viết
+     * @return Bài viết và ETag
+     */
+    VersionedDTO<PostSummaryDTO> getVersionedPostBySlug(String slug);
+
+    /**
+     * Lấy ETag đã cache của bài viết mà không đọc nội dung
+     * @param id ID của bài viết
+     * @return ETag, hoặc null nếu bài viết chưa được cache
+     */
+    String getPostETag(UUID id);
+
+    /**
+     * Lấy ETag đã cache của bài viết theo slug mà không đọc nội dung
+     * @param slug slug của bài viết
+     * @return ETag, hoặc null nếu bài viết chưa được cache
+     */
+    String getPostETagBySlug(String slug);
+
     /**
      * Cập nhật bài viết
      * @param id ID của bài viết
@@ -107,6 +143,15 @@ public interface PostService {
      */
     PagedResponse<PostSummaryDTO> getPostsByStatus(PostStatus status, int pageNo, int pageSize, String sortBy, String sortDir);
 
+    /**
+     * Lấy bài viết đã xuất bản mới nhất (trang chủ)
+     * - Đọc từ feed trong Redis, không truy vấn database khi bài viết đã có trong cache
+     * @param pageNo Số trang
+     * @param pageSize Kích thước trang
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết
+     */
+    PagedResponse<PostSummaryDTO> getLatestPosts(int pageNo, int pageSize);
+
     /**
      * Lấy bài viết theo tagId
      * @param tagId ID của tag
@@ -119,7 +164,70 @@ public interface PostService {
     PagedResponse<PostSummaryDTO> getPostsByTag(UUID tagId, int pageNo, int pageSize, String sortBy, String sortDir);
 
     /**
-     * Tìm kiếm bài viết
+     * Lấy tất cả bài viết theo cursor (phân trang keyset, không đếm tổng)
+     * @param cursor Cursor của trang trước, null hoặc rỗng để lấy trang đầu
+     * @param pageSize Kích thước trang
+     * @param sortBy Trường sắp xếp: createdAt hoặc publishedAt
+     * @param sortDir Hướng sắp xếp
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết và nextCursor
+     */
+    PagedResponse<PostSummaryDTO> getAllPostsAfter(String cursor, int pageSize, String sortBy, String sortDir);
+
+    /**
+     * Lấy bài viết theo authorId theo cursor (phân trang keyset, không đếm tổng)
+     * @param authorId ID của author
+     * @param cursor Cursor của trang trước, null hoặc rỗng để lấy trang đầu
+     * @param pageSize Kích thước trang
+     * @param sortBy Trường sắp xếp: createdAt hoặc publishedAt
+     * @param sortDir Hướng sắp xếp
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết và nextCursor
+     */
+    PagedResponse<PostSummaryDTO> getPostsByAuthorAfter(String authorId, String cursor, int pageSize, String sortBy, String sortDir);
+
+    /**
+     * Lấy bài viết đã xuất bản theo categoryId theo cursor (phân trang keyset, không đếm tổng)
+     * @param categoryId ID của category
+     * @param cursor Cursor của trang trước, null hoặc rỗng để lấy trang đầu
+     * @param pageSize Kích thước trang
+     * @param sortBy Trường sắp xếp: createdAt hoặc publishedAt
+     * @param sortDir Hướng sắp xếp
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết và nextCursor
+     */
+    PagedResponse<PostSummaryDTO> getPostsByCategoryAfter(UUID categoryId, String cursor, int pageSize, String sortBy, String sortDir);
+
+    /**
+     * Lấy bài viết theo status theo cursor (phân trang keyset, không đếm tổng)
+     * @param status Trạng thái bài viết
+     * @param cursor Cursor của trang trước, null hoặc rỗng để lấy trang đầu
+     * @param pageSize Kích thước trang
+     * @param sortBy Trường sắp xếp: createdAt hoặc publishedAt
+     * @param sortDir Hướng sắp xếp
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết và nextCursor
+     */
+    PagedResponse<PostSummaryDTO> getPostsByStatusAfter(PostStatus status, String cursor, int pageSize, String sortBy, String sortDir);
+
+    /**
+     * Lấy bài viết đã xuất bản theo tagId theo cursor (phân trang keyset, không đếm tổng)
+     * @param tagId ID của tag
+     * @param cursor Cursor của trang trước, null hoặc rỗng để lấy trang đầu
+     * @param pageSize Kích thước trang
+     * @param sortBy Trường sắp xếp: createdAt hoặc publishedAt
+     * @param sortDir Hướng sắp xếp
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết và nextCursor
+     */
+    PagedResponse<PostSummaryDTO> getPostsByTagAfter(UUID tagId, String cursor, int pageSize, String sortBy, String sortDir);
+
+    /**
+     * Lọc bài viết theo nhiều tiêu chí trong một truy vấn
+     * - Có keyword: chạy trên chỉ mục full-text, mặc định sắp xếp theo độ liên quan
+     * - Không có keyword: chạy một truy vấn JPA Specification
+     * @param filter Bộ lọc (statuses rỗng được hiểu là chỉ bài viết đã xuất bản)
+     * @return PagedResponse<PostSummaryDTO> chứa danh sách bài viết
+     */
+    PagedResponse<PostSummaryDTO> filterPosts(PostFilterRequest filter);
+
+    /**
+     * Tìm kiếm bài viết đã xuất bản trên chỉ mục full-text, sắp xếp theo độ liên quan
      * @param keyword Từ khóa tìm kiếm
      * @param pageNo Số trang
      * @param pageSize Kích thước trang
@@ -127,6 +235,22 @@ public interface PostService {
      */
     PagedResponse<PostSummaryDTO> searchPosts(String keyword, int pageNo, int pageSize);
 
+    /**
+     * Lấy các bài viết đã xuất bản liên quan đến một bài viết (chung tag, danh mục)
+     * @param id ID của bài viết
+     * @param limit Số bài viết tối đa
+     * @return Danh sách bài viết theo độ liên quan giảm dần
+     */
+    List<PostSummaryDTO> getRelatedPosts(UUID id, int limit);
+
+    /**
+     * Lấy các bài viết đã xuất bản đang là xu hướng, xếp theo điểm suy giảm theo thời gian
+     * @param window Cửa sổ xu hướng (DAY, WEEK, MONTH)
+     * @param limit Số bài viết tối đa
+     * @return Danh sách bài viết theo điểm xu hướng giảm dần
+     */
+    List<PostSummaryDTO> getTrendingPosts(TrendingWindow window, int limit);
+
     /**
      * Cập nhật trạng thái bài viết
      * @param id ID của bài viết
@@ -137,6 +261,31 @@ public interface PostService {
      */
     PostSummaryDTO updatePostStatus(UUID id, PostStatus status, String userId);
 
+    /**
+     * Hẹn giờ xuất bản/gỡ bài viết
+     * - publishAt: bài viết chưa xuất bản chuyển sang SCHEDULED và tự xuất bản khi đến giờ;
+     *   để trống khi bài viết đang SCHEDULED thì hủy lịch và đưa về DRAFT
+     * - unpublishAt: bài viết đã/sắp xuất bản tự chuyển sang ARCHIVED khi đến giờ; để trống thì hủy
+     * @param id ID của bài viết
+     * @param request Các mốc hẹn giờ
+     * @param userId ID của người dùng thực hiện
+     * @param isAdmin Người dùng có quyền admin hay không
+     * @return Lịch hiện tại của bài viết
+     * @throws UnauthorizedException nếu người dùng không phải tác giả hoặc không có quyền admin
+     */
+    PostScheduleDTO schedulePost(UUID id, PostScheduleRequest request, String userId, boolean isAdmin);
+
+    /**
+     * Đổi trạng thái nhiều bài viết cùng lúc
+     * - Quyền được kiểm tra một lần: admin đổi được mọi bài viết, người dùng khác chỉ đổi bài viết của mình
+     * - Cập nhật theo chunk bằng UPDATE ... WHERE id IN (...), cache liên quan được xóa một lần ở cuối
+     * @param request Danh sách id và trạng thái mới
+     * @param userId ID của người dùng thực hiện
+     * @param isAdmin Người dùng có quyền admin hay không
+     * @return Kết quả: số bài viết đã cập nhật, id không tồn tại, id không có quyền
+     */
+    PostStatusBatchResultDTO updatePostStatusBatch(PostStatusBatchRequest request, String userId, boolean isAdmin);
+
     /**
      * Tăng số lượt xem bài viết
      * @param id ID của bài viết
@@ -0,0 +1,34 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface cho RelatedPostService
+ * - Giữ trong bộ nhớ danh sách bài viết liên quan đã tính sẵn của mọi bài viết đã xuất bản
+ * - Độ liên quan là độ tương đồng Jaccard trên tập tag và danh mục
+ * - Chỉ mục được dựng lại định kỳ và cập nhật từng phần khi bài viết thay đổi
+ */
+public interface RelatedPostService {
+
+    /**
+     * Lấy id các bài viết liên quan
+     * @param postId ID của bài viết
+     * @param limit Số bài viết tối đa
+     * @return Danh sách id theo độ liên quan giảm dần (rỗng nếu bài viết không có trong chỉ mục)
+     */
+    List<UUID> getRelatedPostIds(UUID postId, int limit);
+
+    /**
+     * Cập nhật chỉ mục khi tag, danh mục hoặc trạng thái của bài viết thay đổi (chạy sau khi commit)
+     * @param event Sự kiện thay đổi
+     */
+    void onRelationsChanged(PostRelationsChangedEvent event);
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ database
+     */
+    void rebuild();
+}
@@ -0,0 +1,32 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.dto.response.SiteDocument;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+
+/**
+ * Interface cho SitemapService
+ * - Giữ sitemap (chia shard) và RSS/Atom đã render sẵn, nén gzip trong Redis
+ * - Cập nhật từng phần khi bài viết được xuất bản, sửa, gỡ hoặc xóa; chỉ shard bị ảnh hưởng được render lại
+ * - Dựng lại toàn bộ khi chưa có và định kỳ để cân bằng lại số shard
+ */
+public interface SitemapService {
+
+    /**
+     * Cập nhật mục sitemap của bài viết và đánh dấu shard/feed cần render lại (chạy sau khi commit)
+     * @param event Sự kiện thay đổi bài viết
+     */
+    void onPostChanged(PostRelationsChangedEvent event);
+
+    /**
+     * Lấy tài liệu đã render
+     * @param name Tên tài liệu (xem SiteDocument)
+     * @param withBody false nếu chỉ cần etag và lastModified
+     * @return Tài liệu, hoặc null nếu không tồn tại
+     */
+    SiteDocument getDocument(String name, boolean withBody);
+
+    /**
+     * Dựng lại toàn bộ sitemap và feed từ database
+     */
+    void rebuild();
+}
@@ -0,0 +1,39 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.dto.response.SuggestResponseDTO;
+import com.blogApp.blogpost.event.PostRelationsChangedEvent;
+import com.blogApp.blogpost.event.TaxonomyChangedEvent;
+
+/**
+ * Interface cho SuggestService
+ * - Gợi ý tìm kiếm (autocomplete) theo tiền tố từ chỉ mục trong bộ nhớ, không truy cập database khi đọc
+ * - Chỉ mục gồm tiêu đề bài viết đã xuất bản, tên tag và tên danh mục, so khớp không dấu
+ * - Được dựng lại định kỳ và cập nhật từng mục khi bài viết, tag hoặc danh mục thay đổi
+ */
+public interface SuggestService {
+
+    /**
+     * Lấy gợi ý cho chuỗi người dùng đang gõ
+     * @param query Chuỗi tìm kiếm (có dấu hoặc không dấu)
+     * @param limit Số gợi ý tối đa cho mỗi loại
+     * @return Gợi ý theo loại, mỗi loại sắp theo độ phổ biến giảm dần
+     */
+    SuggestResponseDTO suggest(String query, int limit);
+
+    /**
+     * Cập nhật mục của bài viết khi bài viết được tạo, sửa, đổi trạng thái hoặc bị xóa (chạy sau khi commit)
+     * @param event Sự kiện thay đổi bài viết
+     */
+    void onPostChanged(PostRelationsChangedEvent event);
+
+    /**
+     * Cập nhật mục của tag/danh mục khi được tạo, đổi tên hoặc bị xóa (chạy sau khi commit)
+     * @param event Sự kiện thay đổi tag/danh mục
+     */
+    void onTaxonomyChanged(TaxonomyChangedEvent event);
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ database (cập nhật luôn độ phổ biến)
+     */
+    void rebuild();
+}
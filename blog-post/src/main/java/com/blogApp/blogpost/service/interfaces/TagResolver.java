@@ -0,0 +1,42 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.model.Tag;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Interface cho TagResolver
+ * - Chuyển một tập tên tag thành các Tag để gắn vào bài viết
+ * - Tên đã biết được tra trong từ điển tên -> id trong bộ nhớ (không phân biệt hoa thường, như collation của cột name)
+ * - Tên chưa biết được tìm bằng một truy vấn IN, tag còn thiếu được tạo theo lô
+ */
+public interface TagResolver {
+
+    /**
+     * Lấy (hoặc tạo) các tag theo tên
+     * @param names Tập tên tag, tên rỗng bị bỏ qua
+     * @return Các Tag thuộc persistence context hiện tại (có thể là reference chưa tải)
+     */
+    Set<Tag> resolve(Collection<String> names);
+
+    /**
+     * Lấy (hoặc tạo) id của các tag theo tên, không cần persistence context (dùng khi ghi bằng JDBC)
+     * @param names Tập tên tag, tên rỗng bị bỏ qua
+     * @return Map tên tag (đã trim, giữ nguyên cách viết của đầu vào) -> id
+     */
+    Map<String, UUID> resolveIds(Collection<String> names);
+
+    /**
+     * Xóa một tên tag khỏi từ điển (khi tag bị đổi tên hoặc bị xóa)
+     * @param name Tên tag
+     */
+    void evict(String name);
+
+    /**
+     * Nạp lại toàn bộ từ điển tên tag từ database
+     */
+    void refresh();
+}
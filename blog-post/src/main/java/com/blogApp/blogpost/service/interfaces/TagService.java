@@ -2,6 +2,7 @@ package com.blogApp.blogpost.service.interfaces;
 
 import com.blogApp.blogcommon.dto.response.PagedResponse;
 import com.blogApp.blogcommon.dto.TagDTO;
+import com.blogApp.blogpost.dto.response.VersionedDTO;
 
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +30,34 @@ public interface TagService {
      */ 
     TagDTO getTagBySlug(String slug);
 
+    /**
+     * Lấy tag theo ID kèm ETag của phiên bản đang cache
+     * @param id ID của tag
+     * @return TagDTO và ETag
+     */
+    VersionedDTO<TagDTO> getVersionedTagById(UUID id);
+
+    /**
+     * Lấy tag theo slug kèm ETag của phiên bản đang cache
+     * @param slug Slug của tag
+     * @return TagDTO và ETag
+     */
+    VersionedDTO<TagDTO> getVersionedTagBySlug(String slug);
+
+    /**
+     * Lấy ETag đã cache của tag mà không đọc nội dung
+     * @param id ID của tag
+     * @return ETag, hoặc null nếu chưa được cache
+     */
+    String getTagETag(UUID id);
+
+    /**
+     * Lấy ETag đã cache của tag theo slug mà không đọc nội dung
+     * @param slug Slug của tag
+     * @return ETag, hoặc null nếu chưa được cache
+     */
+    String getTagETagBySlug(String slug);
+
     /**
      * Cập nhật tag
      * @param id ID của tag
@@ -0,0 +1,53 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import com.blogApp.blogpost.model.TrendingWindow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface cho TrendingService
+ * - Giữ điểm xu hướng suy giảm theo hàm mũ cho từng bài viết trong Redis sorted set (mỗi cửa sổ một set)
+ * - Điểm được cộng từ lượt xem và bình luận đã duyệt, đọc top-K với độ phức tạp O(log n + K)
+ * - Định kỳ lưu snapshot xuống database để khôi phục khi Redis mất dữ liệu
+ */
+public interface TrendingService {
+
+    /**
+     * Ghi nhận một lượt xem cho bài viết
+     * @param postId ID của bài viết
+     */
+    void recordView(UUID postId);
+
+    /**
+     * Ghi nhận một bình luận được duyệt cho bài viết
+     * @param postId ID của bài viết
+     */
+    void recordComment(UUID postId);
+
+    /**
+     * Bỏ bài viết khỏi mọi bảng xu hướng (khi bị xóa hoặc không còn xuất bản)
+     * @param postId ID của bài viết
+     */
+    void remove(UUID postId);
+
+    /**
+     * Bỏ nhiều bài viết khỏi mọi bảng xu hướng (một lệnh ZREM cho mỗi cửa sổ)
+     * @param postIds ID các bài viết
+     */
+    void removeAll(Collection<UUID> postIds);
+
+    /**
+     * Lấy id các bài viết có điểm xu hướng cao nhất
+     * @param window Cửa sổ xu hướng
+     * @param limit Số bài viết tối đa
+     * @return Danh sách id theo điểm giảm dần
+     */
+    List<UUID> getTopPostIds(TrendingWindow window, int limit);
+
+    /**
+     * Ghi các điểm đang chờ vào Redis
+     */
+    void flush();
+}
@@ -0,0 +1,40 @@
+package com.blogApp.blogpost.service.interfaces;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Interface cho ViewCountService
+ * - Ghi nhận lượt xem trong bộ nhớ thay vì cập nhật database cho từng lượt xem
+ * - Định kỳ ghi dồn (write-behind) xuống cột posts.view_count
+ * - Lượt xem đã ghi được công bố lên Redis để trang danh sách đã cache không hiển thị lượt xem cũ
+ */
+public interface ViewCountService {
+
+    /**
+     * Ghi nhận một lượt xem cho bài viết
+     * @param postId ID của bài viết
+     */
+    void recordView(UUID postId);
+
+    /**
+     * Lấy số lượt xem đã ghi nhận nhưng chưa ghi xuống database
+     * @param postId ID của bài viết
+     * @return Số lượt xem đang chờ ghi
+     */
+    long getPendingViews(UUID postId);
+
+    /**
+     * Lấy lượt xem đã ghi xuống database gần nhất của nhiều bài viết bằng một lệnh Redis
+     * - Dùng cho trang danh sách đã cache: view_count trong cache có thể cũ hơn giá trị này
+     * @param postIds Danh sách id bài viết
+     * @return id -> lượt xem đã ghi, không có phần tử cho bài viết chưa được ghi gần đây
+     */
+    Map<UUID, Long> getFlushedViews(Collection<UUID> postIds);
+
+    /**
+     * Ghi toàn bộ lượt xem đang chờ xuống database
+     */
+    void flush();
+}
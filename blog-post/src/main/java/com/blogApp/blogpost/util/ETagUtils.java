@@ -0,0 +1,76 @@
+package com.blogApp.blogpost.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Tạo ETag cho DTO trả về từ API đọc
+ * - Dạng "<updatedAt base36>-<hash phiên bản>": phần đầu là thời điểm cập nhật (dùng lại làm Last-Modified),
+ *   phần sau là SHA-256 (16 ký tự hex) của JSON trả về client
+ * - Các trường thay đổi liên tục (như lượt xem) được loại khỏi hash để không làm mất hiệu lực ETag; khi đó
+ *   hai response cùng ETag có thể khác nhau từng byte nên ETag là ETag yếu (W/"...")
+ */
+@Component
+public class ETagUtils {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private final ObjectMapper objectMapper;
+
+    public ETagUtils(@Qualifier("httpObjectMapper") ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Tạo ETag (đã có dấu ngoặc kép) cho DTO
+     * @param updatedAt Thời điểm cập nhật của entity
+     * @param dto DTO sẽ trả về client
+     * @param ignoredFields Các trường không tính vào hash, có trường bị loại thì ETag là ETag yếu
+     */
+    public String generate(LocalDateTime updatedAt, Object dto, String... ignoredFields) {
+        try {
+            ObjectNode tree = objectMapper.valueToTree(dto);
+            tree.remove(List.of(ignoredFields));
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(tree));
+            long millis = updatedAt == null ? 0 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            String tag = "\"" + Long.toString(millis, 36) + "-" + HexFormat.of().formatHex(hash, 0, 8) + "\"";
+            return ignoredFields.length > 0 ? WEAK_PREFIX + tag : tag;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Không thể tạo ETag: " + e.getOriginalMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không được hỗ trợ", e);
+        }
+    }
+
+    /**
+     * Lấy thời điểm cập nhật (epoch ms) từ ETag do generate tạo
+     * @return -1 nếu ETag không đúng định dạng hoặc không có thời điểm cập nhật
+     */
+    public static long lastModified(String etag) {
+        if (etag == null) {
+            return -1;
+        }
+        int start = etag.startsWith(WEAK_PREFIX) ? WEAK_PREFIX.length() : 0;
+        start += etag.startsWith("\"", start) ? 1 : 0;
+        int end = etag.indexOf('-', start);
+        if (end <= start) {
+            return -1;
+        }
+        try {
+            long millis = Long.parseLong(etag, start, end, 36);
+            return millis > 0 ? millis : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogpost.dto.response.VersionedDTO;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Xử lý GET có điều kiện (If-None-Match/If-Modified-Since) và Cache-Control cho các API đọc
+ * - Kiểm tra bằng ETag đã cache trước, trả về 304 mà không đọc hay serialize DTO
+ * - Khi cache chưa có ETag, so lại If-None-Match với ETag vừa tính sau khi đọc DTO
+ * - Người dùng ẩn danh nhận Cache-Control public (kèm s-maxage) để HTTP cache dùng chung hấp thụ lượt đọc,
+ *   người dùng đã đăng nhập nhận private, no-cache (luôn kiểm tra lại bằng ETag)
+ */
+@Component
+public class HttpCacheUtils {
+
+    @Value("${blog.post.http-cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @Value("${blog.post.http-cache.shared-max-age-seconds:300}")
+    private long sharedMaxAgeSeconds;
+
+    /**
+     * @param cachedETag Đọc ETag đã cache (null nếu không có)
+     * @param loader Đọc DTO kèm ETag khi cần trả về nội dung
+     * @param anonymous true nếu request không đăng nhập
+     * @return Response 200, hoặc null nếu đã trả về 304
+     */
+    public <T> ResponseEntity<T> conditionalGet(Supplier<String> cachedETag, Supplier<VersionedDTO<T>> loader,
+                                                boolean anonymous, ServletWebRequest request) {
+        CacheControl cacheControl = anonymous
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                        .sMaxAge(sharedMaxAgeSeconds, TimeUnit.SECONDS)
+                        .cachePublic()
+                : CacheControl.noCache().cachePrivate();
+        // Đặt trước để response 304 cũng có Cache-Control
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+
+        String etag = cachedETag.get();
+        if (etag != null && request.checkNotModified(etag, ETagUtils.lastModified(etag))) {
+            return null;
+        }
+
+        VersionedDTO<T> versioned = loader.get();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(cacheControl);
+        if (versioned.getEtag() != null) {
+            long lastModified = ETagUtils.lastModified(versioned.getEtag());
+            // Cache vừa hết hạn hoặc bị xóa: ETag của client vẫn có thể khớp với bản vừa đọc
+            if (!versioned.getEtag().equals(etag) && request.checkNotModified(versioned.getEtag(), lastModified)) {
+                return null;
+            }
+            builder.eTag(versioned.getEtag());
+            if (lastModified > 0) {
+                builder.lastModified(lastModified);
+            }
+        }
+        return builder.body(versioned.getBody());
+    }
+}
@@ -1,15 +1,61 @@
 package com.blogApp.blogpost.util;
 
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Node;
+import lombok.RequiredArgsConstructor;
+import com.blogApp.blogpost.dto.response.TocEntry;
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Tiện ích xử lý nội dung bài viết
+ * - render() làm mọi việc cần parse nội dung trong một lần: markdown -> HTML -> làm sạch, rồi trên cùng cây
+ *   DOM đó gán id cho tiêu đề, lập mục lục, đếm từ và cắt đoạn trích
  */
 @Component
+@RequiredArgsConstructor
 public class PostContentProcessor {
 
+    /**
+     * Danh sách thẻ HTML và thuộc tính an toàn, chỉ khởi tạo một lần
+     * (Jsoup.clean chỉ đọc Safelist nên có thể dùng chung giữa các thread)
+     */
+    private static final Safelist SAFELIST = Safelist.basicWithImages()
+            .addTags("h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "pre", "hr")
+            .addAttributes("a", "target", "rel")
+            .addAttributes("img", "width", "height", "alt");
+
+    private final Parser markdownParser;
+    private final HtmlRenderer htmlRenderer;
+    private final SlugUtils slugUtils;
+
+    @Value("${blog.post.render.words-per-minute:200}")
+    private int wordsPerMinute;
+
+    @Value("${blog.post.render.excerpt-length:300}")
+    private int excerptLength;
+
+    @Value("${blog.post.render.toc-max-level:3}")
+    private int tocMaxLevel;
+
+    @Value("${blog.post.duplicates.shingle-size:3}")
+    private int shingleSize;
+
     /**
      * Làm sạch nội dung HTML để phòng tránh XSS
      * @param content Nội dung HTML
@@ -20,13 +66,68 @@ public class PostContentProcessor {
             return "";
         }
 
-        // Cho phép các thẻ HTML cơ bản và thuộc tính an toàn
-        Safelist safelist = Safelist.basicWithImages();
-        safelist.addTags("h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "pre", "hr")
-                .addAttributes("a", "target", "rel")
-                .addAttributes("img", "width", "height", "alt");
+        return Jsoup.clean(content, SAFELIST);
+    }
+
+    /**
+     * Render markdown và tính các trường suy ra trong cùng một lần parse
+     * - HTML: markdown -> HTML -> Jsoup sanitize, các thẻ tiêu đề được gán id (slug của tiêu đề) để làm anchor
+     * - Mục lục: các tiêu đề có cấp <= toc-max-level
+     * - Số từ và thời gian đọc (làm tròn lên theo words-per-minute) tính trên text của HTML đã làm sạch
+     * - Đoạn trích: tối đa excerpt-length ký tự đầu, cắt tại dấu cách
+     * - SimHash trên text đã chuẩn hóa không dấu
+     * @param markdown Nội dung markdown
+     * @return HTML an toàn để hiển thị cùng các trường suy ra
+     */
+    public RenderedContent render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return new RenderedContent("", 0, 0, "", "", 0L);
+        }
+
+        Node node = markdownParser.parse(markdown);
+        Document document = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(htmlRenderer.render(node)));
+        String tableOfContents = assignHeadingAnchors(document);
+
+        String text = document.body().text();
+        int wordCount = countWords(text);
+        int readingTimeMinutes = wordCount == 0 ? 0 : (wordCount + wordsPerMinute - 1) / wordsPerMinute;
+        return new RenderedContent(document.body().html(), wordCount, readingTimeMinutes,
+                truncate(text, excerptLength), tableOfContents, SimHash.fingerprint(slugUtils.fold(text), shingleSize));
+    }
+
+    /**
+     * Đọc mục lục đã lưu cùng bài viết
+     * @param tableOfContents Mục lục dạng mã hóa, mỗi dòng "cấp\tanchor\ttiêu đề"
+     * @return Danh sách mục theo thứ tự xuất hiện (rỗng nếu chưa có)
+     */
+    public List<TocEntry> parseTableOfContents(String tableOfContents) {
+        List<TocEntry> entries = new ArrayList<>();
+        if (tableOfContents == null || tableOfContents.isEmpty()) {
+            return entries;
+        }
+
+        for (String line : tableOfContents.split("\n")) {
+            String[] parts = line.split("\t", 3);
+            if (parts.length == 3) {
+                entries.add(new TocEntry(Integer.parseInt(parts[0]), parts[1], parts[2]));
+            }
+        }
+        return entries;
+    }
 
-        return Jsoup.clean(content, safelist);
+    /**
+     * Tính hash SHA-256 của nội dung, dùng làm khóa cho HTML đã render
+     * @param content Nội dung markdown
+     * @return Chuỗi hex 64 ký tự
+     */
+    public String hashContent(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((content == null ? "" : content).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không được hỗ trợ", e);
+        }
     }
 
     /**
@@ -41,8 +142,68 @@ public class PostContentProcessor {
         }
 
         // Xóa tất cả thẻ HTML và chỉ lấy text
-        String plainText = Jsoup.parse(content).text();
+        return truncate(Jsoup.parse(content).text(), maxLength);
+    }
+
+    /**
+     * Gán id cho các thẻ tiêu đề (trùng thì thêm hậu tố -2, -3...) và lập mục lục
+     * - Text của tiêu đề đã được Jsoup chuẩn hóa khoảng trắng nên không chứa tab/xuống dòng
+     * @return Mục lục dạng mã hóa
+     */
+    private String assignHeadingAnchors(Document document) {
+        StringBuilder tableOfContents = new StringBuilder();
+        Set<String> usedAnchors = new HashSet<>();
+        for (Element heading : document.body().select("h1, h2, h3, h4, h5, h6")) {
+            String text = heading.text();
+            if (text.isEmpty()) {
+                continue;
+            }
+
+            String base = slugUtils.createSlug(text);
+            if (base.isEmpty()) {
+                base = "section";
+            }
+            String anchor = base;
+            for (int suffix = 2; !usedAnchors.add(anchor); suffix++) {
+                anchor = base + "-" + suffix;
+            }
+            heading.attr("id", anchor);
+
+            int level = heading.tagName().charAt(1) - '0';
+            if (level <= tocMaxLevel) {
+                tableOfContents.append(level).append('\t').append(anchor).append('\t').append(text).append('\n');
+            }
+        }
+        return tableOfContents.toString();
+    }
+
+    /**
+     * Đếm từ: mỗi cụm ký tự liên tiếp không phải khoảng trắng có chứa chữ hoặc số là một từ
+     * (tiếng Việt tính theo âm tiết)
+     */
+    private int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        boolean counted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                inWord = false;
+                continue;
+            }
+            if (!inWord) {
+                inWord = true;
+                counted = false;
+            }
+            if (!counted && Character.isLetterOrDigit(c)) {
+                words++;
+                counted = true;
+            }
+        }
+        return words;
+    }
 
+    private String truncate(String plainText, int maxLength) {
         if (plainText.length() <= maxLength) {
             return plainText;
         }
@@ -55,4 +216,4 @@ public class PostContentProcessor {
 
         return plainText.substring(0, lastSpaceIndex) + "...";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogcommon.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cursor cho phân trang keyset của bài viết
+ * - Mã hóa (trường sắp xếp, hướng, giá trị thời gian, id) thành chuỗi Base64 URL-safe
+ * - Client chỉ coi cursor là chuỗi mờ (opaque) và gửi lại nguyên vẹn để lấy trang tiếp theo
+ */
+@Getter
+@AllArgsConstructor
+public class PostCursor {
+
+    /**
+     * Các trường được phép dùng làm khóa sắp xếp cho cursor
+     */
+    public static final Set<String> SORT_FIELDS = Set.of("createdAt", "publishedAt");
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final LocalDateTime value;
+    private final UUID id;
+
+    /**
+     * Mã hóa cursor thành chuỗi gửi cho client
+     */
+    public String encode() {
+        String raw = sortBy + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Giải mã cursor từ client
+     * @param cursor Chuỗi cursor đã mã hóa
+     * @return PostCursor
+     * @throws BadRequestException nếu cursor không hợp lệ
+     */
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 4 || !SORT_FIELDS.contains(parts[0])) {
+                throw new BadRequestException("Cursor không hợp lệ");
+            }
+            return new PostCursor(parts[0], Sort.Direction.valueOf(parts[1]),
+                    LocalDateTime.parse(parts[2]), UUID.fromString(parts[3]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor không hợp lệ");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogpost.dto.response.ReindexProgressDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.mapper.pojo.massindexing.MassIndexingMonitor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Theo dõi tiến độ một lần xây dựng lại chỉ mục
+ * - Được MassIndexer gọi từ nhiều thread nên chỉ dùng biến atomic/volatile
+ * - Tính tốc độ (document/giây) và thời gian còn lại dự kiến từ số document đã ghi
+ */
+@Slf4j
+public class ReindexProgressMonitor implements MassIndexingMonitor {
+
+    private static final long LOG_EVERY = 1000;
+
+    private final LocalDateTime updatedSince;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong entitiesLoaded = new AtomicLong();
+    private final AtomicLong documentsAdded = new AtomicLong();
+
+    private volatile String state = "RUNNING";
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ReindexProgressMonitor(LocalDateTime updatedSince) {
+        this.updatedSince = updatedSince;
+    }
+
+    @Override
+    public void documentsAdded(long increment) {
+        long added = documentsAdded.addAndGet(increment);
+        if (added / LOG_EVERY != (added - increment) / LOG_EVERY) {
+            log.info("Đã đánh chỉ mục {}/{} bài viết", added, totalCount.get());
+        }
+    }
+
+    @Override
+    public void documentsBuilt(long increment) {
+        // Không cần theo dõi riêng, documentsAdded đã phản ánh tiến độ thực tế
+    }
+
+    @Override
+    public void entitiesLoaded(long increment) {
+        entitiesLoaded.addAndGet(increment);
+    }
+
+    @Override
+    public void addToTotalCount(long increment) {
+        totalCount.addAndGet(increment);
+    }
+
+    @Override
+    public void indexingCompleted() {
+        log.info("MassIndexer đã ghi xong {} document", documentsAdded.get());
+    }
+
+    public boolean isRunning() {
+        return "RUNNING".equals(state);
+    }
+
+    public void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        state = "COMPLETED";
+    }
+
+    public void markFailed(Throwable cause) {
+        finishedAt = LocalDateTime.now();
+        error = cause.getMessage();
+        state = "FAILED";
+    }
+
+    /**
+     * Chụp lại tiến độ hiện tại
+     */
+    public ReindexProgressDTO snapshot() {
+        long total = totalCount.get();
+        long added = documentsAdded.get();
+        double elapsedSeconds = Duration.ofNanos(System.nanoTime() - startNanos).toMillis() / 1000.0;
+        double rate = elapsedSeconds > 0 ? added / elapsedSeconds : 0;
+
+        Long eta = null;
+        if (isRunning() && rate > 0 && total >= added) {
+            eta = Math.round((total - added) / rate);
+        }
+
+        return ReindexProgressDTO.builder()
+                .state(state)
+                .updatedSince(updatedSince)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .totalCount(total)
+                .entitiesLoaded(entitiesLoaded.get())
+                .documentsAdded(added)
+                .percent(total > 0 ? Math.min(100.0, added * 100.0 / total) : 0)
+                .documentsPerSecond(rate)
+                .etaSeconds(eta)
+                .error(error)
+                .build();
+    }
+}
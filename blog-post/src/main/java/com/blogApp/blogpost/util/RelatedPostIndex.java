@@ -0,0 +1,338 @@
+package com.blogApp.blogpost.util;
+
+import java.util.*;
+
+/**
+ * Chỉ mục bài viết liên quan theo độ tương đồng Jaccard trên tập tag và danh mục
+ * - Bài viết, tag và danh mục được đánh số int liên tiếp; tập đặc trưng của bài viết và danh sách bài viết
+ *   của mỗi đặc trưng (posting list) đều là mảng int
+ * - Độ tương đồng chỉ tính với các bài viết có chung ít nhất một đặc trưng (ma trận thưa), đặc trưng quá phổ biến
+ *   (nhiều hơn maxFeaturePosts bài viết) bị bỏ qua khi tìm ứng viên
+ * - Mỗi bài viết giữ sẵn top-K bài viết liên quan, khi một bài viết thay đổi chỉ tính lại các hàng bị ảnh hưởng
+ * - Khi một đặc trưng vượt qua (hoặc trở lại dưới) ngưỡng maxFeaturePosts, mọi bài viết có đặc trưng đó được tính lại
+ *   hàng: nhờ vậy mỗi hàng luôn được tính với ngưỡng hiện tại và hàng chứa một bài viết luôn tìm được qua posting list
+ * - Không thread-safe: chỉ một thread được cập nhật chỉ mục
+ */
+public class RelatedPostIndex {
+
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final double[] EMPTY_SCORES = new double[0];
+
+    private final int topK;
+    private final int maxFeaturePosts;
+
+    private final Map<UUID, Integer> postSlots = new HashMap<>();
+    private final Map<UUID, Integer> tagSlots = new HashMap<>();
+    private final Map<UUID, Integer> categorySlots = new HashMap<>();
+
+    private UUID[] postIds = new UUID[16];
+    private int[][] postFeatures = new int[16][];
+    private int[][] rowIds = new int[16][];
+    private double[][] rowScores = new double[16][];
+    private int[] overlap = new int[16];
+    private int postCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private int[][] postings = new int[16][];
+    private int[] postingSizes = new int[16];
+    private int featureCount;
+
+    private int[] touched = new int[16];
+    private int touchedCount;
+
+    public RelatedPostIndex(int topK, int maxFeaturePosts) {
+        this.topK = topK;
+        this.maxFeaturePosts = maxFeaturePosts;
+    }
+
+    /**
+     * Nạp tập đặc trưng của bài viết mà chưa tính hàng liên quan (dùng khi dựng toàn bộ chỉ mục)
+     */
+    public void load(UUID postId, Collection<UUID> tagIds, Collection<UUID> categoryIds) {
+        setFeatures(postSlot(postId), tagIds, categoryIds, null);
+    }
+
+    /**
+     * Tính hàng liên quan cho mọi bài viết sau khi đã nạp xong
+     */
+    public void computeAllRows() {
+        for (int slot = 0; slot < postCount; slot++) {
+            if (postIds[slot] != null) {
+                computeRow(slot);
+            }
+        }
+    }
+
+    /**
+     * Cập nhật tập đặc trưng của bài viết và tính lại các hàng bị ảnh hưởng
+     * @return Id các bài viết có hàng liên quan đã thay đổi (gồm cả bài viết được cập nhật)
+     */
+    public Set<UUID> update(UUID postId, Collection<UUID> tagIds, Collection<UUID> categoryIds) {
+        int slot = postSlot(postId);
+        BitSet dirty = new BitSet(postCount);
+
+        // Hàng đang chứa bài viết này phải tính lại vì độ tương đồng đã đổi
+        markRowsContaining(slot, dirty);
+        setFeatures(slot, tagIds, categoryIds, dirty);
+        computeRow(slot);
+
+        // Bài viết mới có chung đặc trưng chỉ cần tính lại nếu có thể lọt vào top-K của nó
+        scan(slot);
+        for (int t = 0; t < touchedCount; t++) {
+            int other = touched[t];
+            if (rowIds[other].length < topK || similarity(slot, other) > rowScores[other][rowScores[other].length - 1]) {
+                dirty.set(other);
+            }
+        }
+        clearScan();
+
+        Set<UUID> changed = recompute(dirty);
+        changed.add(postId);
+        return changed;
+    }
+
+    /**
+     * Bỏ bài viết khỏi chỉ mục và tính lại các hàng đang chứa nó
+     * @return Id các bài viết có hàng liên quan đã thay đổi
+     */
+    public Set<UUID> remove(UUID postId) {
+        Integer slot = postSlots.get(postId);
+        if (slot == null) {
+            return new HashSet<>();
+        }
+
+        BitSet dirty = new BitSet(postCount);
+        markRowsContaining(slot, dirty);
+        setFeatures(slot, Collections.emptyList(), Collections.emptyList(), dirty);
+
+        postSlots.remove(postId);
+        postIds[slot] = null;
+        rowIds[slot] = EMPTY_IDS;
+        rowScores[slot] = EMPTY_SCORES;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+
+        return recompute(dirty);
+    }
+
+    /**
+     * Lấy danh sách bài viết liên quan đã tính sẵn, độ tương đồng giảm dần
+     */
+    public List<UUID> related(UUID postId) {
+        Integer slot = postSlots.get(postId);
+        if (slot == null) {
+            return Collections.emptyList();
+        }
+        int[] ids = rowIds[slot];
+        List<UUID> related = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            // Phòng hờ hàng còn trỏ tới slot đã giải phóng
+            if (postIds[id] != null) {
+                related.add(postIds[id]);
+            }
+        }
+        return related;
+    }
+
+    public Set<UUID> postIds() {
+        return new HashSet<>(postSlots.keySet());
+    }
+
+    private Set<UUID> recompute(BitSet dirty) {
+        Set<UUID> changed = new HashSet<>();
+        for (int other = dirty.nextSetBit(0); other >= 0; other = dirty.nextSetBit(other + 1)) {
+            if (postIds[other] != null) {
+                computeRow(other);
+                changed.add(postIds[other]);
+            }
+        }
+        return changed;
+    }
+
+    private void markRowsContaining(int slot, BitSet dirty) {
+        scan(slot);
+        for (int t = 0; t < touchedCount; t++) {
+            int other = touched[t];
+            for (int id : rowIds[other]) {
+                if (id == slot) {
+                    dirty.set(other);
+                    break;
+                }
+            }
+        }
+        clearScan();
+    }
+
+    /**
+     * Tính top-K bài viết liên quan của một bài viết: đếm số đặc trưng chung qua posting list,
+     * sau đó chọn K bài viết có Jaccard cao nhất bằng chèn vào mảng đã sắp xếp
+     */
+    private void computeRow(int slot) {
+        int[] ids = new int[topK];
+        double[] scores = new double[topK];
+        int size = 0;
+
+        scan(slot);
+        for (int t = 0; t < touchedCount; t++) {
+            int other = touched[t];
+            double score = similarity(slot, other);
+            if (size == topK && score <= scores[size - 1]) {
+                continue;
+            }
+            int pos = size < topK ? size++ : size - 1;
+            while (pos > 0 && scores[pos - 1] < score) {
+                ids[pos] = ids[pos - 1];
+                scores[pos] = scores[pos - 1];
+                pos--;
+            }
+            ids[pos] = other;
+            scores[pos] = score;
+        }
+        clearScan();
+
+        rowIds[slot] = Arrays.copyOf(ids, size);
+        rowScores[slot] = Arrays.copyOf(scores, size);
+    }
+
+    /**
+     * Đếm số đặc trưng chung giữa bài viết và mọi bài viết khác, kết quả nằm trong overlap/touched
+     */
+    private void scan(int slot) {
+        touchedCount = 0;
+        for (int feature : postFeatures[slot]) {
+            int size = postingSizes[feature];
+            if (size > maxFeaturePosts) {
+                continue;
+            }
+            int[] list = postings[feature];
+            for (int k = 0; k < size; k++) {
+                int other = list[k];
+                if (other != slot && overlap[other]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = other;
+                }
+            }
+        }
+    }
+
+    private void clearScan() {
+        for (int t = 0; t < touchedCount; t++) {
+            overlap[touched[t]] = 0;
+        }
+        touchedCount = 0;
+    }
+
+    private double similarity(int slot, int other) {
+        int shared = overlap[other];
+        return (double) shared / (postFeatures[slot].length + postFeatures[other].length - shared);
+    }
+
+    /**
+     * @param dirty Nhận các bài viết cần tính lại hàng khi một đặc trưng đổi phía so với ngưỡng maxFeaturePosts,
+     *              null khi đang nạp toàn bộ (mọi hàng sẽ được tính sau)
+     */
+    private void setFeatures(int slot, Collection<UUID> tagIds, Collection<UUID> categoryIds, BitSet dirty) {
+        int[] features = new int[tagIds.size() + categoryIds.size()];
+        int size = 0;
+        for (UUID tagId : tagIds) {
+            features[size++] = featureSlot(tagSlots, tagId);
+        }
+        for (UUID categoryId : categoryIds) {
+            features[size++] = featureSlot(categorySlots, categoryId);
+        }
+        features = Arrays.stream(features, 0, size).sorted().distinct().toArray();
+
+        // Chỉ sửa posting list của các đặc trưng thực sự thay đổi (cả hai mảng đều đã sắp xếp)
+        int[] previous = postFeatures[slot];
+        for (int feature : previous) {
+            if (Arrays.binarySearch(features, feature) < 0) {
+                removePosting(feature, slot);
+                if (dirty != null && postingSizes[feature] == maxFeaturePosts) {
+                    markPosting(feature, dirty);
+                }
+            }
+        }
+        for (int feature : features) {
+            if (Arrays.binarySearch(previous, feature) < 0) {
+                addPosting(feature, slot);
+                if (dirty != null && postingSizes[feature] == maxFeaturePosts + 1) {
+                    markPosting(feature, dirty);
+                }
+            }
+        }
+        postFeatures[slot] = features;
+    }
+
+    private void markPosting(int feature, BitSet dirty) {
+        int[] list = postings[feature];
+        for (int k = 0; k < postingSizes[feature]; k++) {
+            dirty.set(list[k]);
+        }
+    }
+
+    private int postSlot(UUID postId) {
+        Integer existing = postSlots.get(postId);
+        if (existing != null) {
+            return existing;
+        }
+
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : postCount++;
+        if (slot == postIds.length) {
+            int capacity = postIds.length * 2;
+            postIds = Arrays.copyOf(postIds, capacity);
+            postFeatures = Arrays.copyOf(postFeatures, capacity);
+            rowIds = Arrays.copyOf(rowIds, capacity);
+            rowScores = Arrays.copyOf(rowScores, capacity);
+            overlap = Arrays.copyOf(overlap, capacity);
+        }
+        postSlots.put(postId, slot);
+        postIds[slot] = postId;
+        postFeatures[slot] = EMPTY_IDS;
+        rowIds[slot] = EMPTY_IDS;
+        rowScores[slot] = EMPTY_SCORES;
+        return slot;
+    }
+
+    private int featureSlot(Map<UUID, Integer> slots, UUID featureId) {
+        Integer existing = slots.get(featureId);
+        if (existing != null) {
+            return existing;
+        }
+
+        int slot = featureCount++;
+        if (slot == postings.length) {
+            postings = Arrays.copyOf(postings, slot * 2);
+            postingSizes = Arrays.copyOf(postingSizes, slot * 2);
+        }
+        postings[slot] = new int[4];
+        postingSizes[slot] = 0;
+        slots.put(featureId, slot);
+        return slot;
+    }
+
+    private void addPosting(int feature, int slot) {
+        int size = postingSizes[feature];
+        if (size == postings[feature].length) {
+            postings[feature] = Arrays.copyOf(postings[feature], size * 2);
+        }
+        postings[feature][size] = slot;
+        postingSizes[feature] = size + 1;
+    }
+
+    private void removePosting(int feature, int slot) {
+        int[] list = postings[feature];
+        int size = postingSizes[feature];
+        for (int k = 0; k < size; k++) {
+            if (list[k] == slot) {
+                list[k] = list[size - 1];
+                postingSizes[feature] = size - 1;
+                return;
+            }
+        }
+    }
+}
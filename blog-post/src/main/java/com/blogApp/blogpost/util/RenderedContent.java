@@ -0,0 +1,21 @@
+package com.blogApp.blogpost.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Kết quả một lần render nội dung bài viết: HTML đã làm sạch cùng các trường suy ra từ nó
+ * - tableOfContents ở dạng đã mã hóa để lưu trong cột của Post (xem PostContentProcessor.parseTableOfContents)
+ * - simHash: dấu vân tay SimHash của text, dùng để phát hiện bài viết gần trùng
+ */
+@Getter
+@AllArgsConstructor
+public class RenderedContent {
+
+    private final String html;
+    private final int wordCount;
+    private final int readingTimeMinutes;
+    private final String excerpt;
+    private final String tableOfContents;
+    private final long simHash;
+}
@@ -0,0 +1,245 @@
+package com.blogApp.blogpost.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tính và áp dụng delta theo dòng giữa hai phiên bản nội dung
+ * - Diff bằng thuật toán Myers trên các dòng (giữ nguyên ký tự xuống dòng) sau khi bỏ phần đầu/cuối giống nhau
+ * - Delta dạng text gọn: "=n" giữ n dòng, "-n" bỏ n dòng, "+c" rồi c ký tự được chèn
+ * - Nếu khác biệt quá lớn (vượt maxEdits) thì trả về null, nơi gọi nên lưu bản đầy đủ
+ */
+public final class RevisionDelta {
+
+    private RevisionDelta() {
+    }
+
+    /**
+     * Tính delta biến base thành target
+     * @param maxEdits Số dòng thêm/xóa tối đa để tìm diff (giới hạn thời gian và bộ nhớ)
+     * @return Delta, hoặc null nếu khác biệt vượt maxEdits
+     */
+    public static String diff(String base, String target, int maxEdits) {
+        List<String> baseLines = splitLines(base);
+        List<String> targetLines = splitLines(target);
+
+        int prefix = 0;
+        while (prefix < baseLines.size() && prefix < targetLines.size()
+                && baseLines.get(prefix).equals(targetLines.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < baseLines.size() - prefix && suffix < targetLines.size() - prefix
+                && baseLines.get(baseLines.size() - 1 - suffix).equals(targetLines.get(targetLines.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        // Đổi dòng sang số để so sánh nhanh trong vòng lặp Myers
+        Map<String, Integer> ids = new HashMap<>();
+        int[] a = toIds(baseLines.subList(prefix, baseLines.size() - suffix), ids);
+        int[] b = toIds(targetLines.subList(prefix, targetLines.size() - suffix), ids);
+
+        char[] ops = myers(a, b, maxEdits);
+        if (ops == null) {
+            return null;
+        }
+
+        DeltaWriter writer = new DeltaWriter();
+        writer.keep(prefix);
+        int targetIndex = prefix;
+        for (char op : ops) {
+            switch (op) {
+                case '=' -> {
+                    writer.keep(1);
+                    targetIndex++;
+                }
+                case '-' -> writer.delete(1);
+                default -> writer.insert(targetLines.get(targetIndex++));
+            }
+        }
+        writer.keep(suffix);
+        return writer.finish();
+    }
+
+    /**
+     * Áp dụng delta lên base
+     * @throws IllegalArgumentException nếu delta không khớp với base
+     */
+    public static String apply(String base, String delta) {
+        List<String> lines = splitLines(base);
+        StringBuilder result = new StringBuilder(base.length() + 64);
+        int line = 0;
+        int pos = 0;
+        while (pos < delta.length()) {
+            char op = delta.charAt(pos);
+            int end = delta.indexOf('\n', pos);
+            if (end < 0) {
+                throw new IllegalArgumentException("Delta không hợp lệ tại vị trí " + pos);
+            }
+            int count = Integer.parseInt(delta, pos + 1, end, 10);
+            pos = end + 1;
+            switch (op) {
+                case '=' -> {
+                    if (line + count > lines.size()) {
+                        throw new IllegalArgumentException("Delta không khớp với nội dung gốc");
+                    }
+                    for (int i = 0; i < count; i++) {
+                        result.append(lines.get(line++));
+                    }
+                }
+                case '-' -> line += count;
+                case '+' -> {
+                    result.append(delta, pos, pos + count);
+                    pos += count;
+                }
+                default -> throw new IllegalArgumentException("Delta không hợp lệ tại vị trí " + (end - 1));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Tách nội dung thành các dòng, mỗi dòng giữ ký tự '\n' của nó (dòng cuối có thể không có)
+     */
+    private static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            int next = end < 0 ? text.length() : end + 1;
+            lines.add(text.substring(start, next));
+            start = next;
+        }
+        return lines;
+    }
+
+    private static int[] toIds(List<String> lines, Map<String, Integer> ids) {
+        int[] result = new int[lines.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.computeIfAbsent(lines.get(i), line -> ids.size());
+        }
+        return result;
+    }
+
+    /**
+     * Thuật toán Myers O((N+M)D): trả về chuỗi thao tác '=', '-', '+' theo thứ tự, hoặc null nếu D > maxEdits
+     */
+    private static char[] myers(int[] a, int[] b, int maxEdits) {
+        int n = a.length;
+        int m = b.length;
+        int max = Math.min(n + m, maxEdits);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]))
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[x] == b[y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, n, m, d);
+                }
+            }
+            // Lưu V của vòng d cho các k trong [-d, d]
+            int[] snapshot = new int[2 * d + 1];
+            System.arraycopy(v, offset - d, snapshot, 0, snapshot.length);
+            trace.add(snapshot);
+        }
+        return null;
+    }
+
+    private static char[] backtrack(List<int[]> trace, int n, int m, int edits) {
+        char[] ops = new char[(n + m + edits) / 2];
+        int index = ops.length;
+        int x = n;
+        int y = m;
+        for (int d = edits; d > 0; d--) {
+            int[] v = trace.get(d - 1);
+            int k = x - y;
+            int prevK = (k == -d || (k != d && valueAt(v, d - 1, k - 1) < valueAt(v, d - 1, k + 1))) ? k + 1 : k - 1;
+            int prevX = valueAt(v, d - 1, prevK);
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                ops[--index] = '=';
+                x--;
+                y--;
+            }
+            ops[--index] = x == prevX ? '+' : '-';
+            x = prevX;
+            y = prevY;
+        }
+        while (x > 0 && y > 0) {
+            ops[--index] = '=';
+            x--;
+            y--;
+        }
+        return ops;
+    }
+
+    private static int valueAt(int[] snapshot, int d, int k) {
+        return snapshot[k + d];
+    }
+
+    /**
+     * Gom các thao tác liên tiếp cùng loại thành một lệnh
+     */
+    private static final class DeltaWriter {
+
+        private final StringBuilder out = new StringBuilder();
+        private final StringBuilder inserted = new StringBuilder();
+        private char pendingOp;
+        private int pendingCount;
+
+        private void keep(int count) {
+            run('=', count);
+        }
+
+        private void delete(int count) {
+            run('-', count);
+        }
+
+        private void insert(String line) {
+            if (pendingOp != '+') {
+                flush();
+                pendingOp = '+';
+            }
+            inserted.append(line);
+        }
+
+        private void run(char op, int count) {
+            if (count == 0) {
+                return;
+            }
+            if (pendingOp != op) {
+                flush();
+                pendingOp = op;
+            }
+            pendingCount += count;
+        }
+
+        private void flush() {
+            if (pendingOp == '+') {
+                out.append('+').append(inserted.length()).append('\n').append(inserted);
+                inserted.setLength(0);
+            } else if (pendingOp != 0) {
+                out.append(pendingOp).append(pendingCount).append('\n');
+            }
+            pendingOp = 0;
+            pendingCount = 0;
+        }
+
+        private String finish() {
+            flush();
+            return out.toString();
+        }
+    }
+}
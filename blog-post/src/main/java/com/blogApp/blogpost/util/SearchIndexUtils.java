@@ -1,67 +1,172 @@
 package com.blogApp.blogpost.util;
 
+import com.blogApp.blogpost.dto.response.ReindexProgressDTO;
 import com.blogApp.blogpost.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
-import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import org.hibernate.Session;
 
-import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Tiện ích để quản lý chỉ mục tìm kiếm Hibernate Search
+ * - Xây dựng lại chỉ mục chạy nền, không chặn thread gọi và không giữ transaction
+ * - Không xóa chỉ mục trước khi chạy (purgeAllOnStart = false): document được ghi đè dần,
+ *   tìm kiếm vẫn phục vụ từ chỉ mục cũ trong suốt quá trình xây dựng lại
+ * - Có thể chỉ đánh lại chỉ mục cho bài viết cập nhật từ một thời điểm (để chạy tiếp sau lần lỗi)
+ * - Yêu cầu đến khi đang có lần chạy khác được xếp hàng (gộp mốc thời gian nhỏ nhất) và chạy ngay sau đó
+ * - Sau các câu UPDATE hàng loạt không đi qua Hibernate Search, đánh chỉ mục lại đúng các id bị đổi bằng reindex
+ * - Tiến độ được theo dõi qua ReindexProgressMonitor
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class SearchIndexUtils {
 
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${blog.post.search.reindex.batch-size:25}")
+    private int batchSize;
+
+    @Value("${blog.post.search.reindex.threads:4}")
+    private int threads;
+
+    @Value("${blog.post.search.reindex.id-fetch-size:100}")
+    private int idFetchSize;
+
+    private volatile ReindexProgressMonitor currentRun;
+
+    private boolean rebuildPending;
+    private LocalDateTime pendingSince;
 
     /**
-     * Xây dựng lại toàn bộ chỉ mục tìm kiếm
+     * Đánh chỉ mục lại một số bài viết theo id, chạy đồng bộ trên thread gọi
+     * - Bài viết được tải theo lô bằng EntityManager riêng và ghi qua indexing plan của Hibernate Search
+     * - Id không còn tồn tại bị xóa khỏi chỉ mục
+     * @param ids Danh sách id bài viết
      */
-    @Transactional
-    public void rebuildIndex() {
+    public void reindex(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<UUID> idList = new ArrayList<>(ids);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
         try {
-            log.info("Bắt đầu xây dựng lại chỉ mục tìm kiếm");
-            Session session = entityManager.unwrap(Session.class);
-            SearchSession searchSession = Search.session(session);
-
-            MassIndexer indexer = searchSession.massIndexer(Post.class)
-                    .threadsToLoadObjects(4);
-
-            indexer.startAndWait();
-            log.info("Hoàn thành xây dựng lại chỉ mục tìm kiếm");
-        } catch (InterruptedException e) {
-            log.error("Lỗi khi xây dựng lại chỉ mục tìm kiếm", e);
-            Thread.currentThread().interrupt();
+            SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+            for (int from = 0; from < idList.size(); from += batchSize) {
+                List<UUID> chunk = idList.subList(from, Math.min(from + batchSize, idList.size()));
+                List<Post> posts = entityManager
+                        .createQuery("SELECT p FROM Post p WHERE p.id IN :ids", Post.class)
+                        .setParameter("ids", chunk)
+                        .getResultList();
+                Set<UUID> found = posts.stream().map(Post::getId).collect(Collectors.toSet());
+
+                posts.forEach(indexingPlan::addOrUpdate);
+                chunk.stream()
+                        .filter(id -> !found.contains(id))
+                        .forEach(id -> indexingPlan.purge(Post.class, id, null));
+                indexingPlan.execute();
+                entityManager.clear();
+            }
+            log.debug("Đã đánh chỉ mục lại {} bài viết", idList.size());
+        } finally {
+            entityManager.close();
         }
     }
 
     /**
-     * Xây dựng lại chỉ mục tìm kiếm cho một entity cụ thể
-     * @param entityClass Lớp entity cần xây dựng lại chỉ mục
+     * Bắt đầu xây dựng lại chỉ mục, hoặc xếp hàng nếu đang có lần chạy khác
+     * - Nhiều yêu cầu xếp hàng được gộp thành một lần chạy với mốc updatedSince nhỏ nhất (null = toàn bộ)
+     * @param updatedSince Chỉ đánh lại chỉ mục bài viết có updatedAt từ thời điểm này, null để chạy toàn bộ
+     * @return true nếu bắt đầu ngay, false nếu đã xếp hàng
      */
-    @Transactional
-    public <T> void rebuildIndexForEntity(Class<T> entityClass) {
-        try {
-            log.info("Bắt đầu xây dựng lại chỉ mục tìm kiếm cho {}", entityClass.getSimpleName());
-            Session session = entityManager.unwrap(Session.class);
-            SearchSession searchSession = Search.session(session);
-
-            MassIndexer indexer = searchSession.massIndexer(entityClass)
-                    .threadsToLoadObjects(4);
-
-            indexer.startAndWait();
-            log.info("Hoàn thành xây dựng lại chỉ mục tìm kiếm cho {}", entityClass.getSimpleName());
-        } catch (InterruptedException e) {
-            log.error("Lỗi khi xây dựng lại chỉ mục tìm kiếm cho {}", entityClass.getSimpleName(), e);
-            Thread.currentThread().interrupt();
+    public synchronized boolean requestRebuild(LocalDateTime updatedSince) {
+        if (startRebuild(updatedSince)) {
+            return true;
+        }
+
+        if (!rebuildPending) {
+            pendingSince = updatedSince;
+        } else if (pendingSince != null && (updatedSince == null || updatedSince.isBefore(pendingSince))) {
+            pendingSince = updatedSince;
+        }
+        rebuildPending = true;
+        log.info("Đã xếp hàng xây dựng lại chỉ mục (updatedSince={}) sau lần chạy hiện tại", pendingSince);
+        return false;
+    }
+
+    /**
+     * Bắt đầu xây dựng lại chỉ mục cho bài viết trên nền
+     * @param updatedSince Chỉ đánh lại chỉ mục bài viết có updatedAt từ thời điểm này, null để chạy toàn bộ
+     * @return false nếu đang có một lần xây dựng lại khác chạy
+     */
+    public synchronized boolean startRebuild(LocalDateTime updatedSince) {
+        if (currentRun != null && currentRun.isRunning()) {
+            log.warn("Đang có một lần xây dựng lại chỉ mục chạy, bỏ qua yêu cầu mới");
+            return false;
+        }
+
+        ReindexProgressMonitor monitor = new ReindexProgressMonitor(updatedSince);
+        MassIndexer indexer = Search.mapping(entityManagerFactory)
+                .scope(Post.class)
+                .massIndexer()
+                .purgeAllOnStart(false)
+                .mergeSegmentsOnFinish(false)
+                .batchSizeToLoadObjects(batchSize)
+                .threadsToLoadObjects(threads)
+                .idFetchSize(idFetchSize)
+                .cacheMode(CacheMode.IGNORE)
+                .monitor(monitor);
+
+        if (updatedSince != null) {
+            indexer.type(Post.class)
+                    .reindexOnly("e.updatedAt >= :since")
+                    .param("since", updatedSince);
+        }
+
+        currentRun = monitor;
+        log.info("Bắt đầu xây dựng lại chỉ mục tìm kiếm (updatedSince={}, batchSize={}, threads={})",
+                updatedSince, batchSize, threads);
+
+        indexer.start().whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.error("Lỗi khi xây dựng lại chỉ mục tìm kiếm", throwable);
+                monitor.markFailed(throwable);
+            } else {
+                log.info("Hoàn thành xây dựng lại chỉ mục tìm kiếm");
+                monitor.markCompleted();
+            }
+            startPending();
+        });
+        return true;
+    }
+
+    private synchronized void startPending() {
+        if (!rebuildPending) {
+            return;
+        }
+        rebuildPending = false;
+        startRebuild(pendingSince);
+    }
+
+    /**
+     * Lấy tiến độ của lần xây dựng lại gần nhất
+     */
+    public ReindexProgressDTO getProgress() {
+        ReindexProgressMonitor run = currentRun;
+        if (run == null) {
+            return ReindexProgressDTO.builder().state("IDLE").build();
         }
+        return run.snapshot();
     }
-}
\ No newline at end of file
+}
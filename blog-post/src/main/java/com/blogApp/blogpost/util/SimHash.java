@@ -0,0 +1,81 @@
+package com.blogApp.blogpost.util;
+
+/**
+ * Dấu vân tay SimHash 64 bit của văn bản, dùng để phát hiện bài viết gần trùng nhau
+ * - Đặc trưng là các shingle gồm shingleSize từ liên tiếp (tiếng Việt tính theo âm tiết) của văn bản đã chuẩn hóa
+ * - Mỗi shingle băm 64 bit (FNV-1a trên từng từ, trộn theo thứ tự rồi qua bước fmix64 của MurmurHash3),
+ *   mỗi bit cộng/trừ một phiếu; bit của dấu vân tay là dấu của tổng phiếu
+ * - Hai văn bản gần giống nhau có khoảng cách Hamming giữa hai dấu vân tay nhỏ
+ */
+public final class SimHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    /**
+     * Tính dấu vân tay
+     * @param folded Văn bản đã chuẩn hóa bằng SlugUtils.fold (các từ cách nhau một dấu cách)
+     * @param shingleSize Số từ mỗi shingle
+     * @return Dấu vân tay, 0 nếu văn bản rỗng
+     */
+    public static long fingerprint(String folded, int shingleSize) {
+        if (folded == null || folded.isEmpty()) {
+            return 0L;
+        }
+
+        String[] words = folded.split(" ");
+        long[] wordHashes = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            wordHashes[i] = fnv1a(words[i]);
+        }
+
+        int size = Math.min(shingleSize, words.length);
+        int[] votes = new int[64];
+        for (int start = 0; start + size <= words.length; start++) {
+            long hash = 0L;
+            for (int i = start; i < start + size; i++) {
+                hash = hash * 31 + wordHashes[i];
+            }
+            hash = fmix64(hash);
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Khoảng cách Hamming giữa hai dấu vân tay
+     */
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static long fnv1a(String word) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long fmix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
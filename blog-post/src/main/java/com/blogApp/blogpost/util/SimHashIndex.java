@@ -0,0 +1,127 @@
+package com.blogApp.blogpost.util;
+
+import java.util.*;
+
+/**
+ * Chỉ mục LSH theo băng (banded) trên dấu vân tay SimHash 64 bit
+ * - 64 bit được chia thành bands băng liền nhau; mỗi băng có một bảng băm giá trị băng -> danh sách bài viết
+ * - Với bands >= maxDistance + 1, hai dấu vân tay cách nhau không quá maxDistance bit chắc chắn trùng nhau
+ *   ít nhất một băng (nguyên lý Dirichlet), nên tìm ứng viên chỉ cần bands lần tra bảng băm rồi lọc
+ *   theo khoảng cách Hamming thật
+ * - Không thread-safe: nơi dùng tự đồng bộ
+ */
+public class SimHashIndex {
+
+    private final int maxDistance;
+    private final int[] shifts;
+    private final long[] masks;
+    private final List<Map<Long, List<UUID>>> buckets;
+    private final Map<UUID, Long> fingerprints = new HashMap<>();
+
+    /**
+     * @param bands Số băng (2-64), nên >= maxDistance + 1 để không bỏ sót
+     * @param maxDistance Khoảng cách Hamming tối đa để coi là gần trùng
+     */
+    public SimHashIndex(int bands, int maxDistance) {
+        if (bands < 2 || bands > 64) {
+            throw new IllegalArgumentException("Số băng phải trong khoảng 2-64: " + bands);
+        }
+        this.maxDistance = maxDistance;
+        this.shifts = new int[bands];
+        this.masks = new long[bands];
+        this.buckets = new ArrayList<>(bands);
+        int start = 0;
+        for (int band = 0; band < bands; band++) {
+            // Chia đều 64 bit, các băng đầu dài hơn một bit nếu không chia hết
+            int width = 64 / bands + (band < 64 % bands ? 1 : 0);
+            shifts[band] = start;
+            masks[band] = (1L << width) - 1;
+            buckets.add(new HashMap<>());
+            start += width;
+        }
+    }
+
+    /**
+     * Thêm hoặc thay dấu vân tay của bài viết
+     */
+    public void put(UUID postId, long fingerprint) {
+        Long previous = fingerprints.put(postId, fingerprint);
+        if (previous != null) {
+            if (previous == fingerprint) {
+                return;
+            }
+            removeFromBuckets(postId, previous);
+        }
+        for (int band = 0; band < shifts.length; band++) {
+            buckets.get(band).computeIfAbsent(bandValue(fingerprint, band), key -> new ArrayList<>(1)).add(postId);
+        }
+    }
+
+    public void remove(UUID postId) {
+        Long previous = fingerprints.remove(postId);
+        if (previous != null) {
+            removeFromBuckets(postId, previous);
+        }
+    }
+
+    /**
+     * Dấu vân tay đã lưu của bài viết
+     * @return Dấu vân tay, hoặc null nếu bài viết không có trong chỉ mục
+     */
+    public Long get(UUID postId) {
+        return fingerprints.get(postId);
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Tìm các bài viết gần trùng
+     * @param fingerprint Dấu vân tay cần so
+     * @param exclude Bài viết bỏ qua (chính nó), có thể null
+     * @return id bài viết -> khoảng cách Hamming, sắp theo khoảng cách tăng dần
+     */
+    public Map<UUID, Integer> near(long fingerprint, UUID exclude) {
+        Map<UUID, Integer> matches = new HashMap<>();
+        for (int band = 0; band < shifts.length; band++) {
+            List<UUID> bucket = buckets.get(band).get(bandValue(fingerprint, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (UUID candidate : bucket) {
+                if (candidate.equals(exclude) || matches.containsKey(candidate)) {
+                    continue;
+                }
+                int distance = SimHash.distance(fingerprint, fingerprints.get(candidate));
+                if (distance <= maxDistance) {
+                    matches.put(candidate, distance);
+                }
+            }
+        }
+
+        Map<UUID, Integer> sorted = new LinkedHashMap<>();
+        matches.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(match -> sorted.put(match.getKey(), match.getValue()));
+        return sorted;
+    }
+
+    private void removeFromBuckets(UUID postId, long fingerprint) {
+        for (int band = 0; band < shifts.length; band++) {
+            Map<Long, List<UUID>> table = buckets.get(band);
+            long value = bandValue(fingerprint, band);
+            List<UUID> bucket = table.get(value);
+            if (bucket != null) {
+                bucket.remove(postId);
+                if (bucket.isEmpty()) {
+                    table.remove(value);
+                }
+            }
+        }
+    }
+
+    private long bandValue(long fingerprint, int band) {
+        return (fingerprint >>> shifts[band]) & masks[band];
+    }
+}
@@ -0,0 +1,184 @@
+package com.blogApp.blogpost.util;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Cấp slug duy nhất cho Post, Category, Tag
+ * - Base còn trống thì dùng base; đã bị dùng thì dùng base-n với n lớn hơn mọi hậu tố số đang có
+ * - Trạng thái của nhiều base được tính trong một truy vấn SQL: base đã bị dùng chưa và hậu tố lớn nhất,
+ *   chỉ xét slug đúng bằng base hoặc dạng base-<số>, không tải các slug khác có cùng tiền tố
+ * - Không khóa bảng: nếu hai request cùng lấy một slug, unique index sẽ chặn một bên,
+ *   bên đó chạy lại transaction với slug mới
+ */
+@Component
+@Slf4j
+public class SlugAllocator {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * Hậu tố số do SlugAllocator tạo: không có số 0 ở đầu, tối đa 9 chữ số (vừa kiểu int)
+     */
+    private static final String SUFFIX_REGEXP = "'^[1-9][0-9]{0,8}$'";
+
+    private final EntityManager entityManager;
+    private final SlugUtils slugUtils;
+    private final TransactionTemplate transactionTemplate;
+
+    public SlugAllocator(EntityManager entityManager, SlugUtils slugUtils,
+                         PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.slugUtils = slugUtils;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Tìm slug còn trống cho entity
+     * @param entityType Lớp entity có thuộc tính slug (Post, Category, Tag)
+     * @param baseSlug Slug gốc đã được chuẩn hóa
+     * @param reserved Các slug đã được dùng trong cùng lô nhưng chưa lưu (có thể rỗng)
+     * @return baseSlug nếu còn trống, ngược lại là baseSlug-n với n lớn hơn mọi hậu tố đang có
+     */
+    public String nextFreeSlug(Class<?> entityType, String baseSlug, Set<String> reserved) {
+        String base = baseOrDefault(entityType, baseSlug);
+        return allocate(base, loadStates(entityType, Set.of(base)), reserved);
+    }
+
+    public String nextFreeSlug(Class<?> entityType, String baseSlug) {
+        return nextFreeSlug(entityType, baseSlug, Set.of());
+    }
+
+    /**
+     * Cấp slug cho cả một lô bằng một truy vấn
+     * - Các phần tử có cùng base nhận base, base-(n+1), base-(n+2)... theo thứ tự trong danh sách
+     * @param entityType Lớp entity có thuộc tính slug
+     * @param baseSlugs Slug gốc đã được chuẩn hóa của từng phần tử
+     * @return Slug theo đúng thứ tự baseSlugs, đôi một khác nhau
+     */
+    public List<String> nextFreeSlugs(Class<?> entityType, List<String> baseSlugs) {
+        List<String> bases = baseSlugs.stream()
+                .map(baseSlug -> baseOrDefault(entityType, baseSlug))
+                .toList();
+        Map<String, SlugState> states = loadStates(entityType, new HashSet<>(bases));
+
+        Set<String> used = new HashSet<>();
+        List<String> slugs = new ArrayList<>(bases.size());
+        for (String base : bases) {
+            String slug = allocate(base, states, used);
+            used.add(slug);
+            slugs.add(slug);
+        }
+        return slugs;
+    }
+
+    /**
+     * Lưu entity với slug duy nhất tạo từ chuỗi nguồn, chạy lại nếu trùng slug lúc commit
+     * - Mỗi lần thử là một transaction riêng nên người gọi không được mở transaction bao ngoài
+     * @param entityType Lớp entity có thuộc tính slug
+     * @param source Chuỗi nguồn (tiêu đề, tên)
+     * @param persist Hàm gán slug và lưu entity, trả về kết quả cần dùng sau commit
+     * @return Kết quả của persist ở lần thử thành công
+     */
+    public <T> T persistWithUniqueSlug(Class<?> entityType, String source, Function<String, T> persist) {
+        String baseSlug = slugUtils.createSlug(source);
+        for (int attempt = 1; ; attempt++) {
+            String slug = nextFreeSlug(entityType, baseSlug);
+            try {
+                return transactionTemplate.execute(status -> persist.apply(slug));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ATTEMPTS || !isSlugTaken(entityType, slug)) {
+                    throw e;
+                }
+                log.info("Slug '{}' vừa bị chiếm bởi request khác, thử lại lần {}", slug, attempt + 1);
+            }
+        }
+    }
+
+    /**
+     * Cấp slug cho một base và cập nhật trạng thái của base đó
+     * @param used Slug đã cấp trong cùng lô (có thể trùng dạng base-n của base khác)
+     */
+    private String allocate(String base, Map<String, SlugState> states, Set<String> used) {
+        SlugState state = states.computeIfAbsent(base, key -> new SlugState());
+        String slug;
+        if (!state.taken && !used.contains(base)) {
+            slug = base;
+        } else {
+            do {
+                state.maxSuffix++;
+                slug = base + "-" + state.maxSuffix;
+            } while (used.contains(slug));
+        }
+        state.taken = true;
+        return slug;
+    }
+
+    /**
+     * Một truy vấn cho mọi base: base đã bị dùng chưa và hậu tố số lớn nhất
+     * - Điều kiện LIKE 'base-%' dùng được unique index trên slug; phần đuôi được lọc và lấy MAX trong SQL
+     *   nên chỉ trả về một dòng cho mỗi base
+     */
+    private Map<String, SlugState> loadStates(Class<?> entityType, Set<String> baseSet) {
+        String table = entityType.getAnnotation(Table.class).name();
+        List<String> bases = new ArrayList<>(baseSet);
+        StringBuilder prefixes = new StringBuilder();
+        for (int i = 0; i < bases.size(); i++) {
+            prefixes.append(i == 0 ? "" : " OR ").append("slug LIKE :p").append(i).append(" ESCAPE '!'");
+        }
+
+        String sql = "SELECT base, MIN(suffix), MAX(suffix) FROM (" +
+                "SELECT slug AS base, 0 AS suffix FROM " + table + " WHERE slug IN (:bases) " +
+                "UNION ALL " +
+                "SELECT LEFT(slug, CHAR_LENGTH(slug) - CHAR_LENGTH(SUBSTRING_INDEX(slug, '-', -1)) - 1), " +
+                "CAST(SUBSTRING_INDEX(slug, '-', -1) AS UNSIGNED) FROM " + table +
+                " WHERE (" + prefixes + ") AND SUBSTRING_INDEX(slug, '-', -1) REGEXP " + SUFFIX_REGEXP +
+                ") s WHERE base IN (:bases) GROUP BY base";
+        Query query = entityManager.createNativeQuery(sql).setParameter("bases", bases);
+        for (int i = 0; i < bases.size(); i++) {
+            query.setParameter("p" + i, bases.get(i).replace("!", "!!").replace("%", "!%").replace("_", "!_") + "-%");
+        }
+
+        Map<String, SlugState> states = new HashMap<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            SlugState state = new SlugState();
+            state.taken = ((Number) columns[1]).intValue() == 0;
+            state.maxSuffix = ((Number) columns[2]).intValue();
+            states.put((String) columns[0], state);
+        }
+        return states;
+    }
+
+    private boolean isSlugTaken(Class<?> entityType, String slug) {
+        return !entityManager.createQuery(
+                        "SELECT e.id FROM " + entityType.getSimpleName() + " e WHERE e.slug = :slug")
+                .setParameter("slug", slug)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private String baseOrDefault(Class<?> entityType, String baseSlug) {
+        return baseSlug == null || baseSlug.isEmpty()
+                ? entityType.getSimpleName().toLowerCase(Locale.ENGLISH)
+                : baseSlug;
+    }
+
+    /**
+     * Trạng thái của một base: đã có slug đúng bằng base chưa và hậu tố lớn nhất đã dùng
+     */
+    private static final class SlugState {
+        private boolean taken;
+        private int maxSuffix;
+    }
+}
@@ -15,6 +15,8 @@ public class SlugUtils {
     private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
     private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
     private static final Pattern EDGESDHASHES = Pattern.compile("(^-|-$)");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
 
     /**
      * Tạo slug từ một chuỗi
@@ -33,6 +35,23 @@ public class SlugUtils {
         return slug.toLowerCase(Locale.ENGLISH);
     }
 
+    /**
+     * Chuẩn hóa chuỗi để so khớp không dấu (tiếng Việt)
+     * - Bỏ dấu, kể cả đ/Đ -> d (Normalizer không tách được đ)
+     * - Chữ thường, mọi cụm ký tự không phải chữ/số thành một dấu cách
+     * @param input Chuỗi đầu vào
+     * @return Chuỗi đã chuẩn hóa, ví dụ "Đà Nẵng: du lịch" -> "da nang du lich"
+     */
+    public String fold(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(input.replace('đ', 'd').replace('Đ', 'D'), Normalizer.Form.NFD);
+        String folded = DIACRITICS.matcher(normalized).replaceAll("").toLowerCase(Locale.ENGLISH);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
     /**
      * Tạo slug duy nhất bằng cách thêm hậu tố là timestamp
      * @param input Chuỗi đầu vào
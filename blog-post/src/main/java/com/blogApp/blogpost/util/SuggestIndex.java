@@ -0,0 +1,398 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogpost.dto.response.SuggestionDTO;
+
+import java.util.*;
+
+/**
+ * Chỉ mục gợi ý theo tiền tố: radix trie (cạnh gộp chuỗi) trên văn bản đã chuẩn hóa không dấu
+ * - Mỗi mục được đánh chỉ mục tại đầu mỗi từ (tối đa maxWords từ đầu), khóa cắt còn maxKeyLength ký tự,
+ *   nên "boot" khớp "Hướng dẫn Spring Boot"
+ * - Mỗi nút giữ sẵn top-K mục nặng nhất trong cây con: truy vấn chỉ đi theo tiền tố rồi trả về mảng có sẵn
+ * - Top-K của một nút chỉ phụ thuộc các mục kết thúc tại nút và top-K của các nút con, nên khi thêm/xóa
+ *   chỉ tính lại các nút trên đường đi
+ * - Cập nhật kiểu copy-on-write theo đường đi (path copying) rồi công bố gốc mới qua biến volatile:
+ *   người đọc không cần khóa và luôn thấy một cây nhất quán
+ * - Chỉ một thread được cập nhật chỉ mục
+ */
+public class SuggestIndex {
+
+    private static final Node[] EMPTY_NODES = new Node[0];
+    private static final Entry[] EMPTY_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator
+            .comparingLong((Entry entry) -> entry.weight).reversed()
+            .thenComparingInt(entry -> entry.folded.length())
+            .thenComparing(entry -> entry.folded);
+
+    private final int topK;
+    private final int maxKeyLength;
+    private final int maxWords;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private volatile Node root = new Node("");
+
+    public SuggestIndex(int topK, int maxKeyLength, int maxWords) {
+        this.topK = topK;
+        this.maxKeyLength = maxKeyLength;
+        this.maxWords = maxWords;
+    }
+
+    /**
+     * Nạp một mục mà chưa tính top-K (dùng khi dựng toàn bộ chỉ mục, trước computeAll)
+     */
+    public void load(SuggestionDTO suggestion, String folded, long weight) {
+        Entry entry = new Entry(suggestion, folded, weight);
+        entries.put(suggestion.getId(), entry);
+        Node updated = root;
+        for (String key : keys(folded)) {
+            updated = insert(updated, key, 0, entry, false);
+        }
+        root = updated;
+    }
+
+    /**
+     * Tính top-K cho mọi nút sau khi đã nạp xong (sửa trực tiếp các nút, chỉ gọi trước khi công bố chỉ mục)
+     */
+    public void computeAll() {
+        computeTops(root);
+    }
+
+    /**
+     * Thêm hoặc thay thế một mục và tính lại top-K trên các đường đi bị ảnh hưởng
+     */
+    public void put(SuggestionDTO suggestion, String folded, long weight) {
+        Entry entry = new Entry(suggestion, folded, weight);
+        Entry previous = entries.put(suggestion.getId(), entry);
+        Node updated = previous == null ? root : removeKeys(root, previous);
+        for (String key : keys(folded)) {
+            updated = insert(updated, key, 0, entry, true);
+        }
+        root = updated;
+    }
+
+    /**
+     * Xóa một mục khỏi chỉ mục
+     */
+    public void remove(UUID id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            root = removeKeys(root, previous);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Độ phổ biến hiện tại của một mục (0 nếu chưa có)
+     */
+    public long weightOf(UUID id) {
+        Entry entry = entries.get(id);
+        return entry == null ? 0 : entry.weight;
+    }
+
+    /**
+     * Lấy các mục có một từ bắt đầu bằng query (an toàn khi gọi từ nhiều thread)
+     * @param query Tiền tố đã chuẩn hóa bằng SlugUtils.fold
+     * @param limit Số mục tối đa (không quá topK)
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        if (query.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        String prefix = query.length() > maxKeyLength ? query.substring(0, maxKeyLength) : query;
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node child = child(node, prefix.charAt(offset));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int length = Math.min(child.label.length(), prefix.length() - offset);
+            if (!prefix.regionMatches(offset, child.label, 0, length)) {
+                return Collections.emptyList();
+            }
+            offset += length;
+            node = child;
+        }
+
+        List<SuggestionDTO> result = new ArrayList<>(Math.min(limit, node.top.length));
+        for (Entry entry : node.top) {
+            // Query dài hơn khóa: lọc lại trên toàn bộ văn bản
+            if (prefix.length() == query.length() || entry.matches(query)) {
+                result.add(entry.suggestion);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Khóa của một mục: phần văn bản bắt đầu tại mỗi từ
+     */
+    private Set<String> keys(String folded) {
+        Set<String> keys = new LinkedHashSet<>();
+        int words = 0;
+        for (int start = 0; start < folded.length() && words < maxWords; start++) {
+            if (start == 0 || folded.charAt(start - 1) == ' ') {
+                keys.add(folded.substring(start, Math.min(folded.length(), start + maxKeyLength)));
+                words++;
+            }
+        }
+        return keys;
+    }
+
+    private Node removeKeys(Node node, Entry entry) {
+        Node updated = node;
+        for (String key : keys(entry.folded)) {
+            updated = remove(updated, key, 0, entry);
+            if (updated == null) {
+                updated = new Node("");
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Thêm entry với khóa key[depth..] vào cây con của node
+     * @return Bản sao của node đã thêm (node gốc không bị sửa)
+     */
+    private Node insert(Node node, String key, int depth, Entry entry, boolean updateTop) {
+        Node copy = node.copy();
+        if (depth == key.length()) {
+            copy.terminals = with(copy.terminals, entry);
+        } else {
+            int index = childIndex(copy, key.charAt(depth));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(depth));
+                leaf.terminals = new Entry[]{entry};
+                leaf.top = leaf.terminals;
+                copy.children = insertAt(copy.children, -index - 1, leaf);
+            } else {
+                Node child = copy.children[index];
+                int common = commonPrefix(child.label, key, depth);
+                Node target = child;
+                if (common < child.label.length()) {
+                    // Tách cạnh: nút giữa mang phần chung, nút cũ giữ phần còn lại của nhãn
+                    Node tail = child.copy();
+                    tail.label = child.label.substring(common);
+                    target = new Node(child.label.substring(0, common));
+                    target.children = new Node[]{tail};
+                    target.top = tail.top;
+                }
+                copy.children = replaceAt(copy.children, index, insert(target, key, depth + common, entry, updateTop));
+            }
+        }
+        if (updateTop) {
+            copy.top = computeTop(copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Xóa entry khỏi khóa key[depth..] trong cây con của node
+     * @return Bản sao đã xóa, chính node nếu không có gì thay đổi, hoặc null nếu cây con trở nên rỗng
+     */
+    private Node remove(Node node, String key, int depth, Entry entry) {
+        Node copy = node.copy();
+        if (depth == key.length()) {
+            Entry[] terminals = without(copy.terminals, entry);
+            if (terminals == copy.terminals) {
+                return node;
+            }
+            copy.terminals = terminals;
+        } else {
+            int index = childIndex(copy, key.charAt(depth));
+            if (index < 0) {
+                return node;
+            }
+            Node child = copy.children[index];
+            if (!key.startsWith(child.label, depth)) {
+                return node;
+            }
+            Node updated = remove(child, key, depth + child.label.length(), entry);
+            if (updated == child) {
+                return node;
+            }
+            copy.children = updated == null ? removeAt(copy.children, index) : replaceAt(copy.children, index, updated);
+        }
+
+        if (copy.terminals.length == 0 && copy.children.length == 0) {
+            return null;
+        }
+        if (copy.terminals.length == 0 && copy.children.length == 1 && !copy.label.isEmpty()) {
+            // Nút chỉ còn một con: gộp cạnh, top-K của cây con không đổi
+            Node merged = copy.children[0].copy();
+            merged.label = copy.label + merged.label;
+            return merged;
+        }
+        copy.top = computeTop(copy);
+        return copy;
+    }
+
+    private void computeTops(Node node) {
+        for (Node child : node.children) {
+            computeTops(child);
+        }
+        node.top = computeTop(node);
+    }
+
+    /**
+     * Top-K của nút = K mục nặng nhất trong các mục kết thúc tại nút và top-K của các nút con
+     * (một mục có thể xuất hiện ở nhiều nhánh do nhiều khóa, chỉ giữ một lần)
+     */
+    private Entry[] computeTop(Node node) {
+        List<Entry> candidates = new ArrayList<>(node.terminals.length + node.children.length * topK);
+        Collections.addAll(candidates, node.terminals);
+        for (Node child : node.children) {
+            Collections.addAll(candidates, child.top);
+        }
+        candidates.sort(BY_WEIGHT);
+
+        List<Entry> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        Set<UUID> seen = new HashSet<>();
+        for (Entry candidate : candidates) {
+            if (seen.add(candidate.suggestion.getId())) {
+                top.add(candidate);
+                if (top.size() == topK) {
+                    break;
+                }
+            }
+        }
+        return top.toArray(EMPTY_ENTRIES);
+    }
+
+    private static Node child(Node node, char c) {
+        int index = childIndex(node, c);
+        return index < 0 ? null : node.children[index];
+    }
+
+    /**
+     * Tìm nhị phân con có nhãn bắt đầu bằng c
+     * @return Vị trí, hoặc -(vị trí chèn) - 1 nếu không có
+     */
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = node.children[mid].label.charAt(0);
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < max && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static Entry[] with(Entry[] entries, Entry entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].suggestion.getId().equals(entry.suggestion.getId())) {
+                Entry[] replaced = entries.clone();
+                replaced[i] = entry;
+                return replaced;
+            }
+        }
+        Entry[] added = Arrays.copyOf(entries, entries.length + 1);
+        added[entries.length] = entry;
+        return added;
+    }
+
+    private static Entry[] without(Entry[] entries, Entry entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].suggestion.getId().equals(entry.suggestion.getId())) {
+                Entry[] removed = new Entry[entries.length - 1];
+                System.arraycopy(entries, 0, removed, 0, i);
+                System.arraycopy(entries, i + 1, removed, i, removed.length - i);
+                return removed;
+            }
+        }
+        return entries;
+    }
+
+    private static Node[] insertAt(Node[] nodes, int index, Node node) {
+        Node[] inserted = new Node[nodes.length + 1];
+        System.arraycopy(nodes, 0, inserted, 0, index);
+        inserted[index] = node;
+        System.arraycopy(nodes, index, inserted, index + 1, nodes.length - index);
+        return inserted;
+    }
+
+    private static Node[] replaceAt(Node[] nodes, int index, Node node) {
+        Node[] replaced = nodes.clone();
+        replaced[index] = node;
+        return replaced;
+    }
+
+    private static Node[] removeAt(Node[] nodes, int index) {
+        Node[] removed = new Node[nodes.length - 1];
+        System.arraycopy(nodes, 0, removed, 0, index);
+        System.arraycopy(nodes, index + 1, removed, index, removed.length - index);
+        return removed;
+    }
+
+    /**
+     * Nút của trie; các mảng không bao giờ bị sửa sau khi nút được công bố (sửa = tạo mảng mới trên bản sao)
+     */
+    private static final class Node {
+
+        private String label;
+        private Node[] children = EMPTY_NODES;
+        private Entry[] terminals = EMPTY_ENTRIES;
+        private Entry[] top = EMPTY_ENTRIES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node copy() {
+            Node copy = new Node(label);
+            copy.children = children;
+            copy.terminals = terminals;
+            copy.top = top;
+            return copy;
+        }
+    }
+
+    private static final class Entry {
+
+        private final SuggestionDTO suggestion;
+        private final String folded;
+        private final long weight;
+
+        private Entry(SuggestionDTO suggestion, String folded, long weight) {
+            this.suggestion = suggestion;
+            this.folded = folded;
+            this.weight = weight;
+        }
+
+        /**
+         * Có từ nào trong văn bản bắt đầu bằng query không
+         */
+        private boolean matches(String query) {
+            for (int start = folded.indexOf(query); start >= 0; start = folded.indexOf(query, start + 1)) {
+                if (start == 0 || folded.charAt(start - 1) == ' ') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.blogApp.blogpost.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing wheel phân cấp (hierarchical timing wheel) để hẹn giờ số lượng lớn task trong bộ nhớ
+ * - Tầng 0 có wheelSize ô, mỗi ô rộng tickMs; tầng k có ô rộng tickMs * wheelSize^k, tạo thêm khi cần
+ * - Thêm/hủy task là O(1), mỗi tick chỉ xử lý ô hiện tại thay vì duyệt toàn bộ task
+ * - Khi kim tầng 0 đi hết một vòng, ô tương ứng của tầng trên được đổ xuống (cascade) các tầng dưới
+ * - Task đã hủy hoặc đổi hạn được bỏ qua khi ô chứa nó tới lượt (xóa lười)
+ * - Không thread-safe, nơi dùng tự đồng bộ
+ * @param <K> Khóa của task, mỗi khóa chỉ có một hạn tại một thời điểm
+ */
+public class TimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<K>> levels = new ArrayList<>();
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    /**
+     * Mốc bắt đầu của ô tầng 0 chưa xử lý, luôn là bội của tickMs
+     */
+    private long currentTime;
+
+    /**
+     * @param tickMs Độ rộng một ô tầng 0 (ms)
+     * @param wheelSize Số ô mỗi tầng
+     * @param startMs Thời điểm bắt đầu (epoch ms)
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs phải > 0 và wheelSize phải >= 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Hẹn giờ task, thay thế hạn cũ nếu khóa đã có
+     * @param key Khóa của task
+     * @param deadlineMs Thời điểm đến hạn (epoch ms)
+     * @return false nếu task đã đến hạn (không được thêm, nơi gọi tự xử lý ngay)
+     */
+    public boolean schedule(K key, long deadlineMs) {
+        if (deadlineMs < currentTime) {
+            deadlines.remove(key);
+            return false;
+        }
+        deadlines.put(key, deadlineMs);
+        place(key, deadlineMs);
+        return true;
+    }
+
+    /**
+     * Hủy task
+     * @return true nếu khóa đang được hẹn giờ
+     */
+    public boolean cancel(K key) {
+        return deadlines.remove(key) != null;
+    }
+
+    /**
+     * Xóa toàn bộ task, giữ nguyên thời điểm hiện tại của wheel
+     */
+    public void clear() {
+        deadlines.clear();
+        levels.forEach(Level::clear);
+    }
+
+    /**
+     * Số task đang được hẹn giờ
+     */
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Đẩy kim đến thời điểm nowMs và trả về các task đã đến hạn (deadline < mốc cuối của ô vừa xử lý <= nowMs)
+     */
+    public List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            drain(levels.get(0), currentTime, expired);
+            currentTime += tickMs;
+            // Tầng cao trước để task đổ xuống liên tiếp qua nhiều tầng trong cùng một tick
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<K> level = levels.get(i);
+                if (currentTime % level.tickMs == 0) {
+                    for (Map.Entry<K, Long> entry : level.take(currentTime)) {
+                        if (isCurrent(entry)) {
+                            place(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    private void drain(Level<K> level, long slotStart, List<K> expired) {
+        for (Map.Entry<K, Long> entry : level.take(slotStart)) {
+            if (isCurrent(entry)) {
+                deadlines.remove(entry.getKey());
+                expired.add(entry.getKey());
+            }
+        }
+    }
+
+    private boolean isCurrent(Map.Entry<K, Long> entry) {
+        Long deadline = deadlines.get(entry.getKey());
+        return deadline != null && deadline.equals(entry.getValue());
+    }
+
+    /**
+     * Đặt task vào tầng thấp nhất có khoảng bao phủ chứa hạn của nó
+     */
+    private void place(K key, long deadlineMs) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<K> top = levels.get(i - 1);
+                levels.add(new Level<>(top.tickMs * wheelSize, wheelSize));
+            }
+            Level<K> level = levels.get(i);
+            long levelStart = currentTime - Math.floorMod(currentTime, level.tickMs);
+            if (deadlineMs < levelStart + level.tickMs * wheelSize) {
+                level.put(key, deadlineMs);
+                return;
+            }
+        }
+    }
+
+    private static final class Level<K> {
+
+        private final long tickMs;
+        private final List<Map<K, Long>> buckets;
+
+        private Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new HashMap<>());
+            }
+        }
+
+        private void put(K key, long deadlineMs) {
+            buckets.get(index(deadlineMs)).put(key, deadlineMs);
+        }
+
+        /**
+         * Lấy và làm rỗng ô chứa thời điểm timeMs
+         */
+        private List<Map.Entry<K, Long>> take(long timeMs) {
+            Map<K, Long> bucket = buckets.get(index(timeMs));
+            if (bucket.isEmpty()) {
+                return List.of();
+            }
+            List<Map.Entry<K, Long>> entries = new ArrayList<>(bucket.entrySet());
+            bucket.clear();
+            return entries;
+        }
+
+        private int index(long timeMs) {
+            return (int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) buckets.size());
+        }
+
+        private void clear() {
+            buckets.forEach(Map::clear);
+        }
+    }
+}
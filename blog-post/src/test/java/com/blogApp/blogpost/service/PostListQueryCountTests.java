@@ -0,0 +1,190 @@
+package com.blogApp.blogpost.service;
+
+import com.blogApp.blogcommon.enums.PostStatus;
+import com.blogApp.blogpost.dto.filter.PostFilterRequest;
+import com.blogApp.blogpost.model.Category;
+import com.blogApp.blogpost.model.Post;
+import com.blogApp.blogpost.model.Tag;
+import com.blogApp.blogpost.repository.CategoryRepository;
+import com.blogApp.blogpost.repository.PostRepository;
+import com.blogApp.blogpost.repository.TagRepository;
+import com.blogApp.blogpost.service.interfaces.PostService;
+import com.blogApp.blogpost.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Kiểm tra số câu SQL của mỗi request danh sách bài viết là hằng số, không phụ thuộc kích thước trang
+ * - Một trang gồm: truy vấn trang, truy vấn đếm, và một truy vấn IN cho mỗi loại dữ liệu đi kèm
+ *   (số bình luận, danh mục, tag)
+ * - Chạy trên MySQL và Redis thật bằng Testcontainers, bỏ qua khi không có Docker
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "server.servlet.context-path=/api",
+                "spring.cloud.config.enabled=false",
+                "spring.cloud.config.import-check.enabled=false",
+                "spring.cloud.kubernetes.enabled=false",
+                "spring.cloud.discovery.enabled=false",
+                "eureka.client.enabled=false",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.search.backend.directory.type=local-heap",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "com.blogApp.blogpost.support.SqlStatementCounter"
+        })
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostListQueryCountTests {
+
+    /**
+     * Truy vấn trang + truy vấn đếm + số bình luận + danh mục + tag
+     */
+    private static final long STATEMENTS_PER_PAGE = 5;
+
+    private static final int POST_COUNT = 30;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.redis.host", redis::getHost);
+        registry.add("spring.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private Category category;
+    private Tag tag;
+
+    @BeforeAll
+    void createPosts() {
+        transactionTemplate.executeWithoutResult(status -> {
+            category = categoryRepository.save(Category.builder().name("Java").slug("java").build());
+            tag = tagRepository.save(Tag.builder().name("spring").slug("spring").build());
+
+            List<Post> posts = new ArrayList<>();
+            for (int i = 0; i < POST_COUNT; i++) {
+                Post post = new Post();
+                post.setTitle("Bài viết " + i);
+                post.setSlug("bai-viet-" + i);
+                post.setContent("Nội dung bài viết " + i);
+                post.setAuthorId("author-" + (i % 3));
+                post.setAuthorName("Tác giả " + (i % 3));
+                post.setStatus(PostStatus.PUBLISHED);
+                post.setPublishedAt(LocalDateTime.now().minusMinutes(i));
+                post.setCommentEnabled(true);
+                post.addCategory(category);
+                post.addTag(tag);
+                posts.add(post);
+            }
+            postRepository.saveAll(posts);
+        });
+    }
+
+    @BeforeEach
+    void clearListCache() {
+        // Mỗi lần gọi phải đi xuống database, không đọc trang đã cache
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Test
+    void allPostsPageRunsConstantStatements() {
+        assertConstantStatements(() -> postService.getAllPosts(0, 5, "createdAt", "desc").getContent().size(),
+                () -> postService.getAllPosts(0, 20, "createdAt", "desc").getContent().size());
+    }
+
+    @Test
+    void categoryPageRunsConstantStatements() {
+        assertConstantStatements(
+                () -> postService.getPostsByCategory(category.getId(), 0, 5, "createdAt", "desc").getContent().size(),
+                () -> postService.getPostsByCategory(category.getId(), 0, 20, "createdAt", "desc").getContent().size());
+    }
+
+    @Test
+    void tagPageRunsConstantStatements() {
+        assertConstantStatements(
+                () -> postService.getPostsByTag(tag.getId(), 0, 5, "createdAt", "desc").getContent().size(),
+                () -> postService.getPostsByTag(tag.getId(), 0, 20, "createdAt", "desc").getContent().size());
+    }
+
+    @Test
+    void filterPageRunsConstantStatements() {
+        assertConstantStatements(() -> postService.filterPosts(filter(5)).getContent().size(),
+                () -> postService.filterPosts(filter(20)).getContent().size());
+    }
+
+    private PostFilterRequest filter(int size) {
+        PostFilterRequest filter = new PostFilterRequest();
+        filter.setCategoryIds(Set.of(category.getId()));
+        filter.setPage(0);
+        filter.setSize(size);
+        return filter;
+    }
+
+    /**
+     * Chạy hai request với kích thước trang khác nhau và so số câu SQL của mỗi request
+     */
+    private void assertConstantStatements(Supplier<Integer> smallPage, Supplier<Integer> largePage) {
+        SqlStatementCounter.reset();
+        int smallSize = smallPage.get();
+        long smallStatements = SqlStatementCounter.count();
+
+        SqlStatementCounter.reset();
+        int largeSize = largePage.get();
+        long largeStatements = SqlStatementCounter.count();
+
+        assertEquals(5, smallSize);
+        assertEquals(STATEMENTS_PER_PAGE, smallStatements, "Số câu SQL cho trang 5 bài viết");
+        assertEquals(STATEMENTS_PER_PAGE, largeStatements,
+                "Số câu SQL cho trang " + largeSize + " bài viết phải bằng trang 5 bài viết");
+    }
+}
@@ -0,0 +1,27 @@
+package com.blogApp.blogpost.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Đếm số câu SQL Hibernate chuẩn bị trên thread hiện tại
+ * - Đăng ký qua hibernate.session_factory.statement_inspector trong test
+ * - Đếm theo thread nên các tác vụ nền (dựng lại chỉ mục, backfill render) không làm sai số đếm
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,70 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogcommon.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kiểm tra PostCursor: mã hóa/giải mã khứ hồi và từ chối cursor không hợp lệ
+ */
+class PostCursorTests {
+
+    @Test
+    void roundTripsEveryField() {
+        List<LocalDateTime> values = List.of(
+                LocalDateTime.of(2024, 1, 1, 10, 0),
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59),
+                LocalDateTime.of(2024, 6, 15, 8, 30, 12, 123456789));
+        for (String sortBy : PostCursor.SORT_FIELDS) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                for (LocalDateTime value : values) {
+                    UUID id = UUID.randomUUID();
+                    String encoded = new PostCursor(sortBy, direction, value, id).encode();
+
+                    PostCursor decoded = PostCursor.decode(encoded);
+                    assertEquals(sortBy, decoded.getSortBy());
+                    assertEquals(direction, decoded.getDirection());
+                    assertEquals(value, decoded.getValue());
+                    assertEquals(id, decoded.getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new PostCursor("createdAt", Sort.Direction.DESC,
+                LocalDateTime.of(2024, 3, 1, 12, 0), UUID.randomUUID()).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        String id = UUID.randomUUID().toString();
+        List<String> cursors = List.of(
+                "",
+                "không-phải-base64!",
+                raw("createdAt|DESC|2024-03-01T12:00"),
+                raw("title|DESC|2024-03-01T12:00|" + id),
+                raw("createdAt|DOWN|2024-03-01T12:00|" + id),
+                raw("createdAt|DESC|hôm-qua|" + id),
+                raw("createdAt|DESC|2024-03-01T12:00|not-a-uuid"),
+                raw("createdAt|DESC|2024-03-01T12:00|" + id + "|extra"));
+        for (String cursor : cursors) {
+            assertThrows(BadRequestException.class, () -> PostCursor.decode(cursor), cursor);
+        }
+    }
+
+    private String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.blogApp.blogpost.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kiểm tra RevisionDelta: apply(base, diff(base, target)) luôn trả lại đúng target
+ */
+class RevisionDeltaTests {
+
+    private static final int MAX_EDITS = 500;
+
+    @Test
+    void roundTripsSimpleEdits() {
+        assertRoundTrip("", "");
+        assertRoundTrip("", "# Tiêu đề\nnội dung\n");
+        assertRoundTrip("# Tiêu đề\nnội dung\n", "");
+        assertRoundTrip("a\nb\nc\n", "a\nb\nc\n");
+        assertRoundTrip("a\nb\nc\n", "a\nx\nc\n");
+        assertRoundTrip("a\nb\nc\n", "x\na\nb\nc\ny\n");
+        assertRoundTrip("a\nb\nc", "a\nb\nc\n");
+        assertRoundTrip("dòng có dấu +=-\n=3\n-2\n", "+5\ndòng có dấu +=-\n");
+    }
+
+    @Test
+    void identicalContentProducesOnlyKeeps() {
+        String content = "một\nhai\nba\n";
+        String delta = RevisionDelta.diff(content, content, MAX_EDITS);
+        assertNotNull(delta);
+        assertTrue(delta.length() < content.length(), "Delta của hai bản giống nhau phải gọn hơn nội dung");
+    }
+
+    @Test
+    void roundTripsRandomLineEdits() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<String> lines = randomLines(random, random.nextInt(60));
+            String base = String.join("", lines);
+            List<String> edited = new ArrayList<>(lines);
+            int edits = random.nextInt(10);
+            for (int e = 0; e < edits; e++) {
+                int op = random.nextInt(3);
+                if (op == 0 || edited.isEmpty()) {
+                    edited.add(random.nextInt(edited.size() + 1), "chèn " + random.nextInt(1000) + "\n");
+                } else if (op == 1) {
+                    edited.remove(random.nextInt(edited.size()));
+                } else {
+                    edited.set(random.nextInt(edited.size()), "sửa " + random.nextInt(1000) + "\n");
+                }
+            }
+            assertRoundTrip(base, String.join("", edited));
+        }
+    }
+
+    @Test
+    void returnsNullWhenEditsExceedLimit() {
+        StringBuilder base = new StringBuilder();
+        StringBuilder target = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            base.append("cũ ").append(i).append('\n');
+            target.append("mới ").append(i).append('\n');
+        }
+        assertNull(RevisionDelta.diff(base.toString(), target.toString(), 10));
+        assertRoundTrip(base.toString(), target.toString());
+    }
+
+    @Test
+    void rejectsDeltaForAnotherBase() {
+        String delta = RevisionDelta.diff("a\nb\nc\n", "a\nc\n", MAX_EDITS);
+        assertThrows(IllegalArgumentException.class, () -> RevisionDelta.apply("a\n", delta));
+    }
+
+    private void assertRoundTrip(String base, String target) {
+        String delta = RevisionDelta.diff(base, target, MAX_EDITS);
+        assertNotNull(delta, "Delta không được null khi khác biệt nằm trong giới hạn");
+        assertEquals(target, RevisionDelta.apply(base, delta));
+    }
+
+    private List<String> randomLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Bảng chữ nhỏ để có nhiều dòng trùng nhau, diff phải chọn đúng cặp khớp
+            lines.add("dòng " + random.nextInt(8) + "\n");
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,125 @@
+package com.blogApp.blogpost.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kiểm tra SimHash và SimHashIndex: độ phủ của chỉ mục theo băng tại đúng maxDistance so với cách tính vét cạn
+ */
+class SimHashIndexTests {
+
+    private static final int MAX_DISTANCE = 3;
+    private static final int BANDS = MAX_DISTANCE + 1;
+
+    @Test
+    void findsEveryFingerprintWithinMaxDistance() {
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            SimHashIndex index = new SimHashIndex(BANDS, MAX_DISTANCE);
+            long base = random.nextLong();
+            Map<UUID, Integer> expected = new HashMap<>();
+            for (int distance = 0; distance <= MAX_DISTANCE + 2; distance++) {
+                UUID id = UUID.randomUUID();
+                index.put(id, flipBits(base, distance, random));
+                if (distance <= MAX_DISTANCE) {
+                    expected.put(id, distance);
+                }
+            }
+
+            assertEquals(expected, index.near(base, null));
+        }
+    }
+
+    @Test
+    void matchesBruteForceOnRandomFingerprints() {
+        Random random = new Random(9);
+        SimHashIndex index = new SimHashIndex(BANDS, MAX_DISTANCE);
+        Map<UUID, Long> fingerprints = new HashMap<>();
+        List<Long> seeds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            seeds.add(random.nextLong());
+        }
+        // Các dấu vân tay gom quanh vài gốc để có nhiều cặp gần nhau
+        for (int i = 0; i < 2000; i++) {
+            long fingerprint = flipBits(seeds.get(random.nextInt(seeds.size())), random.nextInt(6), random);
+            UUID id = UUID.randomUUID();
+            index.put(id, fingerprint);
+            fingerprints.put(id, fingerprint);
+        }
+
+        for (UUID query : new ArrayList<>(fingerprints.keySet()).subList(0, 200)) {
+            long fingerprint = fingerprints.get(query);
+            Map<UUID, Integer> expected = new HashMap<>();
+            fingerprints.forEach((id, other) -> {
+                int distance = SimHash.distance(fingerprint, other);
+                if (!id.equals(query) && distance <= MAX_DISTANCE) {
+                    expected.put(id, distance);
+                }
+            });
+
+            Map<UUID, Integer> actual = index.near(fingerprint, query);
+            assertEquals(expected, actual);
+            assertSortedByDistance(actual);
+        }
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        SimHashIndex index = new SimHashIndex(BANDS, MAX_DISTANCE);
+        UUID id = UUID.randomUUID();
+        long first = 0x0123456789abcdefL;
+        long second = ~first;
+        index.put(id, first);
+        index.put(id, second);
+
+        assertEquals(1, index.size());
+        assertEquals(second, index.get(id));
+        assertTrue(index.near(first, null).isEmpty());
+        assertEquals(Map.of(id, 0), index.near(second, null));
+
+        index.remove(id);
+        assertEquals(0, index.size());
+        assertNull(index.get(id));
+        assertTrue(index.near(second, null).isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidBandCount() {
+        assertThrows(IllegalArgumentException.class, () -> new SimHashIndex(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SimHashIndex(65, 0));
+    }
+
+    @Test
+    void fingerprintIsStableAndCloserForSimilarTexts() {
+        String text = "huong dan cau hinh spring boot ket noi mysql va redis cho ung dung blog";
+        String edited = "huong dan cau hinh spring boot ket noi mysql va redis cho ung dung blog ca nhan";
+        String other = "cong thuc nau pho bo ha noi truyen thong voi nuoc dung trong va thom";
+
+        assertEquals(0L, SimHash.fingerprint("", 3));
+        assertEquals(SimHash.fingerprint(text, 3), SimHash.fingerprint(text, 3));
+        assertTrue(SimHash.distance(SimHash.fingerprint(text, 3), SimHash.fingerprint(edited, 3))
+                < SimHash.distance(SimHash.fingerprint(text, 3), SimHash.fingerprint(other, 3)));
+    }
+
+    private long flipBits(long fingerprint, int count, Random random) {
+        Set<Integer> bits = new HashSet<>();
+        while (bits.size() < count) {
+            bits.add(random.nextInt(64));
+        }
+        for (int bit : bits) {
+            fingerprint ^= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    private void assertSortedByDistance(Map<UUID, Integer> matches) {
+        int previous = -1;
+        for (int distance : matches.values()) {
+            assertTrue(distance >= previous);
+            previous = distance;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogpost.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Kiểm tra SlugAllocator với EntityManager giả lập trên tập slug trong bộ nhớ
+ * - Truy vấn trạng thái được tính lại bằng Java theo đúng quy tắc của SQL: slug bằng base hoặc base-<số>
+ */
+class SlugAllocatorTests {
+
+    private static final Pattern SUFFIXED = Pattern.compile("(.+)-([1-9][0-9]{0,8})");
+
+    private final Set<String> existing = new HashSet<>();
+    private SlugAllocator slugAllocator;
+
+    @BeforeEach
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> stateQuery());
+        when(entityManager.createQuery(anyString())).thenAnswer(invocation -> takenQuery());
+        slugAllocator = new SlugAllocator(entityManager, new SlugUtils(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void usesBaseWhenFree() {
+        existing.addAll(List.of("spring-boot-guide", "spring-boot-1"));
+
+        assertEquals("spring-boot", slugAllocator.nextFreeSlug(Post.class, "spring-boot"));
+    }
+
+    @Test
+    void appendsSuffixAboveLargestExisting() {
+        existing.addAll(List.of("spring-boot", "spring-boot-2", "spring-boot-7"));
+
+        assertEquals("spring-boot-8", slugAllocator.nextFreeSlug(Post.class, "spring-boot"));
+    }
+
+    @Test
+    void ignoresNonNumericAndZeroPaddedSuffixes() {
+        existing.addAll(List.of("spring", "spring-boot", "spring-2024x", "spring-007", "spring-3"));
+
+        assertEquals("spring-4", slugAllocator.nextFreeSlug(Post.class, "spring"));
+    }
+
+    @Test
+    void skipsReservedSlugs() {
+        existing.add("redis");
+
+        assertEquals("redis-2", slugAllocator.nextFreeSlug(Post.class, "redis", Set.of("redis-1")));
+        assertEquals("redis-1", slugAllocator.nextFreeSlug(Post.class, "redis-1", Set.of()));
+    }
+
+    @Test
+    void allocatesDistinctSlugsForBatch() {
+        existing.addAll(List.of("java", "java-3"));
+
+        List<String> slugs = slugAllocator.nextFreeSlugs(Post.class,
+                List.of("java", "mysql", "java", "mysql", "", "mysql-1"));
+
+        assertEquals(List.of("java-4", "mysql", "java-5", "mysql-1", "post", "mysql-1-1"), slugs);
+        assertEquals(slugs.size(), new HashSet<>(slugs).size());
+    }
+
+    @Test
+    void retriesWhenSlugTakenAtCommit() {
+        existing.add("docker");
+        AtomicInteger attempts = new AtomicInteger();
+
+        String saved = slugAllocator.persistWithUniqueSlug(Post.class, "docker", slug -> {
+            if (attempts.incrementAndGet() == 1) {
+                // Request khác vừa lưu cùng slug trước khi transaction này commit
+                existing.add(slug);
+                throw new DataIntegrityViolationException("Duplicate entry '" + slug + "'");
+            }
+            existing.add(slug);
+            return slug;
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals("docker-2", saved);
+    }
+
+    @Test
+    void rethrowsWhenViolationIsNotAboutSlug() {
+        assertThrows(DataIntegrityViolationException.class, () ->
+                slugAllocator.persistWithUniqueSlug(Post.class, "kafka", slug -> {
+                    throw new DataIntegrityViolationException("Column 'title' cannot be null");
+                }));
+    }
+
+    /**
+     * Truy vấn trạng thái: base -> (MIN(suffix), MAX(suffix)), suffix 0 nghĩa là slug đúng bằng base
+     */
+    private Query stateQuery() {
+        Query query = mock(Query.class);
+        List<String> bases = new ArrayList<>();
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            if ("bases".equals(invocation.getArgument(0))) {
+                bases.addAll(invocation.getArgument(1));
+            }
+            return query;
+        });
+        when(query.getResultList()).thenAnswer(invocation -> {
+            Map<String, int[]> ranges = new HashMap<>();
+            for (String slug : existing) {
+                if (bases.contains(slug)) {
+                    merge(ranges, slug, 0);
+                }
+                Matcher matcher = SUFFIXED.matcher(slug);
+                if (matcher.matches() && bases.contains(matcher.group(1))) {
+                    merge(ranges, matcher.group(1), Integer.parseInt(matcher.group(2)));
+                }
+            }
+            List<Object[]> rows = new ArrayList<>();
+            ranges.forEach((base, range) -> rows.add(new Object[]{base, (long) range[0], (long) range[1]}));
+            return rows;
+        });
+        return query;
+    }
+
+    private Query takenQuery() {
+        Query query = mock(Query.class);
+        List<String> slugs = new ArrayList<>();
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            slugs.add(invocation.getArgument(1));
+            return query;
+        });
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenAnswer(invocation ->
+                existing.contains(slugs.get(0)) ? List.of(UUID.randomUUID()) : List.of());
+        return query;
+    }
+
+    private void merge(Map<String, int[]> ranges, String base, int suffix) {
+        ranges.merge(base, new int[]{suffix, suffix},
+                (range, added) -> new int[]{Math.min(range[0], suffix), Math.max(range[1], suffix)});
+    }
+}
@@ -0,0 +1,126 @@
+package com.blogApp.blogpost.util;
+
+import com.blogApp.blogpost.dto.response.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Kiểm tra SuggestIndex: tách/gộp cạnh của radix trie và top-K sau khi thêm/xóa so với cách tính vét cạn
+ */
+class SuggestIndexTests {
+
+    private static final int TOP_K = 5;
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final int MAX_WORDS = 10;
+
+    private final SlugUtils slugUtils = new SlugUtils();
+
+    @Test
+    void splitsAndMergesEdges() {
+        SuggestIndex index = new SuggestIndex(TOP_K, MAX_KEY_LENGTH, MAX_WORDS);
+        SuggestionDTO spring = suggestion("spring");
+        SuggestionDTO spa = suggestion("spa");
+        index.put(spring, "spring", 10);
+        // "spa" tách cạnh "spring" tại "sp"
+        index.put(spa, "spa", 5);
+
+        assertEquals(List.of(spring, spa), index.suggest("sp", TOP_K));
+        assertEquals(List.of(spring), index.suggest("spr", TOP_K));
+        assertEquals(List.of(spa), index.suggest("spa", TOP_K));
+
+        // Xóa "spa" gộp lại cạnh "sp" + "ring"
+        index.remove(spa.getId());
+        assertEquals(List.of(spring), index.suggest("sp", TOP_K));
+        assertEquals(List.of(spring), index.suggest("spring", TOP_K));
+        assertEquals(List.of(), index.suggest("spa", TOP_K));
+        assertEquals(List.of(), index.suggest("springs", TOP_K));
+    }
+
+    @Test
+    void matchesAnyWordOfTheText() {
+        SuggestIndex index = new SuggestIndex(TOP_K, MAX_KEY_LENGTH, MAX_WORDS);
+        SuggestionDTO guide = suggestion("Hướng dẫn Spring Boot");
+        index.put(guide, slugUtils.fold("Hướng dẫn Spring Boot"), 1);
+
+        assertEquals(List.of(guide), index.suggest("boot", TOP_K));
+        assertEquals(List.of(guide), index.suggest("huong", TOP_K));
+        assertEquals(List.of(), index.suggest("oot", TOP_K));
+    }
+
+    @Test
+    void reweightReordersTopK() {
+        SuggestIndex index = new SuggestIndex(TOP_K, MAX_KEY_LENGTH, MAX_WORDS);
+        SuggestionDTO java = suggestion("java");
+        SuggestionDTO javascript = suggestion("javascript");
+        index.put(java, "java", 1);
+        index.put(javascript, "javascript", 2);
+        assertEquals(List.of(javascript, java), index.suggest("jav", TOP_K));
+
+        index.put(java, "java", 3);
+        assertEquals(List.of(java, javascript), index.suggest("jav", TOP_K));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void topKMatchesBruteForceAfterPutsAndRemoves() {
+        SuggestIndex index = new SuggestIndex(TOP_K, MAX_KEY_LENGTH, MAX_WORDS);
+        Random random = new Random(11);
+        String[] words = {"spring", "spa", "sparse", "boot", "book", "java", "jar", "redis", "react", "rest"};
+        Map<UUID, SuggestionDTO> live = new HashMap<>();
+        Map<UUID, String> folded = new HashMap<>();
+        Map<UUID, Long> weights = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int step = 0; step < 600; step++) {
+            if (!ids.isEmpty() && random.nextInt(4) == 0) {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                index.remove(id);
+                live.remove(id);
+                folded.remove(id);
+                weights.remove(id);
+            } else {
+                String text = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + step;
+                // Cập nhật một mục có sẵn hoặc thêm mục mới
+                UUID id = !ids.isEmpty() && random.nextBoolean() ? ids.get(random.nextInt(ids.size())) : UUID.randomUUID();
+                if (!live.containsKey(id)) {
+                    ids.add(id);
+                }
+                SuggestionDTO suggestion = SuggestionDTO.builder().id(id).text(text).slug(text.replace(' ', '-')).build();
+                long weight = random.nextInt(50);
+                index.put(suggestion, text, weight);
+                live.put(id, suggestion);
+                folded.put(id, text);
+                weights.put(id, weight);
+            }
+
+            for (String query : List.of("s", "sp", "spa", "bo", "j", "re", "rea", "redis r")) {
+                List<SuggestionDTO> expected = live.keySet().stream()
+                        .filter(id -> hasWordStartingWith(folded.get(id), query))
+                        .sorted(Comparator.comparingLong((UUID id) -> weights.get(id)).reversed()
+                                .thenComparingInt(id -> folded.get(id).length())
+                                .thenComparing(folded::get))
+                        .limit(TOP_K)
+                        .map(live::get)
+                        .collect(Collectors.toList());
+                assertEquals(expected, index.suggest(query, TOP_K), "query=" + query + ", step=" + step);
+            }
+        }
+    }
+
+    private boolean hasWordStartingWith(String text, String query) {
+        for (int start = 0; start < text.length(); start++) {
+            if ((start == 0 || text.charAt(start - 1) == ' ') && text.startsWith(query, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SuggestionDTO suggestion(String text) {
+        return SuggestionDTO.builder().id(UUID.randomUUID()).text(text).slug(slugUtils.fold(text)).build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.blogApp.blogpost.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kiểm tra TimingWheel: task đến hạn đúng ô, đổ xuống qua nhiều tầng (cascade), hủy và đổi hạn
+ * - Tầng 0 gồm 8 ô rộng 10ms nên hạn từ 80ms trở đi nằm ở tầng trên
+ */
+class TimingWheelTests {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    void taskExpiresWhenItsSlotIsPassed() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        assertTrue(wheel.schedule("a", 25));
+
+        assertEquals(List.of(), wheel.advance(29));
+        assertEquals(List.of("a"), wheel.advance(30));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void taskBeyondFirstLevelCascadesDownAndExpiresOnTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        // 1005ms vượt cả tầng 1 (640ms), task phải đổ xuống qua tầng 2 và tầng 1
+        assertTrue(wheel.schedule("far", 1005));
+
+        assertEquals(List.of(), wheel.advance(1000));
+        assertEquals(List.of("far"), wheel.advance(1010));
+    }
+
+    @Test
+    void cancelledTaskNeverExpires() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("near", 15);
+        wheel.schedule("far", 700);
+
+        assertTrue(wheel.cancel("near"));
+        assertTrue(wheel.cancel("far"));
+        assertFalse(wheel.cancel("far"));
+
+        assertEquals(List.of(), wheel.advance(2000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rescheduleReplacesThePreviousDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("post", 500);
+        wheel.schedule("post", 55);
+
+        assertEquals(List.of("post"), wheel.advance(60));
+        // Mục cũ ở tầng trên bị bỏ qua khi tới lượt
+        assertEquals(List.of(), wheel.advance(1000));
+    }
+
+    @Test
+    void pastDeadlineIsRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 100);
+        assertFalse(wheel.schedule("late", 50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void everyTaskExpiresWithinOneTickOfItsDeadline() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 3);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 2000; key++) {
+            long deadline = 10 + random.nextInt(50_000);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        int expiredCount = 0;
+        for (long now = 10; now <= 50_100; now += TICK_MS) {
+            for (Integer key : wheel.advance(now)) {
+                long deadline = deadlines.get(key);
+                assertTrue(deadline < now && deadline >= now - TICK_MS,
+                        "Task " + key + " hạn " + deadline + " lại đến hạn lúc " + now);
+                expiredCount++;
+            }
+        }
+        assertEquals(deadlines.size(), expiredCount);
+    }
+}